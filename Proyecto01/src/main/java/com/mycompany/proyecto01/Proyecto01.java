@@ -4,6 +4,13 @@
 
 package com.mycompany.proyecto01;
 
+import java.util.logging.Logger;
+import javax.swing.JOptionPane;
+import org.itson.proyecto01.negocio.NegocioException;
+import org.itson.proyecto01.negocio.RetiroBO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
+import org.itson.proyecto01.persistencia.MigradorEsquema;
+import org.itson.proyecto01.persistencia.PersistenciaException;
 import org.itson.proyecto01.presentacion.LoginForm;
 
 /**
@@ -12,7 +19,26 @@ import org.itson.proyecto01.presentacion.LoginForm;
  */
 public class Proyecto01 {
 
+    private static final Logger LOGGER = Logger.getLogger(Proyecto01.class.getName());
+
     public static void main(String[] args) {
+        try {
+            RetiroBO.verificarConfiguracion();
+        } catch (NegocioException ex) {
+            LOGGER.severe(ex.getMessage());
+            JOptionPane.showMessageDialog(null, "Configuración inválida: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        try {
+            new MigradorEsquema().migrar();
+        } catch (PersistenciaException ex) {
+            LOGGER.severe(ex.getMessage());
+            JOptionPane.showMessageDialog(null, "No se pudo preparar la base de datos: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        FabricaDAOs.iniciarFiltroCuentas();
         LoginForm loginForm = new LoginForm();
         loginForm.setLocationRelativeTo(null);
         loginForm.setVisible(true);
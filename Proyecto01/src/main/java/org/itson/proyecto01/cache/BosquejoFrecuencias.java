@@ -0,0 +1,98 @@
+package org.itson.proyecto01.cache;
+
+/**
+ * <p>
+ * Estimador aproximado de frecuencias de acceso (<i>count-min sketch</i>) con
+ * contadores de 4 bits, dieciséis por cada <code>long</code>. Es la base de la
+ * política de admisión TinyLFU: cuánto se ha pedido una llave recientemente,
+ * aunque ya no esté en el cache.
+ * </p>
+ *
+ * <p>
+ * Para que la historia antigua no domine, al llegar a diez veces la capacidad
+ * en incrementos se dividen todos los contadores entre dos (envejecimiento).
+ * </p>
+ *
+ * <p>
+ * No es seguro para hilos; {@link CacheTinyLfu} lo usa bajo su candado.
+ * </p>
+ *
+ * @author joset
+ */
+final class BosquejoFrecuencias {
+
+    private static final long[] SEMILLAS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long MASCARA_MITAD = 0x7777777777777777L;
+    private static final int MAXIMO_CONTADOR = 15;
+
+    private final long[] tabla;
+    private final int mascara;
+    private final int tamanioMuestra;
+    private int incrementos;
+
+    /**
+     * Dimensiona el bosquejo para la capacidad del cache.
+     *
+     * @param capacidad entradas máximas del cache.
+     */
+    BosquejoFrecuencias(int capacidad) {
+        int palabras = Integer.highestOneBit(Math.max(8, capacidad - 1)) << 1;
+        this.tabla = new long[palabras];
+        this.mascara = palabras - 1;
+        this.tamanioMuestra = 10 * Math.max(1, capacidad);
+    }
+
+    /**
+     * Registra un acceso a la llave con el hash indicado.
+     *
+     * @param hash hash de la llave.
+     */
+    void incrementar(int hash) {
+        boolean agregado = false;
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            long h = mezclar(hash, i);
+            int palabra = (int) h & mascara;
+            int desplazamiento = (int) ((h >>> 32) & 15) << 2;
+            long contador = (tabla[palabra] >>> desplazamiento) & 0xfL;
+            if (contador < MAXIMO_CONTADOR) {
+                tabla[palabra] += 1L << desplazamiento;
+                agregado = true;
+            }
+        }
+        if (agregado && ++incrementos >= tamanioMuestra) {
+            envejecer();
+        }
+    }
+
+    /**
+     * Estima cuántas veces se ha pedido la llave recientemente.
+     *
+     * @param hash hash de la llave.
+     * @return frecuencia estimada, de 0 a 15.
+     */
+    int frecuencia(int hash) {
+        int minimo = MAXIMO_CONTADOR;
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            long h = mezclar(hash, i);
+            int palabra = (int) h & mascara;
+            int desplazamiento = (int) ((h >>> 32) & 15) << 2;
+            minimo = Math.min(minimo, (int) ((tabla[palabra] >>> desplazamiento) & 0xfL));
+        }
+        return minimo;
+    }
+
+    private void envejecer() {
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = (tabla[i] >>> 1) & MASCARA_MITAD;
+        }
+        incrementos /= 2;
+    }
+
+    private static long mezclar(int hash, int fila) {
+        long h = (hash + SEMILLAS[fila]) * SEMILLAS[fila];
+        h ^= h >>> 29;
+        return h * 0x94d049bb133111ebL;
+    }
+}
@@ -0,0 +1,503 @@
+package org.itson.proyecto01.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Cache en memoria con política W-TinyLFU, acotado por tamaño y por tiempo de
+ * vida. Lo usan los decoradores de DAO de la capa de persistencia.
+ * </p>
+ *
+ * <p>
+ * Organización de las entradas:
+ * </p>
+ * <ul>
+ *   <li><b>Ventana</b> (1% de la capacidad, LRU): recibe toda entrada nueva.</li>
+ *   <li><b>Principal</b> (SLRU): segmento de prueba (20%) y protegido (80%). Un
+ *       acierto en prueba promueve la entrada a protegido.</li>
+ *   <li><b>Admisión</b>: cuando la ventana se desborda, su víctima solo entra al
+ *       principal si el {@link BosquejoFrecuencias} estima que se pide más que
+ *       la víctima del principal. Así un recorrido de llaves que se piden una
+ *       sola vez (por ejemplo, hojear el historial) no vacía el cache.</li>
+ * </ul>
+ *
+ * <p>
+ * Con {@link #obtener(Object, Cargador)} el cache también carga: las consultas
+ * concurrentes de la misma llave comparten una sola carga, y un acierto sobre
+ * una entrada con más de <code>msRefresco</code> de antigüedad la recarga en
+ * segundo plano sin hacer esperar a quien la pidió (refresco anticipado).
+ * </p>
+ *
+ * <p>
+ * Los métodos toman un {@link ReentrantLock} de la instancia; la carga y el
+ * refresco se ejecutan fuera del candado. Se usa un candado y no
+ * <code>synchronized</code> porque el cache se consulta desde hilos virtuales,
+ * y en Java 21 uno que espera a entrar a un monitor deja ocupado a su hilo
+ * portador. Una invalidación descarta el resultado de las cargas y refrescos
+ * que ya estaban en curso.
+ * </p>
+ *
+ * @param <K> tipo de la llave.
+ * @param <V> tipo del valor.
+ * @author joset
+ */
+public final class CacheTinyLfu<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheTinyLfu.class.getName());
+
+    private static final int VENTANA = 0;
+    private static final int PRUEBA = 1;
+    private static final int PROTEGIDO = 2;
+
+    private final String nombre;
+    private final int capacidad;
+    private final long msVida;
+    private final long msRefresco;
+    private final Executor ejecutorRefresco;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Map<K, Nodo<K, V>> datos = new HashMap<>();
+    private final Lista<K, V> ventana = new Lista<>();
+    private final Lista<K, V> prueba = new Lista<>();
+    private final Lista<K, V> protegido = new Lista<>();
+    private final int maximoVentana;
+    private final int maximoPrincipal;
+    private final int maximoProtegido;
+    private final BosquejoFrecuencias bosquejo;
+
+    private final Map<K, CompletableFuture<V>> cargas = new HashMap<>();
+    private final Set<K> refrescando = new HashSet<>();
+    private long version;
+
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long rechazos;
+    private long expirados;
+    private long refrescos;
+
+    /**
+     * Crea un cache vacío sin refresco anticipado.
+     *
+     * @param nombre nombre para estadísticas y bitácora.
+     * @param capacidad número máximo de entradas.
+     * @param msVida milisegundos que una entrada sigue vigente; 0 para no vencer.
+     */
+    public CacheTinyLfu(String nombre, int capacidad, long msVida) {
+        this(nombre, capacidad, msVida, 0, null);
+    }
+
+    /**
+     * Crea un cache vacío.
+     *
+     * @param nombre nombre para estadísticas y bitácora.
+     * @param capacidad número máximo de entradas, al menos 2.
+     * @param msVida milisegundos que una entrada sigue vigente; 0 para no vencer.
+     * @param msRefresco antigüedad a partir de la cual un acierto dispara la
+     *                   recarga en segundo plano; 0 para no refrescar.
+     * @param ejecutorRefresco ejecutor de los refrescos; obligatorio si
+     *                         <code>msRefresco</code> es mayor que 0.
+     */
+    public CacheTinyLfu(String nombre, int capacidad, long msVida, long msRefresco, Executor ejecutorRefresco) {
+        if (capacidad < 2) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 2: " + capacidad);
+        }
+        if (msRefresco > 0 && ejecutorRefresco == null) {
+            throw new IllegalArgumentException("El refresco anticipado necesita un ejecutor");
+        }
+        this.nombre = nombre;
+        this.capacidad = capacidad;
+        this.msVida = msVida;
+        this.msRefresco = msRefresco;
+        this.ejecutorRefresco = ejecutorRefresco;
+        this.maximoVentana = Math.max(1, capacidad / 100);
+        this.maximoPrincipal = capacidad - maximoVentana;
+        this.maximoProtegido = (int) (maximoPrincipal * 0.8);
+        this.bosquejo = new BosquejoFrecuencias(capacidad);
+    }
+
+    /**
+     * Obtiene el valor vigente de la llave.
+     *
+     * @param llave llave a buscar.
+     * @return el valor, o <code>null</code> si no está o ya venció.
+     */
+    public V obtener(K llave) {
+        candado.lock();
+        try {
+            Nodo<K, V> nodo = vigente(llave, System.currentTimeMillis());
+            return nodo == null ? null : nodo.valor;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Obtiene el valor de la llave y, si no está, lo carga con el cargador y lo
+     * guarda. Si otro hilo ya está cargando la misma llave, espera su resultado
+     * en lugar de cargarla otra vez.
+     * </p>
+     *
+     * @param <E> excepción del cargador.
+     * @param llave llave a buscar.
+     * @param cargador carga el valor desde su origen.
+     * @return el valor, o <code>null</code> si el cargador no lo encontró.
+     * @throws E si la carga falla.
+     */
+    public <E extends Exception> V obtener(K llave, Cargador<K, V, E> cargador) throws E {
+        CompletableFuture<V> carga;
+        long versionInicio;
+        boolean propia = false;
+        candado.lock();
+        try {
+            long ahora = System.currentTimeMillis();
+            Nodo<K, V> nodo = vigente(llave, ahora);
+            if (nodo != null) {
+                if (msRefresco > 0 && ahora - nodo.escritura >= msRefresco && refrescando.add(llave)) {
+                    programarRefresco(llave, cargador, version);
+                }
+                return nodo.valor;
+            }
+            versionInicio = version;
+            carga = cargas.get(llave);
+            if (carga == null) {
+                carga = new CompletableFuture<>();
+                cargas.put(llave, carga);
+                propia = true;
+            }
+        } finally {
+            candado.unlock();
+        }
+        if (!propia) {
+            return esperar(carga);
+        }
+
+        V valor;
+        try {
+            valor = cargador.cargar(llave);
+        } catch (Exception ex) {
+            candado.lock();
+            try {
+                cargas.remove(llave, carga);
+            } finally {
+                candado.unlock();
+            }
+            carga.completeExceptionally(ex);
+            throw ex;
+        }
+        candado.lock();
+        try {
+            if (cargas.remove(llave, carga) && valor != null && version == versionInicio) {
+                // La frecuencia ya se contó en la consulta que falló
+                insertar(llave, valor, false);
+            }
+        } finally {
+            candado.unlock();
+        }
+        carga.complete(valor);
+        return valor;
+    }
+
+    /**
+     * Guarda o reemplaza el valor de la llave.
+     *
+     * @param llave llave.
+     * @param valor valor, distinto de <code>null</code>.
+     */
+    public void poner(K llave, V valor) {
+        candado.lock();
+        try {
+            insertar(llave, valor, true);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private void insertar(K llave, V valor, boolean contarAcceso) {
+        long ahora = System.currentTimeMillis();
+        Nodo<K, V> nodo = datos.get(llave);
+        if (nodo != null) {
+            nodo.valor = valor;
+            nodo.escritura = ahora;
+            registrarAcceso(nodo);
+            return;
+        }
+        if (contarAcceso) {
+            bosquejo.incrementar(hash(llave));
+        }
+        nodo = new Nodo<>(llave, valor, ahora);
+        datos.put(llave, nodo);
+        ventana.agregar(nodo, VENTANA);
+        if (ventana.tamanio > maximoVentana) {
+            admitir(ventana.primero());
+        }
+    }
+
+    /**
+     * Elimina la entrada de la llave y descarta su carga en curso.
+     *
+     * @param llave llave a eliminar.
+     */
+    public void invalidar(K llave) {
+        candado.lock();
+        try {
+            version++;
+            cargas.remove(llave);
+            Nodo<K, V> nodo = datos.remove(llave);
+            if (nodo != null) {
+                listaDe(nodo).quitar(nodo);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina las entradas cuyo valor cumple la condición. Recorre todo el
+     * cache, por lo que se reserva para invalidaciones por un atributo que no
+     * es la llave.
+     *
+     * @param condicion condición sobre el valor.
+     */
+    public void invalidarSi(Predicate<V> condicion) {
+        candado.lock();
+        try {
+            version++;
+            cargas.clear();
+            Iterator<Nodo<K, V>> iterador = datos.values().iterator();
+            while (iterador.hasNext()) {
+                Nodo<K, V> nodo = iterador.next();
+                if (condicion.test(nodo.valor)) {
+                    iterador.remove();
+                    listaDe(nodo).quitar(nodo);
+                }
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Vacía el cache y descarta las cargas en curso.
+     */
+    public void limpiar() {
+        candado.lock();
+        try {
+            version++;
+            cargas.clear();
+            datos.clear();
+            ventana.vaciar();
+            prueba.vaciar();
+            protegido.vaciar();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Obtiene los contadores del cache.
+     *
+     * @return {@link EstadisticasCache} con aciertos, fallos, desalojos y refrescos.
+     */
+    public EstadisticasCache estadisticas() {
+        candado.lock();
+        try {
+            return new EstadisticasCache(nombre, aciertos, fallos, desalojos, rechazos, expirados, refrescos,
+                    datos.size(), capacidad);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Busca la entrada, descarta si venció y actualiza frecuencias y contadores.
+     */
+    private Nodo<K, V> vigente(K llave, long ahora) {
+        bosquejo.incrementar(hash(llave));
+        Nodo<K, V> nodo = datos.get(llave);
+        if (nodo == null) {
+            fallos++;
+            return null;
+        }
+        if (msVida > 0 && ahora - nodo.escritura >= msVida) {
+            datos.remove(llave);
+            listaDe(nodo).quitar(nodo);
+            expirados++;
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        registrarAcceso(nodo);
+        return nodo;
+    }
+
+    private void registrarAcceso(Nodo<K, V> nodo) {
+        switch (nodo.region) {
+            case VENTANA -> ventana.moverAlFinal(nodo);
+            case PRUEBA -> {
+                prueba.quitar(nodo);
+                protegido.agregar(nodo, PROTEGIDO);
+                if (protegido.tamanio > maximoProtegido) {
+                    Nodo<K, V> degradado = protegido.primero();
+                    protegido.quitar(degradado);
+                    prueba.agregar(degradado, PRUEBA);
+                }
+            }
+            default -> protegido.moverAlFinal(nodo);
+        }
+    }
+
+    /**
+     * Decide si el candidato que sale de la ventana entra al principal, a costa
+     * de la víctima del principal, comparando sus frecuencias estimadas.
+     */
+    private void admitir(Nodo<K, V> candidato) {
+        ventana.quitar(candidato);
+        if (prueba.tamanio + protegido.tamanio < maximoPrincipal) {
+            prueba.agregar(candidato, PRUEBA);
+            return;
+        }
+        Nodo<K, V> victima = prueba.tamanio > 0 ? prueba.primero() : protegido.primero();
+        if (bosquejo.frecuencia(hash(candidato.llave)) > bosquejo.frecuencia(hash(victima.llave))) {
+            listaDe(victima).quitar(victima);
+            datos.remove(victima.llave);
+            desalojos++;
+            prueba.agregar(candidato, PRUEBA);
+        } else {
+            datos.remove(candidato.llave);
+            rechazos++;
+        }
+    }
+
+    private <E extends Exception> void programarRefresco(K llave, Cargador<K, V, E> cargador, long versionInicio) {
+        ejecutorRefresco.execute(() -> {
+            try {
+                V valor = cargador.cargar(llave);
+                candado.lock();
+                try {
+                    Nodo<K, V> nodo = datos.get(llave);
+                    if (valor != null && nodo != null && version == versionInicio) {
+                        nodo.valor = valor;
+                        nodo.escritura = System.currentTimeMillis();
+                        refrescos++;
+                    }
+                } finally {
+                    candado.unlock();
+                }
+            } catch (Exception ex) {
+                LOGGER.fine(() -> "No se pudo refrescar " + llave + " en " + nombre + ": " + ex.getMessage());
+            } finally {
+                candado.lock();
+                try {
+                    refrescando.remove(llave);
+                } finally {
+                    candado.unlock();
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V esperar(CompletableFuture<V> carga) throws E {
+        try {
+            return carga.join();
+        } catch (CompletionException ex) {
+            Throwable causa = ex.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            // La causa es la excepción del mismo tipo de cargador que la produjo
+            throw (E) causa;
+        }
+    }
+
+    private Lista<K, V> listaDe(Nodo<K, V> nodo) {
+        return switch (nodo.region) {
+            case VENTANA -> ventana;
+            case PRUEBA -> prueba;
+            default -> protegido;
+        };
+    }
+
+    private static int hash(Object llave) {
+        int h = llave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Nodo<K, V> {
+
+        private final K llave;
+        private V valor;
+        private long escritura;
+        private int region;
+        private Nodo<K, V> anterior;
+        private Nodo<K, V> siguiente;
+
+        private Nodo(K llave, V valor, long escritura) {
+            this.llave = llave;
+            this.valor = valor;
+            this.escritura = escritura;
+        }
+    }
+
+    /**
+     * Lista doblemente ligada con centinela; el primero es el menos reciente.
+     */
+    private static final class Lista<K, V> {
+
+        private final Nodo<K, V> centinela = new Nodo<>(null, null, 0);
+        private int tamanio;
+
+        private Lista() {
+            centinela.anterior = centinela;
+            centinela.siguiente = centinela;
+        }
+
+        private Nodo<K, V> primero() {
+            return centinela.siguiente;
+        }
+
+        private void agregar(Nodo<K, V> nodo, int region) {
+            nodo.region = region;
+            nodo.anterior = centinela.anterior;
+            nodo.siguiente = centinela;
+            centinela.anterior.siguiente = nodo;
+            centinela.anterior = nodo;
+            tamanio++;
+        }
+
+        private void quitar(Nodo<K, V> nodo) {
+            nodo.anterior.siguiente = nodo.siguiente;
+            nodo.siguiente.anterior = nodo.anterior;
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            tamanio--;
+        }
+
+        private void moverAlFinal(Nodo<K, V> nodo) {
+            int region = nodo.region;
+            quitar(nodo);
+            agregar(nodo, region);
+        }
+
+        private void vaciar() {
+            centinela.anterior = centinela;
+            centinela.siguiente = centinela;
+            tamanio = 0;
+        }
+    }
+}
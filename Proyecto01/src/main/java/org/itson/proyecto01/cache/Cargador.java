@@ -0,0 +1,23 @@
+package org.itson.proyecto01.cache;
+
+/**
+ * Carga el valor de una llave desde su origen (normalmente un DAO) cuando no
+ * está en el cache o cuando toca refrescarlo.
+ *
+ * @param <K> tipo de la llave.
+ * @param <V> tipo del valor.
+ * @param <E> excepción que puede lanzar la carga.
+ * @author joset
+ */
+@FunctionalInterface
+public interface Cargador<K, V, E extends Exception> {
+
+    /**
+     * Carga el valor.
+     *
+     * @param llave llave a cargar.
+     * @return el valor, o <code>null</code> si no existe (no se guarda).
+     * @throws E si la carga falla.
+     */
+    V cargar(K llave) throws E;
+}
@@ -0,0 +1,102 @@
+package org.itson.proyecto01.cache;
+
+/**
+ * <p>
+ * Fotografía inmutable de los contadores de un {@link CacheTinyLfu} en un
+ * momento dado.
+ * </p>
+ *
+ * @author joset
+ */
+public class EstadisticasCache {
+
+    private final String nombre;
+    private final long aciertos;
+    private final long fallos;
+    private final long desalojos;
+    private final long rechazos;
+    private final long expirados;
+    private final long refrescos;
+    private final int tamanio;
+    private final int capacidad;
+
+    /**
+     * Constructor completo.
+     *
+     * @param nombre nombre del cache.
+     * @param aciertos lecturas servidas desde el cache.
+     * @param fallos lecturas que tuvieron que ir a la base de datos.
+     * @param desalojos entradas desalojadas por capacidad.
+     * @param rechazos entradas nuevas que la admisión por frecuencia descartó.
+     * @param expirados entradas descartadas por vencimiento.
+     * @param refrescos recargas anticipadas completadas en segundo plano.
+     * @param tamanio entradas actuales.
+     * @param capacidad entradas máximas.
+     */
+    public EstadisticasCache(String nombre, long aciertos, long fallos, long desalojos, long rechazos, long expirados,
+            long refrescos, int tamanio, int capacidad) {
+        this.nombre = nombre;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.rechazos = rechazos;
+        this.expirados = expirados;
+        this.refrescos = refrescos;
+        this.tamanio = tamanio;
+        this.capacidad = capacidad;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public long getRechazos() {
+        return rechazos;
+    }
+
+    public long getExpirados() {
+        return expirados;
+    }
+
+    public long getRefrescos() {
+        return refrescos;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Calcula la proporción de lecturas servidas desde el cache.
+     *
+     * @return valor entre 0 y 1; 0 si aún no hay lecturas.
+     */
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasCache{" + "nombre=" + nombre + ", aciertos=" + aciertos + ", fallos=" + fallos
+                + ", desalojos=" + desalojos + ", rechazos=" + rechazos + ", expirados=" + expirados
+                + ", refrescos=" + refrescos + ", tamanio=" + tamanio + ", capacidad=" + capacidad
+                + ", tasaAciertos=" + String.format("%.3f", getTasaAciertos()) + '}';
+    }
+}
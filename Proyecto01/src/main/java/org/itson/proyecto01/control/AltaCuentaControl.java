@@ -9,15 +9,13 @@ import java.time.format.DateTimeFormatter;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 import org.itson.proyecto01.dtos.NuevaCuentaDTO;
-import org.itson.proyecto01.entidades.Cliente;
-import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.CuentasBO;
 import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.ICuentasBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
+import org.itson.proyecto01.persistencia.IClientesDAO;
+import org.itson.proyecto01.persistencia.ICuentasDAO;
 import org.itson.proyecto01.presentacion.AltaCuentaForm;
 
 /**
@@ -49,6 +47,7 @@ public class AltaCuentaControl {
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     ;
     private static final Logger LOGGER = Logger.getLogger(AltaCuentaControl.class.getName());
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de alta de cuenta.
@@ -65,10 +64,11 @@ public class AltaCuentaControl {
     public AltaCuentaControl(AltaCuentaForm altaForm) {
         this.utilerias = new UtileriasControl();
         this.altaForm = altaForm;
-        CuentasDAO cuenta = new CuentasDAO();
+        ICuentasDAO cuenta = FabricaDAOs.cuentasDAO();
         this.cuentasBO = new CuentasBO(cuenta);
-        ClientesDAO clientes = new ClientesDAO();
+        IClientesDAO clientes = FabricaDAOs.clientesDAO();
         this.clientesBO = new ClientesBO(clientes);
+        this.carga = IndicadorCarga.enVentana(altaForm, altaForm.BtnConfirmarAlta);
 
         altaForm.BtnConfirmarAlta.addActionListener(e -> confirmarAlta());
 
@@ -83,21 +83,21 @@ public class AltaCuentaControl {
      * <p>
      * Este método consulta el nombre completo y ID del cliente para
      * personalizar el formulario, proporcionando un formato de fecha
-     * "dd/MM/yyyy HH:mm".
+     * "dd/MM/yyyy HH:mm". La consulta corre en segundo plano con
+     * {@link EjecutorUI}.
      * </p>
      */
     private void cargarDatosCliente() {
-        try {
-            Cliente cliente = clientesBO.obtenerClientePorId(idCliente);
+        EjecutorUI.ejecutar(() -> clientesBO.obtenerClientePorId(idCliente), cliente -> {
             altaForm.txtNombreCliente.setText(cliente.getNombres() + " " + cliente.getApellidoP() + " " + cliente.getApellidoM());
             altaForm.txtNumeroCliente.setText(String.valueOf(cliente.getId()));
             LocalDateTime fechaActual = LocalDateTime.now();
             DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
             altaForm.txtFecha.setText(fechaActual.format(formato));
-        } catch (NegocioException ex) {
+        }, ex -> {
             LOGGER.severe(ex.getMessage());
             JOptionPane.showMessageDialog(altaForm, "Error al cargar datos del cliente");
-        }
+        }, carga);
     }
 
     /**
@@ -109,7 +109,8 @@ public class AltaCuentaControl {
      * seleccionado.</li>
      * <li>Construye un objeto {@link NuevaCuentaDTO} con la marca de tiempo
      * actual.</li>
-     * <li>Solicita a la capa de negocio la generación de la nueva cuenta.</li>
+     * <li>Solicita a la capa de negocio la generación de la nueva cuenta, en
+     * segundo plano y con el botón de confirmar deshabilitado.</li>
      * <li>Muestra un mensaje de éxito con el número de cuenta generado.</li>
      * <li>Redirige al usuario al menú principal.</li>
      * </ol>
@@ -122,20 +123,17 @@ public class AltaCuentaControl {
             return;
         }
 
-        try {
-            NuevaCuentaDTO nuevaCuenta = new NuevaCuentaDTO(LocalDateTime.now(), idCliente);
-            Cuenta cuentaCreada = cuentasBO.altaCuenta();
-
+        NuevaCuentaDTO nuevaCuenta = new NuevaCuentaDTO(LocalDateTime.now(), idCliente);
+        EjecutorUI.ejecutar(() -> cuentasBO.altaCuenta(), cuentaCreada -> {
             JOptionPane.showMessageDialog(altaForm,
                     "Cuenta creada exitosamente.\nNúmero de cuenta: " + cuentaCreada.getNumeroCuenta(),
                     "Alta de Cuenta",
                     JOptionPane.INFORMATION_MESSAGE);
 
             utilerias.abrirMenuPrincipal(altaForm);
-
-        } catch (NegocioException ex) {
+        }, ex -> {
             LOGGER.severe(ex.getMessage());
             JOptionPane.showMessageDialog(altaForm, "Error al crear la cuenta: " + ex.getMessage());
-        }
+        }, carga);
     }
 }
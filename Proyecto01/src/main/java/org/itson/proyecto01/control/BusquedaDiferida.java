@@ -0,0 +1,191 @@
+package org.itson.proyecto01.control;
+
+import java.util.function.Consumer;
+import javax.swing.Timer;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+
+/**
+ * <p>
+ * Búsqueda mientras el usuario escribe (por ejemplo un número de cuenta
+ * destino), con espera y cancelación:
+ * </p>
+ * <ul>
+ *   <li>{@link #solicitar(Object)} espera a que el usuario deje de escribir
+ *       <code>msEspera</code> milisegundos; las teclas intermedias se juntan en
+ *       una sola consulta.</li>
+ *   <li>Pedir una llave distinta descarta la consulta en curso, para que una
+ *       respuesta vieja no sobrescriba a la nueva.</li>
+ *   <li>Pedir la misma llave que ya está en curso o que se acaba de entregar no
+ *       vuelve a consultar; por ejemplo Enter seguido de pérdida de foco.</li>
+ *   <li>Si la consulta de una llave falla, pedir esa misma llave no vuelve a
+ *       consultar hasta que se pida otra o se llame a {@link #cancelar()}. Así
+ *       un error (que suele mostrarse en un diálogo y mover el foco) no
+ *       dispara intentos repetidos con el mismo dato.</li>
+ *   <li>Si se indica un caché, los resultados encontrados se guardan ahí y las
+ *       llaves repetidas se resuelven sin consultar. Los resultados
+ *       <code>null</code> (no encontrado) no se guardan.</li>
+ * </ul>
+ *
+ * <p>
+ * La consulta corre con {@link EjecutorUI}; los resultados llegan en el EDT.
+ * Se usa solo desde el EDT.
+ * </p>
+ *
+ * @param <K> tipo de la llave buscada.
+ * @param <V> tipo del resultado.
+ * @author joset
+ */
+public final class BusquedaDiferida<K, V> {
+
+    /**
+     * Consulta bloqueante que resuelve una llave.
+     *
+     * @param <K> tipo de la llave.
+     * @param <V> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface Buscador<K, V> {
+
+        /**
+         * Resuelve la llave fuera del EDT.
+         *
+         * @param llave llave buscada.
+         * @return resultado; <code>null</code> si no se encontró.
+         * @throws Exception si la consulta falla.
+         */
+        V buscar(K llave) throws Exception;
+    }
+
+    private final CacheTinyLfu<K, V> cache;
+    private final Buscador<K, V> buscador;
+    private final Consumer<? super V> alEncontrar;
+    private final Consumer<? super Exception> alFallar;
+    private final IndicadorCarga indicador;
+    private final UltimaTarea tarea = new UltimaTarea();
+    private final Timer temporizador;
+
+    private K pendiente;
+    private K llaveEnCurso;
+    private K llaveEntregada;
+    private V valorEntregado;
+    private K llaveFallida;
+
+    /**
+     * Crea la búsqueda.
+     *
+     * @param msEspera milisegundos sin cambios antes de consultar.
+     * @param cache caché de resultados; <code>null</code> para no guardar.
+     * @param buscador consulta bloqueante.
+     * @param alEncontrar recibe el resultado (o <code>null</code>) en el EDT.
+     * @param alFallar recibe la excepción en el EDT.
+     * @param indicador se avisa mientras corre la consulta.
+     */
+    public BusquedaDiferida(int msEspera, CacheTinyLfu<K, V> cache, Buscador<K, V> buscador,
+            Consumer<? super V> alEncontrar, Consumer<? super Exception> alFallar, IndicadorCarga indicador) {
+        this.cache = cache;
+        this.buscador = buscador;
+        this.alEncontrar = alEncontrar;
+        this.alFallar = alFallar;
+        this.indicador = indicador;
+        this.temporizador = new Timer(msEspera, e -> lanzar(pendiente));
+        this.temporizador.setRepeats(false);
+    }
+
+    /**
+     * Pide buscar la llave cuando el usuario deje de escribir.
+     *
+     * @param llave llave a buscar.
+     */
+    public void solicitar(K llave) {
+        temporizador.stop();
+        pendiente = llave;
+        if (llave.equals(llaveEnCurso) || llave.equals(llaveFallida)) {
+            return;
+        }
+        tarea.cancelar();
+        llaveEnCurso = null;
+        llaveFallida = null;
+        if (!resolverSinConsulta(llave)) {
+            temporizador.restart();
+        }
+    }
+
+    /**
+     * Busca la llave sin esperar, por ejemplo al presionar Enter.
+     *
+     * @param llave llave a buscar.
+     */
+    public void buscarYa(K llave) {
+        temporizador.stop();
+        pendiente = llave;
+        if (llave.equals(llaveEnCurso) || llave.equals(llaveFallida)) {
+            return;
+        }
+        tarea.cancelar();
+        llaveEnCurso = null;
+        llaveFallida = null;
+        if (!resolverSinConsulta(llave)) {
+            lanzar(llave);
+        }
+    }
+
+    /**
+     * Cancela la espera y la consulta en curso, y olvida el último resultado y
+     * la última llave que falló.
+     */
+    public void cancelar() {
+        temporizador.stop();
+        tarea.cancelar();
+        pendiente = null;
+        llaveEnCurso = null;
+        llaveEntregada = null;
+        valorEntregado = null;
+        llaveFallida = null;
+    }
+
+    /**
+     * Indica si la llave es la última cuya consulta falló; pedirla de nuevo no
+     * consultará.
+     *
+     * @param llave llave a revisar.
+     * @return <code>true</code> si la última consulta de esa llave falló.
+     */
+    public boolean fallo(K llave) {
+        return llave.equals(llaveFallida);
+    }
+
+    private boolean resolverSinConsulta(K llave) {
+        V valor = llave.equals(llaveEntregada) ? valorEntregado : null;
+        if (valor == null && cache != null) {
+            valor = cache.obtener(llave);
+        }
+        if (valor == null) {
+            return false;
+        }
+        entregar(llave, valor);
+        return true;
+    }
+
+    private void lanzar(K llave) {
+        llaveEnCurso = llave;
+        tarea.ejecutar(() -> buscador.buscar(llave), valor -> {
+            llaveEnCurso = null;
+            if (valor != null && cache != null) {
+                cache.poner(llave, valor);
+            }
+            entregar(llave, valor);
+        }, ex -> {
+            llaveEnCurso = null;
+            llaveEntregada = null;
+            valorEntregado = null;
+            llaveFallida = llave;
+            alFallar.accept(ex);
+        }, indicador);
+    }
+
+    private void entregar(K llave, V valor) {
+        llaveEntregada = llave;
+        valorEntregado = valor;
+        alEncontrar.accept(valor);
+    }
+}
@@ -4,7 +4,6 @@
  */
 package org.itson.proyecto01.control;
 
-import java.util.List;
 import java.util.logging.Logger;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JOptionPane;
@@ -13,9 +12,9 @@ import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.CuentasBO;
 import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.ICuentasBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
+import org.itson.proyecto01.persistencia.IClientesDAO;
+import org.itson.proyecto01.persistencia.ICuentasDAO;
 import org.itson.proyecto01.presentacion.CerrarCuentaForm;
 import org.itson.proyecto01.presentacion.MenuPrincipalForm;
 
@@ -40,6 +39,7 @@ public class CerrarCuentaControl {
     private  UtileriasControl utilerias;
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     private static final Logger LOGGER = Logger.getLogger(CerrarCuentaControl.class.getName());
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador para cerrar cuentas.
@@ -55,10 +55,11 @@ public class CerrarCuentaControl {
     public CerrarCuentaControl(CerrarCuentaForm cerrarForm) {
         this.utilerias = new UtileriasControl();
         this.cerrarForm = cerrarForm;
-        CuentasDAO cuentasDAO = new CuentasDAO();
+        ICuentasDAO cuentasDAO = FabricaDAOs.cuentasDAO();
         this.cuentasBO = new CuentasBO(cuentasDAO);
-        ClientesDAO clientesDAO = new ClientesDAO();
+        IClientesDAO clientesDAO = FabricaDAOs.clientesDAO();
         this.clientesBO = new ClientesBO(clientesDAO);
+        this.carga = IndicadorCarga.enVentana(cerrarForm, cerrarForm.btnConfirmarCerrarCuenta);
 
         cerrarForm.btnCancelar.addActionListener(e -> utilerias.abrirMenuPrincipal(cerrarForm));
 
@@ -72,13 +73,12 @@ public class CerrarCuentaControl {
      * <p>
      * Consulta a la capa de negocio por las cuentas con estado activo asociadas
      * al cliente en sesión. Agrega una opción por defecto para guiar al usuario
-     * en la selección.
+     * en la selección. La consulta corre en segundo plano con
+     * {@link EjecutorUI}.
      * </p>
      */
     private void cargarCuentasCliente() {
-        try {
-            List<Cuenta> cuentas = cuentasBO.consultarCuentasClienteActivas(idCliente);
-
+        EjecutorUI.ejecutar(() -> cuentasBO.consultarCuentasClienteActivas(idCliente), cuentas -> {
             DefaultComboBoxModel<Cuenta> modelo = new DefaultComboBoxModel<>();
             modelo.addElement(new Cuenta(0, "Seleccione una cuenta...", null, 0.0, null, 0));
 
@@ -87,11 +87,10 @@ public class CerrarCuentaControl {
             }
 
             cerrarForm.cboCuentas.setModel(modelo);
-
-        } catch (NegocioException ex) {
+        }, ex -> {
             LOGGER.severe(ex.getMessage());
             JOptionPane.showMessageDialog(cerrarForm, "Error al cargar cuentas activas del cliente");
-        }
+        }, carga);
     }
 
     /**
@@ -103,7 +102,7 @@ public class CerrarCuentaControl {
      * <li>Mostrar un {@code JOptionPane.showConfirmDialog} advirtiendo que la
      * acción es irreversible.</li>
      * <li>Si el usuario confirma, invoca a
-     * {@code cuentasBO.cancelarCuenta()}.</li>
+     * {@code cuentasBO.cancelarCuenta()} en segundo plano.</li>
      * <li>Notifica el éxito de la operación y recarga la lista de cuentas.</li>
      * </ol>
      * </p>
@@ -127,20 +126,18 @@ public class CerrarCuentaControl {
         );
 
         if (opcion == JOptionPane.YES_OPTION) {
-            try {
-                Cuenta cuentaCancelada = cuentasBO.cancelarCuenta(cuentaSeleccionada.getNumeroCuenta());
-
+            String numeroCuenta = cuentaSeleccionada.getNumeroCuenta();
+            EjecutorUI.ejecutar(() -> cuentasBO.cancelarCuenta(numeroCuenta), cuentaCancelada -> {
                 JOptionPane.showMessageDialog(cerrarForm,
                         "Cuenta cancelada exitosamente.\nNúmero de cuenta: " + cuentaCancelada.getNumeroCuenta(),
                         "Cancelación de Cuenta",
                         JOptionPane.INFORMATION_MESSAGE);
 
                 cargarCuentasCliente();
-
-            } catch (NegocioException ex) {
+            }, ex -> {
                 LOGGER.severe(ex.getMessage());
                 JOptionPane.showMessageDialog(cerrarForm, "Error al cancelar la cuenta: " + ex.getMessage());
-            }
+            }, carga);
         }
     }
 
@@ -0,0 +1,175 @@
+package org.itson.proyecto01.control;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * <p>
+ * Ejecuta el trabajo bloqueante de los controladores (consultas a BO/DAO,
+ * BCrypt) en hilos virtuales, fuera del hilo de eventos de Swing (EDT), y
+ * entrega el resultado de vuelta en el EDT.
+ * </p>
+ *
+ * <p>
+ * Flujo de cada tarea:
+ * </p>
+ * <ul>
+ *   <li>En el EDT se avisa al {@link IndicadorCarga} que inicia la carga.</li>
+ *   <li>El {@link Trabajo} corre en un hilo virtual propio; la ventana sigue
+ *       respondiendo mientras espera a la base de datos.</li>
+ *   <li>De vuelta en el EDT se llama a <code>alTerminar</code> con el resultado
+ *       o a <code>alFallar</code> con la excepción, y después se avisa al
+ *       indicador que terminó la carga.</li>
+ *   <li>Si la tarea se canceló con {@link TareaUI#cancelar()}, su resultado se
+ *       descarta: no se llama a <code>alTerminar</code> ni a <code>alFallar</code>.</li>
+ * </ul>
+ *
+ * <p>
+ * Las consultas independientes que ya corren como {@link CompletableFuture}
+ * (BO asíncronos) se entregan al EDT de la misma forma con
+ * {@link #alCompletar(CompletableFuture, Consumer, Consumer, IndicadorCarga)}.
+ * </p>
+ *
+ * <p>
+ * Los hilos virtuales son baratos y el pool de conexiones ya limita cuántas
+ * consultas corren a la vez, por lo que no se usa un pool de hilos acotado.
+ * </p>
+ *
+ * @author joset
+ */
+public final class EjecutorUI {
+
+    private static final Logger LOGGER = Logger.getLogger(EjecutorUI.class.getName());
+
+    private static final ExecutorService HILOS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tarea-ui-", 0).factory());
+
+    /**
+     * Trabajo bloqueante que produce un resultado y puede fallar.
+     *
+     * @param <T> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface Trabajo<T> {
+
+        /**
+         * Realiza el trabajo fuera del EDT.
+         *
+         * @return resultado del trabajo.
+         * @throws Exception si el trabajo falla.
+         */
+        T ejecutar() throws Exception;
+    }
+
+    private EjecutorUI() {
+    }
+
+    /**
+     * Ejecuta un trabajo en segundo plano sin indicador de carga.
+     *
+     * @param <T> tipo del resultado.
+     * @param trabajo trabajo bloqueante.
+     * @param alTerminar recibe el resultado en el EDT.
+     * @param alFallar recibe la excepción en el EDT.
+     * @return {@link TareaUI} para cancelar la tarea.
+     */
+    public static <T> TareaUI ejecutar(Trabajo<T> trabajo, Consumer<? super T> alTerminar,
+            Consumer<? super Exception> alFallar) {
+        return ejecutar(trabajo, alTerminar, alFallar, IndicadorCarga.NINGUNO);
+    }
+
+    /**
+     * Ejecuta un trabajo en segundo plano y avisa al indicador mientras corre.
+     *
+     * @param <T> tipo del resultado.
+     * @param trabajo trabajo bloqueante.
+     * @param alTerminar recibe el resultado en el EDT.
+     * @param alFallar recibe la excepción en el EDT.
+     * @param indicador se avisa en el EDT al iniciar y al terminar.
+     * @return {@link TareaUI} para cancelar la tarea.
+     */
+    public static <T> TareaUI ejecutar(Trabajo<T> trabajo, Consumer<? super T> alTerminar,
+            Consumer<? super Exception> alFallar, IndicadorCarga indicador) {
+        TareaUI tarea = new TareaUI();
+        enEDT(indicador::iniciar);
+        HILOS.execute(() -> {
+            T resultado = null;
+            Exception error = null;
+            try {
+                if (!tarea.estaCancelada()) {
+                    resultado = trabajo.ejecutar();
+                }
+            } catch (Exception ex) {
+                error = ex;
+            }
+            entregar(tarea, resultado, error, alTerminar, alFallar, indicador);
+        });
+        return tarea;
+    }
+
+    /**
+     * <p>
+     * Entrega en el EDT el resultado de un futuro ya lanzado, por ejemplo la
+     * combinación de varias consultas paralelas de los BO asíncronos.
+     * </p>
+     *
+     * <p>
+     * Si el futuro falla con {@link CompletionException}, a <code>alFallar</code>
+     * llega su causa (normalmente la <code>NegocioException</code>).
+     * </p>
+     *
+     * @param <T> tipo del resultado.
+     * @param futuro futuro en curso.
+     * @param alTerminar recibe el resultado en el EDT.
+     * @param alFallar recibe la excepción en el EDT.
+     * @param indicador se avisa en el EDT al iniciar y al terminar.
+     * @return {@link TareaUI} para descartar el resultado.
+     */
+    public static <T> TareaUI alCompletar(CompletableFuture<T> futuro, Consumer<? super T> alTerminar,
+            Consumer<? super Exception> alFallar, IndicadorCarga indicador) {
+        TareaUI tarea = new TareaUI();
+        enEDT(indicador::iniciar);
+        futuro.whenComplete((resultado, falla) -> {
+            Throwable causa = falla instanceof CompletionException && falla.getCause() != null
+                    ? falla.getCause() : falla;
+            Exception error = causa == null ? null
+                    : causa instanceof Exception ex ? ex : new RuntimeException(causa);
+            entregar(tarea, resultado, error, alTerminar, alFallar, indicador);
+        });
+        return tarea;
+    }
+
+    private static <T> void entregar(TareaUI tarea, T resultado, Exception error, Consumer<? super T> alTerminar,
+            Consumer<? super Exception> alFallar, IndicadorCarga indicador) {
+        SwingUtilities.invokeLater(() -> {
+            try {
+                if (tarea.estaCancelada()) {
+                    return;
+                }
+                if (error == null) {
+                    alTerminar.accept(resultado);
+                } else {
+                    alFallar.accept(error);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "Error al actualizar la ventana", ex);
+            } finally {
+                indicador.terminar();
+            }
+        });
+    }
+
+    private static void enEDT(Runnable accion) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            accion.run();
+        } else {
+            SwingUtilities.invokeLater(accion);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.itson.proyecto01.control;
+
+import java.awt.Component;
+import java.awt.Cursor;
+
+/**
+ * <p>
+ * Ganchos de estado de carga que {@link EjecutorUI} llama en el EDT al iniciar
+ * y al terminar cada tarea, por ejemplo para mostrar el cursor de espera o
+ * deshabilitar un botón mientras se consulta la base de datos.
+ * </p>
+ *
+ * <p>
+ * Cada {@link #iniciar()} tiene su {@link #terminar()}, también cuando la tarea
+ * falla o se cancela.
+ * </p>
+ *
+ * @author joset
+ */
+public interface IndicadorCarga {
+
+    /**
+     * Indicador que no hace nada.
+     */
+    IndicadorCarga NINGUNO = new IndicadorCarga() {
+        @Override
+        public void iniciar() {
+        }
+
+        @Override
+        public void terminar() {
+        }
+    };
+
+    /**
+     * Se llama en el EDT antes de lanzar la tarea.
+     */
+    void iniciar();
+
+    /**
+     * Se llama en el EDT después de entregar el resultado.
+     */
+    void terminar();
+
+    /**
+     * <p>
+     * Crea un indicador que muestra el cursor de espera sobre la ventana y
+     * deshabilita los componentes indicados mientras haya tareas en curso.
+     * </p>
+     *
+     * <p>
+     * Lleva la cuenta de tareas activas, así que puede compartirse entre varias
+     * tareas de la misma ventana: se restaura al terminar la última.
+     * </p>
+     *
+     * @param ventana ventana que muestra el cursor de espera.
+     * @param deshabilitar componentes que no deben usarse durante la carga.
+     * @return indicador para la ventana.
+     */
+    static IndicadorCarga enVentana(Component ventana, Component... deshabilitar) {
+        return new IndicadorCarga() {
+            private int activas;
+
+            @Override
+            public void iniciar() {
+                if (activas++ == 0) {
+                    ventana.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+                    for (Component componente : deshabilitar) {
+                        componente.setEnabled(false);
+                    }
+                }
+            }
+
+            @Override
+            public void terminar() {
+                if (--activas == 0) {
+                    ventana.setCursor(Cursor.getDefaultCursor());
+                    for (Component componente : deshabilitar) {
+                        componente.setEnabled(true);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -4,8 +4,7 @@ import javax.swing.JOptionPane;
 import org.itson.proyecto01.entidades.Cliente;
 import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.IClientesBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.IClientesDAO;
 import org.itson.proyecto01.presentacion.LoginForm;
 
@@ -26,6 +25,7 @@ public class LoginControl {
     private final IClientesBO clienteBO;
     private LoginForm loginForm;
     private UtileriasControl utilerias;
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de inicio de sesión.
@@ -40,8 +40,9 @@ public class LoginControl {
     public LoginControl(LoginForm loginForm) {
         this.utilerias = new UtileriasControl();
         this.loginForm = loginForm;
-        IClientesDAO clienteDAO = new ClientesDAO();
+        IClientesDAO clienteDAO = FabricaDAOs.clientesDAO();
         this.clienteBO = new ClientesBO(clienteDAO);
+        this.carga = IndicadorCarga.enVentana(loginForm, loginForm.getBtnIngresar());
         inicializarEventos();
     }
 
@@ -51,7 +52,9 @@ public class LoginControl {
      * El flujo de este método incluye:
      * <ol>
      * <li>Validación de que los campos no estén vacíos o nulos.</li>
-     * <li>Llamada a la capa de negocio para verificar las credenciales.</li>
+     * <li>Llamada a la capa de negocio para verificar las credenciales, en
+     * segundo plano con {@link EjecutorUI} (BCrypt y la consulta no congelan la
+     * ventana; el botón Ingresar se deshabilita mientras tanto).</li>
      * <li>Recuperación del objeto {@link Cliente} completo tras una
      * autenticación exitosa.</li>
      * <li>Persistencia del cliente en el singleton de
@@ -63,12 +66,10 @@ public class LoginControl {
      *
      *  @param nombreCompleto Cadena con el nombre del usuario ingresado.
      * @param password Cadena con la contraseña ingresada.
-     * @throws ControlException Si los campos están vacíos o las credenciales
-     * son incorrectas.
-     * @throws NegocioException Si ocurre un error inesperado en la capa de
-     * negocio o base de datos.
+     * @throws ControlException Si los campos están vacíos. Las credenciales
+     * incorrectas y los errores de negocio se muestran en un cuadro de diálogo.
      */
-    public void iniciarSesion(String nombreCompleto, String password) throws ControlException, NegocioException {
+    public void iniciarSesion(String nombreCompleto, String password) throws ControlException {
 
         if (nombreCompleto == null || nombreCompleto.isBlank()) {
             throw new ControlException("El correo es obligatorio", null);
@@ -77,20 +78,20 @@ public class LoginControl {
         if (password == null || password.isBlank()) {
             throw new ControlException("La contraseña es obligatoria", null);
         }
-        try {
+        EjecutorUI.ejecutar(() -> {
             int idCliente = clienteBO.autenticarNombreCompletoPassword(nombreCompleto, password);
             if (idCliente <= 0) {
                 throw new ControlException("Nombre o contraseña incorrectos", null);
             }
             // Obtiene el cliente que inicio sesion por su id
-            Cliente cliente = clienteBO.obtenerClientePorId(idCliente);
+            return clienteBO.obtenerClientePorId(idCliente);
+        }, cliente -> {
             // Guarda la sesion
             SesionControl.getSesion().guardarSesion(cliente);
             // Manda al usuario al menu principal
             utilerias.abrirMenuPrincipal(loginForm);
-        } catch (NegocioException | ControlException ex) {
-            JOptionPane.showMessageDialog(loginForm, "Error, no se encontro el cliente " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, ex -> JOptionPane.showMessageDialog(loginForm, "Error, no se encontro el cliente " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE),
+                carga);
     }
 
     /**
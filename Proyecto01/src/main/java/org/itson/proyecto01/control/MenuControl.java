@@ -1,17 +1,19 @@
 package org.itson.proyecto01.control;
 
 import org.itson.proyecto01.presentacion.*;
-import org.itson.proyecto01.negocio.ICuentasBO;
 import org.itson.proyecto01.negocio.CuentasBO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.ICuentasDAO;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JOptionPane;
+import org.itson.proyecto01.entidades.Cliente;
 import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.negocio.ClientesBO;
-import org.itson.proyecto01.negocio.IClientesBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
+import org.itson.proyecto01.negocio.ClientesBOAsincrono;
+import org.itson.proyecto01.negocio.CuentasBOAsincrono;
+import org.itson.proyecto01.negocio.IClientesBOAsincrono;
+import org.itson.proyecto01.negocio.ICuentasBOAsincrono;
 import org.itson.proyecto01.persistencia.IClientesDAO;
 
 /**
@@ -34,11 +36,12 @@ import org.itson.proyecto01.persistencia.IClientesDAO;
  */
 public class MenuControl {
 
-    private final ICuentasBO cuentasBO;
-    private final IClientesBO clientesBO;
+    private final ICuentasBOAsincrono cuentasBO;
+    private final IClientesBOAsincrono clientesBO;
     private final MenuPrincipalForm menuForm;
     private  UtileriasControl utilerias;
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador del menú.
@@ -55,34 +58,51 @@ public class MenuControl {
         this.menuForm = menuForm;
 
         // Inicializar BO 
-        ICuentasDAO cuentasDAO = new CuentasDAO();
-        IClientesDAO clientesDAO = new ClientesDAO();
+        ICuentasDAO cuentasDAO = FabricaDAOs.cuentasDAO();
+        IClientesDAO clientesDAO = FabricaDAOs.clientesDAO();
 
         //InicializarBO
-        this.clientesBO = new ClientesBO(clientesDAO);
-        this.cuentasBO = new CuentasBO(cuentasDAO);
-        cargarCuentasCliente();
-        cargarNombreCliente();
+        this.clientesBO = new ClientesBOAsincrono(new ClientesBO(clientesDAO));
+        this.cuentasBO = new CuentasBOAsincrono(new CuentasBO(cuentasDAO));
+        this.carga = IndicadorCarga.enVentana(menuForm);
+        cargarMenu();
         inicializarEventos();
     }
 
+    /**
+     * Carga las cuentas y el nombre del cliente al abrir el menú.
+     * <p>
+     * Las dos consultas son independientes, así que se lanzan en paralelo con
+     * los BO asíncronos y la ventana se actualiza una sola vez cuando ambas
+     * terminan: la espera es la de la consulta más lenta, no la suma.
+     * </p>
+     */
+    private void cargarMenu() {
+        CompletableFuture<List<Cuenta>> cuentas = cuentasBO.consultarCuentasCliente(idCliente);
+        CompletableFuture<Cliente> cliente = clientesBO.obtenerClientePorId(idCliente);
+        EjecutorUI.alCompletar(cuentas.thenCombine(cliente, DatosMenu::new), datos -> {
+            mostrarCuentas(datos.cuentas);
+            mostrarNombre(datos.cliente);
+        }, ex -> JOptionPane.showMessageDialog(menuForm, "Error al cargar el menú: " + ex.getMessage()), carga);
+    }
+
     /**
      * Recupera las cuentas bancarias del cliente desde la base de datos y las
      * renderiza en la vista.
      * <p>
-     * Por cada cuenta encontrada, solicita al {@code menuForm} la creación
-     * dinámica de un panel con el número de cuenta, estado y saldo actual.
+     * Las cuentas se entregan juntas al {@code menuForm}, que actualiza su
+     * lista una sola vez; si ya estaban cargadas, sólo se repintan las que
+     * cambiaron de saldo o estado. La consulta corre en segundo plano con
+     * {@link EjecutorUI}.
      * </p>
      */
     public void cargarCuentasCliente() {
-        try {
-            List<Cuenta> cuentas = cuentasBO.consultarCuentasCliente(idCliente); // obtiene datos
-            for (Cuenta c : cuentas) {
-                menuForm.agregarPanelCuenta(c.getNumeroCuenta(), c.getEstado(), c.getSaldo());
-            }
-        } catch (NegocioException ex) {
-            JOptionPane.showMessageDialog(menuForm, "Error al cargar cuentas: " + ex.getMessage());
-        }
+        EjecutorUI.alCompletar(cuentasBO.consultarCuentasCliente(idCliente), this::mostrarCuentas,
+                ex -> JOptionPane.showMessageDialog(menuForm, "Error al cargar cuentas: " + ex.getMessage()), carga);
+    }
+
+    private void mostrarCuentas(List<Cuenta> cuentas) {
+        menuForm.mostrarCuentas(cuentas);
     }
 
     /**
@@ -115,14 +135,30 @@ public class MenuControl {
 
     /**
      * Consulta el nombre completo del cliente (Nombres + Apellidos) y actualiza
-     * la etiqueta de bienvenida en la interfaz gráfica.
+     * la etiqueta de bienvenida en la interfaz gráfica. La consulta corre en
+     * segundo plano con {@link EjecutorUI}.
      */
     public void cargarNombreCliente() {
-        try {
-            String nombreCompleto = clientesBO.obtenerClientePorId(idCliente).getNombres() + " " + clientesBO.obtenerClientePorId(idCliente).getApellidoP() + " " + clientesBO.obtenerClientePorId(idCliente).getApellidoM();
-            menuForm.actualizarBienvenida(nombreCompleto);
-        } catch (NegocioException ex) {
-            JOptionPane.showMessageDialog(menuForm, "Error al cargar nombre del cliente: " + ex.getMessage());
+        EjecutorUI.alCompletar(clientesBO.obtenerClientePorId(idCliente), this::mostrarNombre,
+                ex -> JOptionPane.showMessageDialog(menuForm, "Error al cargar nombre del cliente: " + ex.getMessage()), carga);
+    }
+
+    private void mostrarNombre(Cliente cliente) {
+        String nombreCompleto = cliente.getNombres() + " " + cliente.getApellidoP() + " " + cliente.getApellidoM();
+        menuForm.actualizarBienvenida(nombreCompleto);
+    }
+
+    /**
+     * Resultado combinado de las consultas del menú.
+     */
+    private static final class DatosMenu {
+
+        private final List<Cuenta> cuentas;
+        private final Cliente cliente;
+
+        private DatosMenu(List<Cuenta> cuentas, Cliente cliente) {
+            this.cuentas = cuentas;
+            this.cliente = cliente;
         }
     }
 }
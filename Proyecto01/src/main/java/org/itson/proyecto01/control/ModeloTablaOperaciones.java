@@ -0,0 +1,247 @@
+package org.itson.proyecto01.control;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.swing.table.AbstractTableModel;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
+import org.itson.proyecto01.entidades.Operacion;
+import org.itson.proyecto01.negocio.IOperacionesBO;
+
+/**
+ * <p>
+ * Modelo de la tabla de operaciones que pide las páginas a la base de datos
+ * conforme el usuario se desplaza, en lugar de cargar todo el historial.
+ * </p>
+ *
+ * <p>
+ * Funcionamiento:
+ * </p>
+ * <ul>
+ *   <li>Las páginas se piden con la paginación por llave de
+ *       {@link IOperacionesBO#consultarOperaciones(FiltroOperacionesDTO)}. Se
+ *       guarda el cursor de cada página descubierta (unos bytes), así que
+ *       cualquier página puede volver a pedirse.</li>
+ *   <li>Sólo se conservan en memoria {@link #PAGINAS_EN_MEMORIA} páginas; al
+ *       rebasarlas se descarta la usada hace más tiempo. La primera página se
+ *       conserva siempre, porque pedirla de nuevo podría traer operaciones
+ *       recientes y recorrer las filas.</li>
+ *   <li>La tabla crece una página a la vez: cuando se pinta la última página
+ *       conocida se pide la siguiente y se avisan las filas nuevas con un solo
+ *       evento.</li>
+ *   <li>Las celdas se arman en {@link #getValueAt(int, int)}, que la tabla
+ *       llama sólo para las filas visibles; la fecha se formatea ahí. Mientras
+ *       una página llega, sus celdas muestran "Cargando...".</li>
+ *   <li>Si la consulta de una página falla, se recuerda y sus celdas muestran
+ *       "Error al cargar"; no se vuelve a pedir en cada repintado, sólo con
+ *       {@link #reintentar()} o al reiniciar el modelo.</li>
+ * </ul>
+ *
+ * <p>
+ * Las consultas corren con {@link EjecutorUI}. Se usa solo desde el EDT.
+ * </p>
+ *
+ * @author Jesus Omar
+ */
+public final class ModeloTablaOperaciones extends AbstractTableModel {
+
+    /**
+     * Páginas que se conservan en memoria además de la primera.
+     */
+    public static final int PAGINAS_EN_MEMORIA = 20;
+
+    private static final String[] COLUMNAS = {"ID", "Tipo", "Fecha y hora", "Monto", "Numero de cuenta"};
+    private static final Class<?>[] TIPOS = {Integer.class, Object.class, String.class, Double.class, String.class};
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final String CARGANDO = "Cargando...";
+    private static final String ERROR = "Error al cargar";
+
+    private final IOperacionesBO operacionesBO;
+    private final IndicadorCarga carga;
+    private final Consumer<? super Exception> alFallar;
+
+    private final List<String> cursores = new ArrayList<>();
+    private final Map<Integer, List<Operacion>> paginas;
+    private final Map<Integer, TareaUI> enCurso = new HashMap<>();
+    private final Set<Integer> fallidas = new HashSet<>();
+    private FiltroOperacionesDTO filtro;
+    private List<Operacion> primeraPagina;
+    private int paginasDescubiertas;
+    private int filas;
+    private Runnable siNoHayOperaciones;
+
+    /**
+     * Crea el modelo vacío.
+     *
+     * @param operacionesBO BO con la consulta paginada.
+     * @param carga se avisa mientras se pide una página.
+     * @param alFallar recibe en el EDT el error de una consulta.
+     */
+    public ModeloTablaOperaciones(IOperacionesBO operacionesBO, IndicadorCarga carga,
+            Consumer<? super Exception> alFallar) {
+        this.operacionesBO = operacionesBO;
+        this.carga = carga;
+        this.alFallar = alFallar;
+        this.paginas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Operacion>> mayor) {
+                return size() > PAGINAS_EN_MEMORIA;
+            }
+        };
+    }
+
+    /**
+     * Descarta las filas y consultas actuales y empieza con otro filtro. Las
+     * páginas de un filtro anterior que lleguen después se ignoran.
+     *
+     * @param filtro criterios de la consulta; su cursor se ignora.
+     * @param siNoHayOperaciones se llama si la primera página llega vacía.
+     */
+    public void reiniciar(FiltroOperacionesDTO filtro, Runnable siNoHayOperaciones) {
+        for (TareaUI tarea : enCurso.values()) {
+            tarea.cancelar();
+        }
+        enCurso.clear();
+        fallidas.clear();
+        paginas.clear();
+        cursores.clear();
+        cursores.add(null);
+        this.filtro = filtro;
+        this.siNoHayOperaciones = siNoHayOperaciones;
+        primeraPagina = null;
+        paginasDescubiertas = 0;
+        filas = 0;
+        fireTableDataChanged();
+        pedir(0);
+    }
+
+    /**
+     * Vuelve a pedir las páginas cuya consulta falló, con el mismo filtro.
+     */
+    public void reintentar() {
+        if (fallidas.isEmpty()) {
+            return;
+        }
+        fallidas.clear();
+        if (paginasDescubiertas == 0) {
+            pedir(0);
+        } else if (filas > 0) {
+            // Al repintar, las páginas visibles sin datos se vuelven a pedir
+            fireTableRowsUpdated(0, filas - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return TIPOS[columna];
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        int tamanio = filtro.getTamanioPagina();
+        int indice = fila / tamanio;
+        if (indice == paginasDescubiertas - 1 && paginasDescubiertas < cursores.size()) {
+            pedir(paginasDescubiertas);
+        }
+
+        List<Operacion> pagina = indice == 0 ? primeraPagina : paginas.get(indice);
+        if (pagina == null) {
+            pedir(indice);
+            if (columna != 2) {
+                return null;
+            }
+            return fallidas.contains(indice) ? ERROR : CARGANDO;
+        }
+        int posicion = fila % tamanio;
+        if (posicion >= pagina.size()) {
+            return null;
+        }
+        Operacion operacion = pagina.get(posicion);
+        return switch (columna) {
+            case 0 -> operacion.getIdOperacion();
+            case 1 -> operacion.getTipoOperacion();
+            case 2 -> operacion.getFechaHoraOperacion().format(FORMATO_FECHA);
+            case 3 -> operacion.getMonto();
+            default -> operacion.getNumeroCuenta();
+        };
+    }
+
+    private void pedir(int indice) {
+        if (enCurso.containsKey(indice) || fallidas.contains(indice)) {
+            return;
+        }
+        FiltroOperacionesDTO filtroPagina = filtro.conCursor(cursores.get(indice));
+        TareaUI tarea = EjecutorUI.ejecutar(() -> operacionesBO.consultarOperaciones(filtroPagina),
+                pagina -> recibir(indice, pagina), ex -> {
+                    enCurso.remove(indice);
+                    fallidas.add(indice);
+                    repintarPagina(indice);
+                    alFallar.accept(ex);
+                }, carga);
+        enCurso.put(indice, tarea);
+    }
+
+    /**
+     * Avisa las filas ya mostradas de una página para que cambie su texto.
+     */
+    private void repintarPagina(int indice) {
+        int inicio = indice * filtro.getTamanioPagina();
+        int fin = Math.min(filas, inicio + filtro.getTamanioPagina()) - 1;
+        if (inicio <= fin) {
+            fireTableRowsUpdated(inicio, fin);
+        }
+    }
+
+    private void recibir(int indice, PaginaOperacionesDTO pagina) {
+        enCurso.remove(indice);
+        List<Operacion> operaciones = pagina.getOperaciones();
+        if (indice == 0) {
+            primeraPagina = operaciones;
+        } else {
+            paginas.put(indice, operaciones);
+        }
+
+        int inicio = indice * filtro.getTamanioPagina();
+        if (indice < paginasDescubiertas) {
+            if (!operaciones.isEmpty()) {
+                fireTableRowsUpdated(inicio, inicio + operaciones.size() - 1);
+            }
+            return;
+        }
+
+        paginasDescubiertas++;
+        if (pagina.hayMas()) {
+            cursores.add(pagina.getCursorSiguiente());
+        }
+        if (operaciones.isEmpty()) {
+            if (indice == 0) {
+                siNoHayOperaciones.run();
+            }
+            return;
+        }
+        filas += operaciones.size();
+        fireTableRowsInserted(inicio, filas - 1);
+    }
+}
@@ -5,16 +5,12 @@
 package org.itson.proyecto01.control;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.logging.Logger;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
-import org.itson.proyecto01.entidades.Operacion;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
 import org.itson.proyecto01.enums.TipoOperacion;
 import org.itson.proyecto01.negocio.IOperacionesBO;
-import org.itson.proyecto01.negocio.NegocioException;
 import org.itson.proyecto01.negocio.OperacionesBO;
 import org.itson.proyecto01.persistencia.IOperacionesDAO;
 import org.itson.proyecto01.persistencia.OperacionesDAO;
@@ -40,6 +36,7 @@ public class OperacionControl {
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     private static final Logger LOGGER = Logger.getLogger(OperacionControl.class.getName());
     private UtileriasControl utilerias ;
+    private final ModeloTablaOperaciones modeloTabla;
 
     /**
      * Constructor que inicializa el controlador de operaciones.
@@ -57,6 +54,9 @@ public class OperacionControl {
         this.consultarOperacionesForm = consultarOperacionesForm;
         IOperacionesDAO operacionesDAO = new OperacionesDAO();
         this.operacionesBO = new OperacionesBO(operacionesDAO);
+        this.modeloTabla = new ModeloTablaOperaciones(operacionesBO,
+                IndicadorCarga.enVentana(consultarOperacionesForm), ex -> LOGGER.severe(ex.getMessage()));
+        consultarOperacionesForm.setModelOperaciones(modeloTabla);
         this.configurarFiltros();
         this.cargarOperaciones();
 
@@ -78,77 +78,33 @@ public class OperacionControl {
      * Recupera y filtra las operaciones del cliente para mostrarlas en la
      * tabla.
      * <p>
-     * Consulta los valores seleccionados en los ComboBox de la vista para
-     * aplicar filtros dinámicos. Dependiendo de la selección, invoca diferentes
-     * métodos de {@link IOperacionesBO}. Si no se encuentran registros,
-     * notifica al usuario.
+     * Consulta los valores seleccionados en los ComboBox de la vista y arma un
+     * {@link FiltroOperacionesDTO}. La tabla usa {@link ModeloTablaOperaciones},
+     * que pide las páginas conforme el usuario se desplaza y sólo conserva unas
+     * cuantas en memoria. Si no se encuentran registros, notifica al usuario.
      * </p>
-     */
-    public void cargarOperaciones() {
-        try {
-            // Valores de los comboBox
-            String seleccionTipo = (String) consultarOperacionesForm.getTipoOperacionComboBox().getSelectedItem();
-            String seleccionFecha = (String) consultarOperacionesForm.getRangoFechasComboBox().getSelectedItem();
-
-            boolean filtroTipoActivo = !seleccionTipo.equals("TODAS");
-            boolean filtroFechaActivo = !seleccionFecha.equals("TODAS");
-
-            List<Operacion> listaOperaciones;
-
-            if (filtroTipoActivo && filtroFechaActivo) {
-                // En caso de que los dos filtros esten seleccionados
-                TipoOperacion tipo = TipoOperacion.valueOf(seleccionTipo);
-                // calcularFechaInicio es un metodo auxiliar esta mas abajo
-                LocalDateTime fechaInicio = calcularFechaInicio(seleccionFecha);
-                listaOperaciones = operacionesBO.operacionesPorFechaTipo(idCliente, tipo, fechaInicio, LocalDateTime.now());
-            } else if (filtroTipoActivo) {
-                TipoOperacion tipo = TipoOperacion.valueOf(seleccionTipo);
-                listaOperaciones = operacionesBO.operacionesPorTipo(idCliente, tipo);
-            } else if (filtroFechaActivo) {
-                LocalDateTime fechaInicio = calcularFechaInicio(seleccionFecha);
-                listaOperaciones = operacionesBO.operacionesPorFecha(idCliente, fechaInicio, LocalDateTime.now());
-            } else {
-                listaOperaciones = operacionesBO.obtenerOperaciones(idCliente);
-            }
-            // Llenar tabla es otro metodo que hice tambien mas abajo
-            llenarTabla(listaOperaciones);
-
-            if (listaOperaciones.isEmpty()) {
-                JOptionPane.showMessageDialog(consultarOperacionesForm, "No hay operaciones registradas");
-            }
-
-        } catch (NegocioException ex) {
-            LOGGER.severe(ex.getMessage());
-        }
-    }
-
-    /**
-     * Actualiza el contenido visual de la tabla en la interfaz.
      * <p>
-     * Limpia el modelo de la tabla actual y formatea los datos de cada objeto
-     * {@link Operacion} (ID, Tipo, Fecha/Hora, Monto y Cuenta) para insertarlos
-     * como filas nuevas.
+     * Las consultas corren en segundo plano; si el usuario cambia otra vez un
+     * filtro antes de que terminen, sus resultados se descartan.
      * </p>
-     *
-     * @param listaOperaciones Lista de operaciones obtenidas desde la base de
-     * datos.
      */
-    private void llenarTabla(List<Operacion> listaOperaciones) {
-        DefaultTableModel modelo = (DefaultTableModel) consultarOperacionesForm.getTablaOperaciones().getModel();
-        modelo.setRowCount(0);
-        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    public void cargarOperaciones() {
+        // Valores de los comboBox
+        String seleccionTipo = (String) consultarOperacionesForm.getTipoOperacionComboBox().getSelectedItem();
+        String seleccionFecha = (String) consultarOperacionesForm.getRangoFechasComboBox().getSelectedItem();
 
-        for (Operacion operacion : listaOperaciones) {
-            String fechaFormateada = operacion.getFechaHoraOperacion().format(formato);
-            Object[] fila = {
-                operacion.getIdOperacion(),
-                operacion.getTipoOperacion(),
-                fechaFormateada,
-                operacion.getMonto(),
-                operacion.getNumeroCuenta()
-            };
-            modelo.addRow(fila);
+        FiltroOperacionesDTO filtro = new FiltroOperacionesDTO(idCliente);
+        if (!seleccionTipo.equals("TODAS")) {
+            filtro.setTipoOperacion(TipoOperacion.valueOf(seleccionTipo));
+        }
+        if (!seleccionFecha.equals("TODAS")) {
+            // calcularFechaInicio es un metodo auxiliar esta mas abajo
+            filtro.setFechaInicio(calcularFechaInicio(seleccionFecha));
+            filtro.setFechaFin(LocalDateTime.now());
         }
+
+        modeloTabla.reiniciar(filtro, () -> JOptionPane.showMessageDialog(consultarOperacionesForm,
+                "No hay operaciones registradas"));
     }
 
     /**
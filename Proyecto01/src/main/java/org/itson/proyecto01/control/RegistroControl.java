@@ -6,15 +6,12 @@ import java.time.format.DateTimeParseException;
 import javax.swing.JOptionPane;
 import org.itson.proyecto01.dtos.NuevoClienteDTO;
 import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
-import org.itson.proyecto01.entidades.Cliente;
 import org.itson.proyecto01.entidades.Domicilio;
 import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.DomiciliosBO;
 import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.IDomiciliosBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.DomiciliosDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.IClientesDAO;
 import org.itson.proyecto01.persistencia.IDomiciliosDAO;
 import org.itson.proyecto01.presentacion.RegistroForm;
@@ -38,6 +35,7 @@ public class RegistroControl {
     private RegistroForm registroForm;
     private final IDomiciliosBO domiciliosBO;
     private UtileriasControl utilerias;
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de registro.
@@ -53,11 +51,12 @@ public class RegistroControl {
     public RegistroControl(RegistroForm registroForm) {
         this.utilerias = new UtileriasControl();
         this.registroForm = registroForm;
-        IClientesDAO clientesDAO = new ClientesDAO();
+        IClientesDAO clientesDAO = FabricaDAOs.clientesDAO();
         this.clientesBO = new ClientesBO(clientesDAO);
 
-        IDomiciliosDAO domiciliosDAO = new DomiciliosDAO();
+        IDomiciliosDAO domiciliosDAO = FabricaDAOs.domiciliosDAO();
         this.domiciliosBO = new DomiciliosBO(domiciliosDAO);
+        this.carga = IndicadorCarga.enVentana(registroForm, registroForm.getBtnRegistrarse());
 
         inicializarEventos();
     }
@@ -87,16 +86,16 @@ public class RegistroControl {
      * <li>Verificar la coincidencia de las contraseñas.</li>
      * <li>Transformar los datos en objetos de transferencia (DTO).</li>
      * <li>Persistir primero el domicilio para obtener su identificador.</li>
-     * <li>Crear el cliente vinculándolo al domicilio registrado.</li>
-     * <li>Notificar el éxito al usuario y redirigir al Menú Principal.</li>
+     * <li>Crear el cliente vinculándolo al domicilio registrado. Estos dos
+     * pasos corren en segundo plano con {@link EjecutorUI}.</li>
+     * <li>Guardar la sesión, notificar el éxito al usuario y redirigir al Menú
+     * Principal.</li>
      * </ol>
      * </ol>
      * </p>
      *
      * * @throws ControlException Si las validaciones de entrada fallan (campos
      * vacíos o contraseñas distintas).
-     * @throws NegocioException Si ocurre un error en las reglas de negocio o
-     * persistencia.
      * @throws DateTimeParseException Si el formato de la fecha de nacimiento es
      * inválido.
      */
@@ -149,18 +148,26 @@ public class RegistroControl {
                     estado,
                     codigoPostal
             );
-            Domicilio Domicilio = domiciliosBO.registrarDomicilio(nuevoDomicilio);
-            Cliente clie = clientesBO.crearCliente(nuevoCliente, Domicilio.getId());
-
-            JOptionPane.showMessageDialog(
+            EjecutorUI.ejecutar(() -> {
+                Domicilio Domicilio = domiciliosBO.registrarDomicilio(nuevoDomicilio);
+                return clientesBO.crearCliente(nuevoCliente, Domicilio.getId());
+            }, clie -> {
+                SesionControl.getSesion().guardarSesion(clie);
+                JOptionPane.showMessageDialog(
+                        registroForm,
+                        "🎉🎉🎉 Registro exitoso 🎉🎉🎉",
+                        "Éxito",
+                        JOptionPane.INFORMATION_MESSAGE
+                );
+                utilerias.abrirMenuPrincipal(registroForm);
+            }, ex -> JOptionPane.showMessageDialog(
                     registroForm,
-                    "🎉🎉🎉 Registro exitoso 🎉🎉🎉",
-                    "Éxito",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
-            utilerias.abrirMenuPrincipal(registroForm);
+                    "Error al registrar cliente: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+            ), carga);
 
-        } catch (NegocioException | ControlException  ex) {
+        } catch (ControlException  ex) {
             JOptionPane.showMessageDialog(
                     registroForm,
                     "Error al registrar cliente: " + ex.getMessage(),
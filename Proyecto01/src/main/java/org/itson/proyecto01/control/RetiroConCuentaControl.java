@@ -4,20 +4,16 @@
  */
 package org.itson.proyecto01.control;
 
-import java.util.List;
 import java.util.logging.Logger;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JOptionPane;
 import org.itson.proyecto01.entidades.Cuenta;
-import org.itson.proyecto01.entidades.Retiro;
 import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.CuentasBO;
 import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.ICuentasBO;
-import org.itson.proyecto01.negocio.NegocioException;
 import org.itson.proyecto01.negocio.RetiroBO;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.IClientesDAO;
 import org.itson.proyecto01.persistencia.ICuentasDAO;
 import org.itson.proyecto01.presentacion.MenuPrincipalForm;
@@ -44,6 +40,7 @@ public class RetiroConCuentaControl {
     private  UtileriasControl utilerias;
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     private static final Logger LOGGER = Logger.getLogger(TransferenciaControl.class.getName());
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de retiros.
@@ -61,12 +58,13 @@ public class RetiroConCuentaControl {
         this.retiroCForm = retiroCForm;
 
         // Inicializar BO 
-        ICuentasDAO cuentasDAO = new CuentasDAO();
-        IClientesDAO clientesDAO = new ClientesDAO();
+        ICuentasDAO cuentasDAO = FabricaDAOs.cuentasDAO();
+        IClientesDAO clientesDAO = FabricaDAOs.clientesDAO();
 
         //InicializarBO
         this.clientesBO = new ClientesBO(clientesDAO);
         this.cuentasBO = new CuentasBO(cuentasDAO);
+        this.carga = IndicadorCarga.enVentana(retiroCForm, retiroCForm.getBtnGenerarRetiro());
         cargarCuentasCliente();
         inicializarEventos();
 
@@ -94,14 +92,12 @@ public class RetiroConCuentaControl {
      * vista.
      * <p>
      * Incluye una opción inicial por defecto para forzar la selección explícita
-     * de una cuenta válida.
+     * de una cuenta válida. La consulta corre en segundo plano con
+     * {@link EjecutorUI}.
      * </p>
      */
     private void cargarCuentasCliente() {
-
-        try {
-            List<Cuenta> cuentas = cuentasBO.consultarCuentasClienteActivas(idCliente);
-
+        EjecutorUI.ejecutar(() -> cuentasBO.consultarCuentasClienteActivas(idCliente), cuentas -> {
             DefaultComboBoxModel<Cuenta> modelo = new DefaultComboBoxModel<>();
             modelo.addElement(new Cuenta(0, "Seleccione una cuenta...", null, 0.0, null, 0));
 
@@ -110,10 +106,7 @@ public class RetiroConCuentaControl {
             }
 
             retiroCForm.getCboCuentasCliente().setModel(modelo);
-
-        } catch (NegocioException ex) {
-            LOGGER.severe(ex.getMessage());
-        }
+        }, ex -> LOGGER.severe(ex.getMessage()), carga);
     }
 
     /**
@@ -185,37 +178,34 @@ public class RetiroConCuentaControl {
      * Tras validar los datos, utiliza {@link RetiroBO} para registrar la
      * operación y generar un folio y contraseña únicos. Al finalizar, muestra
      * estos datos al usuario mediante un mensaje informativo y limpia el
-     * formulario.
+     * formulario. El registro corre en segundo plano con {@link EjecutorUI} y
+     * el botón se deshabilita mientras tanto.
      * </p>
      */
     private void generarRetiroConCuenta() {
-        try {
-            if (validarBotonGenerarRetiro()) {
-
-                Cuenta cuentaSeleccionada = (Cuenta) retiroCForm.getCboCuentasCliente().getSelectedItem();
-
-                String numeroCuenta = cuentaSeleccionada.getNumeroCuenta().trim();
-                System.out.println(numeroCuenta);
-                Cuenta cuentaNueva = cuentasBO.obtenerCuentaporNumeroCuenta(numeroCuenta);
-                System.out.println(cuentaNueva);
-                double monto = Double.parseDouble(retiroCForm.getTxtMonto().getText());
-
-                RetiroBO retiroBO = new RetiroBO();
-                Retiro retiroGenerado = retiroBO.generarRetiro(cuentaNueva, monto);
-
-                JOptionPane.showMessageDialog(retiroCForm,
-                        "Retiro generado correctamente\n\n"
-                        + "Folio: " + retiroGenerado.getFolio() + "\n"
-                        + "Contraseña: " + retiroGenerado.getContrasena(),
-                        "Retiro sin cuenta",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
-                retiroCForm.getTxtMonto().setText("");
-            }
-        } catch (NegocioException ex) {
+        if (!validarBotonGenerarRetiro()) {
+            return;
+        }
+        Cuenta cuentaSeleccionada = (Cuenta) retiroCForm.getCboCuentasCliente().getSelectedItem();
+        String numeroCuenta = cuentaSeleccionada.getNumeroCuenta().trim();
+        double monto = Double.parseDouble(retiroCForm.getTxtMonto().getText());
+
+        EjecutorUI.ejecutar(() -> {
+            Cuenta cuentaNueva = cuentasBO.obtenerCuentaporNumeroCuenta(numeroCuenta);
+            RetiroBO retiroBO = new RetiroBO();
+            return retiroBO.generarRetiro(cuentaNueva, monto);
+        }, retiroGenerado -> {
+            JOptionPane.showMessageDialog(retiroCForm,
+                    "Retiro generado correctamente\n\n"
+                    + "Folio: " + retiroGenerado.getFolio() + "\n"
+                    + "Contraseña: " + retiroGenerado.getContrasena(),
+                    "Retiro sin cuenta",
+                    JOptionPane.INFORMATION_MESSAGE
+            );
+            retiroCForm.getTxtMonto().setText("");
+        }, ex -> {
             LOGGER.severe(ex.getMessage());
             JOptionPane.showMessageDialog(retiroCForm, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-
+        }, carga);
     }
 }
@@ -1,19 +1,16 @@
 package org.itson.proyecto01.control;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 import org.itson.proyecto01.entidades.Retiro;
-import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.CuentasBO;
-import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.ICuentasBO;
 import org.itson.proyecto01.negocio.IRetiroBO;
 import org.itson.proyecto01.negocio.NegocioException;
 import org.itson.proyecto01.negocio.RetiroBO;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
-import org.itson.proyecto01.persistencia.IClientesDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.ICuentasDAO;
 import org.itson.proyecto01.presentacion.RetiroSinCuentaForm;
 
@@ -38,9 +35,6 @@ public class RetiroSinCuentaControl {
     private final ICuentasBO cuentasBO;
     private final ICuentasDAO cuentasDAO;
 
-    private final IClientesBO clientesBO;
-    private final IClientesDAO clientesDAO;
-
     private static final Logger LOGGER = Logger.getLogger(RetiroSinCuentaControl.class.getName());
 
     private  String numeroFolio;
@@ -49,6 +43,10 @@ public class RetiroSinCuentaControl {
     
     private  UtileriasControl utilerias ;
 
+    private static final int MS_ESPERA_VALIDACION = 300;
+    private final BusquedaDiferida<List<String>, RetiroConEmisor> validacion;
+    private final IndicadorCarga carga;
+
     /**
      * Constructor que inicializa el controlador de retiros sin cuenta.
      * <p>
@@ -60,13 +58,18 @@ public class RetiroSinCuentaControl {
      */
     public RetiroSinCuentaControl(RetiroSinCuentaForm retiroSForm) {
         this.utilerias = new UtileriasControl();
-        this.cuentasDAO = new CuentasDAO();
+        this.cuentasDAO = FabricaDAOs.cuentasDAO();
         this.cuentasBO = new CuentasBO(cuentasDAO);
 
-        this.clientesDAO = new ClientesDAO();
-        this.clientesBO = new ClientesBO(clientesDAO);
-
         this.retiroSForm = retiroSForm;
+        this.carga = IndicadorCarga.enVentana(retiroSForm, retiroSForm.getBtnRetirar());
+        this.validacion = new BusquedaDiferida<>(MS_ESPERA_VALIDACION, null,
+                llave -> buscarRetiro(llave.get(0), llave.get(1)),
+                this::mostrarRetiro,
+                ex -> JOptionPane.showMessageDialog(retiroSForm,
+                        "Datos de incompletos o incorrectos " + ex.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE), carga);
 
         inicializarEventos();
     }
@@ -86,6 +89,11 @@ public class RetiroSinCuentaControl {
         retiroSForm.getTxtContrasenia().addFocusListener(new java.awt.event.FocusAdapter() {
             @Override
             public void focusLost(java.awt.event.FocusEvent e) {
+                // Un diálogo de error quita el foco de forma temporal; no es que
+                // el usuario haya terminado de escribir
+                if (e.isTemporary()) {
+                    return;
+                }
                 actualizarLabels();
             }
         });
@@ -104,44 +112,67 @@ public class RetiroSinCuentaControl {
      * </ol>
      * Si no hay coincidencia, restablece los valores visuales a su estado inicial.
      * </p>
+     * <p>
+     * La validación corre en segundo plano con {@link BusquedaDiferida}. Enter y
+     * la pérdida de foco suelen llegar juntos; se juntan en una sola consulta,
+     * así un mismo intento no cuenta dos veces contra el límite de intentos
+     * por folio. Un folio y contraseña que fallaron no se vuelven a consultar
+     * hasta que el usuario cambie alguno de los dos.
+     * </p>
      */
     private void actualizarLabels() {
         if (this.retiro != null) {
             return;
         }
-        try {
-
-            if (!(retiroSForm.getTxtContrasenia().getText().isEmpty() && retiroSForm.getTxtFolio().getText().isEmpty())) {
-                
-                this.numeroFolio = retiroSForm.getTxtFolio().getText().trim();
-                this.contrasenia = retiroSForm.getTxtContrasenia().getText().trim();
-                
-                this.retiro = validarRetiro(numeroFolio, contrasenia);               
-                
-                int idClienteCuentaRetiro = (cuentasBO.obtenerCuentaporNumeroCuenta(retiro.getNumeroCuentaOrigen().trim())).getIdCliente();
-                String nombresCliente = (clientesBO.obtenerClientePorId(idClienteCuentaRetiro)).getNombres();
-                String apellidoMCliente = (clientesBO.obtenerClientePorId(idClienteCuentaRetiro)).getApellidoM();
-                String apellidoPCliente = (clientesBO.obtenerClientePorId(idClienteCuentaRetiro)).getApellidoP();
-                retiroSForm.getLblNombreCuenta().setText(nombresCliente + " " + apellidoPCliente + " " + apellidoMCliente);
-                
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-                String fechaFormateada = retiro.getFechaExpiracion().format(formatter);
-                retiroSForm.getLblFechaExpiracion().setText(fechaFormateada);
-                
-                retiroSForm.getLblMontoRetiro().setText(String.format("$%,.2f", retiro.getMonto()));
-            } else {
-
-                retiroSForm.getLblNombreCuenta().setText("No encontrado");
-                retiroSForm.getLblFechaExpiracion().setText("././.");
-                retiroSForm.getLblMontoRetiro().setText("$ 0.00");
-            }
-        } catch (NegocioException ex) {
-            JOptionPane.showMessageDialog(retiroSForm,
-                    "Datos de incompletos o incorrectos " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
+        if (retiroSForm.getTxtContrasenia().getText().isEmpty() && retiroSForm.getTxtFolio().getText().isEmpty()) {
+            validacion.cancelar();
+            retiroSForm.getLblNombreCuenta().setText("No encontrado");
+            retiroSForm.getLblFechaExpiracion().setText("././.");
+            retiroSForm.getLblMontoRetiro().setText("$ 0.00");
+            return;
+        }
+
+        String folio = retiroSForm.getTxtFolio().getText().trim();
+        String clave = retiroSForm.getTxtContrasenia().getText().trim();
+
+        validacion.solicitar(List.of(folio, clave));
+    }
+
+    /**
+     * Valida el retiro y obtiene el nombre del emisor con una sola consulta
+     * de cuenta y titular. Corre fuera del EDT.
+     *
+     * @param folio folio del retiro.
+     * @param clave contraseña del retiro.
+     * @return el retiro y el nombre de su emisor.
+     * @throws NegocioException si el retiro no es válido o falla la consulta.
+     */
+    private RetiroConEmisor buscarRetiro(String folio, String clave) throws NegocioException {
+        Retiro encontrado = validarRetiro(folio, clave);
+        String emisor = cuentasBO.obtenerNombreTitular(encontrado.getNumeroCuentaOrigen().trim());
+        return new RetiroConEmisor(folio, clave, encontrado, emisor);
+    }
 
+    /**
+     * Muestra en la vista los datos del retiro validado.
+     *
+     * @param datos retiro validado y nombre de su emisor.
+     */
+    private void mostrarRetiro(RetiroConEmisor datos) {
+        if (this.retiro != null) {
+            return;
         }
+        this.numeroFolio = datos.folio;
+        this.contrasenia = datos.clave;
+        this.retiro = datos.retiro;
+
+        retiroSForm.getLblNombreCuenta().setText(datos.emisor);
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+        String fechaFormateada = retiro.getFechaExpiracion().format(formatter);
+        retiroSForm.getLblFechaExpiracion().setText(fechaFormateada);
+
+        retiroSForm.getLblMontoRetiro().setText(String.format("$%,.2f", retiro.getMonto()));
     }
 
     /**
@@ -163,41 +194,59 @@ public class RetiroSinCuentaControl {
      * <p>
      * Verifica que el objeto {@code retiro} haya sido previamente validado y 
      * solicita a {@link IRetiroBO} que marque la operación como cobrada. 
-     * Al finalizar, notifica al usuario del éxito de la operación.
+     * El cobro corre en segundo plano con {@link EjecutorUI}; al finalizar,
+     * notifica al usuario del éxito de la operación.
      * </p>
      */
     public void cobrarRetiro() {
-        try {
-            this.numeroFolio = retiroSForm.getTxtFolio().getText().trim();
-            this.contrasenia = retiroSForm.getTxtContrasenia().getText().trim();
-            
-            if (numeroFolio.isEmpty() || contrasenia.isEmpty()) {
-                JOptionPane.showMessageDialog(retiroSForm,
-                        "Ingrese folio y contraseña",
-                        "Datos incompletos",
-                        JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            if (this.retiro == null) {
-                JOptionPane.showMessageDialog(retiroSForm,
-                        "Retiro no válido o datos incorrectos",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            IRetiroBO retiroBO = new RetiroBO();
-            retiroBO.cobrarRetiro(this.retiro);
+        this.numeroFolio = retiroSForm.getTxtFolio().getText().trim();
+        this.contrasenia = retiroSForm.getTxtContrasenia().getText().trim();
 
+        if (numeroFolio.isEmpty() || contrasenia.isEmpty()) {
             JOptionPane.showMessageDialog(retiroSForm,
-                    "Retiro exitoso",
-                    "Éxito",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-        } catch (NegocioException ex) {
+                    "Ingrese folio y contraseña",
+                    "Datos incompletos",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (this.retiro == null) {
             JOptionPane.showMessageDialog(retiroSForm,
-                    ex.getMessage(),
+                    "Retiro no válido o datos incorrectos",
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        Retiro porCobrar = this.retiro;
+        EjecutorUI.ejecutar(() -> {
+            IRetiroBO retiroBO = new RetiroBO();
+            retiroBO.cobrarRetiro(porCobrar);
+            return porCobrar;
+        }, cobrado -> JOptionPane.showMessageDialog(retiroSForm,
+                "Retiro exitoso",
+                "Éxito",
+                JOptionPane.INFORMATION_MESSAGE),
+                ex -> JOptionPane.showMessageDialog(retiroSForm,
+                        ex.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE), carga);
+    }
+
+    /**
+     * Resultado de la validación en segundo plano: los datos capturados, el
+     * retiro y el nombre de su emisor.
+     */
+    private static final class RetiroConEmisor {
+
+        private final String folio;
+        private final String clave;
+        private final Retiro retiro;
+        private final String emisor;
+
+        private RetiroConEmisor(String folio, String clave, Retiro retiro, String emisor) {
+            this.folio = folio;
+            this.clave = clave;
+            this.retiro = retiro;
+            this.emisor = emisor;
         }
     }
 
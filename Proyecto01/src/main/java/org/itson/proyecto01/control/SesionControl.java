@@ -4,6 +4,7 @@
  */
 package org.itson.proyecto01.control;
 
+import org.itson.proyecto01.cache.CacheTinyLfu;
 import org.itson.proyecto01.entidades.Cliente;
 
 /**
@@ -23,6 +24,11 @@ public class SesionControl {
     private static SesionControl sesion;
     private Cliente clienteIniciado;
 
+    private static final int TITULARES_CAPACIDAD = 100;
+    private static final long TITULARES_MS_VIDA = 10 * 60 * 1000L;
+    private final CacheTinyLfu<String, String> titulares = new CacheTinyLfu<>("titulares",
+            TITULARES_CAPACIDAD, TITULARES_MS_VIDA);
+
     /**
      * * Constructor privado para evitar la instanciación externa.
      * <p>
@@ -59,6 +65,7 @@ public class SesionControl {
      */
     public void guardarSesion(Cliente cliente) {
         this.clienteIniciado = cliente; // Guarda al cliente que inicio sesion en el form
+        this.titulares.limpiar();
     }
 
     /**
@@ -80,6 +87,21 @@ public class SesionControl {
      */
     public void cerrarSesion() {
         this.clienteIniciado = null; // Cierra sesion eliminando al cliente que estaba iniciado
+        this.titulares.limpiar();
+    }
+
+    /**
+     * Obtiene los titulares de cuenta resueltos durante la sesión.
+     * <p>
+     * Guarda número de cuenta → nombre del titular para no repetir la consulta
+     * cuando el usuario vuelve a escribir una cuenta destino. Se vacía al
+     * iniciar o cerrar sesión.
+     * </p>
+     *
+     * @return caché de titulares de la sesión.
+     */
+    public CacheTinyLfu<String, String> getTitulares() {
+        return titulares;
     }
 
 }
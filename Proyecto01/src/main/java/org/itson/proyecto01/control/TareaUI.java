@@ -0,0 +1,40 @@
+package org.itson.proyecto01.control;
+
+/**
+ * <p>
+ * Referencia a una tarea lanzada con {@link EjecutorUI}, usada para
+ * cancelarla.
+ * </p>
+ *
+ * <p>
+ * Cancelar evita que el trabajo empiece si aún no arrancaba y descarta su
+ * resultado si ya estaba corriendo. El hilo no se interrumpe: interrumpir un
+ * hilo virtual bloqueado en un socket cierra la conexión JDBC, que pertenece
+ * al pool y debe volver sana.
+ * </p>
+ *
+ * @author joset
+ */
+public final class TareaUI {
+
+    private volatile boolean cancelada;
+
+    TareaUI() {
+    }
+
+    /**
+     * Cancela la tarea. No tiene efecto si ya se entregó su resultado.
+     */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    /**
+     * Indica si la tarea fue cancelada.
+     *
+     * @return <code>true</code> si se llamó a {@link #cancelar()}.
+     */
+    public boolean estaCancelada() {
+        return cancelada;
+    }
+}
@@ -1,21 +1,16 @@
 package org.itson.proyecto01.control;
 
-import java.util.List;
 import java.util.logging.Logger;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JOptionPane;
-import org.itson.proyecto01.entidades.Cliente;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import org.itson.proyecto01.entidades.Cuenta;
-import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.CuentasBO;
-import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.ICuentasBO;
 import org.itson.proyecto01.negocio.ITransferenciasBO;
-import org.itson.proyecto01.negocio.NegocioException;
 import org.itson.proyecto01.negocio.TransferenciasBO;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.CuentasDAO;
-import org.itson.proyecto01.persistencia.IClientesDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.ICuentasDAO;
 import org.itson.proyecto01.persistencia.ITransferenciasDAO;
 import org.itson.proyecto01.persistencia.TransferenciasDAO;
@@ -45,10 +40,12 @@ public class TransferenciaControl {
     private final TransferenciaForm transfrom;
     private final ICuentasBO cuentasBO;
     private final ITransferenciasBO transferenciasBO;
-    private final IClientesBO clientesBO;
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     private static final Logger LOGGER = Logger.getLogger(TransferenciaControl.class.getName());
     private UtileriasControl utilerias;
+    private static final int MS_ESPERA_BUSQUEDA = 300;
+    private final BusquedaDiferida<String, String> busquedaDestino;
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de transferencias.
@@ -64,16 +61,20 @@ public class TransferenciaControl {
     public TransferenciaControl(TransferenciaForm transfrom) {
         this.utilerias = new UtileriasControl();
         // Inicializar BO 
-        ICuentasDAO cuentasDAO = new CuentasDAO();
-        IClientesDAO clientesDAO = new ClientesDAO();
+        ICuentasDAO cuentasDAO = FabricaDAOs.cuentasDAO();
         ITransferenciasDAO transferenciasDAO = new TransferenciasDAO(cuentasDAO);
 
         //InicializarBO
-        this.clientesBO = new ClientesBO(clientesDAO);
         this.cuentasBO = new CuentasBO(cuentasDAO);
         this.transferenciasBO = new TransferenciasBO(transferenciasDAO, cuentasDAO);
 
         this.transfrom = transfrom;
+        this.carga = IndicadorCarga.enVentana(transfrom);
+        this.busquedaDestino = new BusquedaDiferida<>(MS_ESPERA_BUSQUEDA,
+                SesionControl.getSesion().getTitulares(),
+                cuentasBO::obtenerNombreTitular,
+                this::mostrarTitularDestino,
+                ex -> transfrom.getLblNombreCuentaDestino().setText("Error al buscar"), carga);
         inicializarEventos();
         cargarCuentasCliente();
     }
@@ -84,7 +85,22 @@ public class TransferenciaControl {
      */
     private void inicializarEventos() {
         transfrom.getBtnContinuarTransferencia().addActionListener(e -> continuar());
-        transfrom.getTxtNumeroCuentaDestino().addActionListener(e -> buscarCuentaDestino());
+        transfrom.getTxtNumeroCuentaDestino().addActionListener(e -> buscarCuentaDestino(true));
+        transfrom.getTxtNumeroCuentaDestino().getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                buscarCuentaDestino(false);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                buscarCuentaDestino(false);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
         transfrom.getCboCuentasCliente().addActionListener(e -> actualizarSaldo());
         transfrom.getBtnMostrarRetiroSinCuenta().addActionListener(e -> utilerias.abrirRetiroConCuenta(transfrom));
         transfrom.getBtnMostrarMenu().addActionListener(e -> utilerias.abrirMenuPrincipal(transfrom));
@@ -95,12 +111,11 @@ public class TransferenciaControl {
 
     /**
      * Recupera y despliega las cuentas con estado "Activo" del cliente en el
-     * selector de la vista.
+     * selector de la vista. La consulta corre en segundo plano con
+     * {@link EjecutorUI}.
      */
     private void cargarCuentasCliente() {
-        try {
-            List<Cuenta> cuentas = cuentasBO.consultarCuentasClienteActivas(idCliente);
-
+        EjecutorUI.ejecutar(() -> cuentasBO.consultarCuentasClienteActivas(idCliente), cuentas -> {
             DefaultComboBoxModel<Cuenta> modelo = new DefaultComboBoxModel<>();
             modelo.addElement(new Cuenta(0, "Seleccione una cuenta...", null, 0.0, null, 0));
 
@@ -109,10 +124,7 @@ public class TransferenciaControl {
             }
 
             transfrom.getCboCuentasCliente().setModel(modelo);
-
-        } catch (NegocioException ex) {
-            LOGGER.severe(ex.getMessage());
-        }
+        }, ex -> LOGGER.severe(ex.getMessage()), carga);
     }
 
     /**
@@ -136,28 +148,49 @@ public class TransferenciaControl {
      * Este método proporciona retroalimentación inmediata al usuario sobre
      * quién recibirá el dinero, ayudando a prevenir errores de transferencia.
      * </p>
+     * <p>
+     * Se busca mientras el usuario escribe, con {@link BusquedaDiferida}, sólo
+     * cuando el número tiene sus 18 dígitos: la consulta sale cuando deja de
+     * teclear (o de inmediato con Enter), una búsqueda vieja se descarta si el
+     * número cambió, y el titular se resuelve con una sola consulta y se
+     * recuerda durante la sesión.
+     * </p>
+     *
+     * @param inmediata <code>true</code> para buscar sin esperar (Enter).
      */
-    private void buscarCuentaDestino() {
+    private void buscarCuentaDestino(boolean inmediata) {
 
         String numero = transfrom.getTxtNumeroCuentaDestino().getText().trim();
 
-        if (numero.isEmpty()) {
+        // Sólo se busca un número completo; los prefijos no llegan a la base de datos
+        if (!CuentasBO.esNumeroCuenta(numero)) {
+            busquedaDestino.cancelar();
             transfrom.getLblNombreCuentaDestino().setText("");
             return;
         }
 
-        try {
-            Cuenta cuentaDestino = cuentasBO.obtenerCuentaporNumeroCuenta(numero);
-            Cliente cliente = this.clientesBO.obtenerClientePorId(cuentaDestino.getIdCliente());
-            String nombreCompleto = cliente.getNombres() + " " + cliente.getApellidoP() + " " + cliente.getApellidoM();
-            if (cuentaDestino != null) {
-                transfrom.getLblNombreCuentaDestino().setText(nombreCompleto);
-            } else {
-                transfrom.getLblNombreCuentaDestino().setText("Cuenta no encontrada");
-            }
+        // Un número que ya falló no se vuelve a consultar; se deja el aviso de error
+        if (busquedaDestino.fallo(numero)) {
+            return;
+        }
+        transfrom.getLblNombreCuentaDestino().setText("Buscando...");
+        if (inmediata) {
+            busquedaDestino.buscarYa(numero);
+        } else {
+            busquedaDestino.solicitar(numero);
+        }
+    }
 
-        } catch (NegocioException ex) {
-            transfrom.getLblNombreCuentaDestino().setText("Error al buscar");
+    /**
+     * Muestra el titular de la cuenta destino encontrada.
+     *
+     * @param nombreCompleto nombre del titular; <code>null</code> si la cuenta no existe.
+     */
+    private void mostrarTitularDestino(String nombreCompleto) {
+        if (nombreCompleto != null) {
+            transfrom.getLblNombreCuentaDestino().setText(nombreCompleto);
+        } else {
+            transfrom.getLblNombreCuentaDestino().setText("Cuenta no encontrada");
         }
     }
 
@@ -0,0 +1,48 @@
+package org.itson.proyecto01.control;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Mantiene solo la tarea más reciente de un tipo de consulta: lanzar una nueva
+ * cancela la anterior. Sirve para consultas que el usuario reemplaza antes de
+ * que terminen, por ejemplo cambiar otra vez un filtro o volver a teclear un
+ * número de cuenta.
+ * </p>
+ *
+ * <p>
+ * Se usa solo desde el EDT.
+ * </p>
+ *
+ * @author joset
+ */
+public final class UltimaTarea {
+
+    private TareaUI actual;
+
+    /**
+     * Cancela la tarea anterior, si la hay, y lanza la nueva con
+     * {@link EjecutorUI}.
+     *
+     * @param <T> tipo del resultado.
+     * @param trabajo trabajo bloqueante.
+     * @param alTerminar recibe el resultado en el EDT.
+     * @param alFallar recibe la excepción en el EDT.
+     * @param indicador se avisa en el EDT al iniciar y al terminar.
+     */
+    public <T> void ejecutar(EjecutorUI.Trabajo<T> trabajo, Consumer<? super T> alTerminar,
+            Consumer<? super Exception> alFallar, IndicadorCarga indicador) {
+        cancelar();
+        actual = EjecutorUI.ejecutar(trabajo, alTerminar, alFallar, indicador);
+    }
+
+    /**
+     * Cancela la tarea en curso, si la hay.
+     */
+    public void cancelar() {
+        if (actual != null) {
+            actual.cancelar();
+            actual = null;
+        }
+    }
+}
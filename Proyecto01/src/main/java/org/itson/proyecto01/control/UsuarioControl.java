@@ -11,9 +11,7 @@ import org.itson.proyecto01.negocio.ClientesBO;
 import org.itson.proyecto01.negocio.DomiciliosBO;
 import org.itson.proyecto01.negocio.IClientesBO;
 import org.itson.proyecto01.negocio.IDomiciliosBO;
-import org.itson.proyecto01.negocio.NegocioException;
-import org.itson.proyecto01.persistencia.ClientesDAO;
-import org.itson.proyecto01.persistencia.DomiciliosDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.IClientesDAO;
 import org.itson.proyecto01.persistencia.IDomiciliosDAO;
 import org.itson.proyecto01.presentacion.MenuPrincipalForm;
@@ -43,6 +41,7 @@ public class UsuarioControl {
     private UtileriasControl utilerias;
     private Integer idCliente = SesionControl.getSesion().getCliente().getId();
     private Cliente cliente = SesionControl.getSesion().getCliente();
+    private final IndicadorCarga carga;
 
     /**
      * Constructor que inicializa el controlador de usuario.
@@ -58,31 +57,29 @@ public class UsuarioControl {
         this.utilerias = new UtileriasControl();
         this.usuarioForm = usuarioForm;
 
-        IClientesDAO clientesDAO = new ClientesDAO();
+        IClientesDAO clientesDAO = FabricaDAOs.clientesDAO();
         this.clientesBO = new ClientesBO(clientesDAO);
 
-        IDomiciliosDAO domiciliosDAO = new DomiciliosDAO();
+        IDomiciliosDAO domiciliosDAO = FabricaDAOs.domiciliosDAO();
         this.domiciliosBO = new DomiciliosBO(domiciliosDAO);
+        this.carga = IndicadorCarga.enVentana(usuarioForm, usuarioForm.getBtnActualizarDatos());
         inicializarEventos();
         cargarDatosUsuario();
     }
 
     /**
      * Extrae la información del cliente y su domicilio para poblar los campos
-     * de texto en la interfaz gráfica.
-     *
-     * * @throws NegocioException Si hay un error en la consulta a la base de
-     * datos.
+     * de texto en la interfaz gráfica. Los datos del cliente vienen de la
+     * sesión; el domicilio se consulta en segundo plano con {@link EjecutorUI}.
      */
     private void cargarDatosUsuario() {
-        try {
-            usuarioForm.getTxtNombre().setText(cliente.getNombres());
-            usuarioForm.getTxtApellidoP().setText(cliente.getApellidoP());
-            usuarioForm.getTxtApellidoM().setText(cliente.getApellidoM());
-            usuarioForm.getTxtFechaNacimiento().setText(cliente.getFechaNacimiento().toString());
-
-            Domicilio dom = domiciliosBO.obtenerDomicilioPorID(idCliente);
+        usuarioForm.getTxtNombre().setText(cliente.getNombres());
+        usuarioForm.getTxtApellidoP().setText(cliente.getApellidoP());
+        usuarioForm.getTxtApellidoM().setText(cliente.getApellidoM());
+        usuarioForm.getTxtFechaNacimiento().setText(cliente.getFechaNacimiento().toString());
 
+        Integer idDomicilio = cliente.getIdDomicilio();
+        EjecutorUI.ejecutar(() -> domiciliosBO.obtenerDomicilioPorID(idDomicilio), dom -> {
             if (dom != null) {
                 usuarioForm.getTxtCalle().setText(dom.getCalle());
                 usuarioForm.getTxtNumero().setText(dom.getNumero());
@@ -91,14 +88,12 @@ public class UsuarioControl {
                 usuarioForm.getTxtEstado().setText(dom.getEstado());
                 usuarioForm.getTxtCodigoPostal().setText(dom.getCodigoPostal());
             }
-        } catch (NegocioException ex) {
-            JOptionPane.showMessageDialog(
-                    usuarioForm,
-                    "Error al los cargar datos del cliente: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        }, ex -> JOptionPane.showMessageDialog(
+                usuarioForm,
+                "Error al los cargar datos del cliente: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+        ), carga);
     }
 
     /**
@@ -120,8 +115,8 @@ public class UsuarioControl {
      * nacimiento.</li>
      * <li>Creación de objetos DTO ({@link NuevoClienteDTO} y
      * {@link NuevoDomicilioDTO}) para el transporte de datos.</li>
-     * <li>Actualización secuencial: primero el domicilio y posteriormente el
-     * cliente.</li>
+     * <li>Actualización secuencial en segundo plano: primero el domicilio y
+     * posteriormente el cliente.</li>
      * <li>Notificación del resultado al usuario mediante un cuadro de
      * diálogo.</li>
      * </ol>
@@ -141,9 +136,8 @@ public class UsuarioControl {
             }
 
             LocalDate fechaNacimiento = LocalDate.parse(fechaTexto);
-            Domicilio actual = domiciliosBO.obtenerDomicilioPorID(idCliente);
 
-            NuevoClienteDTO clienteActualizado = new NuevoClienteDTO(nombres, apellidoP, apellidoM, fechaNacimiento, cliente.getFechaRegistro(), cliente.getEdad(), actual.getId());
+            NuevoClienteDTO clienteActualizado = new NuevoClienteDTO(nombres, apellidoP, apellidoM, fechaNacimiento, cliente.getFechaRegistro(), cliente.getEdad(), cliente.getIdDomicilio());
 
             // Domicilio
             String calle = usuarioForm.getTxtCalle().getText().trim();
@@ -155,18 +149,22 @@ public class UsuarioControl {
 
             NuevoDomicilioDTO domicilioDTO = new NuevoDomicilioDTO(calle, numero, colonia, ciudad, estado, codigoPostal);
 
-            Domicilio domicilioActualizado = domiciliosBO.actualizarDomicilio(domicilioDTO);
-
-            Cliente cliente = clientesBO.actualizarCliente(idCliente, clienteActualizado, domicilioActualizado.getId());
-
-            JOptionPane.showMessageDialog(
+            EjecutorUI.ejecutar(() -> {
+                Domicilio domicilioActualizado = domiciliosBO.actualizarDomicilio(domicilioDTO);
+                return clientesBO.actualizarCliente(idCliente, clienteActualizado, domicilioActualizado.getId());
+            }, actualizado -> JOptionPane.showMessageDialog(
                     usuarioForm,
                     "Datos actualizados correctamente",
                     "Éxito",
                     JOptionPane.INFORMATION_MESSAGE
-            );
+            ), ex -> JOptionPane.showMessageDialog(
+                    usuarioForm,
+                    "Error al actualizar usuario: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+            ), carga);
 
-        } catch (NegocioException | DateTimeParseException | ControlException ex) {
+        } catch (DateTimeParseException | ControlException ex) {
             JOptionPane.showMessageDialog(
                     usuarioForm,
                     "Error al actualizar usuario: " + ex.getMessage(),
@@ -0,0 +1,142 @@
+package org.itson.proyecto01.dtos;
+
+import java.time.LocalDateTime;
+import org.itson.proyecto01.enums.TipoOperacion;
+
+/**
+ * <p>
+ * DTO con los criterios para consultar el historial de operaciones de un
+ * cliente. Sólo el cliente es obligatorio; cada filtro que quede en
+ * <code>null</code> no se agrega a la consulta.
+ * </p>
+ *
+ * <p>
+ * La consulta es paginada por llave (<i>keyset</i>) sobre
+ * <code>(fecha_hora, id_transaccion)</code> en orden descendente: la primera
+ * página se pide sin cursor y las siguientes con el cursor devuelto en
+ * {@link PaginaOperacionesDTO#getCursorSiguiente()}.
+ * </p>
+ *
+ * @author Jesus Omar
+ */
+public class FiltroOperacionesDTO {
+
+    /**
+     * Tamaño de página cuando no se indica otro.
+     */
+    public static final int TAMANIO_PAGINA_DEFECTO = 50;
+
+    private final Integer idCliente;
+    private TipoOperacion tipoOperacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private String numeroCuenta;
+    private Double montoMinimo;
+    private Double montoMaximo;
+    private int tamanioPagina = TAMANIO_PAGINA_DEFECTO;
+    private String cursor;
+
+    /**
+     * Crea un filtro sin restricciones para el cliente indicado.
+     *
+     * @param idCliente identificador del cliente dueño de las operaciones.
+     */
+    public FiltroOperacionesDTO(Integer idCliente) {
+        this.idCliente = idCliente;
+    }
+
+    public Integer getIdCliente() {
+        return idCliente;
+    }
+
+    public TipoOperacion getTipoOperacion() {
+        return tipoOperacion;
+    }
+
+    public void setTipoOperacion(TipoOperacion tipoOperacion) {
+        this.tipoOperacion = tipoOperacion;
+    }
+
+    public LocalDateTime getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDateTime fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDateTime fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public String getNumeroCuenta() {
+        return numeroCuenta;
+    }
+
+    public void setNumeroCuenta(String numeroCuenta) {
+        this.numeroCuenta = numeroCuenta;
+    }
+
+    public Double getMontoMinimo() {
+        return montoMinimo;
+    }
+
+    public void setMontoMinimo(Double montoMinimo) {
+        this.montoMinimo = montoMinimo;
+    }
+
+    public Double getMontoMaximo() {
+        return montoMaximo;
+    }
+
+    public void setMontoMaximo(Double montoMaximo) {
+        this.montoMaximo = montoMaximo;
+    }
+
+    public int getTamanioPagina() {
+        return tamanioPagina;
+    }
+
+    public void setTamanioPagina(int tamanioPagina) {
+        this.tamanioPagina = tamanioPagina;
+    }
+
+    /**
+     * Obtiene el cursor de la página a consultar.
+     *
+     * @return cursor opaco devuelto por la página anterior, o <code>null</code>
+     *         para la primera página.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Crea una copia de este filtro que apunta a otra página, para pedir
+     * varias páginas a la vez sin compartir el cursor.
+     *
+     * @param cursor cursor de la página a consultar, o <code>null</code> para
+     *               la primera.
+     * @return copia del filtro con el cursor indicado.
+     */
+    public FiltroOperacionesDTO conCursor(String cursor) {
+        FiltroOperacionesDTO copia = new FiltroOperacionesDTO(idCliente);
+        copia.tipoOperacion = tipoOperacion;
+        copia.fechaInicio = fechaInicio;
+        copia.fechaFin = fechaFin;
+        copia.numeroCuenta = numeroCuenta;
+        copia.montoMinimo = montoMinimo;
+        copia.montoMaximo = montoMaximo;
+        copia.tamanioPagina = tamanioPagina;
+        copia.cursor = cursor;
+        return copia;
+    }
+}
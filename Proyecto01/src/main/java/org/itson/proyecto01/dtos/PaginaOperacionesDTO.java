@@ -0,0 +1,47 @@
+package org.itson.proyecto01.dtos;
+
+import java.util.List;
+import org.itson.proyecto01.entidades.Operacion;
+
+/**
+ * <p>
+ * Página de resultados de una consulta de operaciones hecha con
+ * {@link FiltroOperacionesDTO}.
+ * </p>
+ *
+ * @author Jesus Omar
+ */
+public class PaginaOperacionesDTO {
+
+    private final List<Operacion> operaciones;
+    private final String cursorSiguiente;
+
+    /**
+     * Constructor completo.
+     *
+     * @param operaciones operaciones de la página, de la más reciente a la más antigua.
+     * @param cursorSiguiente cursor para pedir la siguiente página, o
+     *                        <code>null</code> si ésta es la última.
+     */
+    public PaginaOperacionesDTO(List<Operacion> operaciones, String cursorSiguiente) {
+        this.operaciones = operaciones;
+        this.cursorSiguiente = cursorSiguiente;
+    }
+
+    public List<Operacion> getOperaciones() {
+        return operaciones;
+    }
+
+    public String getCursorSiguiente() {
+        return cursorSiguiente;
+    }
+
+    /**
+     * Indica si hay más operaciones después de esta página.
+     *
+     * @return <code>true</code> si existe una página siguiente.
+     */
+    public boolean hayMas() {
+        return cursorSiguiente != null;
+    }
+}
@@ -0,0 +1,34 @@
+package org.itson.proyecto01.dtos;
+
+/**
+ * <p>
+ * DTO con una partida de una transferencia masiva: la cuenta que recibe y el
+ * monto a depositarle.
+ * </p>
+ *
+ * @author Carmen Andrea Lara Osuna
+ */
+public class PartidaTransferenciaDTO {
+
+    private final String cuentaDestino;
+    private final double monto;
+
+    /**
+     * Constructor completo.
+     *
+     * @param cuentaDestino número de cuenta destino (18 dígitos).
+     * @param monto monto a transferir a esa cuenta.
+     */
+    public PartidaTransferenciaDTO(String cuentaDestino, double monto) {
+        this.cuentaDestino = cuentaDestino;
+        this.monto = monto;
+    }
+
+    public String getCuentaDestino() {
+        return cuentaDestino;
+    }
+
+    public double getMonto() {
+        return monto;
+    }
+}
@@ -0,0 +1,70 @@
+package org.itson.proyecto01.dtos;
+
+/**
+ * <p>
+ * Resultado de una partida dentro de una transferencia masiva. Si la partida
+ * se aplicó trae el <code>id_transaccion</code> generado; si no, el motivo del
+ * rechazo.
+ * </p>
+ *
+ * @author Carmen Andrea Lara Osuna
+ */
+public class ResultadoTransferenciaDTO {
+
+    private final String cuentaDestino;
+    private final double monto;
+    private final Integer idTransaccion;
+    private final String mensaje;
+
+    private ResultadoTransferenciaDTO(String cuentaDestino, double monto, Integer idTransaccion, String mensaje) {
+        this.cuentaDestino = cuentaDestino;
+        this.monto = monto;
+        this.idTransaccion = idTransaccion;
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Crea el resultado de una partida aplicada.
+     *
+     * @param partida partida aplicada.
+     * @param idTransaccion id de la operación registrada.
+     * @return resultado exitoso.
+     */
+    public static ResultadoTransferenciaDTO exitosa(PartidaTransferenciaDTO partida, int idTransaccion) {
+        return new ResultadoTransferenciaDTO(partida.getCuentaDestino(), partida.getMonto(), idTransaccion, null);
+    }
+
+    /**
+     * Crea el resultado de una partida rechazada.
+     *
+     * @param partida partida rechazada; puede ser <code>null</code>.
+     * @param mensaje motivo del rechazo.
+     * @return resultado fallido.
+     */
+    public static ResultadoTransferenciaDTO rechazada(PartidaTransferenciaDTO partida, String mensaje) {
+        if (partida == null) {
+            return new ResultadoTransferenciaDTO(null, 0, null, mensaje);
+        }
+        return new ResultadoTransferenciaDTO(partida.getCuentaDestino(), partida.getMonto(), null, mensaje);
+    }
+
+    public String getCuentaDestino() {
+        return cuentaDestino;
+    }
+
+    public double getMonto() {
+        return monto;
+    }
+
+    public Integer getIdTransaccion() {
+        return idTransaccion;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public boolean isExitosa() {
+        return idTransaccion != null;
+    }
+}
@@ -5,6 +5,7 @@
 package org.itson.proyecto01.negocio;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import org.itson.proyecto01.dtos.NuevoClienteDTO;
 import org.itson.proyecto01.entidades.Cliente;
 import org.itson.proyecto01.persistencia.IClientesDAO;
@@ -38,6 +39,18 @@ import org.mindrot.jbcrypt.BCrypt;
  */
 public class ClientesBO implements IClientesBO {
 
+    private static final int MAXIMO_INTENTOS_LOGIN = 5;
+    private static final long MS_VENTANA_LOGIN = 5 * 60 * 1000;
+    private static final long MS_BLOQUEO_LOGIN = 60 * 1000;
+    private static final int NOMBRES_VIGILADOS = 5000;
+
+    /**
+     * Fallos de inicio de sesión por nombre completo, compartidos por todas las
+     * instancias para que crear otro BO no reinicie el conteo.
+     */
+    private static final LimitadorIntentos INTENTOS_LOGIN = new LimitadorIntentos(MAXIMO_INTENTOS_LOGIN,
+            MS_VENTANA_LOGIN, MS_BLOQUEO_LOGIN, NOMBRES_VIGILADOS);
+
     /**
      * DAO de clientes utilizado para operaciones de persistencia.
      */
@@ -212,6 +225,8 @@ public class ClientesBO implements IClientesBO {
      * </p>
      * <ul>
      *   <li>Valida que <code>nombreCompleto</code> y <code>password</code> no sean <code>null</code>.</li>
+     *   <li>Rechaza el intento sin consultar si el nombre acumuló
+     *       {@value #MAXIMO_INTENTOS_LOGIN} fallos recientes; queda bloqueado un minuto.</li>
      *   <li>Consulta el hash almacenado en BD mediante {@link IClientesDAO#obtenerHashPorNombreCompleto(String)}.</li>
      *   <li>Compara la contraseña en texto plano con el hash usando <code>BCrypt.checkpw</code>.</li>
      *   <li>Si coincide, obtiene y retorna el ID del cliente con {@link IClientesDAO#verificarCredenciales(String)}.</li>
@@ -220,7 +235,8 @@ public class ClientesBO implements IClientesBO {
      * @param nombreCompleto nombre completo del cliente (formato concatenado usado en BD).
      * @param password contraseña en texto plano ingresada por el usuario.
      * @return el ID del cliente si las credenciales son correctas; si no, retorna <code>-1</code>.
-     * @throws NegocioException si ocurre un error al consultar en persistencia o si los datos son inválidos.
+     * @throws NegocioException si ocurre un error al consultar en persistencia, si los datos son inválidos
+     * o si el nombre está bloqueado por demasiados intentos.
      */
     @Override
     public int autenticarNombreCompletoPassword(String nombreCompleto, String password)
@@ -230,18 +246,26 @@ public class ClientesBO implements IClientesBO {
             throw new NegocioException("Datos inválidos", null);
         }
 
+        String llave = nombreCompleto.toLowerCase(Locale.ROOT);
+        long msBloqueo = INTENTOS_LOGIN.msRestantesBloqueo(llave);
+        if (msBloqueo > 0) {
+            throw new NegocioException("Demasiados intentos fallidos, intente de nuevo en "
+                    + (msBloqueo + 999) / 1000 + " segundos", null);
+        }
+
         try {
             String hashBD = clientesDAO.obtenerHashPorNombreCompleto(nombreCompleto);
 
-            if (hashBD == null) {
+            if (hashBD == null || !BCrypt.checkpw(password, hashBD)) {
+                INTENTOS_LOGIN.registrarFallo(llave);
                 return -1;
             }
 
-            if (!BCrypt.checkpw(password, hashBD)) {
-                return -1;
+            int idCliente = clientesDAO.verificarCredenciales(nombreCompleto);
+            if (idCliente > 0) {
+                INTENTOS_LOGIN.registrarExito(llave);
             }
-
-            return clientesDAO.verificarCredenciales(nombreCompleto);
+            return idCliente;
 
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al autenticar", ex);
@@ -0,0 +1,48 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.NuevoClienteDTO;
+import org.itson.proyecto01.entidades.Cliente;
+
+/**
+ * <p>
+ * Implementación de {@link IClientesBOAsincrono} que ejecuta cada método del
+ * {@link IClientesBO} síncrono con {@link EjecutorNegocio}, acotado al tamaño del
+ * pool de conexiones.
+ * </p>
+ *
+ * @author joset
+ */
+public class ClientesBOAsincrono implements IClientesBOAsincrono {
+
+    private final IClientesBO delegado;
+
+    /**
+     * Construye el BO asíncrono sobre uno síncrono.
+     *
+     * @param delegado BO de clientes que realiza el trabajo.
+     */
+    public ClientesBOAsincrono(IClientesBO delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public CompletableFuture<Cliente> crearCliente(NuevoClienteDTO nuevoCliente, Integer idDomicilio) {
+        return EjecutorNegocio.suministrar(() -> delegado.crearCliente(nuevoCliente, idDomicilio));
+    }
+
+    @Override
+    public CompletableFuture<Cliente> obtenerClientePorId(Integer idCliente) {
+        return EjecutorNegocio.suministrar(() -> delegado.obtenerClientePorId(idCliente));
+    }
+
+    @Override
+    public CompletableFuture<Integer> autenticarNombreCompletoPassword(String nombreCompleto, String password) {
+        return EjecutorNegocio.suministrar(() -> delegado.autenticarNombreCompletoPassword(nombreCompleto, password));
+    }
+
+    @Override
+    public CompletableFuture<Cliente> actualizarCliente(Integer id, NuevoClienteDTO nuevoCliente, Integer idDomicilio) {
+        return EjecutorNegocio.suministrar(() -> delegado.actualizarCliente(id, nuevoCliente, idDomicilio));
+    }
+}
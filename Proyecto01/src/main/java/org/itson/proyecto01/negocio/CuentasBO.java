@@ -52,6 +52,26 @@ public class CuentasBO implements ICuentasBO {
         this.cuentasDAO = cuentasDAO;
     }
 
+    /**
+     * Indica si el texto tiene el formato de un número de cuenta: exactamente 18
+     * dígitos del 0 al 9.
+     *
+     * @param numeroCuenta texto a revisar.
+     * @return <code>true</code> si puede ser un número de cuenta.
+     */
+    public static boolean esNumeroCuenta(String numeroCuenta) {
+        if (numeroCuenta == null || numeroCuenta.length() != 18) {
+            return false;
+        }
+        for (int i = 0; i < numeroCuenta.length(); i++) {
+            char c = numeroCuenta.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * <p>
      * Consulta todas las cuentas asociadas a un cliente.
@@ -109,6 +129,35 @@ public class CuentasBO implements ICuentasBO {
         }
     }
 
+    /**
+     * <p>
+     * Obtiene el nombre completo del titular de una cuenta, para mostrar a quién
+     * se le envía dinero antes de confirmar.
+     * </p>
+     *
+     * <p>
+     * Un número que no tiene exactamente 18 dígitos no puede ser una cuenta y se
+     * contesta <code>null</code> sin consultar la base de datos; así un número a
+     * medio escribir nunca llega a la consulta.
+     * </p>
+     *
+     * @param numeroCuenta número de cuenta a resolver.
+     * @return nombre completo del titular; <code>null</code> si la cuenta no
+     * existe o el número no tiene el formato de una cuenta.
+     * @throws NegocioException si ocurre un error al consultar.
+     */
+    @Override
+    public String obtenerNombreTitular(String numeroCuenta) throws NegocioException {
+        if (!esNumeroCuenta(numeroCuenta)) {
+            return null;
+        }
+        try {
+            return this.cuentasDAO.obtenerNombreTitular(numeroCuenta);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException(" :Error al buscar el titular de la cuenta", ex);
+        }
+    }
+
     /**
      * <p>
      * Da de alta una nueva cuenta para el <b>cliente actualmente en sesión</b>.
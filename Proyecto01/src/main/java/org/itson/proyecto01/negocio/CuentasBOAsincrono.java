@@ -0,0 +1,58 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.entidades.Cuenta;
+
+/**
+ * <p>
+ * Implementación de {@link ICuentasBOAsincrono} que ejecuta cada método del
+ * {@link ICuentasBO} síncrono con {@link EjecutorNegocio}, acotado al tamaño del
+ * pool de conexiones.
+ * </p>
+ *
+ * @author joset
+ */
+public class CuentasBOAsincrono implements ICuentasBOAsincrono {
+
+    private final ICuentasBO delegado;
+
+    /**
+     * Construye el BO asíncrono sobre uno síncrono.
+     *
+     * @param delegado BO de cuentas que realiza el trabajo.
+     */
+    public CuentasBOAsincrono(ICuentasBO delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public CompletableFuture<List<Cuenta>> consultarCuentasClienteActivas(Integer idCliente) {
+        return EjecutorNegocio.suministrar(() -> delegado.consultarCuentasClienteActivas(idCliente));
+    }
+
+    @Override
+    public CompletableFuture<List<Cuenta>> consultarCuentasCliente(Integer idCliente) {
+        return EjecutorNegocio.suministrar(() -> delegado.consultarCuentasCliente(idCliente));
+    }
+
+    @Override
+    public CompletableFuture<Cuenta> obtenerCuentaporNumeroCuenta(String numeroCuenta) {
+        return EjecutorNegocio.suministrar(() -> delegado.obtenerCuentaporNumeroCuenta(numeroCuenta));
+    }
+
+    @Override
+    public CompletableFuture<Cuenta> altaCuenta() {
+        return EjecutorNegocio.suministrar(() -> delegado.altaCuenta());
+    }
+
+    @Override
+    public CompletableFuture<Cuenta> cancelarCuenta(String numeroCuenta) {
+        return EjecutorNegocio.suministrar(() -> delegado.cancelarCuenta(numeroCuenta));
+    }
+
+    @Override
+    public CompletableFuture<String> obtenerNombreTitular(String numeroCuenta) {
+        return EjecutorNegocio.suministrar(() -> delegado.obtenerNombreTitular(numeroCuenta));
+    }
+}
@@ -4,6 +4,8 @@
  */
 package org.itson.proyecto01.negocio;
 
+import java.util.Collection;
+import java.util.Map;
 import org.itson.proyecto01.control.SesionControl;
 import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
 import org.itson.proyecto01.entidades.Cliente;
@@ -25,6 +27,7 @@ import org.itson.proyecto01.persistencia.PersistenciaException;
  *   <li>Validar formato numérico de <code>numero</code> y <code>codigoPostal</code>.</li>
  *   <li>Registrar un domicilio mediante {@link IDomiciliosDAO#registrarDomicilio(NuevoDomicilioDTO)}.</li>
  *   <li>Consultar un domicilio por ID mediante {@link IDomiciliosDAO#obtenerDomicilioID(Integer)}.</li>
+ *   <li>Consultar varios domicilios a la vez mediante {@link IDomiciliosDAO#obtenerDomicilios(Collection)}.</li>
  *   <li>Actualizar el domicilio del cliente en sesión usando el ID almacenado en sesión.</li>
  * </ul>
  *
@@ -153,6 +156,28 @@ public class DomiciliosBO implements IDomiciliosBO {
         }
     }
 
+    /**
+     * <p>
+     * Obtiene los domicilios de varios clientes a la vez, para procesos masivos
+     * (por ejemplo, impresión de estados de cuenta) sin una consulta por cliente.
+     * </p>
+     *
+     * @param idsDomicilio identificadores de los domicilios.
+     * @return domicilios encontrados por id; los que no existen no aparecen.
+     * @throws NegocioException si la lista es nula o si ocurre un error en persistencia.
+     */
+    @Override
+    public Map<Integer, Domicilio> obtenerDomicilios(Collection<Integer> idsDomicilio) throws NegocioException {
+        if (idsDomicilio == null) {
+            throw new NegocioException("La lista de domicilios es obligatoria.", null);
+        }
+        try {
+            return domiciliosDAO.obtenerDomicilios(idsDomicilio);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al obtener los domicilios: " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * <p>
      * Actualiza el domicilio asociado al cliente en sesión.
@@ -0,0 +1,85 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.itson.proyecto01.persistencia.ConexionBD;
+
+/**
+ * <p>
+ * Ejecutor compartido por los BO asíncronos. Cada operación corre en su propio
+ * hilo virtual, pero como máximo tantas a la vez como conexiones tiene el pool
+ * primario ({@link ConexionBD#maximoConexiones()}); las demás esperan su turno
+ * en su hilo, sin bloquear a quien las lanzó.
+ * </p>
+ *
+ * <p>
+ * Así, abrir varias consultas en paralelo no agota el pool ni deja hilos
+ * esperando una conexión hasta vencer el tiempo de préstamo.
+ * </p>
+ *
+ * <p>
+ * Una {@link NegocioException} de la operación completa el futuro de forma
+ * excepcional envuelta en {@link CompletionException}.
+ * </p>
+ *
+ * <p>
+ * Para que la espera de la base de datos libere al hilo portador, el código
+ * que hace E/S no la hace dentro de un <code>synchronized</code> (se usan
+ * {@link java.util.concurrent.locks.ReentrantLock}), y el driver es
+ * Connector/J 9, que ya no sincroniza con monitores. Con
+ * <code>-Djdk.tracePinnedThreads=short</code> la JVM reporta cualquier hilo
+ * virtual que quede fijado a su portador.
+ * </p>
+ *
+ * @author joset
+ */
+public final class EjecutorNegocio {
+
+    private static final Semaphore PERMISOS = new Semaphore(ConexionBD.maximoConexiones(), true);
+
+    private static final ExecutorService HILOS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("negocio-", 0).factory());
+
+    /**
+     * Operación de negocio que produce un resultado y puede fallar.
+     *
+     * @param <T> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface Operacion<T> {
+
+        /**
+         * Ejecuta la operación.
+         *
+         * @return resultado de la operación.
+         * @throws NegocioException si la operación falla.
+         */
+        T ejecutar() throws NegocioException;
+    }
+
+    private EjecutorNegocio() {
+    }
+
+    /**
+     * Lanza la operación en segundo plano.
+     *
+     * @param <T> tipo del resultado.
+     * @param operacion operación de negocio bloqueante.
+     * @return futuro que se completa con el resultado o con el error.
+     */
+    public static <T> CompletableFuture<T> suministrar(Operacion<T> operacion) {
+        return CompletableFuture.supplyAsync(() -> {
+            PERMISOS.acquireUninterruptibly();
+            try {
+                return operacion.ejecutar();
+            } catch (NegocioException ex) {
+                throw new CompletionException(ex);
+            } finally {
+                PERMISOS.release();
+            }
+        }, HILOS);
+    }
+}
@@ -0,0 +1,192 @@
+package org.itson.proyecto01.negocio;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Genera folios de retiro de 18 dígitos únicos sin consultar la base de datos.
+ * El folio se compone, en decimal, de:
+ * </p>
+ * <ul>
+ *   <li>10 dígitos: segundos transcurridos desde {@link #EPOCA}.</li>
+ *   <li>3 dígitos: nodo (instancia de la aplicación), de 000 a 999.</li>
+ *   <li>5 dígitos: secuencia dentro del segundo, de 00000 a 99999.</li>
+ * </ul>
+ *
+ * <p>
+ * Reglas que garantizan la unicidad:
+ * </p>
+ * <ul>
+ *   <li>Nunca se emite un folio con un segundo adelantado al reloj: si se
+ *       agota la secuencia de un segundo, se espera al siguiente.</li>
+ *   <li>Si el reloj retrocede unos segundos, se espera a que alcance el último
+ *       segundo emitido; si retrocede más de {@link #MS_RETROCESO_TOLERADO} ms
+ *       se rechaza el folio en lugar de bloquear.</li>
+ *   <li>El primer folio de un generador usa un segundo posterior al de su
+ *       creación, así una instancia reiniciada en el mismo segundo no repite
+ *       los folios de la anterior. Esto supone que el reloj no retrocede entre
+ *       un reinicio y otro (NTP lo ajusta de forma gradual).</li>
+ *   <li>Cada instancia tiene su propio nodo.</li>
+ * </ul>
+ *
+ * <p>
+ * El nodo se toma de la propiedad del sistema <code>bancodb.nodo</code>. Si no
+ * se define, sólo se permite una instancia (<code>bancodb.instancias</code>
+ * ausente o <code>1</code>) y se usa el nodo 0; con varias instancias la
+ * aplicación no arranca hasta que cada una tenga su nodo, porque dos nodos
+ * iguales repetirían folios.
+ * </p>
+ *
+ * @author joset
+ */
+final class GeneradorFolios {
+
+    private static final Logger LOGGER = Logger.getLogger(GeneradorFolios.class.getName());
+    private static final String PROPIEDAD_NODO = "bancodb.nodo";
+    private static final String PROPIEDAD_INSTANCIAS = "bancodb.instancias";
+
+    /**
+     * 2025-01-01T00:00:00Z; con 10 dígitos de segundos alcanza para más de 300 años.
+     */
+    private static final long EPOCA = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+    private static final long NODOS = 1_000L;
+    private static final long SECUENCIAS = 100_000L;
+
+    /**
+     * Retroceso del reloj que se espera en lugar de rechazar el folio.
+     */
+    static final long MS_RETROCESO_TOLERADO = 5_000L;
+
+    private final long nodo;
+    /**
+     * Candado en lugar de <code>synchronized</code>: la espera del siguiente
+     * segundo duerme con el candado tomado y no debe fijar el hilo virtual.
+     */
+    private final ReentrantLock candado = new ReentrantLock();
+    private long ultimoSegundo;
+    private long secuencia;
+
+    /**
+     * Crea el generador para el nodo indicado.
+     *
+     * @param nodo identificador de la instancia, de 0 a 999.
+     */
+    GeneradorFolios(int nodo) {
+        if (nodo < 0 || nodo >= NODOS) {
+            throw new IllegalArgumentException("El nodo debe estar entre 0 y 999: " + nodo);
+        }
+        this.nodo = nodo;
+        // El segundo de creación se da por agotado: pudo usarlo una instancia anterior
+        this.ultimoSegundo = segundoActual();
+        this.secuencia = SECUENCIAS - 1;
+    }
+
+    /**
+     * Crea el generador con el nodo configurado en <code>bancodb.nodo</code>.
+     *
+     * @return generador para esta instancia.
+     * @throws IllegalStateException si la configuración del nodo no es válida;
+     *                               {@link #verificarConfiguracion()} da el motivo.
+     */
+    static GeneradorFolios desdeConfiguracion() {
+        try {
+            return new GeneradorFolios(nodoConfigurado());
+        } catch (NegocioException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Revisa la configuración del nodo sin crear el generador, para fallar al
+     * arrancar la aplicación y no al generar el primer retiro.
+     *
+     * @throws NegocioException si el nodo no es válido o si hay varias
+     *                          instancias sin nodo asignado.
+     */
+    static void verificarConfiguracion() throws NegocioException {
+        nodoConfigurado();
+    }
+
+    private static int nodoConfigurado() throws NegocioException {
+        String configurado = System.getProperty(PROPIEDAD_NODO);
+        if (configurado != null && !configurado.isBlank()) {
+            int nodo;
+            try {
+                nodo = Integer.parseInt(configurado.trim());
+            } catch (NumberFormatException ex) {
+                throw new NegocioException(PROPIEDAD_NODO + " no es un número: " + configurado, ex);
+            }
+            if (nodo < 0 || nodo >= NODOS) {
+                throw new NegocioException(PROPIEDAD_NODO + " debe estar entre 0 y 999: " + nodo, null);
+            }
+            return nodo;
+        }
+        Integer instancias = Integer.getInteger(PROPIEDAD_INSTANCIAS, 1);
+        if (instancias > 1) {
+            throw new NegocioException("Con " + instancias + " instancias se debe asignar a cada una un "
+                    + PROPIEDAD_NODO + " distinto", null);
+        }
+        LOGGER.info("Nodo de folios no configurado; instancia única, se usa el nodo 0");
+        return 0;
+    }
+
+    /**
+     * Genera el siguiente folio. Puede esperar hasta el siguiente segundo si se
+     * agotó la secuencia del actual.
+     *
+     * @return folio de 18 dígitos.
+     * @throws NegocioException si el reloj retrocedió más de lo tolerado o si se
+     *                          interrumpió la espera.
+     */
+    String siguiente() throws NegocioException {
+        candado.lock();
+        try {
+            long segundo = segundoActual();
+            if (segundo < ultimoSegundo) {
+                long msRetroceso = (ultimoSegundo - segundo) * 1000;
+                if (msRetroceso > MS_RETROCESO_TOLERADO) {
+                    throw new NegocioException(" :El reloj del sistema retrocedió " + msRetroceso
+                            + " ms; no se pueden generar folios", null);
+                }
+                segundo = esperarSegundo(ultimoSegundo);
+            }
+            if (segundo == ultimoSegundo && secuencia + 1 == SECUENCIAS) {
+                segundo = esperarSegundo(ultimoSegundo + 1);
+            }
+            if (segundo > ultimoSegundo) {
+                ultimoSegundo = segundo;
+                secuencia = 0;
+            } else {
+                secuencia++;
+            }
+            long folio = (ultimoSegundo * NODOS + nodo) * SECUENCIAS + secuencia;
+            return String.format("%018d", folio);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Espera a que el reloj llegue al segundo indicado.
+     */
+    private static long esperarSegundo(long objetivo) throws NegocioException {
+        long segundo = segundoActual();
+        while (segundo < objetivo) {
+            long msFaltantes = (objetivo + EPOCA) * 1000 - System.currentTimeMillis();
+            try {
+                Thread.sleep(Math.max(1, msFaltantes));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new NegocioException(" :Se interrumpió la generación del folio", ex);
+            }
+            segundo = segundoActual();
+        }
+        return segundo;
+    }
+
+    private static long segundoActual() {
+        return System.currentTimeMillis() / 1000 - EPOCA;
+    }
+}
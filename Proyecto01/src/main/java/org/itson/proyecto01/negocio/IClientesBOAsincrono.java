@@ -0,0 +1,58 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.NuevoClienteDTO;
+import org.itson.proyecto01.entidades.Cliente;
+
+/**
+ * <p>
+ * Versión asíncrona de {@link IClientesBO}: cada método regresa de inmediato un
+ * {@link CompletableFuture}, para que la pantalla lance en paralelo las
+ * consultas independientes y combine sus resultados.
+ * </p>
+ *
+ * <p>
+ * Los errores completan el futuro de forma excepcional con la
+ * {@link NegocioException} como causa.
+ * </p>
+ *
+ * @author joset
+ */
+public interface IClientesBOAsincrono {
+
+    /**
+     * Registra un cliente nuevo.
+     *
+     * @param nuevoCliente datos del cliente.
+     * @param idDomicilio domicilio ya registrado.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cliente> crearCliente(NuevoClienteDTO nuevoCliente, Integer idDomicilio);
+
+    /**
+     * Obtiene un cliente por su identificador.
+     *
+     * @param idCliente identificador del cliente.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cliente> obtenerClientePorId(Integer idCliente);
+
+    /**
+     * Autentica al cliente por nombre completo y contraseña.
+     *
+     * @param nombreCompleto nombre completo del cliente.
+     * @param password contraseña en texto plano.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Integer> autenticarNombreCompletoPassword(String nombreCompleto, String password);
+
+    /**
+     * Actualiza los datos de un cliente.
+     *
+     * @param id identificador del cliente.
+     * @param nuevoCliente datos nuevos.
+     * @param idDomicilio domicilio del cliente.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cliente> actualizarCliente(Integer id, NuevoClienteDTO nuevoCliente, Integer idDomicilio);
+}
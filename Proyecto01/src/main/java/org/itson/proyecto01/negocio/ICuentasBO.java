@@ -22,4 +22,6 @@ public interface ICuentasBO {
     public Cuenta altaCuenta() throws NegocioException;
 
     public Cuenta cancelarCuenta(String numeroCuenta) throws NegocioException;
+
+    public String obtenerNombreTitular(String numeroCuenta) throws NegocioException;
 }
@@ -0,0 +1,69 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.entidades.Cuenta;
+
+/**
+ * <p>
+ * Versión asíncrona de {@link ICuentasBO}: cada método regresa de inmediato un
+ * {@link CompletableFuture}, para que la pantalla lance en paralelo las
+ * consultas independientes y combine sus resultados.
+ * </p>
+ *
+ * <p>
+ * Los errores completan el futuro de forma excepcional con la
+ * {@link NegocioException} como causa.
+ * </p>
+ *
+ * @author joset
+ */
+public interface ICuentasBOAsincrono {
+
+    /**
+     * Consulta las cuentas activas del cliente.
+     *
+     * @param idCliente identificador del cliente.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<List<Cuenta>> consultarCuentasClienteActivas(Integer idCliente);
+
+    /**
+     * Consulta todas las cuentas del cliente.
+     *
+     * @param idCliente identificador del cliente.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<List<Cuenta>> consultarCuentasCliente(Integer idCliente);
+
+    /**
+     * Obtiene una cuenta por su número.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cuenta> obtenerCuentaporNumeroCuenta(String numeroCuenta);
+
+    /**
+     * Da de alta una cuenta para el cliente en sesión.
+     *
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cuenta> altaCuenta();
+
+    /**
+     * Cancela la cuenta indicada.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Cuenta> cancelarCuenta(String numeroCuenta);
+
+    /**
+     * Obtiene el nombre completo del titular de una cuenta.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @return futuro con el nombre; <code>null</code> si la cuenta no existe.
+     */
+    public CompletableFuture<String> obtenerNombreTitular(String numeroCuenta);
+}
@@ -4,6 +4,8 @@
  */
 package org.itson.proyecto01.negocio;
 
+import java.util.Collection;
+import java.util.Map;
 import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
 import org.itson.proyecto01.entidades.Domicilio;
 
@@ -16,5 +18,6 @@ public interface IDomiciliosBO {
     public abstract Domicilio registrarDomicilio(NuevoDomicilioDTO nuevoDomicilio)throws NegocioException;
     public Domicilio obtenerDomicilioPorID(Integer idDom)throws NegocioException;
     public Domicilio actualizarDomicilio( NuevoDomicilioDTO nuevoDomicilio) throws NegocioException; 
+    public Map<Integer, Domicilio> obtenerDomicilios(Collection<Integer> idsDomicilio) throws NegocioException;
     
 }
@@ -4,10 +4,8 @@
  */
 package org.itson.proyecto01.negocio;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import org.itson.proyecto01.entidades.Operacion;
-import org.itson.proyecto01.enums.TipoOperacion;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
 
 /**
  *
@@ -15,12 +13,6 @@ import org.itson.proyecto01.enums.TipoOperacion;
  */
 public interface IOperacionesBO {
 
-    public List<Operacion> obtenerOperaciones(Integer idCliente) throws NegocioException;
-
-    public abstract List<Operacion> operacionesPorTipo(Integer idCliente, TipoOperacion filtro) throws NegocioException;
-
-    public abstract List<Operacion> operacionesPorFecha(Integer idCliente, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws NegocioException;
-
-    public abstract List<Operacion> operacionesPorFechaTipo(Integer idCliente, TipoOperacion filtroTipo, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws NegocioException;
+    public abstract PaginaOperacionesDTO consultarOperaciones(FiltroOperacionesDTO filtro) throws NegocioException;
 
 }
@@ -0,0 +1,30 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
+
+/**
+ * <p>
+ * Versión asíncrona de {@link IOperacionesBO}: cada método regresa de inmediato un
+ * {@link CompletableFuture}, para que la pantalla lance en paralelo las
+ * consultas independientes y combine sus resultados.
+ * </p>
+ *
+ * <p>
+ * Los errores completan el futuro de forma excepcional con la
+ * {@link NegocioException} como causa.
+ * </p>
+ *
+ * @author joset
+ */
+public interface IOperacionesBOAsincrono {
+
+    /**
+     * Consulta una página de operaciones.
+     *
+     * @param filtro filtro y cursor de la página.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<PaginaOperacionesDTO> consultarOperaciones(FiltroOperacionesDTO filtro);
+}
@@ -0,0 +1,48 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.entidades.Cuenta;
+import org.itson.proyecto01.entidades.Retiro;
+
+/**
+ * <p>
+ * Versión asíncrona de {@link IRetiroBO}: cada método regresa de inmediato un
+ * {@link CompletableFuture}, para que la pantalla lance en paralelo las
+ * consultas independientes y combine sus resultados.
+ * </p>
+ *
+ * <p>
+ * Los errores completan el futuro de forma excepcional con la
+ * {@link NegocioException} como causa.
+ * </p>
+ *
+ * @author joset
+ */
+public interface IRetiroBOAsincrono {
+
+    /**
+     * Genera y registra un retiro sin cuenta.
+     *
+     * @param cuenta cuenta origen.
+     * @param monto monto a retirar.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Retiro> generarRetiro(Cuenta cuenta, double monto);
+
+    /**
+     * Valida un retiro por folio y contraseña.
+     *
+     * @param numeroFolio folio del retiro.
+     * @param contrasenia contraseña del retiro.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Retiro> compararRetiro(String numeroFolio, String contrasenia);
+
+    /**
+     * Cobra un retiro.
+     *
+     * @param retiro retiro a cobrar.
+     * @return futuro que se completa al terminar el cobro.
+     */
+    public CompletableFuture<Void> cobrarRetiro(Retiro retiro);
+}
@@ -4,7 +4,10 @@
  */
 package org.itson.proyecto01.negocio;
 
+import java.util.List;
 import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
 import org.itson.proyecto01.entidades.Transferencia;
 
 /**
@@ -16,6 +19,9 @@ public interface ITransferenciasBO {
     
     
     public abstract Transferencia realizarTransferencia(NuevaTransferenciaDTO nuevaTransferencia)throws NegocioException;
+
+    public abstract List<ResultadoTransferenciaDTO> realizarTransferenciasMasivas(String cuentaOrigen,
+            List<PartidaTransferenciaDTO> partidas) throws NegocioException;
         
     
 }
@@ -0,0 +1,43 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
+import org.itson.proyecto01.entidades.Transferencia;
+
+/**
+ * <p>
+ * Versión asíncrona de {@link ITransferenciasBO}: cada método regresa de inmediato un
+ * {@link CompletableFuture}, para que la pantalla lance en paralelo las
+ * consultas independientes y combine sus resultados.
+ * </p>
+ *
+ * <p>
+ * Los errores completan el futuro de forma excepcional con la
+ * {@link NegocioException} como causa.
+ * </p>
+ *
+ * @author joset
+ */
+public interface ITransferenciasBOAsincrono {
+
+    /**
+     * Realiza una transferencia.
+     *
+     * @param nuevaTransferencia datos de la transferencia.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<Transferencia> realizarTransferencia(NuevaTransferenciaDTO nuevaTransferencia);
+
+    /**
+     * Realiza un lote de transferencias desde una cuenta.
+     *
+     * @param cuentaOrigen número de la cuenta origen.
+     * @param partidas destinos y montos.
+     * @return futuro con el resultado.
+     */
+    public CompletableFuture<List<ResultadoTransferenciaDTO>> realizarTransferenciasMasivas(String cuentaOrigen,
+            List<PartidaTransferenciaDTO> partidas);
+}
@@ -0,0 +1,115 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Cuenta los intentos fallidos por llave (nombre de cliente, folio) y bloquea
+ * la llave durante un tiempo cuando se acumulan demasiados dentro de una
+ * ventana.
+ * </p>
+ *
+ * <p>
+ * Comportamiento:
+ * </p>
+ * <ul>
+ *   <li>Cada fallo suma uno al contador de la llave; si la ventana ya venció,
+ *       el contador empieza de nuevo.</li>
+ *   <li>Al llegar a <code>maximoIntentos</code> la llave queda bloqueada
+ *       <code>msBloqueo</code> milisegundos, sin consultar la base de datos.</li>
+ *   <li>Un intento exitoso borra el contador de la llave.</li>
+ *   <li>Guarda como máximo <code>capacidad</code> llaves; al rebasarla descarta
+ *       la usada hace más tiempo, para que un barrido de nombres inventados no
+ *       crezca la memoria sin límite.</li>
+ * </ul>
+ *
+ * <p>
+ * Es seguro para hilos.
+ * </p>
+ *
+ * @author joset
+ */
+public final class LimitadorIntentos {
+
+    private final int maximoIntentos;
+    private final long msVentana;
+    private final long msBloqueo;
+    private final Map<String, Intentos> porLlave;
+
+    /**
+     * Construye el limitador.
+     *
+     * @param maximoIntentos fallos permitidos dentro de la ventana.
+     * @param msVentana duración de la ventana de conteo en milisegundos.
+     * @param msBloqueo duración del bloqueo en milisegundos.
+     * @param capacidad llaves máximas que se recuerdan.
+     */
+    public LimitadorIntentos(int maximoIntentos, long msVentana, long msBloqueo, int capacidad) {
+        if (maximoIntentos <= 0 || msVentana <= 0 || msBloqueo <= 0 || capacidad <= 0) {
+            throw new IllegalArgumentException("Parámetros del limitador inválidos");
+        }
+        this.maximoIntentos = maximoIntentos;
+        this.msVentana = msVentana;
+        this.msBloqueo = msBloqueo;
+        this.porLlave = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Intentos> mayor) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /**
+     * Indica cuánto falta para que la llave pueda intentarse de nuevo.
+     *
+     * @param llave llave a revisar.
+     * @return milisegundos restantes de bloqueo; 0 si no está bloqueada.
+     */
+    public synchronized long msRestantesBloqueo(String llave) {
+        Intentos intentos = porLlave.get(llave);
+        if (intentos == null) {
+            return 0;
+        }
+        return Math.max(0, intentos.bloqueadoHasta - System.currentTimeMillis());
+    }
+
+    /**
+     * Registra un intento fallido y, si se alcanza el máximo, bloquea la llave.
+     *
+     * @param llave llave que falló.
+     */
+    public synchronized void registrarFallo(String llave) {
+        long ahora = System.currentTimeMillis();
+        Intentos intentos = porLlave.get(llave);
+        if (intentos == null || ahora - intentos.inicioVentana >= msVentana) {
+            intentos = new Intentos(ahora);
+            porLlave.put(llave, intentos);
+        }
+        if (++intentos.fallos >= maximoIntentos) {
+            intentos.bloqueadoHasta = ahora + msBloqueo;
+            intentos.fallos = 0;
+            intentos.inicioVentana = ahora + msBloqueo;
+        }
+    }
+
+    /**
+     * Olvida los fallos de la llave tras un intento exitoso.
+     *
+     * @param llave llave que tuvo éxito.
+     */
+    public synchronized void registrarExito(String llave) {
+        porLlave.remove(llave);
+    }
+
+    private static final class Intentos {
+
+        private long inicioVentana;
+        private long bloqueadoHasta;
+        private int fallos;
+
+        private Intentos(long inicioVentana) {
+            this.inicioVentana = inicioVentana;
+        }
+    }
+}
@@ -4,10 +4,8 @@
  */
 package org.itson.proyecto01.negocio;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import org.itson.proyecto01.entidades.Operacion;
-import org.itson.proyecto01.enums.TipoOperacion;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
 import org.itson.proyecto01.persistencia.IOperacionesDAO;
 import org.itson.proyecto01.persistencia.PersistenciaException;
 
@@ -19,14 +17,10 @@ import org.itson.proyecto01.persistencia.PersistenciaException;
  * </p>
  *
  * <p>
- * Permite consultar operaciones de un cliente con distintos filtros:
+ * Las operaciones de un cliente se consultan por páginas con un
+ * {@link FiltroOperacionesDTO} que combina tipo, rango de fechas, cuenta y
+ * rango de montos.
  * </p>
- * <ul>
- *   <li>Todas las operaciones del cliente.</li>
- *   <li>Operaciones filtradas por {@link TipoOperacion}.</li>
- *   <li>Operaciones dentro de un rango de fechas.</li>
- *   <li>Operaciones filtradas por tipo y rango de fechas.</li>
- * </ul>
  *
  * @author Jesus Omar
  */
@@ -37,6 +31,11 @@ public class OperacionesBO implements IOperacionesBO {
      */
     private final IOperacionesDAO operacionesDAO;
 
+    /**
+     * Tamaño máximo de página que se permite pedir.
+     */
+    public static final int TAMANIO_PAGINA_MAXIMO = 500;
+
     /**
      * <p>
      * Construye el BO de operaciones recibiendo el DAO por inyección de dependencia.
@@ -50,84 +49,44 @@ public class OperacionesBO implements IOperacionesBO {
 
     /**
      * <p>
-     * Obtiene todas las operaciones asociadas a un cliente.
+     * Consulta una página del historial de operaciones de un cliente.
      * </p>
      *
-     * @param idCliente identificador del cliente.
-     * @return lista de {@link Operacion} del cliente; si no hay registros, retorna lista vacía.
-     * @throws NegocioException si ocurre un error al consultar en persistencia.
-     */
-    @Override
-    public List<Operacion> obtenerOperaciones(Integer idCliente) throws NegocioException {
-        try {
-            List<Operacion> listaOperaciones = operacionesDAO.obtenerOperaciones(idCliente);
-            return listaOperaciones;
-        } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al consultar las operaciones", null);
-        }
-    }
-
-    /**
      * <p>
-     * Obtiene las operaciones de un cliente filtradas por tipo de operación.
+     * Antes de delegar al DAO valida que:
      * </p>
+     * <ul>
+     *   <li>Se indique el cliente.</li>
+     *   <li>El tamaño de página esté entre 1 y {@link #TAMANIO_PAGINA_MAXIMO}.</li>
+     *   <li>Los rangos de fecha y monto no estén invertidos.</li>
+     * </ul>
      *
-     * @param idCliente identificador del cliente.
-     * @param filtro tipo de operación a consultar.
-     * @return lista de {@link Operacion} que coinciden con el tipo; si no hay, retorna lista vacía.
-     * @throws NegocioException si ocurre un error al consultar en persistencia.
+     * @param filtro criterios de búsqueda, tamaño de página y cursor.
+     * @return {@link PaginaOperacionesDTO} con las operaciones de la página.
+     * @throws NegocioException si el filtro no es válido o si ocurre un error
+     *                          al consultar en persistencia.
      */
     @Override
-    public List<Operacion> operacionesPorTipo(Integer idCliente, TipoOperacion filtro) throws NegocioException {
-        try {
-            List<Operacion> listaOperaciones = operacionesDAO.operacionesPorTipo(idCliente, filtro);
-            return listaOperaciones;
-        } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al consultar las operaciones", null);
+    public PaginaOperacionesDTO consultarOperaciones(FiltroOperacionesDTO filtro) throws NegocioException {
+        if (filtro == null || filtro.getIdCliente() == null) {
+            throw new NegocioException("Se debe indicar el cliente de las operaciones", null);
         }
-    }
-
-    /**
-     * <p>
-     * Obtiene las operaciones de un cliente dentro de un rango de fechas.
-     * </p>
-     *
-     * @param idCliente identificador del cliente.
-     * @param fechaInicio fecha/hora inicial del rango (inclusive).
-     * @param fechaFin fecha/hora final del rango (inclusive).
-     * @return lista de {@link Operacion} dentro del rango; si no hay, retorna lista vacía.
-     * @throws NegocioException si ocurre un error al consultar en persistencia.
-     */
-    @Override
-    public List<Operacion> operacionesPorFecha(Integer idCliente, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws NegocioException {
-        try {
-            List<Operacion> listaOperaciones = operacionesDAO.operacionesPorFecha(idCliente, fechaInicio, fechaFin);
-            return listaOperaciones;
-        } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al consultar las operaciones", null);
+        if (filtro.getTamanioPagina() < 1 || filtro.getTamanioPagina() > TAMANIO_PAGINA_MAXIMO) {
+            throw new NegocioException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO, null);
+        }
+        if (filtro.getFechaInicio() != null && filtro.getFechaFin() != null
+                && filtro.getFechaInicio().isAfter(filtro.getFechaFin())) {
+            throw new NegocioException("La fecha inicial no puede ser posterior a la final", null);
+        }
+        if (filtro.getMontoMinimo() != null && filtro.getMontoMaximo() != null
+                && filtro.getMontoMinimo() > filtro.getMontoMaximo()) {
+            throw new NegocioException("El monto mínimo no puede ser mayor al máximo", null);
         }
-    }
-
-    /**
-     * <p>
-     * Obtiene las operaciones de un cliente filtradas por tipo y dentro de un rango de fechas.
-     * </p>
-     *
-     * @param idCliente identificador del cliente.
-     * @param filtroTipo tipo de operación a consultar.
-     * @param fechaInicio fecha/hora inicial del rango (inclusive).
-     * @param fechaFin fecha/hora final del rango (inclusive).
-     * @return lista de {@link Operacion} que cumplan ambos filtros; si no hay, retorna lista vacía.
-     * @throws NegocioException si ocurre un error al consultar en persistencia.
-     */
-    @Override
-    public List<Operacion> operacionesPorFechaTipo(Integer idCliente, TipoOperacion filtroTipo, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws NegocioException {
         try {
-            List<Operacion> listaOperaciones = operacionesDAO.operacionesPorFechaTipo(idCliente, filtroTipo, fechaInicio, fechaFin);
-            return listaOperaciones;
+            return operacionesDAO.consultarOperaciones(filtro);
         } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al consultar las operaciones", null);
+            throw new NegocioException("Error al consultar las operaciones", ex);
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
+
+/**
+ * <p>
+ * Implementación de {@link IOperacionesBOAsincrono} que ejecuta cada método del
+ * {@link IOperacionesBO} síncrono con {@link EjecutorNegocio}, acotado al tamaño del
+ * pool de conexiones.
+ * </p>
+ *
+ * @author joset
+ */
+public class OperacionesBOAsincrono implements IOperacionesBOAsincrono {
+
+    private final IOperacionesBO delegado;
+
+    /**
+     * Construye el BO asíncrono sobre uno síncrono.
+     *
+     * @param delegado BO de operaciones que realiza el trabajo.
+     */
+    public OperacionesBOAsincrono(IOperacionesBO delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public CompletableFuture<PaginaOperacionesDTO> consultarOperaciones(FiltroOperacionesDTO filtro) {
+        return EjecutorNegocio.suministrar(() -> delegado.consultarOperaciones(filtro));
+    }
+}
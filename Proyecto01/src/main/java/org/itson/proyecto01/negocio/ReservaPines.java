@@ -0,0 +1,68 @@
+package org.itson.proyecto01.negocio;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p>
+ * Reserva de contraseñas numéricas generadas con {@link SecureRandom}. Un hilo
+ * demonio mantiene la cola llena, de modo que quien pide una contraseña casi
+ * siempre la toma ya hecha.
+ * </p>
+ *
+ * <p>
+ * {@link #obtener()} nunca se bloquea: si la cola está vacía genera la
+ * contraseña en el momento con el mismo generador.
+ * </p>
+ *
+ * @author joset
+ */
+final class ReservaPines {
+
+    private final int digitos;
+    private final SecureRandom aleatorio = new SecureRandom();
+    private final BlockingQueue<String> disponibles;
+
+    /**
+     * Crea la reserva e inicia el hilo que la rellena.
+     *
+     * @param digitos longitud de cada contraseña.
+     * @param capacidad número de contraseñas que se mantienen listas.
+     */
+    ReservaPines(int digitos, int capacidad) {
+        this.digitos = digitos;
+        this.disponibles = new ArrayBlockingQueue<>(capacidad);
+        Thread rellenador = new Thread(this::rellenar, "reserva-pines");
+        rellenador.setDaemon(true);
+        rellenador.start();
+    }
+
+    /**
+     * Obtiene una contraseña nueva.
+     *
+     * @return contraseña numérica de la longitud configurada.
+     */
+    String obtener() {
+        String pin = disponibles.poll();
+        return pin != null ? pin : generar();
+    }
+
+    private void rellenar() {
+        try {
+            while (true) {
+                disponibles.put(generar());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String generar() {
+        char[] pin = new char[digitos];
+        for (int i = 0; i < digitos; i++) {
+            pin[i] = (char) ('0' + aleatorio.nextInt(10));
+        }
+        return new String(pin);
+    }
+}
@@ -7,9 +7,8 @@ package org.itson.proyecto01.negocio;
 import java.time.LocalDateTime;
 import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.entidades.Retiro;
-import org.itson.proyecto01.persistencia.CuentasDAO;
+import org.itson.proyecto01.persistencia.FabricaDAOs;
 import org.itson.proyecto01.persistencia.ICuentasDAO;
-import org.itson.proyecto01.persistencia.RetiroConCuentaDAO;
 import org.itson.proyecto01.persistencia.PersistenciaException;
 import org.itson.proyecto01.persistencia.IRetiroConCuentaDAO;
 
@@ -30,14 +29,44 @@ import org.itson.proyecto01.persistencia.IRetiroConCuentaDAO;
  * </ul>
  *
  * <p>
- * Nota: Esta clase crea internamente sus dependencias (<code>CuentasDAO</code> y
- * <code>RetiroConCuentaDAO</code>) en el constructor sin parámetros.
+ * Nota: Esta clase obtiene sus dependencias (DAO de cuentas y de retiros) de
+ * {@link FabricaDAOs} en el constructor sin parámetros, para compartir sus caches.
  * </p>
  *
  * @author joset
  */
 public class RetiroBO implements IRetiroBO {
 
+    private static final int DIGITOS_CONTRASENA = 8;
+    private static final int PINES_EN_RESERVA = 256;
+
+    /**
+     * Generadores compartidos por todas las instancias: el de folios debe ser
+     * único por proceso para que su secuencia no se repita.
+     */
+    private static final ReservaPines PINES = new ReservaPines(DIGITOS_CONTRASENA, PINES_EN_RESERVA);
+
+    private static final int MAXIMO_INTENTOS_FOLIO = 5;
+    private static final long MS_VENTANA_FOLIO = 10 * 60 * 1000;
+    private static final long MS_BLOQUEO_FOLIO = 5 * 60 * 1000;
+    private static final int FOLIOS_VIGILADOS = 5000;
+
+    /**
+     * Fallos de contraseña por folio: un PIN de 8 dígitos no debe poder
+     * probarse por fuerza bruta contra un mismo folio.
+     */
+    private static final LimitadorIntentos INTENTOS_FOLIO = new LimitadorIntentos(MAXIMO_INTENTOS_FOLIO,
+            MS_VENTANA_FOLIO, MS_BLOQUEO_FOLIO, FOLIOS_VIGILADOS);
+
+    /**
+     * Contenedor del generador de folios, para crearlo en el primer retiro y no
+     * al cargar la clase; así {@link #verificarConfiguracion()} puede reportar
+     * una configuración inválida.
+     */
+    private static final class Folios {
+        private static final GeneradorFolios GENERADOR = GeneradorFolios.desdeConfiguracion();
+    }
+
     /**
      * DAO de cuentas utilizado para consultar información de la cuenta origen.
      */
@@ -53,41 +82,25 @@ public class RetiroBO implements IRetiroBO {
      * Construye el BO e inicializa sus dependencias:
      * </p>
      * <ul>
-     *   <li><code>cuentaDAO = new CuentasDAO()</code></li>
-     *   <li><code>RetiroConCuentaDAO = new RetiroConCuentaDAO(cuentaDAO)</code></li>
+     *   <li><code>cuentaDAO = FabricaDAOs.cuentasDAO()</code></li>
+     *   <li><code>RetiroConCuentaDAO = FabricaDAOs.retirosDAO()</code></li>
      * </ul>
      */
     public RetiroBO() {
-        cuentaDAO = new CuentasDAO();
-        RetiroConCuentaDAO = new RetiroConCuentaDAO(cuentaDAO);
+        cuentaDAO = FabricaDAOs.cuentasDAO();
+        RetiroConCuentaDAO = FabricaDAOs.retirosDAO();
     }
 
     /**
-     * <p>
-     * Genera un código numérico aleatorio con la longitud indicada.
-     * </p>
-     *
-     * <p>
-     * Se utiliza para crear:
-     * </p>
-     * <ul>
-     *   <li>Contraseña del retiro (por ejemplo, 8 dígitos).</li>
-     *   <li>Folio del retiro (por ejemplo, 18 dígitos).</li>
-     * </ul>
+     * Revisa al arrancar la aplicación la configuración del generador de folios
+     * (nodo de la instancia), para no descubrir el error al generar el primer
+     * retiro.
      *
-     * @param longitud cantidad de dígitos del código.
-     * @return cadena numérica aleatoria de la longitud solicitada.
+     * @throws NegocioException si el nodo no es válido o si hay varias
+     *                          instancias sin nodo asignado.
      */
-    private String generarCodigoNumerico(int longitud) {
-
-        StringBuilder codigo = new StringBuilder();
-
-        for (int i = 0; i < longitud; i++) {
-            int digito = (int) (Math.random() * 10);
-            codigo.append(digito);
-        }
-
-        return codigo.toString();
+    public static void verificarConfiguracion() throws NegocioException {
+        GeneradorFolios.verificarConfiguracion();
     }
 
     /**
@@ -108,7 +121,8 @@ public class RetiroBO implements IRetiroBO {
      * Flujo:
      * </p>
      * <ul>
-     *   <li>Genera contraseña de 8 dígitos y folio de 18 dígitos.</li>
+     *   <li>Toma una contraseña de 8 dígitos de {@link ReservaPines} y genera un folio
+     *       de 18 dígitos único con {@link GeneradorFolios}, sin consultar la base.</li>
      *   <li>Crea un objeto {@link Retiro} con estado inicial <code>PENDIENTE</code>.</li>
      *   <li>Registra el retiro mediante {@link IRetiroConCuentaDAO#realizarRetiro(Retiro)}.</li>
      * </ul>
@@ -136,8 +150,8 @@ public class RetiroBO implements IRetiroBO {
         try {
             String numeroCuenta = cuenta.getNumeroCuenta();
             LocalDateTime fechaHora = LocalDateTime.now();
-            String contrasena = generarCodigoNumerico(8);
-            String folio = generarCodigoNumerico(18);
+            String contrasena = PINES.obtener();
+            String folio = Folios.GENERADOR.siguiente();
 
             Retiro retiro = new Retiro(numeroCuenta, monto, contrasena, fechaHora, "RETIRO_SIN_CUENTA", folio, "PENDIENTE");
 
@@ -160,6 +174,8 @@ public class RetiroBO implements IRetiroBO {
      * </p>
      * <ul>
      *   <li><code>folio</code> y <code>contrasenia</code> no deben ser <code>null</code> ni vacíos.</li>
+     *   <li>El folio no debe estar bloqueado por {@value #MAXIMO_INTENTOS_FOLIO} contraseñas
+     *       incorrectas recientes; el bloqueo dura cinco minutos.</li>
      *   <li>Debe existir un retiro con ese folio/contraseña.</li>
      *   <li>El retiro no debe estar expirado.</li>
      * </ul>
@@ -167,7 +183,8 @@ public class RetiroBO implements IRetiroBO {
      * @param folio folio del retiro.
      * @param contrasenia contraseña del retiro.
      * @return {@link Retiro} encontrado y válido (no expirado).
-     * @throws NegocioException si el retiro no existe, las credenciales son inválidas o está expirado.
+     * @throws NegocioException si el retiro no existe, las credenciales son inválidas, está expirado
+     * o el folio está bloqueado por demasiados intentos.
      */
     @Override
     public Retiro compararRetiro(String folio, String contrasenia) throws NegocioException {
@@ -176,12 +193,20 @@ public class RetiroBO implements IRetiroBO {
             throw new NegocioException(" :Folio o contraseña vacíos", null);
         }
 
+        long msBloqueo = INTENTOS_FOLIO.msRestantesBloqueo(folio);
+        if (msBloqueo > 0) {
+            throw new NegocioException(" :Demasiados intentos con este folio, intente de nuevo en "
+                    + (msBloqueo + 999) / 1000 + " segundos", null);
+        }
+
         try {
             Retiro retiro = RetiroConCuentaDAO.buscarPorFolioYContrasena(folio, contrasenia);
 
             if (retiro == null) {
+                INTENTOS_FOLIO.registrarFallo(folio);
                 throw new NegocioException(" :Folio o contraseña incorrectos", null);
             }
+            INTENTOS_FOLIO.registrarExito(folio);
             if (retiro.getFechaExpiracion().isBefore(LocalDateTime.now())) {
                 throw new NegocioException(" :El retiro ya expiró", null);
             }
@@ -0,0 +1,46 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.entidades.Cuenta;
+import org.itson.proyecto01.entidades.Retiro;
+
+/**
+ * <p>
+ * Implementación de {@link IRetiroBOAsincrono} que ejecuta cada método del
+ * {@link IRetiroBO} síncrono con {@link EjecutorNegocio}, acotado al tamaño del
+ * pool de conexiones.
+ * </p>
+ *
+ * @author joset
+ */
+public class RetiroBOAsincrono implements IRetiroBOAsincrono {
+
+    private final IRetiroBO delegado;
+
+    /**
+     * Construye el BO asíncrono sobre uno síncrono.
+     *
+     * @param delegado BO de retiros sin cuenta que realiza el trabajo.
+     */
+    public RetiroBOAsincrono(IRetiroBO delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public CompletableFuture<Retiro> generarRetiro(Cuenta cuenta, double monto) {
+        return EjecutorNegocio.suministrar(() -> delegado.generarRetiro(cuenta, monto));
+    }
+
+    @Override
+    public CompletableFuture<Retiro> compararRetiro(String numeroFolio, String contrasenia) {
+        return EjecutorNegocio.suministrar(() -> delegado.compararRetiro(numeroFolio, contrasenia));
+    }
+
+    @Override
+    public CompletableFuture<Void> cobrarRetiro(Retiro retiro) {
+        return EjecutorNegocio.suministrar(() -> {
+            delegado.cobrarRetiro(retiro);
+            return null;
+        });
+    }
+}
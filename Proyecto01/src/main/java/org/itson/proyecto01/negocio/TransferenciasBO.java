@@ -4,7 +4,13 @@
  */
 package org.itson.proyecto01.negocio;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
 import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.entidades.Transferencia;
 import org.itson.proyecto01.enums.EstadoCuenta;
@@ -77,7 +83,9 @@ public class TransferenciasBO implements ITransferenciasBO {
      * </p>
      * <ul>
      *   <li>Consulta cuenta origen y cuenta destino.</li>
-     *   <li>Valida reglas de negocio (cuentas, longitud, saldo, monto, estado).</li>
+     *   <li>Valida reglas de negocio (cuentas, longitud, saldo, monto, estado). El
+     *       saldo se toma de la cuenta origen ya consultada, sin otra ida a la base
+     *       de datos; el DAO lo vuelve a validar con la fila bloqueada.</li>
      *   <li>Si todo es válido, llama a {@link ITransferenciasDAO#realizarTransferencia(NuevaTransferenciaDTO)}.</li>
      * </ul>
      *
@@ -104,11 +112,12 @@ public class TransferenciasBO implements ITransferenciasBO {
                 throw new NegocioException("El numero de cuenta debe tener 18 digitos.", null);
             }
 
-            if (cuentasDAO.obtenerSaldoPorNumeroCuenta(nuevaTransferencia.getCuentaOrigen()) == 0) {
+            // Validacion previa; el DAO vuelve a validar el saldo con la fila bloqueada
+            if (cuentaOrigen.getSaldo() == 0) {
                 throw new NegocioException("La cuenta no tiene saldo", null);
             }
 
-            if (cuentasDAO.obtenerSaldoPorNumeroCuenta(nuevaTransferencia.getCuentaOrigen()) < nuevaTransferencia.getMonto()) {
+            if (cuentaOrigen.getSaldo() < nuevaTransferencia.getMonto()) {
                 throw new NegocioException("Fondos insuficientes.", null);
             }
 
@@ -127,9 +136,79 @@ public class TransferenciasBO implements ITransferenciasBO {
             return transferencia;
 
         } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al acceder a la cuenta", ex);
+            throw new NegocioException(ex.getMessage(), ex);
 
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>
+     * Realiza una transferencia masiva (por ejemplo, nómina) desde una cuenta origen.
+     * </p>
+     *
+     * <p>
+     * Cada partida se valida con las mismas reglas que una transferencia
+     * individual (número de 18 dígitos, distinto del origen, monto finito,
+     * positivo y no mayor a $100,000). Las partidas inválidas, incluidas las
+     * <code>null</code>, se reportan como rechazadas sin llegar a
+     * persistencia; las demás se aplican en lote con
+     * {@link ITransferenciasDAO#realizarTransferenciasMasivas(String, LocalDateTime, List)}.
+     * </p>
+     *
+     * @param cuentaOrigen número de la cuenta que paga.
+     * @param partidas destinos y montos a transferir.
+     * @return un resultado por partida, en el mismo orden en que se recibieron.
+     * @throws NegocioException si la cuenta origen no es válida o si ocurre un error en persistencia.
+     */
+    @Override
+    public List<ResultadoTransferenciaDTO> realizarTransferenciasMasivas(String cuentaOrigen,
+            List<PartidaTransferenciaDTO> partidas) throws NegocioException {
+        if (cuentaOrigen == null || cuentaOrigen.length() != 18) {
+            throw new NegocioException("El numero de cuenta debe tener 18 digitos.", null);
+        }
+        if (partidas == null || partidas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ResultadoTransferenciaDTO[] resultados = new ResultadoTransferenciaDTO[partidas.size()];
+        List<PartidaTransferenciaDTO> validas = new ArrayList<>(partidas.size());
+        List<Integer> posiciones = new ArrayList<>(partidas.size());
+        for (int i = 0; i < partidas.size(); i++) {
+            PartidaTransferenciaDTO partida = partidas.get(i);
+            String rechazo = null;
+            if (partida == null) {
+                rechazo = "La partida no tiene datos.";
+            } else if (partida.getCuentaDestino() == null || partida.getCuentaDestino().length() != 18) {
+                rechazo = "El numero de cuenta debe tener 18 digitos.";
+            } else if (partida.getCuentaDestino().equals(cuentaOrigen)) {
+                rechazo = "La cuenta origen y destino no pueden ser iguales.";
+            } else if (!Double.isFinite(partida.getMonto())) {
+                rechazo = "El monto no es un numero valido.";
+            } else if (partida.getMonto() <= 0) {
+                rechazo = "El monto debe ser mayor a cero.";
+            } else if (partida.getMonto() > 100000) {
+                rechazo = "No se permite realizar transferencias de más de $100,000.";
+            }
+            if (rechazo != null) {
+                resultados[i] = ResultadoTransferenciaDTO.rechazada(partida, rechazo);
+            } else {
+                validas.add(partida);
+                posiciones.add(i);
+            }
+        }
+
+        if (!validas.isEmpty()) {
+            try {
+                List<ResultadoTransferenciaDTO> aplicados = transferenciasDAO.realizarTransferenciasMasivas(
+                        cuentaOrigen, LocalDateTime.now(), validas);
+                for (int k = 0; k < aplicados.size(); k++) {
+                    resultados[posiciones.get(k)] = aplicados.get(k);
+                }
+            } catch (PersistenciaException ex) {
+                throw new NegocioException(ex.getMessage(), ex);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+}
@@ -0,0 +1,42 @@
+package org.itson.proyecto01.negocio;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
+import org.itson.proyecto01.entidades.Transferencia;
+
+/**
+ * <p>
+ * Implementación de {@link ITransferenciasBOAsincrono} que ejecuta cada método del
+ * {@link ITransferenciasBO} síncrono con {@link EjecutorNegocio}, acotado al tamaño del
+ * pool de conexiones.
+ * </p>
+ *
+ * @author joset
+ */
+public class TransferenciasBOAsincrono implements ITransferenciasBOAsincrono {
+
+    private final ITransferenciasBO delegado;
+
+    /**
+     * Construye el BO asíncrono sobre uno síncrono.
+     *
+     * @param delegado BO de transferencias que realiza el trabajo.
+     */
+    public TransferenciasBOAsincrono(ITransferenciasBO delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public CompletableFuture<Transferencia> realizarTransferencia(NuevaTransferenciaDTO nuevaTransferencia) {
+        return EjecutorNegocio.suministrar(() -> delegado.realizarTransferencia(nuevaTransferencia));
+    }
+
+    @Override
+    public CompletableFuture<List<ResultadoTransferenciaDTO>> realizarTransferenciasMasivas(String cuentaOrigen,
+            List<PartidaTransferenciaDTO> partidas) {
+        return EjecutorNegocio.suministrar(() -> delegado.realizarTransferenciasMasivas(cuentaOrigen, partidas));
+    }
+}
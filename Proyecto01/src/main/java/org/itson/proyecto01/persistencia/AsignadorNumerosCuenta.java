@@ -0,0 +1,231 @@
+package org.itson.proyecto01.persistencia;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Asigna números de cuenta de 18 dígitos a partir de la secuencia
+ * <code>numero_cuenta</code> de la tabla <code>Secuencias</code>.
+ * </p>
+ *
+ * <p>
+ * Funcionamiento:
+ * </p>
+ * <ul>
+ *   <li>Reserva en la base de datos un bloque de valores consecutivos con
+ *       <code>SELECT ... FOR UPDATE</code>, en una transacción propia y corta.
+ *       Varias instancias de la aplicación nunca reciben el mismo bloque.</li>
+ *   <li>Reparte los valores del bloque en memoria con un incremento atómico, sin
+ *       candados; solo la reserva del bloque siguiente toma un
+ *       {@link ReentrantLock}. No es un <code>synchronized</code> porque la
+ *       reserva consulta la base de datos, y en Java 21 un hilo virtual que
+ *       espera dentro de un monitor deja ocupado a su hilo portador.</li>
+ *   <li>Cada número es el valor de 17 dígitos más un dígito verificador Luhn.
+ *       No se valida al capturar un número porque las cuentas anteriores a
+ *       la secuencia no lo tienen.</li>
+ * </ul>
+ *
+ * <p>
+ * Las cuentas anteriores a la secuencia tienen números aleatorios. Al reservar
+ * un bloque se consultan, una sola vez, los números existentes dentro de su
+ * rango para saltarlos; así el alta de cuenta ya no consulta existencia.
+ * Los valores de un alta que termina en <code>rollback</code> se pierden, lo
+ * que solo deja huecos en la numeración.
+ * </p>
+ *
+ * @author joset
+ */
+public final class AsignadorNumerosCuenta {
+
+    private static final Logger LOGGER = Logger.getLogger(AsignadorNumerosCuenta.class.getName());
+    private static final String SECUENCIA = "numero_cuenta";
+    private static final int DIGITOS_CUENTA = 18;
+
+    /**
+     * Origen de los bloques de valores; en producción, la tabla
+     * <code>Secuencias</code>.
+     */
+    @FunctionalInterface
+    interface FuenteBloques {
+
+        /**
+         * Reserva un bloque de valores consecutivos que nadie más recibirá.
+         *
+         * @param tamanio cantidad de valores del bloque.
+         * @return bloque reservado, con los números ya ocupados en su rango.
+         * @throws PersistenciaException si no se pudo reservar.
+         */
+        Bloque reservar(int tamanio) throws PersistenciaException;
+    }
+
+    private final int tamanioBloque;
+    private final FuenteBloques fuente;
+    private final ReentrantLock candadoReserva = new ReentrantLock();
+    private volatile Bloque actual = Bloque.VACIO;
+
+    /**
+     * Crea el asignador.
+     *
+     * @param tamanioBloque cantidad de valores que se reservan por viaje a la
+     *                      base de datos.
+     */
+    public AsignadorNumerosCuenta(int tamanioBloque) {
+        this(tamanioBloque, AsignadorNumerosCuenta::reservarBloque);
+    }
+
+    /**
+     * Crea el asignador con otro origen de bloques.
+     *
+     * @param tamanioBloque cantidad de valores por bloque.
+     * @param fuente origen de los bloques.
+     */
+    AsignadorNumerosCuenta(int tamanioBloque, FuenteBloques fuente) {
+        if (tamanioBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.tamanioBloque = tamanioBloque;
+        this.fuente = fuente;
+    }
+
+    /**
+     * <p>
+     * Obtiene el siguiente número de cuenta disponible. Solo va a la base de
+     * datos cuando se agota el bloque en memoria.
+     * </p>
+     *
+     * <p>
+     * No debe llamarse con una transacción abierta en la misma conexión del
+     * hilo: la reserva del bloque pide su propia conexión.
+     * </p>
+     *
+     * @return número de cuenta de 18 dígitos con dígito verificador.
+     * @throws PersistenciaException si no se pudo reservar un bloque nuevo.
+     */
+    public String siguiente() throws PersistenciaException {
+        while (true) {
+            Bloque bloque = actual;
+            long valor = bloque.siguiente.getAndIncrement();
+            if (valor < bloque.fin) {
+                String numero = conDigitoVerificador(valor);
+                if (!bloque.ocupados.contains(numero)) {
+                    return numero;
+                }
+                continue;
+            }
+            renovar(bloque);
+        }
+    }
+
+    private void renovar(Bloque agotado) throws PersistenciaException {
+        candadoReserva.lock();
+        try {
+            if (actual == agotado) {
+                actual = fuente.reservar(tamanioBloque);
+            }
+        } finally {
+            candadoReserva.unlock();
+        }
+    }
+
+    private static Bloque reservarBloque(int tamanioBloque) throws PersistenciaException {
+        String sqlLeer = "SELECT siguiente FROM Secuencias WHERE nombre = ? FOR UPDATE";
+        String sqlAvanzar = "UPDATE Secuencias SET siguiente = siguiente + ? WHERE nombre = ?";
+        String sqlOcupados = "SELECT numero_cuenta FROM Cuentas WHERE numero_cuenta BETWEEN ? AND ?";
+
+        try (Connection conexion = ConexionBD.crearConexion()) {
+            conexion.setAutoCommit(false);
+            try {
+                long inicio;
+                try (PreparedStatement comando = conexion.prepareStatement(sqlLeer)) {
+                    comando.setString(1, SECUENCIA);
+                    try (ResultSet resultado = comando.executeQuery()) {
+                        if (!resultado.next()) {
+                            throw new SQLException("No existe la secuencia " + SECUENCIA);
+                        }
+                        inicio = resultado.getLong(1);
+                    }
+                }
+                try (PreparedStatement comando = conexion.prepareStatement(sqlAvanzar)) {
+                    comando.setInt(1, tamanioBloque);
+                    comando.setString(2, SECUENCIA);
+                    comando.executeUpdate();
+                }
+                conexion.commit();
+
+                long fin = inicio + tamanioBloque;
+                Set<String> ocupados = new HashSet<>();
+                try (PreparedStatement comando = conexion.prepareStatement(sqlOcupados)) {
+                    comando.setString(1, conDigitoVerificador(inicio).substring(0, DIGITOS_CUENTA - 1) + "0");
+                    comando.setString(2, conDigitoVerificador(fin - 1).substring(0, DIGITOS_CUENTA - 1) + "9");
+                    try (ResultSet resultado = comando.executeQuery()) {
+                        while (resultado.next()) {
+                            ocupados.add(resultado.getString(1));
+                        }
+                    }
+                }
+                conexion.commit();
+                LOGGER.fine(() -> "Bloque de números de cuenta reservado: " + inicio + " - " + (fin - 1));
+                return new Bloque(inicio, fin, ocupados);
+            } catch (SQLException ex) {
+                conexion.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudo reservar un bloque de números de cuenta", ex);
+        }
+    }
+
+    private static String conDigitoVerificador(long valor) {
+        String cuerpo = Long.toString(valor);
+        return cuerpo + digitoVerificador(cuerpo);
+    }
+
+    /**
+     * Calcula el dígito Luhn del cuerpo: se duplica cada segundo dígito desde la
+     * derecha, empezando por el último del cuerpo.
+     */
+    private static int digitoVerificador(String cuerpo) {
+        int suma = 0;
+        boolean duplicar = true;
+        for (int i = cuerpo.length() - 1; i >= 0; i--) {
+            int digito = cuerpo.charAt(i) - '0';
+            if (duplicar) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+            duplicar = !duplicar;
+        }
+        return (10 - suma % 10) % 10;
+    }
+
+    /**
+     * Valores <code>[inicio, fin)</code> reservados y los números de cuenta de
+     * ese rango que ya existen.
+     */
+    static final class Bloque {
+
+        private static final Bloque VACIO = new Bloque(0, 0, Set.of());
+
+        private final AtomicLong siguiente;
+        private final long fin;
+        private final Set<String> ocupados;
+
+        Bloque(long inicio, long fin, Set<String> ocupados) {
+            this.siguiente = new AtomicLong(inicio);
+            this.fin = fin;
+            this.ocupados = ocupados;
+        }
+    }
+}
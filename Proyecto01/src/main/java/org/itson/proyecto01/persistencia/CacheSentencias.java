@@ -0,0 +1,260 @@
+package org.itson.proyecto01.persistencia;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Cache de {@link PreparedStatement} asociado a una conexión física del
+ * {@link PoolConexiones}. La llave es el texto SQL (más la bandera de llaves
+ * generadas), de modo que los bloques de texto constantes de los DAOs se
+ * preparan una sola vez por conexión.
+ * </p>
+ *
+ * <p>
+ * Las sentencias se entregan envueltas en un proxy: al invocar
+ * <code>close()</code> se limpian sus parámetros y su lote pendiente, se
+ * restauran las propiedades que el préstamo cambió (tamaño de lectura, máximo
+ * de filas, tiempo límite) y quedan disponibles para el siguiente uso en lugar
+ * de cerrarse. Así un lote que quedó a medias por una excepción no se ejecuta
+ * con el siguiente préstamo. Cuando se rebasa la capacidad se desaloja
+ * la sentencia menos usada recientemente (LRU).
+ * </p>
+ *
+ * <p>
+ * Una conexión sólo la usa un préstamo a la vez, por lo que esta clase no se
+ * sincroniza.
+ * </p>
+ *
+ * @author joset
+ */
+final class CacheSentencias {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheSentencias.class.getName());
+
+    /**
+     * Valor de la bandera de llaves generadas cuando se usa <code>prepareStatement(String)</code>.
+     */
+    static final int SIN_LLAVES = -1;
+
+    private final Connection conexion;
+    private final AtomicLong aciertos;
+    private final AtomicLong fallos;
+    private final AtomicLong desalojos;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    /**
+     * Crea el cache para una conexión física.
+     *
+     * @param conexion conexión física dueña de las sentencias.
+     * @param capacidad número máximo de sentencias a conservar.
+     * @param aciertos contador compartido de aciertos.
+     * @param fallos contador compartido de fallos.
+     * @param desalojos contador compartido de desalojos.
+     */
+    CacheSentencias(Connection conexion, int capacidad, AtomicLong aciertos, AtomicLong fallos, AtomicLong desalojos) {
+        this.conexion = conexion;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> masAntigua) {
+                if (size() <= capacidad) {
+                    return false;
+                }
+                CacheSentencias.this.desalojos.incrementAndGet();
+                masAntigua.getValue().desalojar();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * Obtiene la sentencia preparada para el texto SQL indicado. Si ya está en
+     * el cache y libre se reutiliza; si está en uso (misma SQL abierta dos veces)
+     * se prepara una sentencia aparte sin cachear.
+     * </p>
+     *
+     * @param sql texto SQL.
+     * @param llavesGeneradas bandera de <code>Statement.RETURN_GENERATED_KEYS</code>
+     *                        o {@link #SIN_LLAVES}.
+     * @return sentencia lista para asignar parámetros.
+     * @throws SQLException si no se puede preparar la sentencia.
+     */
+    PreparedStatement obtener(String sql, int llavesGeneradas) throws SQLException {
+        String llave = llavesGeneradas + "|" + sql;
+        Entrada entrada = entradas.get(llave);
+        if (entrada != null && !entrada.enUso && !entrada.sentencia.isClosed()) {
+            aciertos.incrementAndGet();
+            entrada.enUso = true;
+            return entrada.proxy;
+        }
+        fallos.incrementAndGet();
+        if (entrada != null && entrada.enUso) {
+            return preparar(sql, llavesGeneradas);
+        }
+        entrada = new Entrada(preparar(sql, llavesGeneradas));
+        entrada.enUso = true;
+        entradas.put(llave, entrada);
+        return entrada.proxy;
+    }
+
+    /**
+     * Marca como libres las sentencias que el préstamo no cerró, para que no
+     * queden bloqueadas al regresar la conexión al pool.
+     */
+    void liberarTodas() {
+        for (Entrada entrada : entradas.values()) {
+            if (entrada.enUso) {
+                entrada.liberar();
+            }
+        }
+    }
+
+    private PreparedStatement preparar(String sql, int llavesGeneradas) throws SQLException {
+        if (llavesGeneradas == SIN_LLAVES) {
+            return conexion.prepareStatement(sql);
+        }
+        return conexion.prepareStatement(sql, llavesGeneradas);
+    }
+
+    /**
+     * Sentencia cacheada con su proxy, su estado de uso y los valores por
+     * defecto de las propiedades que un préstamo puede cambiar.
+     */
+    private static final class Entrada implements InvocationHandler {
+
+        private final PreparedStatement sentencia;
+        private final PreparedStatement proxy;
+        private final int tamanioLecturaDefecto;
+        private final int direccionLecturaDefecto;
+        private final int maximoFilasDefecto;
+        private final int maximoCampoDefecto;
+        private final int segundosLimiteDefecto;
+        private boolean enUso;
+        private boolean desalojada;
+        private boolean lotePendiente;
+        private boolean propiedadesCambiadas;
+
+        private Entrada(PreparedStatement sentencia) throws SQLException {
+            this.sentencia = sentencia;
+            this.tamanioLecturaDefecto = sentencia.getFetchSize();
+            this.direccionLecturaDefecto = sentencia.getFetchDirection();
+            this.maximoFilasDefecto = sentencia.getMaxRows();
+            this.maximoCampoDefecto = sentencia.getMaxFieldSize();
+            this.segundosLimiteDefecto = sentencia.getQueryTimeout();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    this);
+        }
+
+        private void liberar() {
+            enUso = false;
+            try {
+                if (desalojada) {
+                    sentencia.close();
+                } else {
+                    sentencia.clearParameters();
+                    sentencia.clearWarnings();
+                    if (lotePendiente) {
+                        sentencia.clearBatch();
+                        lotePendiente = false;
+                    }
+                    if (propiedadesCambiadas) {
+                        restablecerPropiedades();
+                    }
+                }
+            } catch (SQLException ex) {
+                // Si no se pudo limpiar no debe reutilizarse
+                LOGGER.fine("No se pudo liberar la sentencia cacheada: " + ex.getMessage());
+                desalojada = true;
+                try {
+                    sentencia.close();
+                } catch (SQLException exCierre) {
+                    LOGGER.fine("No se pudo cerrar la sentencia cacheada: " + exCierre.getMessage());
+                }
+            }
+        }
+
+        private void restablecerPropiedades() throws SQLException {
+            sentencia.setFetchSize(tamanioLecturaDefecto);
+            sentencia.setFetchDirection(direccionLecturaDefecto);
+            sentencia.setMaxRows(maximoFilasDefecto);
+            sentencia.setMaxFieldSize(maximoCampoDefecto);
+            sentencia.setQueryTimeout(segundosLimiteDefecto);
+            propiedadesCambiadas = false;
+        }
+
+        /**
+         * Recuerda qué hay que limpiar al liberar según el método invocado.
+         */
+        private void anotar(String metodo) {
+            switch (metodo) {
+                case "addBatch":
+                    lotePendiente = true;
+                    break;
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setQueryTimeout":
+                    propiedadesCambiadas = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void desalojar() {
+            desalojada = true;
+            if (!enUso) {
+                try {
+                    sentencia.close();
+                } catch (SQLException ex) {
+                    LOGGER.fine("No se pudo cerrar la sentencia desalojada: " + ex.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (enUso) {
+                        liberar();
+                    }
+                    return null;
+                case "isClosed":
+                    return !enUso || sentencia.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (!enUso) {
+                throw new SQLException("La sentencia ya fue cerrada.");
+            }
+            anotar(metodo.getName());
+            try {
+                return metodo.invoke(sentencia, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -71,14 +71,12 @@ public class ClientesDAO implements IClientesDAO {
     @Override
     public Cliente crearCliente(Integer idDomicilio, NuevoClienteDTO nuevoCliente, Integer idDomicilio1) throws PersistenciaException {
 
-        try {
-            String codigoSQL = """
+        String codigoSQL = """
                    insert into clientes(nombres, apellido_paterno, apellido_materno, fecha_nacimiento, contrasena, fecha_registro, edad, id_domicilio)
                    values(?,?,?,?,?,?,?,?);
                    """;
-            Connection conexion = ConexionBD.crearConexion();
-
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL, PreparedStatement.RETURN_GENERATED_KEYS);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
 
             LocalDateTime fechaRegistro = LocalDateTime.now();
 
@@ -99,16 +97,15 @@ public class ClientesDAO implements IClientesDAO {
             comando.setInt(8, idDomicilio);
 
             comando.executeUpdate();
+            ConexionBD.marcarEscritura();
 
-            ResultSet rs = comando.getGeneratedKeys();
             Integer idCliente = null;
-            if (rs.next()) {
-                idCliente = rs.getInt(1);
-                
+            try (ResultSet rs = comando.getGeneratedKeys()) {
+                if (rs.next()) {
+                    idCliente = rs.getInt(1);
+                }
             }
 
-            conexion.close();
-
             Cliente nuevocliente = new Cliente(
                     idCliente,
                     nuevoCliente.getNombres(),
@@ -146,34 +143,16 @@ public class ClientesDAO implements IClientesDAO {
      */
     @Override
     public Cliente obtenerClientePorId(Integer idCliente) throws PersistenciaException {
-        try {
-            String codigoSQL = """
+        String codigoSQL = """
                            select id_cliente, nombres, apellido_paterno, apellido_materno, fecha_nacimiento, contrasena, fecha_registro, edad, id_domicilio 
                            from clientes
                            where id_cliente = ?
                            """;
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setInt(1, idCliente);
-            ResultSet resultado = comando.executeQuery();
-            if (resultado.next()) {
-                Integer id = resultado.getInt("id_cliente");
-                String nombres = resultado.getString("nombres");
-                String apellidoP = resultado.getString("apellido_paterno");
-                String apellidoM = resultado.getString("apellido_materno");
-                LocalDate fechaNacimiento = resultado.getDate("fecha_nacimiento").toLocalDate();
-                String contrasenia = resultado.getString("contrasena");
-                LocalDateTime fechaRegistro = resultado.getTimestamp("fecha_registro").toLocalDateTime();
-                Integer edad = resultado.getInt("edad");
-                Integer idDomicilio = resultado.getInt("id_domicilio");
-
-                Cliente cliente = new Cliente(id, nombres, apellidoP, apellidoM,
-                        fechaNacimiento, contrasenia, fechaRegistro, edad, idDomicilio);
-
-                conexion.close();
-                return cliente;
-            } else {
-                return null;
+            try (ResultSet resultado = comando.executeQuery()) {
+                return Mapeadores.CLIENTE.mapearUna(resultado);
             }
 
         } catch (SQLException ex) {
@@ -198,27 +177,23 @@ public class ClientesDAO implements IClientesDAO {
      */
     @Override
     public int verificarCredenciales(String nombreCompleto) throws PersistenciaException {
-        try {
-
-            String codigoSQL = """
+        String codigoSQL = """
                     select id_cliente
                     from clientes
                     where concat(nombres, ' ', apellido_paterno, ' ', apellido_materno) = ?
                     """;
 
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
 
             comando.setString(1, nombreCompleto);
 
-            ResultSet resultado = comando.executeQuery();
-
-            if (resultado.next()) {
-                int id = resultado.getInt("id_cliente");
-                return id;
-
-            } else {
-                return -1;
+            try (ResultSet resultado = comando.executeQuery()) {
+                if (resultado.next()) {
+                    return resultado.getInt("id_cliente");
+                } else {
+                    return -1;
+                }
             }
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
@@ -243,21 +218,20 @@ public class ClientesDAO implements IClientesDAO {
     @Override
     public String obtenerHashPorNombreCompleto(String nombreCompleto) throws PersistenciaException {
 
-        try {
-            String sql = """
+        String sql = """
                 select contrasena
                 from clientes
                 where concat(nombres, ' ', apellido_paterno, ' ', apellido_materno) = ?
             """;
 
-            Connection con = ConexionBD.crearConexion();
-            PreparedStatement ps = con.prepareStatement(sql);
+        try (Connection con = ConexionBD.crearConexionLectura();
+                PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setString(1, nombreCompleto);
 
-            ResultSet rs = ps.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("contrasena");
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("contrasena");
+                }
             }
             return null;
 
@@ -295,13 +269,12 @@ public class ClientesDAO implements IClientesDAO {
      */
     @Override
     public Cliente actualizarCliente(Integer idCliente, NuevoClienteDTO clienteDTO, int idDomicilio) throws PersistenciaException {
-        try {
-            String comandoSQL = """
+        String comandoSQL = """
                 UPDATE clientes
                 SET nombres = ?, apellido_paterno = ?, apellido_materno = ?, fecha_nacimiento = ?,fecha_registro = ?,edad = ?, id_domicilio = ?
                 WHERE id_cliente = ?;
             """;
-
+        try {
             //Haseho de contraseña
             String passwordPlano = clienteDTO.getContrasenia();
             String hashed = BCrypt.hashpw(passwordPlano, BCrypt.gensalt());
@@ -310,19 +283,21 @@ public class ClientesDAO implements IClientesDAO {
             LocalDate fechaActual = LocalDate.now();
             Integer edadCliente = Period.between(clienteDTO.getFechaNacimiento(), fechaActual).getYears();
 
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(comandoSQL);
-            comando.setString(1, clienteDTO.getNombres());
-            comando.setString(2, clienteDTO.getApellidoP());
-            comando.setString(3, clienteDTO.getApelidoM());
-            comando.setDate(4, java.sql.Date.valueOf(clienteDTO.getFechaNacimiento()));
-            comando.setTimestamp(5, java.sql.Timestamp.valueOf(clienteDTO.getFechaRegistro()));
-            comando.setInt(6, edadCliente);
-            comando.setInt(7, idDomicilio);
-            comando.setInt(8, idCliente);
-
-            int filasActualizadas = comando.executeUpdate();
-            conexion.close();
+            int filasActualizadas;
+            try (Connection conexion = ConexionBD.crearConexion();
+                    PreparedStatement comando = conexion.prepareStatement(comandoSQL)) {
+                comando.setString(1, clienteDTO.getNombres());
+                comando.setString(2, clienteDTO.getApellidoP());
+                comando.setString(3, clienteDTO.getApelidoM());
+                comando.setDate(4, java.sql.Date.valueOf(clienteDTO.getFechaNacimiento()));
+                comando.setTimestamp(5, java.sql.Timestamp.valueOf(clienteDTO.getFechaRegistro()));
+                comando.setInt(6, edadCliente);
+                comando.setInt(7, idDomicilio);
+                comando.setInt(8, idCliente);
+
+                filasActualizadas = comando.executeUpdate();
+            }
+            ConexionBD.marcarEscritura();
 
             if (filasActualizadas > 0) {
                 // Retornamos el cliente actualizado
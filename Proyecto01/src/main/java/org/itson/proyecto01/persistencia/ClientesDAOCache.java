@@ -0,0 +1,160 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.Locale;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+import org.itson.proyecto01.dtos.NuevoClienteDTO;
+import org.itson.proyecto01.entidades.Cliente;
+
+/**
+ * <p>
+ * Decorador de {@link IClientesDAO} que guarda en memoria los perfiles de
+ * cliente consultados por <code>id_cliente</code>.
+ * </p>
+ *
+ * <p>
+ * Comportamiento:
+ * </p>
+ * <ul>
+ *   <li>Las consultas concurrentes del mismo cliente comparten una sola carga:
+ *       la primera consulta la base de datos y las demás esperan su resultado.</li>
+ *   <li>Las entradas se guardan en un {@link CacheTinyLfu}, con desalojo por
+ *       frecuencia y por tiempo de vida.</li>
+ *   <li>{@link #actualizarCliente(Integer, NuevoClienteDTO, int)} invalida la
+ *       entrada y descarta la carga en curso, para que su resultado no se guarde.</li>
+ *   <li>Los nombres completos que no existen se recuerdan por poco tiempo
+ *       (cache negativo), para que un nombre mal escrito o un barrido de
+ *       nombres no repita el recorrido de <code>concat(...) = ?</code>, que no
+ *       puede usar índice. Dar de alta o actualizar un cliente vacía ese cache.</li>
+ * </ul>
+ * <p>
+ * Cada lectura entrega una copia para que quien la reciba no altere la entrada
+ * cacheada. Los perfiles se guardan sin el hash de la contraseña: el inicio de
+ * sesión lo lee siempre de la base con
+ * {@link #obtenerHashPorNombreCompleto(String)}.
+ * </p>
+ *
+ * @author joset
+ */
+public class ClientesDAOCache implements IClientesDAO {
+
+    private final IClientesDAO delegado;
+    private final CacheTinyLfu<Integer, Cliente> porId;
+    private final CacheTinyLfu<String, Boolean> nombresInexistentes;
+
+    /**
+     * Construye el decorador.
+     *
+     * @param delegado DAO que realmente consulta la base de datos.
+     * @param porId cache de clientes por id.
+     * @param nombresInexistentes cache negativo de nombres completos sin cliente.
+     */
+    public ClientesDAOCache(IClientesDAO delegado, CacheTinyLfu<Integer, Cliente> porId,
+            CacheTinyLfu<String, Boolean> nombresInexistentes) {
+        this.delegado = delegado;
+        this.porId = porId;
+        this.nombresInexistentes = nombresInexistentes;
+    }
+
+    @Override
+    public Cliente crearCliente(Integer idDomicilio, NuevoClienteDTO nuevoCliente, Integer idDomicilio1) throws PersistenciaException {
+        try {
+            return delegado.crearCliente(idDomicilio, nuevoCliente, idDomicilio1);
+        } finally {
+            nombresInexistentes.limpiar();
+        }
+    }
+
+    /**
+     * <p>
+     * Obtiene el cliente del cache o, si no está, lo carga una sola vez aunque
+     * varios hilos lo pidan al mismo tiempo.
+     * </p>
+     *
+     * @param idCliente identificador del cliente a consultar.
+     * @return copia del {@link Cliente}, sin contraseña; <code>null</code> si no
+     * existe.
+     * @throws PersistenciaException si la carga falla.
+     */
+    @Override
+    public Cliente obtenerClientePorId(Integer idCliente) throws PersistenciaException {
+        return sinContrasenia(porId.obtener(idCliente, id -> sinContrasenia(delegado.obtenerClientePorId(id))));
+    }
+
+    /**
+     * <p>
+     * Responde <code>-1</code> sin consultar la base si el nombre está en el
+     * cache negativo; si la base tampoco lo encuentra, lo agrega.
+     * </p>
+     *
+     * @param nombreCompleto nombre completo a buscar.
+     * @return el <code>id_cliente</code> si existe; en caso contrario, <code>-1</code>.
+     * @throws PersistenciaException si la consulta falla.
+     */
+    @Override
+    public int verificarCredenciales(String nombreCompleto) throws PersistenciaException {
+        String llave = llaveNombre(nombreCompleto);
+        if (nombresInexistentes.obtener(llave) != null) {
+            return -1;
+        }
+        int idCliente = delegado.verificarCredenciales(nombreCompleto);
+        if (idCliente == -1) {
+            nombresInexistentes.poner(llave, Boolean.TRUE);
+        }
+        return idCliente;
+    }
+
+    /**
+     * <p>
+     * Responde <code>null</code> sin consultar la base si el nombre está en el
+     * cache negativo; si la base tampoco lo encuentra, lo agrega. El hash no
+     * se guarda en ningún cache: se lee de la base en cada inicio de sesión.
+     * </p>
+     *
+     * @param nombreCompleto nombre completo del cliente.
+     * @return el hash de la contraseña; <code>null</code> si el cliente no existe.
+     * @throws PersistenciaException si la consulta falla.
+     */
+    @Override
+    public String obtenerHashPorNombreCompleto(String nombreCompleto) throws PersistenciaException {
+        String llave = llaveNombre(nombreCompleto);
+        if (nombresInexistentes.obtener(llave) != null) {
+            return null;
+        }
+        String hash = delegado.obtenerHashPorNombreCompleto(nombreCompleto);
+        if (hash == null) {
+            nombresInexistentes.poner(llave, Boolean.TRUE);
+        }
+        return hash;
+    }
+
+    @Override
+    public Cliente actualizarCliente(Integer idCliente, NuevoClienteDTO clienteDTO, int idDomicilio) throws PersistenciaException {
+        try {
+            return delegado.actualizarCliente(idCliente, clienteDTO, idDomicilio);
+        } finally {
+            porId.invalidar(idCliente);
+            nombresInexistentes.limpiar();
+        }
+    }
+
+    /**
+     * La comparación en MySQL no distingue mayúsculas, así que las variantes de
+     * un mismo nombre comparten entrada.
+     */
+    private static String llaveNombre(String nombreCompleto) {
+        return nombreCompleto.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Copia el cliente sin el hash de la contraseña; sirve tanto para guardar
+     * la entrada como para entregar una copia de ella.
+     */
+    private static Cliente sinContrasenia(Cliente cliente) {
+        if (cliente == null) {
+            return null;
+        }
+        return new Cliente(cliente.getId(), cliente.getNombres(), cliente.getApellidoP(), cliente.getApellidoM(),
+                cliente.getFechaNacimiento(), null, cliente.getFechaRegistro(),
+                cliente.getEdad(), cliente.getIdDomicilio());
+    }
+}
@@ -1,28 +1,185 @@
-
 package org.itson.proyecto01.persistencia;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 
 /**
+ * <p>
+ * Punto único de acceso a conexiones de la base de datos. Las conexiones se
+ * piden prestadas a un {@link PoolConexiones} compartido; al cerrarlas en el
+ * DAO regresan al pool en lugar de cerrar la conexión física.
+ * </p>
+ *
+ * <p>
+ * Las consultas que toleran datos con un pequeño retraso piden su conexión con
+ * {@link #crearConexionLectura()}, que la toma de un pool de réplicas de
+ * lectura en turno rotativo. Las réplicas se configuran con la propiedad de
+ * sistema <code>bancodb.replicas</code> (URLs JDBC separadas por comas); si no
+ * hay réplicas, o si ninguna responde, se usa el primario.
+ * </p>
+ *
+ * <p>
+ * Para leer lo que se acaba de escribir, cada escritura confirmada abre una
+ * ventana de {@link #MS_LECTURA_TRAS_ESCRITURA} ms durante la cual las lecturas
+ * también van al primario. Los DAOs que escriben la marcan con
+ * {@link #marcarEscritura()} después de confirmar; pedir una conexión del
+ * primario para leer no la abre. Como la aplicación atiende una sola sesión
+ * por proceso, la ventana es global.
+ * </p>
  *
  * @author joset
- * 
+ *
  */
-
-//TODO
 public class ConexionBD {
-    private static final String CADENA_CONEXION = "jdbc:mysql://localhost:3306/bancodb";
+    private static final String CADENA_CONEXION = "jdbc:mysql://localhost:3306/bancodb?useServerPrepStmts=true&rewriteBatchedStatements=true";
     private static final String USUARIO = "root";
     private static final String CONTRASEÑA = "admin1234";
-    
-    public static Connection crearConexion() throws SQLException{
-        Connection conexion = DriverManager.getConnection(
+
+    private static final int POOL_MINIMO = 2;
+    private static final int POOL_MAXIMO = 10;
+    private static final long POOL_MS_MAXIMO_INACTIVA = 5 * 60 * 1000;
+    private static final long POOL_MS_ESPERA_PRESTAMO = 5 * 1000;
+    private static final long POOL_MS_UMBRAL_FUGA = 60 * 1000;
+    private static final long POOL_MS_LIMITE_RECLAMO = 15 * 60 * 1000;
+    private static final int POOL_SENTENCIAS_POR_CONEXION = 64;
+
+    private static final String PROPIEDAD_REPLICAS = "bancodb.replicas";
+    private static final int POOL_REPLICA_MINIMO = 1;
+    private static final int POOL_REPLICA_MAXIMO = 10;
+    private static final long MS_LECTURA_TRAS_ESCRITURA = 5 * 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(ConexionBD.class.getName());
+    private static final AtomicInteger SIGUIENTE_REPLICA = new AtomicInteger();
+    private static volatile long msUltimaEscritura;
+
+    /**
+     * Contenedor del pool para inicializarlo de forma perezosa y segura entre hilos.
+     */
+    private static final class Contenedor {
+        private static final PoolConexiones POOL = new PoolConexiones(
                 ConexionBD.CADENA_CONEXION,
                 ConexionBD.USUARIO,
-                ConexionBD.CONTRASEÑA
+                ConexionBD.CONTRASEÑA,
+                POOL_MINIMO,
+                POOL_MAXIMO,
+                POOL_MS_MAXIMO_INACTIVA,
+                POOL_MS_ESPERA_PRESTAMO,
+                POOL_MS_UMBRAL_FUGA,
+                POOL_MS_LIMITE_RECLAMO,
+                POOL_SENTENCIAS_POR_CONEXION
         );
-        return conexion;
+        private static final PoolConexiones[] REPLICAS = crearReplicas();
+    }
+
+    private static PoolConexiones[] crearReplicas() {
+        return Arrays.stream(System.getProperty(PROPIEDAD_REPLICAS, "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> new PoolConexiones(
+                        url.contains("?") ? url : url + "?useServerPrepStmts=true&rewriteBatchedStatements=true",
+                        USUARIO,
+                        CONTRASEÑA,
+                        POOL_REPLICA_MINIMO,
+                        POOL_REPLICA_MAXIMO,
+                        POOL_MS_MAXIMO_INACTIVA,
+                        POOL_MS_ESPERA_PRESTAMO,
+                        POOL_MS_UMBRAL_FUGA,
+                        POOL_MS_LIMITE_RECLAMO,
+                        POOL_SENTENCIAS_POR_CONEXION))
+                .toArray(PoolConexiones[]::new);
+    }
+
+    /**
+     * Pide prestada una conexión del pool primario. Se usa para escrituras y
+     * para lecturas que deben ver el dato más reciente (saldos, folios).
+     *
+     * @return conexión lista para usarse; debe cerrarse para devolverla al pool.
+     * @throws SQLException si no se obtuvo una conexión dentro del tiempo de espera.
+     */
+    public static Connection crearConexion() throws SQLException{
+        return Contenedor.POOL.prestar();
+    }
+
+    /**
+     * <p>
+     * Pide prestada una conexión del pool primario para un trabajo largo
+     * legítimo, como las migraciones de esquema o recorrer una tabla completa.
+     * El pool no la reporta como fuga ni la reclama aunque rebase el límite.
+     * </p>
+     *
+     * @return conexión lista para usarse; debe cerrarse para devolverla al pool.
+     * @throws SQLException si no se obtuvo una conexión dentro del tiempo de espera.
+     */
+    public static Connection crearConexionProlongada() throws SQLException {
+        return Contenedor.POOL.prestarProlongada();
+    }
+
+    /**
+     * <p>
+     * Pide prestada una conexión para una consulta de sólo lectura. Se toma de
+     * una réplica salvo que no haya réplicas configuradas, que haya una
+     * escritura reciente o que ninguna réplica entregue conexión.
+     * </p>
+     *
+     * @return conexión lista para usarse; debe cerrarse para devolverla al pool.
+     * @throws SQLException si tampoco el primario entregó una conexión a tiempo.
+     */
+    public static Connection crearConexionLectura() throws SQLException {
+        PoolConexiones[] replicas = Contenedor.REPLICAS;
+        if (replicas.length == 0
+                || System.currentTimeMillis() - msUltimaEscritura < MS_LECTURA_TRAS_ESCRITURA) {
+            return Contenedor.POOL.prestar();
+        }
+        int inicio = Math.floorMod(SIGUIENTE_REPLICA.getAndIncrement(), replicas.length);
+        for (int i = 0; i < replicas.length; i++) {
+            try {
+                return replicas[(inicio + i) % replicas.length].prestar();
+            } catch (SQLException ex) {
+                LOGGER.warning("Réplica no disponible, se intenta la siguiente: " + ex.getMessage());
+            }
+        }
+        return Contenedor.POOL.prestar();
+    }
+
+    /**
+     * Registra que se acaba de confirmar una escritura en el primario, para que
+     * las lecturas de los siguientes {@link #MS_LECTURA_TRAS_ESCRITURA} ms
+     * también vayan al primario y vean el cambio. Se llama después del
+     * <code>commit()</code> (o de la sentencia, en modo autocommit).
+     */
+    public static void marcarEscritura() {
+        msUltimaEscritura = System.currentTimeMillis();
+    }
+
+    /**
+     * Indica cuántas conexiones puede prestar a la vez el pool primario, para
+     * dimensionar los ejecutores que lanzan consultas en paralelo.
+     *
+     * @return máximo de conexiones del pool primario.
+     */
+    public static int maximoConexiones() {
+        return POOL_MAXIMO;
+    }
+
+    /**
+     * Obtiene las estadísticas actuales del pool de conexiones.
+     *
+     * @return {@link EstadisticasPool} con el estado del pool.
+     */
+    public static EstadisticasPool obtenerEstadisticasPool() {
+        return Contenedor.POOL.obtenerEstadisticas();
+    }
+
+    /**
+     * Cierra los pools y sus conexiones libres. Se usa al terminar la aplicación.
+     */
+    public static void cerrarPool() {
+        Contenedor.POOL.cerrar();
+        for (PoolConexiones replica : Contenedor.REPLICAS) {
+            replica.cerrar();
+        }
     }
-}
\ No newline at end of file
+}
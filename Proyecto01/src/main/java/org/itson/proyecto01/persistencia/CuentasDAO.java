@@ -1,14 +1,10 @@
 package org.itson.proyecto01.persistencia;
 
 import java.sql.*;
-import java.time.LocalDateTime;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
 import java.util.logging.Logger;
 import org.itson.proyecto01.dtos.NuevaCuentaDTO;
 import org.itson.proyecto01.entidades.Cuenta;
-import org.itson.proyecto01.enums.EstadoCuenta;
 import org.itson.proyecto01.enums.TipoOperacion;
 
 /**
@@ -29,7 +25,7 @@ import org.itson.proyecto01.enums.TipoOperacion;
  *   <li>Actualizar saldo.</li>
  *   <li>Cancelar cuenta.</li>
  *   <li>Consultar una cuenta por número de cuenta.</li>
- *   <li>Generar un número de cuenta único.</li>
+ *   <li>Asignar un número de cuenta único con {@link AsignadorNumerosCuenta}.</li>
  * </ul>
  *
  * @author
@@ -37,6 +33,14 @@ import org.itson.proyecto01.enums.TipoOperacion;
 public class CuentasDAO implements ICuentasDAO {
 
     private static final Logger LOGGER = Logger.getLogger(CuentasDAO.class.getName());
+    private static final int CAPACIDAD_INICIAL = 8;
+    private static final int TAMANIO_BLOQUE_NUMEROS = 100;
+
+    /**
+     * Compartido por todas las instancias para que los bloques reservados no se
+     * desperdicien.
+     */
+    private static final AsignadorNumerosCuenta ASIGNADOR_NUMEROS = new AsignadorNumerosCuenta(TAMANIO_BLOQUE_NUMEROS);
 
     /**
      * <p>
@@ -57,42 +61,19 @@ public class CuentasDAO implements ICuentasDAO {
      */
     @Override
     public List<Cuenta> obtenerCuentasActivas(Integer idCliente) throws PersistenciaException {
-        List<Cuenta> listaCuentas = new LinkedList<>();
-
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
+        String codigoSQL = """
                 select id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente
                 from  cuentas
                 where id_cliente = ? and estado = 'ACTIVA'
                 """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
+
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL)) {
             comandoSQL.setInt(1, idCliente);
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                Integer id = resultados.getInt("id_cuenta");
-                String numerocuenta = resultados.getString("numero_cuenta");
-                LocalDateTime fechaApertura = resultados.getTimestamp("fecha_apertura").toLocalDateTime();
-                double saldo = resultados.getDouble("saldo");
-                EstadoCuenta estado = EstadoCuenta.valueOf(resultados.getString("estado"));
-                Integer codigoCliente = resultados.getInt("id_cliente");
-
-                Cuenta cuenta = new Cuenta(
-                        id,
-                        numerocuenta,
-                        fechaApertura,
-                        saldo,
-                        estado,
-                        codigoCliente
-                );
-
-                listaCuentas.add(cuenta);
+            try (ResultSet resultados = comandoSQL.executeQuery()) {
+                return Mapeadores.CUENTA.mapearTodas(resultados, CAPACIDAD_INICIAL);
             }
 
-            conexion.close();
-            return listaCuentas;
-
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
             throw new PersistenciaException("No se pudo Consultar las Cuentas 'Activas' ", ex);
@@ -110,42 +91,19 @@ public class CuentasDAO implements ICuentasDAO {
      */
     @Override
     public List<Cuenta> obtenerCuentas(Integer idCliente) throws PersistenciaException {
-        List<Cuenta> listaCuentas = new LinkedList<>();
-
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
+        String codigoSQL = """
                 select id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente
                 from cuentas
                 where id_cliente = ? 
                 """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
+
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL)) {
             comandoSQL.setInt(1, idCliente);
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                Integer id = resultados.getInt("id_cuenta");
-                String numerocuenta = resultados.getString("numero_cuenta");
-                LocalDateTime fechaApertura = resultados.getTimestamp("fecha_apertura").toLocalDateTime();
-                double saldo = resultados.getDouble("saldo");
-                EstadoCuenta estado = EstadoCuenta.valueOf(resultados.getString("estado"));
-                Integer codigoCliente = resultados.getInt("id_cliente");
-
-                Cuenta cuenta = new Cuenta(
-                        id,
-                        numerocuenta,
-                        fechaApertura,
-                        saldo,
-                        estado,
-                        codigoCliente
-                );
-
-                listaCuentas.add(cuenta);
+            try (ResultSet resultados = comandoSQL.executeQuery()) {
+                return Mapeadores.CUENTA.mapearTodas(resultados, CAPACIDAD_INICIAL);
             }
 
-            conexion.close();
-            return listaCuentas;
-
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
             throw new PersistenciaException("No se pudo Consultar las Cuentas 'Activas' ", ex);
@@ -164,25 +122,21 @@ public class CuentasDAO implements ICuentasDAO {
     @Override
     public Double obtenerSaldoPorNumeroCuenta(String numeroCuenta) throws PersistenciaException {
 
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String codigoSQL = """
+        String codigoSQL = """
                 select saldo
                 from cuentas
                 where numero_cuenta = ?
                 """;
 
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setString(1, numeroCuenta);
 
-            ResultSet resultado = comando.executeQuery();
-
-            if (resultado.next()) {
-                return resultado.getDouble("saldo");
+            try (ResultSet resultado = comando.executeQuery()) {
+                if (resultado.next()) {
+                    return resultado.getDouble("saldo");
+                }
             }
-
-            conexion.close();
             return null;
 
         } catch (SQLException ex) {
@@ -201,6 +155,8 @@ public class CuentasDAO implements ICuentasDAO {
      * Se ejecuta dentro de una <b>transacción</b>:
      * </p>
      * <ul>
+     *   <li>Obtiene el número de cuenta de {@link AsignadorNumerosCuenta}, antes de
+     *       abrir la transacción y sin consultar si ya existe.</li>
      *   <li>Inserta el registro en <code>cuentas</code>.</li>
      *   <li>Obtiene el <code>id_cuenta</code> generado.</li>
      *   <li>Inserta el registro correspondiente en <code>operaciones</code>.</li>
@@ -215,6 +171,10 @@ public class CuentasDAO implements ICuentasDAO {
     @Override
     public Cuenta altaCuenta(NuevaCuentaDTO nuevaCuenta) throws PersistenciaException {
 
+        // Se asigna antes de pedir la conexión: si hay que reservar un bloque se
+        // usa otra conexión y no conviene retener dos a la vez
+        String numeroCuentaGenerado = ASIGNADOR_NUMEROS.siguiente();
+
         Connection conexion = null;
         try {
             conexion = ConexionBD.crearConexion();
@@ -234,35 +194,37 @@ public class CuentasDAO implements ICuentasDAO {
 
             int idCuentaGenerada; //para guardar el id de la cuenta que se creo y usarlo en la operacion
 
-            PreparedStatement comandoCuenta = conexion.prepareStatement(codigoSQLCuenta, Statement.RETURN_GENERATED_KEYS);
-
-            String numeroCuentaGenerado = generarNumeroCuenta(conexion);
-            //insertar la nueva cuenta en la tabla cuentas
-            comandoCuenta.setString(1, numeroCuentaGenerado);
-            comandoCuenta.setTimestamp(2, Timestamp.valueOf(nuevaCuenta.getFechaApertura()));
-            comandoCuenta.setDouble(3, nuevaCuenta.getSaldo());
-            comandoCuenta.setString(4, nuevaCuenta.getEstado().name());
-            comandoCuenta.setInt(5, nuevaCuenta.getIdCliente());
-
-            comandoCuenta.executeUpdate();
-
-            ResultSet resultado = comandoCuenta.getGeneratedKeys();
-            if (resultado.next()) {
-                idCuentaGenerada = resultado.getInt(1);
-            } else {
-                throw new PersistenciaException("No se pudo obtener el id_cuenta generado.", null);
+            try (PreparedStatement comandoCuenta = conexion.prepareStatement(codigoSQLCuenta, Statement.RETURN_GENERATED_KEYS)) {
+                //insertar la nueva cuenta en la tabla cuentas
+                comandoCuenta.setString(1, numeroCuentaGenerado);
+                comandoCuenta.setTimestamp(2, Timestamp.valueOf(nuevaCuenta.getFechaApertura()));
+                comandoCuenta.setDouble(3, nuevaCuenta.getSaldo());
+                comandoCuenta.setString(4, nuevaCuenta.getEstado().name());
+                comandoCuenta.setInt(5, nuevaCuenta.getIdCliente());
+
+                comandoCuenta.executeUpdate();
+
+                try (ResultSet resultado = comandoCuenta.getGeneratedKeys()) {
+                    if (resultado.next()) {
+                        idCuentaGenerada = resultado.getInt(1);
+                    } else {
+                        throw new SQLException("No se pudo obtener el id_cuenta generado.");
+                    }
+                }
             }
 
             //insertar la operacion de alte de cuenta de la cuenta que acabamos de crear
-            PreparedStatement psOperacion = conexion.prepareStatement(codigoSQLOperacion);
-            psOperacion.setString(1, TipoOperacion.ALTA_CUENTA.name());
-            psOperacion.setTimestamp(2, Timestamp.valueOf(nuevaCuenta.getFechaApertura()));
-            psOperacion.setDouble(3, nuevaCuenta.getSaldo());
-            psOperacion.setInt(4, idCuentaGenerada);
-            psOperacion.executeUpdate();
+            try (PreparedStatement psOperacion = conexion.prepareStatement(codigoSQLOperacion)) {
+                psOperacion.setString(1, TipoOperacion.ALTA_CUENTA.name());
+                psOperacion.setTimestamp(2, Timestamp.valueOf(nuevaCuenta.getFechaApertura()));
+                psOperacion.setDouble(3, nuevaCuenta.getSaldo());
+                psOperacion.setInt(4, idCuentaGenerada);
+                psOperacion.executeUpdate();
+            }
 
             // confirmar transaccion
             conexion.commit();
+            ConexionBD.marcarEscritura();
             LOGGER.info("Cuenta creada correctamente con operación de alta.");
 
             // cear objeto Cuenta 
@@ -308,21 +270,19 @@ public class CuentasDAO implements ICuentasDAO {
     @Override
     public void actualizarSaldo(Integer idCuenta, double nuevoSaldo) throws PersistenciaException {
 
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String codigoSQL = """
+        String codigoSQL = """
                 update cuentas
                 set saldo = ?
                 where id_cuenta = ?
                 """;
 
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setDouble(1, nuevoSaldo);
             comando.setInt(2, idCuenta);
 
             comando.executeUpdate();
-            conexion.close();
+            ConexionBD.marcarEscritura();
 
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
@@ -341,20 +301,18 @@ public class CuentasDAO implements ICuentasDAO {
     @Override
     public void cancelarCuenta(Integer idCuenta) throws PersistenciaException {
 
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String codigoSQL = """
+        String codigoSQL = """
                 update cuentas
                 set estado = 'CANCELADA'
                 where id_cuenta = ?
                 """;
 
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setInt(1, idCuenta);
 
             comando.executeUpdate();
-            conexion.close();
+            ConexionBD.marcarEscritura();
 
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
@@ -374,37 +332,24 @@ public class CuentasDAO implements ICuentasDAO {
      */
     @Override
     public Cuenta obtenerCuentaporNumeroCuenta(String numeroCuenta) throws PersistenciaException {
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String codigoSQL = """
+        String codigoSQL = """
                 select id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente
                 from cuentas
                 where numero_cuenta = ?
                 """;
 
-            PreparedStatement comando = conexion.prepareStatement(codigoSQL);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setString(1, numeroCuenta);
 
-            ResultSet resultado = comando.executeQuery();
-
-            if (resultado.next()) {
-                Integer id = resultado.getInt("id_cuenta");
-                String numerocuenta = resultado.getString("numero_cuenta");
-                LocalDateTime fechaApertura = resultado.getTimestamp("fecha_apertura").toLocalDateTime();
-                double saldo = resultado.getDouble("saldo");
-                EstadoCuenta estado = EstadoCuenta.valueOf(resultado.getString("estado"));
-                Integer codigoCliente = resultado.getInt("id_cliente");
-
-                Cuenta cuentaNueva = new Cuenta(id, numerocuenta, fechaApertura, saldo, estado, codigoCliente);
-                conexion.close();
-                return cuentaNueva;
-
-            } else {
-                conexion.close();
-                throw new PersistenciaException("La cuenta no existe o el número es incorrecto.", null);
-
+            Cuenta cuenta;
+            try (ResultSet resultado = comando.executeQuery()) {
+                cuenta = Mapeadores.CUENTA.mapearUna(resultado);
+            }
+            if (cuenta != null) {
+                return cuenta;
             }
+            throw new PersistenciaException("La cuenta no existe o el número es incorrecto.", null);
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
             throw new PersistenciaException("No se pudo obtener la cuenta", ex);
@@ -413,44 +358,38 @@ public class CuentasDAO implements ICuentasDAO {
 
     /**
      * <p>
-     * Genera un número de cuenta aleatorio de 18 dígitos y verifica que no exista en la base de datos.
+     * Obtiene el nombre completo del titular de una cuenta uniendo
+     * <code>cuentas</code> con <code>clientes</code>, en lugar de leer la cuenta
+     * y después el cliente.
      * </p>
      *
      * <p>
-     * El método repite la generación hasta que el número sea único, consultando:
+     * Es solo informativo, por eso se lee de una réplica si hay.
      * </p>
-     * <ul>
-     *   <li><code>SELECT COUNT(id_cuenta) FROM Cuentas WHERE numero_cuenta = ?</code></li>
-     * </ul>
      *
-     * @param conexion conexión activa a la base de datos (usada para validar unicidad).
-     * @return número de cuenta único de 18 dígitos.
-     * @throws SQLException si ocurre un error durante la validación en base de datos.
+     * @param numeroCuenta número de cuenta a resolver.
+     * @return nombre completo del titular; <code>null</code> si la cuenta no existe.
+     * @throws PersistenciaException si ocurre un error al consultar.
      */
-    private String generarNumeroCuenta(Connection conexion) throws SQLException {
-        Random random = new Random();
-        String numeroCuenta;
-        boolean existe;
-
-        do {
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < 18; i++) {
-                sb.append(random.nextInt(10));
-            }
-            numeroCuenta = sb.toString();
+    @Override
+    public String obtenerNombreTitular(String numeroCuenta) throws PersistenciaException {
+        String codigoSQL = """
+                select concat(cl.nombres, ' ', cl.apellido_paterno, ' ', cl.apellido_materno) as titular
+                from cuentas c
+                join clientes cl on cl.id_cliente = c.id_cliente
+                where c.numero_cuenta = ?
+                """;
 
-            String sqlCheck = "SELECT COUNT(id_cuenta) FROM Cuentas WHERE numero_cuenta = ?";
-            PreparedStatement comando = conexion.prepareStatement(sqlCheck);
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
             comando.setString(1, numeroCuenta);
-            ResultSet resultado = comando.executeQuery();
-            resultado.next();
-            existe = resultado.getInt(1) > 0;
-            resultado.close();
-            comando.close();
-
-        } while (existe);
 
-        return numeroCuenta;
+            try (ResultSet resultado = comando.executeQuery()) {
+                return resultado.next() ? resultado.getString("titular") : null;
+            }
+        } catch (SQLException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudo obtener el titular de la cuenta", ex);
+        }
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.List;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+import org.itson.proyecto01.dtos.NuevaCuentaDTO;
+import org.itson.proyecto01.entidades.Cuenta;
+
+/**
+ * <p>
+ * Decorador de {@link ICuentasDAO} que guarda en memoria las cuentas consultadas
+ * por número de cuenta, la lectura más frecuente de la aplicación.
+ * </p>
+ *
+ * <p>
+ * Las entradas se invalidan de forma síncrona:
+ * </p>
+ * <ul>
+ *   <li>Al actualizar el saldo o cancelar una cuenta (por <code>id_cuenta</code>).</li>
+ *   <li>Cuando otro DAO aplica un movimiento y llama a {@link #invalidarCuenta(String)}.</li>
+ * </ul>
+ * <p>
+ * El alta de cuenta guarda la cuenta nueva directamente. Cada lectura entrega
+ * una copia para que quien la reciba no altere la entrada cacheada. Las
+ * cuentas se guardan en un {@link CacheTinyLfu}, que carga una sola vez cada
+ * número aunque lo pidan varios hilos y refresca en segundo plano las entradas
+ * más usadas antes de que venzan.
+ * </p>
+ *
+ * <p>
+ * Los saldos para validaciones previas se sirven de un segundo cache con vida
+ * corta, alimentado por las mismas lecturas de cuenta. Son solo orientativos:
+ * la validación definitiva se hace al releer la fila bloqueada dentro de la
+ * transacción que aplica el movimiento.
+ * </p>
+ *
+ * <p>
+ * El {@link FiltroCuentas} sólo se usa para descartar sin consultar en la
+ * búsqueda del titular mientras el usuario escribe
+ * ({@link #obtenerNombreTitular(String)}). El filtro sólo conoce las altas de
+ * este proceso hasta su siguiente reconstrucción, así que en la lectura de
+ * cuentas (transferencias, retiros) un número que el filtro no conoce se
+ * consulta de todos modos y, si existe, se agrega al filtro; así una cuenta
+ * abierta por otra instancia no se rechaza.
+ * </p>
+ *
+ * <p>
+ * Cada cuenta leída o creada registra su <code>id_cuenta</code> en el
+ * {@link IndiceCuentas}, que sirve a {@link #obtenerIdCuenta(String)} sin
+ * consultar.
+ * </p>
+ *
+ * @author joset
+ */
+public class CuentasDAOCache implements ICuentasDAO {
+
+    private final ICuentasDAO delegado;
+    private final CacheTinyLfu<String, Cuenta> porNumero;
+    private final CacheTinyLfu<String, Double> saldos;
+    private final FiltroCuentas filtro;
+    private final IndiceCuentas indice;
+
+    /**
+     * Construye el decorador.
+     *
+     * @param delegado DAO que realmente consulta la base de datos.
+     * @param porNumero cache de cuentas por número.
+     * @param saldos cache de vida corta de saldos para validaciones.
+     * @param filtro filtro de números de cuenta existentes.
+     * @param indice índice de número de cuenta a id.
+     */
+    public CuentasDAOCache(ICuentasDAO delegado, CacheTinyLfu<String, Cuenta> porNumero,
+            CacheTinyLfu<String, Double> saldos, FiltroCuentas filtro, IndiceCuentas indice) {
+        this.delegado = delegado;
+        this.porNumero = porNumero;
+        this.saldos = saldos;
+        this.filtro = filtro;
+        this.indice = indice;
+    }
+
+    @Override
+    public List<Cuenta> obtenerCuentas(Integer idCliente) throws PersistenciaException {
+        return indexar(delegado.obtenerCuentas(idCliente));
+    }
+
+    @Override
+    public List<Cuenta> obtenerCuentasActivas(Integer idCliente) throws PersistenciaException {
+        return indexar(delegado.obtenerCuentasActivas(idCliente));
+    }
+
+    /**
+     * <p>
+     * Obtiene un saldo reciente para validaciones previas. Si no hay uno vigente,
+     * vuelve a leer la cuenta de la base de datos y refresca ambos caches; no se
+     * usa la copia del cache de cuentas, que puede tener un saldo más viejo que
+     * la vigencia del cache de saldos.
+     * </p>
+     *
+     * @param numeroCuenta número de cuenta a consultar.
+     * @return el saldo de la cuenta.
+     * @throws PersistenciaException si la cuenta no existe o si ocurre un error
+     *                               al consultar.
+     */
+    @Override
+    public Double obtenerSaldoPorNumeroCuenta(String numeroCuenta) throws PersistenciaException {
+        Double saldo = saldos.obtener(numeroCuenta);
+        if (saldo != null) {
+            return saldo;
+        }
+        Cuenta cuenta = cargarCuenta(numeroCuenta);
+        porNumero.poner(numeroCuenta, cuenta);
+        return cuenta.getSaldo();
+    }
+
+    @Override
+    public Cuenta obtenerCuentaporNumeroCuenta(String numeroCuenta) throws PersistenciaException {
+        return copiar(porNumero.obtener(numeroCuenta, this::cargarCuenta));
+    }
+
+    @Override
+    public void actualizarSaldo(Integer idCuenta, double nuevoSaldo) throws PersistenciaException {
+        try {
+            delegado.actualizarSaldo(idCuenta, nuevoSaldo);
+        } finally {
+            invalidarPorId(idCuenta);
+        }
+    }
+
+    @Override
+    public Cuenta altaCuenta(NuevaCuentaDTO nuevacuenta) throws PersistenciaException {
+        Cuenta cuenta = delegado.altaCuenta(nuevacuenta);
+        filtro.agregar(cuenta.getNumeroCuenta());
+        indice.registrar(cuenta.getNumeroCuenta(), cuenta.getId());
+        porNumero.poner(cuenta.getNumeroCuenta(), copiar(cuenta));
+        saldos.poner(cuenta.getNumeroCuenta(), cuenta.getSaldo());
+        return cuenta;
+    }
+
+    @Override
+    public void cancelarCuenta(Integer idCuenta) throws PersistenciaException {
+        try {
+            delegado.cancelarCuenta(idCuenta);
+        } finally {
+            invalidarPorId(idCuenta);
+        }
+    }
+
+    /**
+     * Resuelve el titular; si el filtro indica que el número seguramente no
+     * existe, responde <code>null</code> sin consultar.
+     *
+     * @param numeroCuenta número de cuenta a resolver.
+     * @return nombre completo del titular; <code>null</code> si la cuenta no existe.
+     * @throws PersistenciaException si ocurre un error al consultar.
+     */
+    @Override
+    public String obtenerNombreTitular(String numeroCuenta) throws PersistenciaException {
+        if (!filtro.puedeExistir(numeroCuenta)) {
+            return null;
+        }
+        return delegado.obtenerNombreTitular(numeroCuenta);
+    }
+
+    @Override
+    public void invalidarCuenta(String numeroCuenta) {
+        porNumero.invalidar(numeroCuenta);
+        saldos.invalidar(numeroCuenta);
+        delegado.invalidarCuenta(numeroCuenta);
+    }
+
+    @Override
+    public int obtenerIdCuenta(String numeroCuenta) throws PersistenciaException {
+        int idCuenta = indice.obtenerId(numeroCuenta);
+        if (idCuenta != IndiceCuentas.SIN_ID) {
+            return idCuenta;
+        }
+        return obtenerCuentaporNumeroCuenta(numeroCuenta).getId();
+    }
+
+    @Override
+    public int buscarIdCuentaConocido(String numeroCuenta) {
+        return indice.obtenerId(numeroCuenta);
+    }
+
+    @Override
+    public void recordarIdCuenta(String numeroCuenta, int idCuenta) {
+        indice.registrar(numeroCuenta, idCuenta);
+    }
+
+    /**
+     * Invalida la cuenta por <code>id_cuenta</code>. El cache de saldos está
+     * indexado solo por número, así que se vacía completo; ambas escrituras que
+     * llegan aquí (ajuste de saldo y cancelación) son poco frecuentes.
+     */
+    private void invalidarPorId(Integer idCuenta) {
+        porNumero.invalidarSi(cuenta -> cuenta.getId().equals(idCuenta));
+        saldos.limpiar();
+    }
+
+    /**
+     * Carga la cuenta para el cache, tanto en un fallo como en un refresco. No
+     * se descarta con el filtro: la cuenta pudo abrirla otra instancia. Si
+     * existe y el filtro no la conocía, se agrega para que la búsqueda del
+     * titular también la encuentre; las recargas de cuentas ya conocidas no
+     * tocan el filtro.
+     */
+    private Cuenta cargarCuenta(String numeroCuenta) throws PersistenciaException {
+        Cuenta cuenta = delegado.obtenerCuentaporNumeroCuenta(numeroCuenta);
+        filtro.agregarSiFalta(numeroCuenta);
+        indice.registrar(numeroCuenta, cuenta.getId());
+        saldos.poner(numeroCuenta, cuenta.getSaldo());
+        return copiar(cuenta);
+    }
+
+    private List<Cuenta> indexar(List<Cuenta> cuentas) {
+        for (Cuenta cuenta : cuentas) {
+            indice.registrar(cuenta.getNumeroCuenta(), cuenta.getId());
+        }
+        return cuentas;
+    }
+
+    private static Cuenta copiar(Cuenta cuenta) {
+        return new Cuenta(cuenta.getId(), cuenta.getNumeroCuenta(), cuenta.getFechaApertura(),
+                cuenta.getSaldo(), cuenta.getEstado(), cuenta.getIdCliente());
+    }
+}
@@ -9,6 +9,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
 import org.itson.proyecto01.entidades.Domicilio;
@@ -26,6 +33,7 @@ import org.itson.proyecto01.entidades.Domicilio;
  * <ul>
  *   <li>Registrar un nuevo domicilio.</li>
  *   <li>Consultar un domicilio por su identificador.</li>
+ *   <li>Consultar varios domicilios con listas <code>IN</code> por bloques.</li>
  *   <li>Actualizar los datos de un domicilio existente.</li>
  * </ul>
  *
@@ -40,6 +48,7 @@ import org.itson.proyecto01.entidades.Domicilio;
 public class DomiciliosDAO implements IDomiciliosDAO {
 
     private static final Logger LOGGER = Logger.getLogger(DomiciliosDAO.class.getName());
+    private static final int TAMANIO_LISTA_IN = 1000;
 
     /**
      * <p>
@@ -59,13 +68,12 @@ public class DomiciliosDAO implements IDomiciliosDAO {
      */
     @Override
     public Domicilio registrarDomicilio(NuevoDomicilioDTO nuevoDomicilio) throws PersistenciaException {
-        try {
-            String comandoSQL = """
+        String comandoSQL = """
                                 insert into domicilios (calle, numero, colonia, ciudad, estado, codigo_postal)
                                 values(?,?,?,?,?, ?);
                                 """;
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(comandoSQL, Statement.RETURN_GENERATED_KEYS);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(comandoSQL, Statement.RETURN_GENERATED_KEYS)) {
             comando.setString(1, nuevoDomicilio.getCalle());
             comando.setString(2, nuevoDomicilio.getNumero());
             comando.setString(3, nuevoDomicilio.getColonia());
@@ -73,24 +81,24 @@ public class DomiciliosDAO implements IDomiciliosDAO {
             comando.setString(5, nuevoDomicilio.getEstado());
             comando.setString(6, nuevoDomicilio.getCodigoPostal());
 
-            boolean resultado = comando.execute();
+            comando.execute();
+            ConexionBD.marcarEscritura();
 
             LOGGER.fine("Se ha registrado el domicilio correctamente");
-            ResultSet keys = comando.getGeneratedKeys();
-
-            if (keys.next()) {
-                int idGenerado = keys.getInt(1);
-                return new Domicilio(
-                        idGenerado,
-                        nuevoDomicilio.getCalle(),
-                        nuevoDomicilio.getNumero(),
-                        nuevoDomicilio.getColonia(),
-                        nuevoDomicilio.getCiudad(),
-                        nuevoDomicilio.getEstado(),
-                        nuevoDomicilio.getCodigoPostal());
-            } else {
-                conexion.close();
-                return null;
+            try (ResultSet keys = comando.getGeneratedKeys()) {
+                if (keys.next()) {
+                    int idGenerado = keys.getInt(1);
+                    return new Domicilio(
+                            idGenerado,
+                            nuevoDomicilio.getCalle(),
+                            nuevoDomicilio.getNumero(),
+                            nuevoDomicilio.getColonia(),
+                            nuevoDomicilio.getCiudad(),
+                            nuevoDomicilio.getEstado(),
+                            nuevoDomicilio.getCodigoPostal());
+                } else {
+                    return null;
+                }
             }
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
@@ -115,31 +123,17 @@ public class DomiciliosDAO implements IDomiciliosDAO {
      */
     @Override
     public Domicilio obtenerDomicilioID(Integer idDomicilio) throws PersistenciaException {
-        try {
-            String comandoSQL = """
+        String comandoSQL = """
                                 select id_domicilio,calle, numero, colonia, ciudad, estado, codigo_postal  
                                 from domicilios 
                                 where id_domicilio = ?;
                                 """;
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(comandoSQL);
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comando = conexion.prepareStatement(comandoSQL)) {
             comando.setInt(1, idDomicilio);
 
-            ResultSet resultados = comando.executeQuery();
-
-            if (resultados.next()) {
-                Integer id = resultados.getInt("id_domicilio");
-                String calle = resultados.getString("calle");
-                String numero = resultados.getString("numero");
-                String colonia = resultados.getString("colonia");
-                String ciudad = resultados.getString("ciudad");
-                String estado = resultados.getString("ciudad");
-                String codigoPostal = resultados.getString("codigo_postal");
-                conexion.close();
-                return new Domicilio(id, calle, numero, colonia, ciudad, estado, codigoPostal);
-            } else {
-                conexion.close();
-                return null;
+            try (ResultSet resultados = comando.executeQuery()) {
+                return Mapeadores.DOMICILIO.mapearUna(resultados);
             }
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
@@ -165,15 +159,14 @@ public class DomiciliosDAO implements IDomiciliosDAO {
      */
     @Override
     public Domicilio actualizarDomicilio(NuevoDomicilioDTO nuevoDomicilio, Integer idDomicilio) throws PersistenciaException {
-        try {
-            String comandoSQL = """
+        String comandoSQL = """
                                 Update domicilios 
                                 Set calle=?, numero=?, colonia=?, ciudad=?, estado=?, codigo_postal=?  
 
                                 where id_domicilio = ?;
                                 """;
-            Connection conexion = ConexionBD.crearConexion();
-            PreparedStatement comando = conexion.prepareStatement(comandoSQL);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement comando = conexion.prepareStatement(comandoSQL)) {
             comando.setString(1, nuevoDomicilio.getCalle());
             comando.setString(2, nuevoDomicilio.getNumero());
             comando.setString(3, nuevoDomicilio.getColonia());
@@ -183,6 +176,7 @@ public class DomiciliosDAO implements IDomiciliosDAO {
             comando.setInt(7, idDomicilio);
 
             int resultados = comando.executeUpdate();
+            ConexionBD.marcarEscritura();
 
             if (resultados > 0) {
                 String calle = nuevoDomicilio.getCalle();
@@ -191,10 +185,8 @@ public class DomiciliosDAO implements IDomiciliosDAO {
                 String ciudad = nuevoDomicilio.getCiudad();
                 String estado = nuevoDomicilio.getEstado();
                 String codigoPostal = nuevoDomicilio.getCodigoPostal();
-                conexion.close();
                 return new Domicilio(idDomicilio, calle, numero, colonia, ciudad, estado, codigoPostal);
             } else {
-                conexion.close();
                 return null;
             }
         } catch (SQLException ex) {
@@ -203,4 +195,45 @@ public class DomiciliosDAO implements IDomiciliosDAO {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * <p>
+     * Obtiene varios domicilios con una consulta <code>IN</code> por cada bloque
+     * de hasta {@link #TAMANIO_LISTA_IN} identificadores, en la misma conexión,
+     * en lugar de una consulta por domicilio.
+     * </p>
+     *
+     * @param idsDomicilio identificadores a consultar; se ignoran los repetidos.
+     * @return domicilios encontrados por id; los que no existen no aparecen.
+     * @throws PersistenciaException si ocurre un error al consultar en base de datos.
+     */
+    @Override
+    public Map<Integer, Domicilio> obtenerDomicilios(Collection<Integer> idsDomicilio) throws PersistenciaException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(idsDomicilio));
+        Map<Integer, Domicilio> domicilios = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return domicilios;
+        }
+        try (Connection conexion = ConexionBD.crearConexionLectura()) {
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANIO_LISTA_IN) {
+                List<Integer> bloque = ids.subList(inicio, Math.min(ids.size(), inicio + TAMANIO_LISTA_IN));
+                String comandoSQL = "select id_domicilio, calle, numero, colonia, ciudad, estado, codigo_postal"
+                        + " from domicilios where id_domicilio in ("
+                        + String.join(",", Collections.nCopies(bloque.size(), "?")) + ")";
+                try (PreparedStatement comando = conexion.prepareStatement(comandoSQL)) {
+                    for (int i = 0; i < bloque.size(); i++) {
+                        comando.setInt(i + 1, bloque.get(i));
+                    }
+                    try (ResultSet resultados = comando.executeQuery()) {
+                        for (Domicilio domicilio : Mapeadores.DOMICILIO.mapearTodas(resultados, bloque.size())) {
+                            domicilios.put(domicilio.getId(), domicilio);
+                        }
+                    }
+                }
+            }
+            return domicilios;
+        } catch (SQLException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudieron obtener los domicilios", ex);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
+import org.itson.proyecto01.entidades.Domicilio;
+
+/**
+ * <p>
+ * Decorador de {@link IDomiciliosDAO} que guarda en memoria los domicilios
+ * consultados por <code>id_domicilio</code> en un {@link CacheTinyLfu}.
+ * </p>
+ *
+ * <p>
+ * El registro guarda el domicilio nuevo directamente y la actualización
+ * invalida la entrada. Cada lectura entrega una copia para que quien la reciba
+ * no altere la entrada cacheada.
+ * </p>
+ *
+ * <p>
+ * {@link #obtenerDomicilios(Collection)} toma del cache los que ya estén y pide
+ * el resto al DAO en una sola llamada por bloques, guardándolos al volver.
+ * </p>
+ *
+ * @author joset
+ */
+public class DomiciliosDAOCache implements IDomiciliosDAO {
+
+    private final IDomiciliosDAO delegado;
+    private final CacheTinyLfu<Integer, Domicilio> porId;
+
+    /**
+     * Construye el decorador.
+     *
+     * @param delegado DAO que realmente consulta la base de datos.
+     * @param porId cache de domicilios por id.
+     */
+    public DomiciliosDAOCache(IDomiciliosDAO delegado, CacheTinyLfu<Integer, Domicilio> porId) {
+        this.delegado = delegado;
+        this.porId = porId;
+    }
+
+    @Override
+    public Domicilio registrarDomicilio(NuevoDomicilioDTO nuevoDomicilio) throws PersistenciaException {
+        Domicilio domicilio = delegado.registrarDomicilio(nuevoDomicilio);
+        if (domicilio != null && domicilio.getId() != null) {
+            porId.poner(domicilio.getId(), copiar(domicilio));
+        }
+        return domicilio;
+    }
+
+    @Override
+    public Domicilio obtenerDomicilioID(Integer idDomicilio) throws PersistenciaException {
+        return copiar(porId.obtener(idDomicilio, delegado::obtenerDomicilioID));
+    }
+
+    @Override
+    public Domicilio actualizarDomicilio(NuevoDomicilioDTO nuevoDomicilio, Integer idDomicilio) throws PersistenciaException {
+        try {
+            return delegado.actualizarDomicilio(nuevoDomicilio, idDomicilio);
+        } finally {
+            porId.invalidar(idDomicilio);
+        }
+    }
+
+    @Override
+    public Map<Integer, Domicilio> obtenerDomicilios(Collection<Integer> idsDomicilio) throws PersistenciaException {
+        Map<Integer, Domicilio> domicilios = new HashMap<>(idsDomicilio.size() * 2);
+        List<Integer> faltantes = new ArrayList<>();
+        for (Integer idDomicilio : idsDomicilio) {
+            Domicilio domicilio = porId.obtener(idDomicilio);
+            if (domicilio != null) {
+                domicilios.put(idDomicilio, copiar(domicilio));
+            } else {
+                faltantes.add(idDomicilio);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (Domicilio domicilio : delegado.obtenerDomicilios(faltantes).values()) {
+                porId.poner(domicilio.getId(), domicilio);
+                domicilios.put(domicilio.getId(), copiar(domicilio));
+            }
+        }
+        return domicilios;
+    }
+
+    private static Domicilio copiar(Domicilio domicilio) {
+        if (domicilio == null) {
+            return null;
+        }
+        return new Domicilio(domicilio.getId(), domicilio.getCalle(), domicilio.getNumero(), domicilio.getColonia(),
+                domicilio.getCiudad(), domicilio.getEstado(), domicilio.getCodigoPostal());
+    }
+}
@@ -0,0 +1,83 @@
+package org.itson.proyecto01.persistencia;
+
+/**
+ * <p>
+ * Fotografía inmutable del estado de un filtro de Bloom: dimensionamiento,
+ * memoria ocupada y tasa de falsos positivos, configurada y estimada.
+ * </p>
+ *
+ * @author joset
+ */
+public class EstadisticasFiltroBloom {
+
+    private final boolean listo;
+    private final long elementos;
+    private final long capacidad;
+    private final long bytes;
+    private final int funcionesHash;
+    private final double tasaObjetivo;
+    private final double tasaEstimada;
+    private final long descartes;
+
+    /**
+     * Constructor completo.
+     *
+     * @param listo si el filtro ya terminó de construirse y se está consultando.
+     * @param elementos valores agregados.
+     * @param capacidad valores para los que se dimensionó.
+     * @param bytes memoria del arreglo de bits.
+     * @param funcionesHash número de funciones hash.
+     * @param tasaObjetivo tasa de falsos positivos configurada.
+     * @param tasaEstimada tasa de falsos positivos estimada con los elementos actuales.
+     * @param descartes consultas respondidas como inexistentes sin ir a la base.
+     */
+    public EstadisticasFiltroBloom(boolean listo, long elementos, long capacidad, long bytes, int funcionesHash,
+            double tasaObjetivo, double tasaEstimada, long descartes) {
+        this.listo = listo;
+        this.elementos = elementos;
+        this.capacidad = capacidad;
+        this.bytes = bytes;
+        this.funcionesHash = funcionesHash;
+        this.tasaObjetivo = tasaObjetivo;
+        this.tasaEstimada = tasaEstimada;
+        this.descartes = descartes;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public long getElementos() {
+        return elementos;
+    }
+
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getFuncionesHash() {
+        return funcionesHash;
+    }
+
+    public double getTasaObjetivo() {
+        return tasaObjetivo;
+    }
+
+    public double getTasaEstimada() {
+        return tasaEstimada;
+    }
+
+    public long getDescartes() {
+        return descartes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FiltroBloom{listo=%s, elementos=%d/%d, memoria=%d KB, k=%d, fpr objetivo=%.4f, fpr estimada=%.4f, descartes=%d}",
+                listo, elementos, capacidad, bytes / 1024, funcionesHash, tasaObjetivo, tasaEstimada, descartes);
+    }
+}
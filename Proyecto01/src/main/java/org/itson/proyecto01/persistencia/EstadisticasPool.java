@@ -0,0 +1,113 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Fotografía inmutable de las estadísticas de {@link PoolConexiones} en un
+ * momento dado.
+ * </p>
+ *
+ * <p>
+ * El histograma de latencia de préstamo tiene una cubeta por cada límite de
+ * {@link PoolConexiones#LIMITES_LATENCIA_MS} más una cubeta final para los
+ * préstamos que rebasan el último límite.
+ * </p>
+ *
+ * @author joset
+ */
+public class EstadisticasPool {
+
+    private final int activas;
+    private final int libres;
+    private final int enEspera;
+    private final int totales;
+    private final int maximo;
+    private final long fugas;
+    private final long aciertosSentencias;
+    private final long fallosSentencias;
+    private final long desalojosSentencias;
+    private final long[] histogramaLatencia;
+
+    /**
+     * Constructor completo.
+     *
+     * @param activas conexiones prestadas actualmente.
+     * @param libres conexiones disponibles en el pool.
+     * @param enEspera hilos esperando una conexión.
+     * @param totales conexiones físicas abiertas.
+     * @param maximo tamaño máximo configurado del pool.
+     * @param fugas préstamos retenidos más allá del umbral de fuga (reportados o reclamados).
+     * @param aciertosSentencias sentencias preparadas servidas desde el cache.
+     * @param fallosSentencias sentencias que tuvieron que prepararse.
+     * @param desalojosSentencias sentencias desalojadas del cache por capacidad.
+     * @param histogramaLatencia conteo de préstamos por cubeta de latencia.
+     */
+    public EstadisticasPool(int activas, int libres, int enEspera, int totales, int maximo, long fugas,
+            long aciertosSentencias, long fallosSentencias, long desalojosSentencias, long[] histogramaLatencia) {
+        this.activas = activas;
+        this.libres = libres;
+        this.enEspera = enEspera;
+        this.totales = totales;
+        this.maximo = maximo;
+        this.fugas = fugas;
+        this.aciertosSentencias = aciertosSentencias;
+        this.fallosSentencias = fallosSentencias;
+        this.desalojosSentencias = desalojosSentencias;
+        this.histogramaLatencia = histogramaLatencia.clone();
+    }
+
+    public int getActivas() {
+        return activas;
+    }
+
+    public int getLibres() {
+        return libres;
+    }
+
+    public int getEnEspera() {
+        return enEspera;
+    }
+
+    public int getTotales() {
+        return totales;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public long getFugas() {
+        return fugas;
+    }
+
+    public long getAciertosSentencias() {
+        return aciertosSentencias;
+    }
+
+    public long getFallosSentencias() {
+        return fallosSentencias;
+    }
+
+    public long getDesalojosSentencias() {
+        return desalojosSentencias;
+    }
+
+    /**
+     * Obtiene una copia del histograma de latencia de préstamo.
+     *
+     * @return arreglo con el conteo de préstamos por cubeta.
+     */
+    public long[] getHistogramaLatencia() {
+        return histogramaLatencia.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasPool{" + "activas=" + activas + ", libres=" + libres + ", enEspera=" + enEspera
+                + ", totales=" + totales + ", maximo=" + maximo + ", fugas=" + fugas
+                + ", aciertosSentencias=" + aciertosSentencias + ", fallosSentencias=" + fallosSentencias
+                + ", desalojosSentencias=" + desalojosSentencias
+                + ", histogramaLatencia=" + Arrays.toString(histogramaLatencia) + '}';
+    }
+}
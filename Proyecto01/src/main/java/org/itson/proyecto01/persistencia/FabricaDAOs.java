@@ -0,0 +1,142 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+import org.itson.proyecto01.cache.EstadisticasCache;
+import org.itson.proyecto01.entidades.Cliente;
+import org.itson.proyecto01.entidades.Cuenta;
+import org.itson.proyecto01.entidades.Domicilio;
+
+/**
+ * <p>
+ * Punto único para obtener los DAOs que guardan estado compartido entre
+ * pantallas (caches). Los controladores piden aquí el DAO en lugar de crearlo,
+ * para que todas las pantallas usen el mismo cache y sus invalidaciones.
+ * </p>
+ *
+ * <p>
+ * Los caches son {@link CacheTinyLfu}; los de cuentas, clientes y domicilios
+ * se refrescan en segundo plano con dos hilos demonio compartidos. Los caches
+ * negativos (nombres y retiros que no existen) no se refrescan: solo viven unos
+ * segundos.
+ * </p>
+ *
+ * @author joset
+ */
+public final class FabricaDAOs {
+
+    private static final int CUENTAS_CAPACIDAD = 1000;
+    private static final long CUENTAS_MS_VIDA = 30 * 1000;
+    private static final long CUENTAS_MS_REFRESCO = 20 * 1000;
+    private static final long SALDOS_MS_VIDA = 2 * 1000;
+
+    private static final int CLIENTES_CAPACIDAD = 500;
+    private static final long CLIENTES_MS_VIDA = 5 * 60 * 1000;
+    private static final long CLIENTES_MS_REFRESCO = 4 * 60 * 1000;
+
+    private static final int DOMICILIOS_CAPACIDAD = 500;
+    private static final long DOMICILIOS_MS_VIDA = 10 * 60 * 1000;
+    private static final long DOMICILIOS_MS_REFRESCO = 8 * 60 * 1000;
+
+    private static final int NEGATIVOS_CAPACIDAD = 2000;
+    private static final long NEGATIVOS_MS_VIDA = 30 * 1000;
+
+    private static final ExecutorService REFRESCOS = Executors.newFixedThreadPool(2, tarea -> {
+        Thread hilo = new Thread(tarea, "refresco-caches");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private static final CacheTinyLfu<String, Cuenta> CACHE_CUENTAS = new CacheTinyLfu<>("cuentas",
+            CUENTAS_CAPACIDAD, CUENTAS_MS_VIDA, CUENTAS_MS_REFRESCO, REFRESCOS);
+    private static final CacheTinyLfu<String, Double> CACHE_SALDOS = new CacheTinyLfu<>("saldos",
+            CUENTAS_CAPACIDAD, SALDOS_MS_VIDA);
+    private static final CacheTinyLfu<Integer, Cliente> CACHE_CLIENTES = new CacheTinyLfu<>("clientes",
+            CLIENTES_CAPACIDAD, CLIENTES_MS_VIDA, CLIENTES_MS_REFRESCO, REFRESCOS);
+    private static final CacheTinyLfu<Integer, Domicilio> CACHE_DOMICILIOS = new CacheTinyLfu<>("domicilios",
+            DOMICILIOS_CAPACIDAD, DOMICILIOS_MS_VIDA, DOMICILIOS_MS_REFRESCO, REFRESCOS);
+    private static final CacheTinyLfu<String, Boolean> CACHE_NOMBRES_INEXISTENTES = new CacheTinyLfu<>(
+            "nombres-inexistentes", NEGATIVOS_CAPACIDAD, NEGATIVOS_MS_VIDA);
+    private static final CacheTinyLfu<String, String> CACHE_RETIROS_INEXISTENTES = new CacheTinyLfu<>(
+            "retiros-inexistentes", NEGATIVOS_CAPACIDAD, NEGATIVOS_MS_VIDA);
+
+    private static final FiltroCuentas FILTRO_CUENTAS = FiltroCuentas.desdeConfiguracion();
+    private static final IndiceCuentas INDICE_CUENTAS = IndiceCuentas.desdeConfiguracion();
+    private static final CuentasDAOCache CUENTAS = new CuentasDAOCache(new CuentasDAO(), CACHE_CUENTAS, CACHE_SALDOS,
+            FILTRO_CUENTAS, INDICE_CUENTAS);
+    private static final ClientesDAOCache CLIENTES = new ClientesDAOCache(new ClientesDAO(), CACHE_CLIENTES,
+            CACHE_NOMBRES_INEXISTENTES);
+    private static final DomiciliosDAOCache DOMICILIOS = new DomiciliosDAOCache(new DomiciliosDAO(), CACHE_DOMICILIOS);
+    private static final RetiroConCuentaDAOCache RETIROS = new RetiroConCuentaDAOCache(new RetiroConCuentaDAO(CUENTAS),
+            CACHE_RETIROS_INEXISTENTES);
+
+    private FabricaDAOs() {
+    }
+
+    /**
+     * Obtiene el DAO de cuentas compartido, con cache por número de cuenta.
+     *
+     * @return {@link ICuentasDAO} compartido.
+     */
+    public static ICuentasDAO cuentasDAO() {
+        return CUENTAS;
+    }
+
+    /**
+     * Inicia en segundo plano la construcción del filtro de números de cuenta.
+     * Se llama una vez al arrancar, después de las migraciones.
+     */
+    public static void iniciarFiltroCuentas() {
+        FILTRO_CUENTAS.iniciar();
+    }
+
+    /**
+     * Obtiene memoria ocupada y tasa de falsos positivos del filtro de cuentas.
+     *
+     * @return {@link EstadisticasFiltroBloom} del filtro de cuentas.
+     */
+    public static EstadisticasFiltroBloom estadisticasFiltroCuentas() {
+        return FILTRO_CUENTAS.estadisticas();
+    }
+
+    /**
+     * Obtiene el DAO de clientes compartido, con cache por id de cliente.
+     *
+     * @return {@link IClientesDAO} compartido.
+     */
+    public static IClientesDAO clientesDAO() {
+        return CLIENTES;
+    }
+
+    /**
+     * Obtiene el DAO de domicilios compartido, con cache por id de domicilio.
+     *
+     * @return {@link IDomiciliosDAO} compartido.
+     */
+    public static IDomiciliosDAO domiciliosDAO() {
+        return DOMICILIOS;
+    }
+
+    /**
+     * Obtiene el DAO de retiros sin cuenta compartido, con cache negativo de
+     * folio/contraseña.
+     *
+     * @return {@link IRetiroConCuentaDAO} compartido.
+     */
+    public static IRetiroConCuentaDAO retirosDAO() {
+        return RETIROS;
+    }
+
+    /**
+     * Obtiene los contadores de todos los caches compartidos.
+     *
+     * @return una {@link EstadisticasCache} por cache.
+     */
+    public static List<EstadisticasCache> estadisticasCaches() {
+        return List.of(CACHE_CUENTAS.estadisticas(), CACHE_SALDOS.estadisticas(),
+                CACHE_CLIENTES.estadisticas(), CACHE_DOMICILIOS.estadisticas(),
+                CACHE_NOMBRES_INEXISTENTES.estadisticas(), CACHE_RETIROS_INEXISTENTES.estadisticas());
+    }
+}
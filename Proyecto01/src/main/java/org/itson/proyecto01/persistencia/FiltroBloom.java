@@ -0,0 +1,146 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Filtro de Bloom sobre cadenas. Responde si un valor <i>puede</i> estar en el
+ * conjunto: un <code>false</code> es definitivo y un <code>true</code> puede ser
+ * un falso positivo con la probabilidad configurada.
+ * </p>
+ *
+ * <p>
+ * El tamaño del arreglo de bits y el número de funciones hash se calculan a
+ * partir de la capacidad esperada y la tasa de falsos positivos deseada. Los
+ * bits viven en un {@link AtomicLongArray}, así que se puede agregar y consultar
+ * desde varios hilos sin candados.
+ * </p>
+ *
+ * @author joset
+ */
+final class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcionesHash;
+    private final long capacidad;
+    private final double tasaObjetivo;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * Dimensiona el filtro.
+     *
+     * @param capacidad número de elementos esperado.
+     * @param tasaFalsosPositivos probabilidad de falso positivo con esa capacidad,
+     *                            entre 0 y 1 exclusivos.
+     */
+    FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        if (capacidad <= 0 || tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        long m = (long) Math.ceil(-capacidad * Math.log(tasaFalsosPositivos) / (LN2 * LN2));
+        int palabras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palabras);
+        this.totalBits = (long) palabras * 64;
+        this.funcionesHash = Math.max(1, (int) Math.round((double) totalBits / capacidad * LN2));
+        this.capacidad = capacidad;
+        this.tasaObjetivo = tasaFalsosPositivos;
+    }
+
+    /**
+     * Agrega el valor. Sólo cuenta como elemento nuevo si encendió al menos un
+     * bit; volver a agregar un valor (o uno indistinguible de los anteriores) no
+     * altera {@link #elementos()} ni {@link #tasaEstimada()}.
+     *
+     * @param valor valor a agregar.
+     * @return <code>true</code> si encendió algún bit.
+     */
+    boolean agregar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        boolean nuevo = false;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, totalBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            while (true) {
+                long anterior = bits.get(palabra);
+                if ((anterior & mascara) != 0) {
+                    break;
+                }
+                if (bits.compareAndSet(palabra, anterior, anterior | mascara)) {
+                    nuevo = true;
+                    break;
+                }
+            }
+        }
+        if (nuevo) {
+            elementos.increment();
+        }
+        return nuevo;
+    }
+
+    boolean puedeContener(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estima la tasa de falsos positivos con los elementos agregados hasta ahora:
+     * <code>(1 - e^(-k·n/m))^k</code>.
+     */
+    double tasaEstimada() {
+        double n = elementos.sum();
+        return Math.pow(1 - Math.exp(-funcionesHash * n / totalBits), funcionesHash);
+    }
+
+    long elementos() {
+        return elementos.sum();
+    }
+
+    long capacidad() {
+        return capacidad;
+    }
+
+    double tasaObjetivo() {
+        return tasaObjetivo;
+    }
+
+    int funcionesHash() {
+        return funcionesHash;
+    }
+
+    long bytes() {
+        return totalBits / 8;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido de la mezcla final de MurmurHash3, para que las
+     * dos mitades sirvan como hashes independientes.
+     */
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
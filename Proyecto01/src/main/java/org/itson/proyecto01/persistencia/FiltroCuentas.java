@@ -0,0 +1,212 @@
+package org.itson.proyecto01.persistencia;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Filtro de Bloom con todos los <code>numero_cuenta</code> existentes. Permite
+ * contestar "la cuenta no existe" sin consultar la base de datos cuando el
+ * número capturado no está en el filtro. Como las cuentas de otras instancias
+ * sólo aparecen al reconstruirlo, se usa para consultas informativas (buscar
+ * el titular mientras se escribe) y no para rechazar movimientos.
+ * </p>
+ *
+ * <p>
+ * Ciclo de vida:
+ * </p>
+ * <ul>
+ *   <li>{@link #iniciar()} lo construye en segundo plano recorriendo la tabla
+ *       <code>Cuentas</code> con una consulta en streaming. Mientras no termina,
+ *       {@link #puedeExistir(String)} responde siempre <code>true</code>.</li>
+ *   <li>Las altas de esta instancia, y las cuentas que se lean de la base de
+ *       datos, se agregan con {@link #agregar(String)}, también al filtro que
+ *       se esté construyendo.</li>
+ *   <li>Se reconstruye cada cierto tiempo para incluir cuentas dadas de alta
+ *       por otras instancias de la aplicación.</li>
+ * </ul>
+ *
+ * <p>
+ * Se configura con propiedades del sistema:
+ * </p>
+ * <ul>
+ *   <li><code>bancodb.bloom.capacidad</code>: cuentas esperadas (por defecto
+ *       100000); se usa el doble de las existentes si es mayor.</li>
+ *   <li><code>bancodb.bloom.fpr</code>: tasa de falsos positivos (por defecto 0.01).</li>
+ *   <li><code>bancodb.bloom.minutos</code>: minutos entre reconstrucciones
+ *       (por defecto 15; 0 para no reconstruir).</li>
+ * </ul>
+ *
+ * @author joset
+ */
+public final class FiltroCuentas {
+
+    private static final Logger LOGGER = Logger.getLogger(FiltroCuentas.class.getName());
+
+    private final long capacidadMinima;
+    private final double tasaFalsosPositivos;
+    private final long minutosReconstruccion;
+    private final LongAdder descartes = new LongAdder();
+    private volatile FiltroBloom actual;
+    private volatile FiltroBloom enConstruccion;
+    private ScheduledExecutorService programador;
+
+    /**
+     * Crea el filtro, todavía vacío e inactivo.
+     *
+     * @param capacidadMinima cuentas esperadas como mínimo.
+     * @param tasaFalsosPositivos tasa de falsos positivos deseada.
+     * @param minutosReconstruccion minutos entre reconstrucciones; 0 para no reconstruir.
+     */
+    public FiltroCuentas(long capacidadMinima, double tasaFalsosPositivos, long minutosReconstruccion) {
+        this.capacidadMinima = capacidadMinima;
+        this.tasaFalsosPositivos = tasaFalsosPositivos;
+        this.minutosReconstruccion = minutosReconstruccion;
+    }
+
+    /**
+     * Crea el filtro con los valores de las propiedades del sistema.
+     *
+     * @return filtro configurado, sin iniciar.
+     */
+    public static FiltroCuentas desdeConfiguracion() {
+        return new FiltroCuentas(
+                Long.getLong("bancodb.bloom.capacidad", 100_000L),
+                Double.parseDouble(System.getProperty("bancodb.bloom.fpr", "0.01")),
+                Long.getLong("bancodb.bloom.minutos", 15L));
+    }
+
+    /**
+     * Programa la construcción inicial y, si aplica, las reconstrucciones
+     * periódicas. Llamarlo más de una vez no tiene efecto.
+     */
+    public synchronized void iniciar() {
+        if (programador != null) {
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "filtro-cuentas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        if (minutosReconstruccion > 0) {
+            programador.scheduleWithFixedDelay(this::construir, 0, minutosReconstruccion, TimeUnit.MINUTES);
+        } else {
+            programador.execute(this::construir);
+        }
+    }
+
+    /**
+     * Indica si el número puede existir. Un <code>false</code> sólo es
+     * definitivo para las cuentas que el filtro conoce: las de la última
+     * reconstrucción y las agregadas después por este proceso. Una cuenta que
+     * otra instancia abrió desde entonces también da <code>false</code>, por lo
+     * que sólo debe usarse para descartar consultas informativas.
+     *
+     * @param numeroCuenta número de cuenta a revisar.
+     * @return <code>false</code> si el filtro no conoce la cuenta.
+     */
+    public boolean puedeExistir(String numeroCuenta) {
+        FiltroBloom filtro = actual;
+        if (filtro == null || filtro.puedeContener(numeroCuenta)) {
+            return true;
+        }
+        descartes.increment();
+        return false;
+    }
+
+    /**
+     * Registra una cuenta recién dada de alta o encontrada en la base de datos.
+     *
+     * @param numeroCuenta número de la cuenta.
+     */
+    public void agregar(String numeroCuenta) {
+        FiltroBloom filtro = actual;
+        if (filtro != null) {
+            filtro.agregar(numeroCuenta);
+        }
+        FiltroBloom nuevo = enConstruccion;
+        if (nuevo != null) {
+            nuevo.agregar(numeroCuenta);
+        }
+    }
+
+    /**
+     * Agrega una cuenta que se encontró en la base de datos sólo a los filtros
+     * que todavía no la conocen, sin contarla como consulta descartada.
+     *
+     * @param numeroCuenta número de la cuenta encontrada.
+     */
+    public void agregarSiFalta(String numeroCuenta) {
+        FiltroBloom filtro = actual;
+        if (filtro != null && !filtro.puedeContener(numeroCuenta)) {
+            filtro.agregar(numeroCuenta);
+        }
+        FiltroBloom nuevo = enConstruccion;
+        if (nuevo != null && !nuevo.puedeContener(numeroCuenta)) {
+            nuevo.agregar(numeroCuenta);
+        }
+    }
+
+    /**
+     * Obtiene el estado del filtro activo.
+     *
+     * @return {@link EstadisticasFiltroBloom} con memoria y tasas de falsos positivos.
+     */
+    public EstadisticasFiltroBloom estadisticas() {
+        FiltroBloom filtro = actual;
+        if (filtro == null) {
+            return new EstadisticasFiltroBloom(false, 0, 0, 0, 0, tasaFalsosPositivos, 0, descartes.sum());
+        }
+        return new EstadisticasFiltroBloom(true, filtro.elementos(), filtro.capacidad(), filtro.bytes(),
+                filtro.funcionesHash(), filtro.tasaObjetivo(), filtro.tasaEstimada(), descartes.sum());
+    }
+
+    /**
+     * Construye un filtro nuevo y lo activa. El filtro se publica en
+     * <code>enConstruccion</code> antes de abrir el recorrido, así que una alta
+     * confirmada antes la ve la consulta y una posterior la agrega
+     * {@link #agregar(String)}.
+     */
+    private void construir() {
+        String sqlContar = "SELECT COUNT(*) FROM Cuentas";
+        String sqlNumeros = "SELECT numero_cuenta FROM Cuentas";
+
+        // Recorrer toda la tabla puede rebasar el umbral de fuga del pool
+        try (Connection conexion = ConexionBD.crearConexionProlongada()) {
+            long existentes;
+            try (PreparedStatement comando = conexion.prepareStatement(sqlContar);
+                    ResultSet resultado = comando.executeQuery()) {
+                resultado.next();
+                existentes = resultado.getLong(1);
+            }
+
+            FiltroBloom nuevo = new FiltroBloom(Math.max(capacidadMinima, existentes * 2), tasaFalsosPositivos);
+            enConstruccion = nuevo;
+            try (PreparedStatement comando = conexion.prepareStatement(sqlNumeros,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Con Connector/J, Integer.MIN_VALUE lee las filas en streaming
+                comando.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet resultado = comando.executeQuery()) {
+                    while (resultado.next()) {
+                        nuevo.agregar(resultado.getString(1));
+                    }
+                }
+            }
+            actual = nuevo;
+            LOGGER.info(() -> "Filtro de cuentas construido: " + estadisticas());
+        } catch (SQLException | RuntimeException ex) {
+            // Sin filtro nuevo se sigue usando el anterior, o ninguno
+            LOGGER.severe("No se pudo construir el filtro de cuentas: " + ex.getMessage());
+        } finally {
+            enConstruccion = null;
+        }
+    }
+}
@@ -26,6 +26,58 @@ public interface ICuentasDAO {
     public Cuenta altaCuenta(NuevaCuentaDTO nuevacuenta)throws PersistenciaException ;
 
     public void cancelarCuenta(Integer idCuenta) throws PersistenciaException ;
+
+    /**
+     * Obtiene el nombre completo del titular de una cuenta con una sola
+     * consulta (cuenta unida a cliente), para mostrar a quién va un movimiento.
+     *
+     * @param numeroCuenta número de cuenta a resolver.
+     * @return nombre completo del titular; <code>null</code> si la cuenta no existe.
+     * @throws PersistenciaException si ocurre un error al consultar.
+     */
+    public String obtenerNombreTitular(String numeroCuenta) throws PersistenciaException;
+
+    /**
+     * Avisa que el saldo o estado de la cuenta cambió por un movimiento aplicado
+     * fuera de este DAO (transferencias, retiros). Las implementaciones con
+     * cache descartan su copia; la implementación directa no hace nada.
+     *
+     * @param numeroCuenta número de la cuenta modificada.
+     */
+    public default void invalidarCuenta(String numeroCuenta) {
+    }
+
+    /**
+     * Obtiene solo el <code>id_cuenta</code> de un número de cuenta. Las
+     * implementaciones con índice en memoria lo resuelven sin consultar.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @return id de la cuenta.
+     * @throws PersistenciaException si la cuenta no existe o falla la consulta.
+     */
+    public default int obtenerIdCuenta(String numeroCuenta) throws PersistenciaException {
+        return obtenerCuentaporNumeroCuenta(numeroCuenta).getId();
+    }
+
+    /**
+     * Busca el <code>id_cuenta</code> solo en memoria, sin consultar.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @return el id, o {@link IndiceCuentas#SIN_ID} si no se conoce.
+     */
+    public default int buscarIdCuentaConocido(String numeroCuenta) {
+        return IndiceCuentas.SIN_ID;
+    }
+
+    /**
+     * Informa el id de una cuenta resuelta por otro DAO, para que las
+     * implementaciones con índice lo conserven.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @param idCuenta id de la cuenta.
+     */
+    public default void recordarIdCuenta(String numeroCuenta, int idCuenta) {
+    }
     
 }
 
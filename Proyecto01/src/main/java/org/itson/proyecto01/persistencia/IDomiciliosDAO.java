@@ -4,6 +4,8 @@
  */
 package org.itson.proyecto01.persistencia;
 
+import java.util.Collection;
+import java.util.Map;
 import org.itson.proyecto01.dtos.NuevoDomicilioDTO;
 import org.itson.proyecto01.entidades.Domicilio;
 
@@ -16,4 +18,13 @@ public interface IDomiciliosDAO {
     public  Domicilio registrarDomicilio(NuevoDomicilioDTO nuevoDomicilio)throws PersistenciaException;
     public  Domicilio obtenerDomicilioID(Integer idDomicilio)throws PersistenciaException;   
     public  Domicilio actualizarDomicilio(NuevoDomicilioDTO nuevoDomicilio,Integer idDomicilio)throws PersistenciaException;    
+
+    /**
+     * Obtiene varios domicilios en pocas consultas.
+     *
+     * @param idsDomicilio identificadores a consultar; se ignoran los repetidos.
+     * @return domicilios encontrados por id; los que no existen no aparecen.
+     * @throws PersistenciaException si ocurre un error al consultar.
+     */
+    public Map<Integer, Domicilio> obtenerDomicilios(Collection<Integer> idsDomicilio) throws PersistenciaException;
 }
@@ -4,10 +4,8 @@
  */
 package org.itson.proyecto01.persistencia;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import org.itson.proyecto01.entidades.Operacion;
-import org.itson.proyecto01.enums.TipoOperacion;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
 
 /**
  *
@@ -15,11 +13,5 @@ import org.itson.proyecto01.enums.TipoOperacion;
  */
 public interface IOperacionesDAO {
     
-    public abstract List<Operacion> obtenerOperaciones(Integer idCliente)throws PersistenciaException;
-    
-    public abstract List<Operacion> operacionesPorTipo(Integer idCliente, TipoOperacion filtro)throws PersistenciaException;
-    
-    public abstract List<Operacion> operacionesPorFecha(Integer idCliente, LocalDateTime fechaInicio, LocalDateTime fechaFin)throws PersistenciaException;
-    
-    public abstract List<Operacion> operacionesPorFechaTipo(Integer idCliente, TipoOperacion filtroTipo, LocalDateTime fechaInicio, LocalDateTime fechaFin)throws PersistenciaException;
+    public abstract PaginaOperacionesDTO consultarOperaciones(FiltroOperacionesDTO filtro) throws PersistenciaException;
 }
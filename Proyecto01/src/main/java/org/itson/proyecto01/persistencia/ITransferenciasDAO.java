@@ -4,7 +4,11 @@
  */
 package org.itson.proyecto01.persistencia;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
 import org.itson.proyecto01.entidades.Transferencia;
 
 /**
@@ -18,4 +22,8 @@ public interface ITransferenciasDAO {
             NuevaTransferenciaDTO nuevaTransferenciaDTO,Integer idCuentaDestino
     ) throws PersistenciaException;
 
+    public List<ResultadoTransferenciaDTO> realizarTransferenciasMasivas(String cuentaOrigen,
+            LocalDateTime fechaHoraOperacion, List<PartidaTransferenciaDTO> partidas
+    ) throws PersistenciaException;
+
 }
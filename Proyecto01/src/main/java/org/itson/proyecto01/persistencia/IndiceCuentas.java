@@ -0,0 +1,108 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Índice en memoria de <code>numero_cuenta</code> a <code>id_cuenta</code>. El
+ * número de 18 dígitos se guarda como <code>long</code> (todos caben por debajo
+ * de 9.22e18), así que ni la llave ni el valor se encajonan.
+ * </p>
+ *
+ * <p>
+ * La relación número-id de una cuenta no cambia, por lo que las entradas no se
+ * invalidan. Se configura con propiedades del sistema:
+ * </p>
+ * <ul>
+ *   <li><code>bancodb.indice.capacidad</code>: cuentas esperadas (por defecto 10000).</li>
+ *   <li><code>bancodb.indice.mapeado</code>: <code>true</code> para guardar el
+ *       índice fuera del heap en un archivo mapeado; su capacidad es fija.</li>
+ * </ul>
+ *
+ * @author joset
+ */
+public final class IndiceCuentas {
+
+    private static final Logger LOGGER = Logger.getLogger(IndiceCuentas.class.getName());
+    private static final int DIGITOS_CUENTA = 18;
+
+    /**
+     * Valor que regresa {@link #obtenerId(String)} cuando el número no está.
+     */
+    public static final int SIN_ID = IndiceLongEntero.SIN_VALOR;
+
+    private final IndiceLongEntero indice;
+    private volatile boolean avisoLleno;
+
+    private IndiceCuentas(IndiceLongEntero indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * Crea el índice con los valores de las propiedades del sistema.
+     *
+     * @return índice vacío.
+     */
+    public static IndiceCuentas desdeConfiguracion() {
+        int capacidad = Integer.getInteger("bancodb.indice.capacidad", 10_000);
+        if (Boolean.getBoolean("bancodb.indice.mapeado")) {
+            return new IndiceCuentas(new IndiceLongEnteroMapeado(capacidad));
+        }
+        return new IndiceCuentas(new IndiceLongEnteroMemoria(capacidad));
+    }
+
+    /**
+     * Busca el id de la cuenta.
+     *
+     * @param numeroCuenta número de 18 dígitos.
+     * @return el <code>id_cuenta</code>, o {@link #SIN_ID} si no está en el índice
+     *         o el número no tiene el formato esperado.
+     */
+    public int obtenerId(String numeroCuenta) {
+        long llave = aLlave(numeroCuenta);
+        return llave > 0 ? indice.obtener(llave) : SIN_ID;
+    }
+
+    /**
+     * Registra el id de una cuenta. Los números con formato inválido se ignoran.
+     *
+     * @param numeroCuenta número de 18 dígitos.
+     * @param idCuenta id de la cuenta.
+     */
+    public void registrar(String numeroCuenta, int idCuenta) {
+        long llave = aLlave(numeroCuenta);
+        if (llave > 0 && !indice.poner(llave, idCuenta) && !avisoLleno) {
+            avisoLleno = true;
+            LOGGER.warning("El índice de cuentas está lleno (" + indice.tamanio()
+                    + "); aumente bancodb.indice.capacidad");
+        }
+    }
+
+    /**
+     * @return número de cuentas registradas.
+     */
+    public int tamanio() {
+        return indice.tamanio();
+    }
+
+    /**
+     * Convierte el número de cuenta a <code>long</code> sin crear objetos.
+     *
+     * @param numeroCuenta número a convertir.
+     * @return el valor, o <code>-1</code> si no son exactamente 18 dígitos.
+     */
+    public static long aLlave(String numeroCuenta) {
+        if (numeroCuenta == null || numeroCuenta.length() != DIGITOS_CUENTA) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < DIGITOS_CUENTA; i++) {
+            int digito = numeroCuenta.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,63 @@
+package org.itson.proyecto01.persistencia;
+
+/**
+ * <p>
+ * Índice de llaves <code>long</code> a valores <code>int</code> sin objetos de
+ * por medio (ni <code>Long</code> ni <code>Integer</code>). Las implementaciones
+ * usan direccionamiento abierto con sondeo lineal; la llave <code>0</code> marca
+ * una casilla vacía, así que solo se aceptan llaves positivas.
+ * </p>
+ *
+ * @author joset
+ */
+interface IndiceLongEntero {
+
+    /**
+     * Valor que regresa {@link #obtener(long)} cuando la llave no está.
+     */
+    int SIN_VALOR = -1;
+
+    /**
+     * Busca el valor de la llave.
+     *
+     * @param llave llave positiva.
+     * @return el valor, o {@link #SIN_VALOR} si la llave no está.
+     */
+    int obtener(long llave);
+
+    /**
+     * Guarda o reemplaza el valor de la llave.
+     *
+     * @param llave llave positiva.
+     * @param valor valor a guardar.
+     * @return <code>false</code> si no se guardó porque el índice está lleno.
+     */
+    boolean poner(long llave, int valor);
+
+    /**
+     * @return número de llaves guardadas.
+     */
+    int tamanio();
+
+    /**
+     * Posición inicial de la llave en una tabla de tamaño potencia de dos. Mezcla
+     * los bits (finalizador de MurmurHash3) porque los números de cuenta
+     * consecutivos difieren solo en los dígitos bajos.
+     */
+    static int posicion(long llave, int mascara) {
+        long h = llave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mascara;
+    }
+
+    /**
+     * Menor potencia de dos que deja la tabla a lo más a la mitad con la
+     * capacidad indicada.
+     */
+    static int casillasPara(int capacidad) {
+        int casillas = Integer.highestOneBit(Math.max(8, capacidad) * 2 - 1) << 1;
+        return Math.max(16, casillas);
+    }
+}
@@ -0,0 +1,163 @@
+package org.itson.proyecto01.persistencia;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>
+ * {@link IndiceLongEntero} fuera del heap, sobre un archivo temporal mapeado a
+ * memoria. Cada casilla ocupa 12 bytes (llave <code>long</code> y valor
+ * <code>int</code>), así que un índice de millones de cuentas no agrega trabajo
+ * al recolector de basura.
+ * </p>
+ *
+ * <p>
+ * La capacidad es fija: el archivo se dimensiona al crearlo para quedar a lo
+ * más a la mitad de ocupación. Al llegar a esa capacidad,
+ * {@link #poner(long, int)} deja de guardar llaves nuevas y regresa
+ * <code>false</code>; quien consulta vuelve a la base de datos.
+ * </p>
+ *
+ * <p>
+ * Si se indica un archivo que ya existe con el mismo tamaño, se reabre con las
+ * llaves que tenía; el número de llaves se recalcula recorriendo las casillas.
+ * </p>
+ *
+ * @author joset
+ */
+final class IndiceLongEnteroMapeado implements IndiceLongEntero {
+
+    private static final int BYTES_CASILLA = Long.BYTES + Integer.BYTES;
+
+    private final StampedLock candado = new StampedLock();
+    private final MappedByteBuffer casillas;
+    private final int mascara;
+    private final int capacidad;
+    private int tamanio;
+
+    /**
+     * Crea el índice y su archivo de respaldo, que se borra al terminar la JVM.
+     *
+     * @param capacidad llaves máximas.
+     */
+    IndiceLongEnteroMapeado(int capacidad) {
+        this(archivoTemporal(), capacidad);
+    }
+
+    /**
+     * Crea el índice sobre el archivo indicado, o lo reabre si ya tiene el
+     * tamaño que corresponde a la capacidad.
+     *
+     * @param archivo archivo de respaldo; se crea si no existe.
+     * @param capacidad llaves máximas.
+     */
+    IndiceLongEnteroMapeado(Path archivo, int capacidad) {
+        int totalCasillas = IndiceLongEntero.casillasPara(capacidad);
+        long bytes = (long) totalCasillas * BYTES_CASILLA;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacidad demasiado grande para un solo mapeo: " + capacidad);
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long existente = canal.size();
+            if (existente != 0 && existente != bytes) {
+                throw new IllegalArgumentException("El archivo " + archivo + " tiene " + existente
+                        + " bytes y la capacidad pide " + bytes);
+            }
+            // El mapeo sigue vigente después de cerrar el canal
+            this.casillas = canal.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el índice mapeado", ex);
+        }
+        this.mascara = totalCasillas - 1;
+        this.capacidad = capacidad;
+        for (int i = 0; i < totalCasillas; i++) {
+            if (casillas.getLong(i * BYTES_CASILLA) != 0) {
+                tamanio++;
+            }
+        }
+    }
+
+    private static Path archivoTemporal() {
+        try {
+            Path archivo = Files.createTempFile("indice-cuentas", ".bin");
+            archivo.toFile().deleteOnExit();
+            return archivo;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el índice mapeado", ex);
+        }
+    }
+
+    @Override
+    public int obtener(long llave) {
+        long sello = candado.tryOptimisticRead();
+        int valor = buscar(llave);
+        if (candado.validate(sello)) {
+            return valor;
+        }
+        sello = candado.readLock();
+        try {
+            return buscar(llave);
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    @Override
+    public boolean poner(long llave, int valor) {
+        if (llave <= 0) {
+            throw new IllegalArgumentException("La llave debe ser positiva: " + llave);
+        }
+        long sello = candado.writeLock();
+        try {
+            for (int i = IndiceLongEntero.posicion(llave, mascara); ; i = (i + 1) & mascara) {
+                int desplazamiento = i * BYTES_CASILLA;
+                long actual = casillas.getLong(desplazamiento);
+                if (actual == llave) {
+                    casillas.putInt(desplazamiento + Long.BYTES, valor);
+                    return true;
+                }
+                if (actual == 0) {
+                    if (tamanio >= capacidad) {
+                        return false;
+                    }
+                    casillas.putInt(desplazamiento + Long.BYTES, valor);
+                    casillas.putLong(desplazamiento, llave);
+                    tamanio++;
+                    return true;
+                }
+            }
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public int tamanio() {
+        long sello = candado.readLock();
+        try {
+            return tamanio;
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    private int buscar(long llave) {
+        for (int i = IndiceLongEntero.posicion(llave, mascara); ; i = (i + 1) & mascara) {
+            int desplazamiento = i * BYTES_CASILLA;
+            long actual = casillas.getLong(desplazamiento);
+            if (actual == llave) {
+                return casillas.getInt(desplazamiento + Long.BYTES);
+            }
+            if (actual == 0) {
+                return SIN_VALOR;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.itson.proyecto01.persistencia;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>
+ * {@link IndiceLongEntero} en el heap, respaldado por un <code>long[]</code> de
+ * llaves y un <code>int[]</code> de valores. Crece al duplicarse cuando supera
+ * la mitad de ocupación.
+ * </p>
+ *
+ * <p>
+ * Las lecturas son optimistas con {@link StampedLock}: no bloquean y solo se
+ * repiten con candado de lectura si una escritura ocurrió a la mitad.
+ * </p>
+ *
+ * @author joset
+ */
+final class IndiceLongEnteroMemoria implements IndiceLongEntero {
+
+    private final StampedLock candado = new StampedLock();
+    private volatile Tabla tabla;
+    private int tamanio;
+
+    /**
+     * Crea el índice vacío.
+     *
+     * @param capacidadInicial llaves esperadas antes del primer crecimiento.
+     */
+    IndiceLongEnteroMemoria(int capacidadInicial) {
+        this.tabla = new Tabla(IndiceLongEntero.casillasPara(capacidadInicial));
+    }
+
+    @Override
+    public int obtener(long llave) {
+        long sello = candado.tryOptimisticRead();
+        int valor = tabla.buscar(llave);
+        if (candado.validate(sello)) {
+            return valor;
+        }
+        sello = candado.readLock();
+        try {
+            return tabla.buscar(llave);
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    @Override
+    public boolean poner(long llave, int valor) {
+        if (llave <= 0) {
+            throw new IllegalArgumentException("La llave debe ser positiva: " + llave);
+        }
+        long sello = candado.writeLock();
+        try {
+            if (tabla.insertar(llave, valor)) {
+                tamanio++;
+                if (tamanio * 2 > tabla.llaves.length) {
+                    tabla = tabla.duplicar();
+                }
+            }
+            return true;
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public int tamanio() {
+        long sello = candado.readLock();
+        try {
+            return tamanio;
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Llaves y valores juntos, para que una lectura optimista nunca combine
+     * arreglos de tamaños distintos.
+     */
+    private static final class Tabla {
+
+        private final long[] llaves;
+        private final int[] valores;
+
+        private Tabla(int casillas) {
+            this.llaves = new long[casillas];
+            this.valores = new int[casillas];
+        }
+
+        private int buscar(long llave) {
+            int mascara = llaves.length - 1;
+            for (int i = IndiceLongEntero.posicion(llave, mascara); ; i = (i + 1) & mascara) {
+                long actual = llaves[i];
+                if (actual == llave) {
+                    return valores[i];
+                }
+                if (actual == 0) {
+                    return SIN_VALOR;
+                }
+            }
+        }
+
+        /**
+         * @return <code>true</code> si la llave es nueva.
+         */
+        private boolean insertar(long llave, int valor) {
+            int mascara = llaves.length - 1;
+            for (int i = IndiceLongEntero.posicion(llave, mascara); ; i = (i + 1) & mascara) {
+                long actual = llaves[i];
+                if (actual == llave) {
+                    valores[i] = valor;
+                    return false;
+                }
+                if (actual == 0) {
+                    valores[i] = valor;
+                    llaves[i] = llave;
+                    return true;
+                }
+            }
+        }
+
+        private Tabla duplicar() {
+            Tabla nueva = new Tabla(llaves.length * 2);
+            for (int i = 0; i < llaves.length; i++) {
+                if (llaves[i] != 0) {
+                    nueva.insertar(llaves[i], valores[i]);
+                }
+            }
+            return nueva;
+        }
+    }
+}
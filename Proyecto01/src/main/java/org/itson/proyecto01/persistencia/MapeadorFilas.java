@@ -0,0 +1,91 @@
+package org.itson.proyecto01.persistencia;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Transforma las filas de un {@link ResultSet} en entidades. La resolución se
+ * hace en dos fases:
+ * </p>
+ * <ul>
+ *   <li>{@link #resolver(ResultSet)} busca una sola vez los índices de las
+ *       columnas por nombre y regresa un {@link LectorFila} que los conserva.</li>
+ *   <li>El lector lee cada fila por índice, sin volver a buscar nombres.</li>
+ * </ul>
+ *
+ * <p>
+ * Los métodos {@link #mapearTodas(ResultSet, int)} y
+ * {@link #mapearUna(ResultSet)} sustituyen los ciclos <code>while (next())</code>
+ * que antes se repetían en cada DAO.
+ * </p>
+ *
+ * @param <T> tipo de entidad que produce.
+ * @author joset
+ */
+@FunctionalInterface
+interface MapeadorFilas<T> {
+
+    /**
+     * Lector de filas con los índices de columna ya resueltos.
+     *
+     * @param <T> tipo de entidad que produce.
+     */
+    @FunctionalInterface
+    interface LectorFila<T> {
+
+        /**
+         * Lee la fila actual del {@link ResultSet}.
+         *
+         * @param resultados resultado posicionado en una fila válida.
+         * @return entidad con los datos de la fila.
+         * @throws SQLException si falla la lectura de alguna columna.
+         */
+        T leer(ResultSet resultados) throws SQLException;
+    }
+
+    /**
+     * Resuelve los índices de columna del {@link ResultSet} recibido.
+     *
+     * @param resultados resultado cuyos metadatos se consultan.
+     * @return lector ligado a los índices de este resultado.
+     * @throws SQLException si falta alguna columna requerida.
+     */
+    LectorFila<T> resolver(ResultSet resultados) throws SQLException;
+
+    /**
+     * Lee todas las filas restantes en una lista respaldada por arreglo.
+     *
+     * @param resultados resultado a recorrer.
+     * @param capacidadEstimada tamaño inicial de la lista.
+     * @return lista con una entidad por fila; vacía si no hay filas.
+     * @throws SQLException si falla la lectura.
+     */
+    default List<T> mapearTodas(ResultSet resultados, int capacidadEstimada) throws SQLException {
+        List<T> lista = new ArrayList<>(capacidadEstimada);
+        if (!resultados.next()) {
+            return lista;
+        }
+        LectorFila<T> lector = resolver(resultados);
+        do {
+            lista.add(lector.leer(resultados));
+        } while (resultados.next());
+        return lista;
+    }
+
+    /**
+     * Lee la siguiente fila, si existe.
+     *
+     * @param resultados resultado a leer.
+     * @return la entidad de la fila o <code>null</code> si no hay más filas.
+     * @throws SQLException si falla la lectura.
+     */
+    default T mapearUna(ResultSet resultados) throws SQLException {
+        if (!resultados.next()) {
+            return null;
+        }
+        return resolver(resultados).leer(resultados);
+    }
+}
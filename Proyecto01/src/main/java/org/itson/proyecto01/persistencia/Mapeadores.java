@@ -0,0 +1,154 @@
+package org.itson.proyecto01.persistencia;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.itson.proyecto01.entidades.Cliente;
+import org.itson.proyecto01.entidades.Cuenta;
+import org.itson.proyecto01.entidades.Domicilio;
+import org.itson.proyecto01.entidades.Operacion;
+import org.itson.proyecto01.entidades.Retiro;
+import org.itson.proyecto01.enums.EstadoCuenta;
+import org.itson.proyecto01.enums.TipoOperacion;
+
+/**
+ * <p>
+ * Mapeadores de filas compartidos por los DAOs. Cada uno resuelve los índices
+ * de columna una vez por {@link ResultSet}, lee las fechas directamente como
+ * <code>java.time</code> y decodifica los enums con tablas precalculadas en
+ * lugar de <code>valueOf</code>.
+ * </p>
+ *
+ * @author joset
+ */
+final class Mapeadores {
+
+    private static final Map<String, EstadoCuenta> ESTADOS_CUENTA = tablaEnum(EstadoCuenta.class);
+    private static final Map<String, TipoOperacion> TIPOS_OPERACION = tablaEnum(TipoOperacion.class);
+
+    /**
+     * Columnas: id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente.
+     */
+    static final MapeadorFilas<Cuenta> CUENTA = resultados -> {
+        int id = resultados.findColumn("id_cuenta");
+        int numero = resultados.findColumn("numero_cuenta");
+        int apertura = resultados.findColumn("fecha_apertura");
+        int saldo = resultados.findColumn("saldo");
+        int estado = resultados.findColumn("estado");
+        int cliente = resultados.findColumn("id_cliente");
+        return fila -> new Cuenta(
+                fila.getInt(id),
+                fila.getString(numero),
+                fila.getObject(apertura, LocalDateTime.class),
+                fila.getDouble(saldo),
+                decodificar(ESTADOS_CUENTA, fila.getString(estado)),
+                fila.getInt(cliente));
+    };
+
+    /**
+     * Columnas: id_transaccion, tipo_operacion, fecha_hora, monto, numero_cuenta.
+     */
+    static final MapeadorFilas<Operacion> OPERACION = resultados -> {
+        int id = resultados.findColumn("id_transaccion");
+        int tipo = resultados.findColumn("tipo_operacion");
+        int fecha = resultados.findColumn("fecha_hora");
+        int monto = resultados.findColumn("monto");
+        int numero = resultados.findColumn("numero_cuenta");
+        return fila -> new Operacion(
+                fila.getInt(id),
+                fila.getObject(fecha, LocalDateTime.class),
+                decodificar(TIPOS_OPERACION, fila.getString(tipo)),
+                fila.getDouble(monto),
+                fila.getString(numero));
+    };
+
+    /**
+     * Columnas: id_cliente, nombres, apellido_paterno, apellido_materno,
+     * fecha_nacimiento, contrasena, fecha_registro, edad, id_domicilio.
+     */
+    static final MapeadorFilas<Cliente> CLIENTE = resultados -> {
+        int id = resultados.findColumn("id_cliente");
+        int nombres = resultados.findColumn("nombres");
+        int paterno = resultados.findColumn("apellido_paterno");
+        int materno = resultados.findColumn("apellido_materno");
+        int nacimiento = resultados.findColumn("fecha_nacimiento");
+        int contrasena = resultados.findColumn("contrasena");
+        int registro = resultados.findColumn("fecha_registro");
+        int edad = resultados.findColumn("edad");
+        int domicilio = resultados.findColumn("id_domicilio");
+        return fila -> new Cliente(
+                fila.getInt(id),
+                fila.getString(nombres),
+                fila.getString(paterno),
+                fila.getString(materno),
+                fila.getObject(nacimiento, LocalDate.class),
+                fila.getString(contrasena),
+                fila.getObject(registro, LocalDateTime.class),
+                fila.getInt(edad),
+                fila.getInt(domicilio));
+    };
+
+    /**
+     * Columnas: id_domicilio, calle, numero, colonia, ciudad, estado, codigo_postal.
+     */
+    static final MapeadorFilas<Domicilio> DOMICILIO = resultados -> {
+        int id = resultados.findColumn("id_domicilio");
+        int calle = resultados.findColumn("calle");
+        int numero = resultados.findColumn("numero");
+        int colonia = resultados.findColumn("colonia");
+        int ciudad = resultados.findColumn("ciudad");
+        int estado = resultados.findColumn("estado");
+        int codigoPostal = resultados.findColumn("codigo_postal");
+        return fila -> new Domicilio(
+                fila.getInt(id),
+                fila.getString(calle),
+                fila.getString(numero),
+                fila.getString(colonia),
+                fila.getString(ciudad),
+                fila.getString(estado),
+                fila.getString(codigoPostal));
+    };
+
+    /**
+     * Columnas: folio, estado, fecha_expiracion, monto, numero_cuenta.
+     */
+    static final MapeadorFilas<Retiro> RETIRO = resultados -> {
+        int folio = resultados.findColumn("folio");
+        int estado = resultados.findColumn("estado");
+        int expiracion = resultados.findColumn("fecha_expiracion");
+        int monto = resultados.findColumn("monto");
+        int numero = resultados.findColumn("numero_cuenta");
+        return fila -> {
+            Retiro retiro = new Retiro();
+            retiro.setFolio(fila.getString(folio));
+            retiro.setEstado(fila.getString(estado));
+            retiro.setFechaExpiracion(fila.getObject(expiracion, LocalDateTime.class));
+            retiro.setMonto(fila.getDouble(monto));
+            retiro.setNumeroCuentaOrigen(fila.getString(numero));
+            return retiro;
+        };
+    };
+
+    private Mapeadores() {
+    }
+
+    private static <E extends Enum<E>> Map<String, E> tablaEnum(Class<E> tipo) {
+        E[] constantes = tipo.getEnumConstants();
+        Map<String, E> tabla = new HashMap<>(constantes.length * 2);
+        for (E constante : constantes) {
+            tabla.put(constante.name(), constante);
+        }
+        return tabla;
+    }
+
+    private static <E extends Enum<E>> E decodificar(Map<String, E> tabla, String valor) throws SQLException {
+        E constante = tabla.get(valor);
+        if (constante == null) {
+            throw new SQLException("Valor de enumeración desconocido: " + valor);
+        }
+        return constante;
+    }
+}
@@ -0,0 +1,364 @@
+package org.itson.proyecto01.persistencia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Motor de migraciones del esquema. Al iniciar la aplicación busca los scripts
+ * de <code>db/migracion</code> en el classpath (carpeta o jar) y aplica los que
+ * falten, registrándolos en la tabla <code>historial_migraciones</code>.
+ * </p>
+ *
+ * <p>
+ * Convención de nombres:
+ * </p>
+ * <ul>
+ *   <li><code>V&lt;version&gt;__descripcion.sql</code>: script versionado. Se
+ *       aplica una sola vez, en orden de versión. Si su contenido cambia después
+ *       de aplicarse, la migración falla por checksum distinto.</li>
+ *   <li><code>R__descripcion.sql</code>: script repetible (procedimientos,
+ *       triggers, eventos). Se aplica después de los versionados cada vez que
+ *       cambia su checksum.</li>
+ * </ul>
+ *
+ * <p>
+ * Un script ya aplicado no se borra del classpath: se retira con un script
+ * versionado que deshaga su efecto y elimine su fila del historial. Las filas
+ * del historial sin script se reportan en la bitácora.
+ * </p>
+ *
+ * <p>
+ * Los scripts pueden usar <code>DELIMITER</code> como en el cliente de MySQL.
+ * Para que dos instancias no migren al mismo tiempo se toma el candado
+ * consultivo <code>GET_LOCK</code> durante toda la migración.
+ * </p>
+ *
+ * <p>
+ * En MySQL las sentencias DDL confirman implícitamente, por lo que un script
+ * que falla a la mitad no se revierte: no se registra en el historial y debe
+ * corregirse antes de volver a iniciar.
+ * </p>
+ *
+ * @author joset
+ */
+public class MigradorEsquema {
+
+    private static final Logger LOGGER = Logger.getLogger(MigradorEsquema.class.getName());
+
+    private static final String UBICACION = "db/migracion";
+    private static final String NOMBRE_CANDADO = "bancodb.migraciones";
+    private static final int SEGUNDOS_ESPERA_CANDADO = 60;
+    private static final Pattern VERSIONADO = Pattern.compile("V(\\d+(?:\\.\\d+)*)__(\\w+)\\.sql");
+    private static final Pattern REPETIBLE = Pattern.compile("R__(\\w+)\\.sql");
+
+    /**
+     * <p>
+     * Aplica los scripts pendientes. Es seguro llamarlo en cada arranque: si no
+     * hay cambios sólo valida los checksums.
+     * </p>
+     *
+     * @return número de scripts aplicados.
+     * @throws PersistenciaException si no se obtiene el candado, si un script
+     *                               versionado ya aplicado fue modificado o si
+     *                               falla la ejecución de algún script.
+     */
+    public int migrar() throws PersistenciaException {
+        List<Script> scripts = descubrirScripts();
+        // Un índice sobre una tabla grande puede tardar minutos; el pool no debe reclamarla
+        try (Connection conexion = ConexionBD.crearConexionProlongada()) {
+            tomarCandado(conexion);
+            try {
+                crearHistorial(conexion);
+                Map<String, String> aplicados = leerHistorial(conexion);
+                int cuenta = 0;
+                for (Script script : scripts) {
+                    String checksumAplicado = aplicados.get(script.nombre);
+                    if (checksumAplicado == null) {
+                        aplicar(conexion, script);
+                        cuenta++;
+                    } else if (!checksumAplicado.equals(script.checksum)) {
+                        if (script.version == null) {
+                            aplicar(conexion, script);
+                            cuenta++;
+                        } else {
+                            throw new PersistenciaException("El script " + script.nombre
+                                    + " cambió después de aplicarse", null);
+                        }
+                    }
+                }
+                avisarHuerfanos(leerHistorial(conexion), scripts);
+                LOGGER.info("Migración terminada: " + cuenta + " script(s) aplicado(s)");
+                return cuenta;
+            } finally {
+                soltarCandado(conexion);
+            }
+        } catch (SQLException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudo migrar el esquema", ex);
+        }
+    }
+
+    /**
+     * Avisa de los scripts registrados en el historial que ya no están en el
+     * classpath. Un script no se borra sin más: se retira con una migración
+     * versionada que deshaga su efecto y elimine su fila del historial.
+     */
+    private void avisarHuerfanos(Map<String, String> aplicados, List<Script> scripts) {
+        Set<String> presentes = new HashSet<>();
+        for (Script script : scripts) {
+            presentes.add(script.nombre);
+        }
+        for (String nombre : aplicados.keySet()) {
+            if (!presentes.contains(nombre)) {
+                LOGGER.warning("El script " + nombre + " está en el historial pero ya no existe");
+            }
+        }
+    }
+
+    private void tomarCandado(Connection conexion) throws SQLException, PersistenciaException {
+        try (PreparedStatement comando = conexion.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            comando.setString(1, NOMBRE_CANDADO);
+            comando.setInt(2, SEGUNDOS_ESPERA_CANDADO);
+            try (ResultSet resultado = comando.executeQuery()) {
+                if (!resultado.next() || resultado.getInt(1) != 1) {
+                    throw new PersistenciaException("Otra instancia está migrando el esquema", null);
+                }
+            }
+        }
+    }
+
+    private void soltarCandado(Connection conexion) {
+        try (PreparedStatement comando = conexion.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            comando.setString(1, NOMBRE_CANDADO);
+            comando.executeQuery().close();
+        } catch (SQLException ex) {
+            LOGGER.warning("No se pudo liberar el candado de migración: " + ex.getMessage());
+        }
+    }
+
+    private void crearHistorial(Connection conexion) throws SQLException {
+        String codigoSQL = """
+                CREATE TABLE IF NOT EXISTS historial_migraciones (
+                    script VARCHAR(200) PRIMARY KEY,
+                    version VARCHAR(50) NULL,
+                    descripcion VARCHAR(200) NOT NULL,
+                    checksum CHAR(64) NOT NULL,
+                    fecha_aplicacion DATETIME NOT NULL,
+                    ms_ejecucion BIGINT NOT NULL
+                )
+                """;
+        try (Statement comando = conexion.createStatement()) {
+            comando.execute(codigoSQL);
+        }
+    }
+
+    private Map<String, String> leerHistorial(Connection conexion) throws SQLException {
+        Map<String, String> aplicados = new HashMap<>();
+        try (PreparedStatement comando = conexion.prepareStatement("SELECT script, checksum FROM historial_migraciones");
+                ResultSet resultados = comando.executeQuery()) {
+            while (resultados.next()) {
+                aplicados.put(resultados.getString(1), resultados.getString(2));
+            }
+        }
+        return aplicados;
+    }
+
+    private void aplicar(Connection conexion, Script script) throws SQLException {
+        LOGGER.info("Aplicando " + script.nombre);
+        long inicio = System.currentTimeMillis();
+        try (Statement comando = conexion.createStatement()) {
+            for (String sentencia : separarSentencias(script.contenido)) {
+                comando.execute(sentencia);
+            }
+        }
+        long duracion = System.currentTimeMillis() - inicio;
+
+        String codigoSQL = """
+                INSERT INTO historial_migraciones (script, version, descripcion, checksum, fecha_aplicacion, ms_ejecucion)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE checksum = VALUES(checksum),
+                    fecha_aplicacion = VALUES(fecha_aplicacion), ms_ejecucion = VALUES(ms_ejecucion)
+                """;
+        try (PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
+            comando.setString(1, script.nombre);
+            comando.setString(2, script.version);
+            comando.setString(3, script.descripcion);
+            comando.setString(4, script.checksum);
+            comando.setObject(5, LocalDateTime.now());
+            comando.setLong(6, duracion);
+            comando.executeUpdate();
+        }
+    }
+
+    /**
+     * Separa un script en sentencias respetando <code>DELIMITER</code> y
+     * omitiendo las líneas de comentario que no forman parte de una sentencia.
+     */
+    static List<String> separarSentencias(String contenido) {
+        List<String> sentencias = new ArrayList<>();
+        String delimitador = ";";
+        StringBuilder actual = new StringBuilder();
+        for (String linea : contenido.split("\\R")) {
+            String recortada = linea.trim();
+            if (recortada.isEmpty() || recortada.startsWith("--")) {
+                if (actual.length() > 0) {
+                    actual.append(linea).append('\n');
+                }
+                continue;
+            }
+            if (recortada.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+                delimitador = recortada.substring(10).trim();
+                continue;
+            }
+            actual.append(linea).append('\n');
+            if (recortada.endsWith(delimitador)) {
+                String sentencia = actual.toString().trim();
+                sentencia = sentencia.substring(0, sentencia.length() - delimitador.length()).trim();
+                if (!sentencia.isEmpty()) {
+                    sentencias.add(sentencia);
+                }
+                actual.setLength(0);
+            }
+        }
+        if (!actual.toString().isBlank()) {
+            sentencias.add(actual.toString().trim());
+        }
+        return sentencias;
+    }
+
+    private List<Script> descubrirScripts() throws PersistenciaException {
+        TreeSet<String> nombres = new TreeSet<>();
+        try {
+            Enumeration<URL> ubicaciones = MigradorEsquema.class.getClassLoader().getResources(UBICACION);
+            for (URL ubicacion : Collections.list(ubicaciones)) {
+                if ("jar".equals(ubicacion.getProtocol())) {
+                    JarURLConnection conexionJar = (JarURLConnection) ubicacion.openConnection();
+                    conexionJar.setUseCaches(false);
+                    try (JarFile jar = conexionJar.getJarFile()) {
+                        String prefijo = UBICACION + "/";
+                        for (JarEntry entrada : Collections.list(jar.entries())) {
+                            String nombre = entrada.getName();
+                            if (nombre.startsWith(prefijo) && nombre.indexOf('/', prefijo.length()) < 0) {
+                                nombres.add(nombre.substring(prefijo.length()));
+                            }
+                        }
+                    }
+                } else {
+                    try (Stream<Path> archivos = Files.list(Path.of(ubicacion.toURI()))) {
+                        archivos.forEach(archivo -> nombres.add(archivo.getFileName().toString()));
+                    }
+                }
+            }
+
+            List<Script> versionados = new ArrayList<>();
+            List<Script> repetibles = new ArrayList<>();
+            for (String nombre : nombres) {
+                Matcher versionado = VERSIONADO.matcher(nombre);
+                Matcher repetible = REPETIBLE.matcher(nombre);
+                if (versionado.matches()) {
+                    versionados.add(new Script(nombre, versionado.group(1), versionado.group(2), leer(nombre)));
+                } else if (repetible.matches()) {
+                    repetibles.add(new Script(nombre, null, repetible.group(1), leer(nombre)));
+                }
+            }
+            versionados.sort(MigradorEsquema::compararVersiones);
+            for (int i = 1; i < versionados.size(); i++) {
+                if (compararVersiones(versionados.get(i - 1), versionados.get(i)) == 0) {
+                    throw new PersistenciaException("Versión de migración duplicada: " + versionados.get(i).version, null);
+                }
+            }
+            versionados.addAll(repetibles);
+            return versionados;
+        } catch (IOException | URISyntaxException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudieron leer los scripts de migración", ex);
+        }
+    }
+
+    private static String leer(String nombre) throws IOException {
+        try (InputStream entrada = MigradorEsquema.class.getClassLoader().getResourceAsStream(UBICACION + "/" + nombre)) {
+            if (entrada == null) {
+                throw new IOException("No se encontró el script " + nombre);
+            }
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int compararVersiones(Script a, Script b) {
+        String[] partesA = a.version.split("\\.");
+        String[] partesB = b.version.split("\\.");
+        for (int i = 0; i < Math.max(partesA.length, partesB.length); i++) {
+            long parteA = i < partesA.length ? Long.parseLong(partesA[i]) : 0;
+            long parteB = i < partesB.length ? Long.parseLong(partesB[i]) : 0;
+            if (parteA != parteB) {
+                return Long.compare(parteA, parteB);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Script de migración leído del classpath.
+     */
+    private static final class Script {
+
+        private final String nombre;
+        private final String version;
+        private final String descripcion;
+        private final String contenido;
+        private final String checksum;
+
+        private Script(String nombre, String version, String descripcion, String contenido) {
+            this.nombre = nombre;
+            this.version = version;
+            this.descripcion = descripcion.replace('_', ' ');
+            this.contenido = contenido;
+            this.checksum = calcularChecksum(contenido);
+        }
+
+        /**
+         * SHA-256 del contenido con saltos de línea normalizados, para que el
+         * mismo script dé el mismo checksum en cualquier sistema operativo.
+         */
+        private static String calcularChecksum(String contenido) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] hash = digest.digest(contenido.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(hash);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 no está disponible", ex);
+            }
+        }
+    }
+}
@@ -4,16 +4,20 @@
  */
 package org.itson.proyecto01.persistencia;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.LinkedList;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.logging.Logger;
+import org.itson.proyecto01.dtos.FiltroOperacionesDTO;
+import org.itson.proyecto01.dtos.PaginaOperacionesDTO;
 import org.itson.proyecto01.entidades.Operacion;
-import org.itson.proyecto01.enums.TipoOperacion;
 
 /**
  * <p>
@@ -24,266 +28,132 @@ import org.itson.proyecto01.enums.TipoOperacion;
  * </p>
  *
  * <p>
- * Permite consultar operaciones:
+ * La consulta se arma a partir de un {@link FiltroOperacionesDTO}; cada criterio
+ * presente agrega su predicado:
  * </p>
  * <ul>
- *   <li>De un cliente (todas).</li>
- *   <li>Filtradas por tipo de operación.</li>
- *   <li>Filtradas por rango de fechas.</li>
- *   <li>Filtradas por tipo y rango de fechas.</li>
+ *   <li>Tipo de operación.</li>
+ *   <li>Rango de fechas (inicio y/o fin, inclusive).</li>
+ *   <li>Número de cuenta.</li>
+ *   <li>Rango de montos.</li>
  * </ul>
  *
  * <p>
- * Los registros leídos se transforman a objetos {@link Operacion} utilizando:
+ * Los resultados se ordenan por <code>(fecha_hora, id_transaccion)</code>
+ * descendente y se paginan por llave: el cursor guarda la última pareja leída y
+ * la siguiente página continúa a partir de ella, sin <code>OFFSET</code>.
+ * </p>
+ *
+ * <p>
+ * Los registros leídos se transforman a objetos {@link Operacion} con
+ * {@link Mapeadores#OPERACION}, que resuelve los índices de columna una sola vez
+ * por consulta.
  * </p>
- * <ul>
- *   <li><code>TipoOperacion.valueOf(String)</code> para mapear el tipo.</li>
- *   <li><code>getTimestamp(...).toLocalDateTime()</code> para mapear la fecha y hora.</li>
- * </ul>
  *
  * @author Jesus Omar
  */
 public class OperacionesDAO implements IOperacionesDAO {
 
     private static final Logger LOGGER = Logger.getLogger(OperacionesDAO.class.getName());
+    private static final String SEPARADOR_CURSOR = "|";
 
     /**
      * <p>
-     * Obtiene todas las operaciones registradas para un cliente.
+     * Consulta una página de operaciones del cliente indicado en el filtro.
      * </p>
      *
      * <p>
-     * Realiza un <code>INNER JOIN</code> entre <code>Operaciones</code> y <code>Cuentas</code>
-     * para filtrar por <code>c.id_cliente</code>.
+     * Se pide una fila más que el tamaño de página para saber si existe una
+     * página siguiente sin ejecutar un <code>COUNT</code>.
      * </p>
      *
-     * @param idCliente identificador del cliente del cual se desea consultar operaciones.
-     * @return lista de {@link Operacion} asociadas al cliente; si no hay registros, retorna lista vacía.
-     * @throws PersistenciaException si ocurre un error al consultar la base de datos.
+     * @param filtro criterios de búsqueda, tamaño de página y cursor.
+     * @return {@link PaginaOperacionesDTO} con las operaciones de la página y el
+     *         cursor de la siguiente; la lista está vacía si no hay registros.
+     * @throws PersistenciaException si el cursor no es válido o si ocurre un
+     *                               error al consultar la base de datos.
      */
     @Override
-    public List<Operacion> obtenerOperaciones(Integer idCliente) throws PersistenciaException {
-        List<Operacion> listaOperaciones = new LinkedList<>();
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
+    public PaginaOperacionesDTO consultarOperaciones(FiltroOperacionesDTO filtro) throws PersistenciaException {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder codigoSQL = new StringBuilder("""
                                 SELECT o.id_transaccion, o.tipo_operacion, o.fecha_hora, o.monto, c.numero_cuenta
                                 FROM Operaciones o
                                 INNER JOIN Cuentas c ON o.id_cuenta = c.id_cuenta
-                                WHERE c.id_cliente = ?;
-                                """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
-            comandoSQL.setInt(1, idCliente);
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                int idOperacion = resultados.getInt("id_transaccion");
-                String tipo = resultados.getString("tipo_operacion");
-                TipoOperacion tipoOperacion = TipoOperacion.valueOf(tipo);
-                LocalDateTime fechaHoraOperacion = resultados.getTimestamp("fecha_hora").toLocalDateTime();
-                double monto = resultados.getDouble("monto");
-                String numeroCuenta = resultados.getString("numero_cuenta");
-
-                Operacion operacion = new Operacion(
-                        idOperacion,
-                        fechaHoraOperacion,
-                        tipoOperacion,
-                        monto,
-                        numeroCuenta
-                );
-
-                listaOperaciones.add(operacion);
-            }
+                                WHERE c.id_cliente = ?
+                                """);
+        parametros.add(filtro.getIdCliente());
 
-            conexion.close();
-            return listaOperaciones;
-        } catch (SQLException ex) {
-            LOGGER.severe(ex.getMessage());
-            throw new PersistenciaException("Error al buscar las operaciones", null);
+        if (filtro.getTipoOperacion() != null) {
+            codigoSQL.append(" AND o.tipo_operacion = ?");
+            parametros.add(filtro.getTipoOperacion().name());
         }
-    }
-
-    /**
-     * <p>
-     * Obtiene las operaciones de un cliente filtradas por un tipo de operación específico.
-     * </p>
-     *
-     * <p>
-     * El filtro se aplica sobre <code>o.tipo_operacion</code>.
-     * </p>
-     *
-     * @param idCliente identificador del cliente.
-     * @param filtro tipo de operación a consultar.
-     * @return lista de {@link Operacion} que coinciden con el tipo; si no hay, retorna lista vacía.
-     * @throws PersistenciaException si ocurre un error al consultar la base de datos.
-     */
-    @Override
-    public List<Operacion> operacionesPorTipo(Integer idCliente, TipoOperacion filtro) throws PersistenciaException {
-        List<Operacion> listaOperaciones = new LinkedList<>();
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
-                                SELECT o.id_transaccion, o.tipo_operacion, o.fecha_hora, o.monto, c.numero_cuenta
-                                FROM Operaciones o
-                                INNER JOIN Cuentas c ON o.id_cuenta = c.id_cuenta
-                                WHERE c.id_cliente = ? AND o.tipo_operacion = ?;
-                                """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
-            comandoSQL.setInt(1, idCliente);
-            comandoSQL.setString(2, filtro.name());
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                int idOperacion = resultados.getInt("id_transaccion");
-                String tipo = resultados.getString("tipo_operacion");
-                TipoOperacion tipoOperacion = TipoOperacion.valueOf(tipo);
-                LocalDateTime fechaHoraOperacion = resultados.getTimestamp("fecha_hora").toLocalDateTime();
-                double monto = resultados.getDouble("monto");
-                String numeroCuenta = resultados.getString("numero_cuenta");
-
-                Operacion operacion = new Operacion(
-                        idOperacion,
-                        fechaHoraOperacion,
-                        tipoOperacion,
-                        monto,
-                        numeroCuenta
-                );
-
-                listaOperaciones.add(operacion);
+        if (filtro.getFechaInicio() != null) {
+            codigoSQL.append(" AND o.fecha_hora >= ?");
+            parametros.add(filtro.getFechaInicio());
+        }
+        if (filtro.getFechaFin() != null) {
+            codigoSQL.append(" AND o.fecha_hora <= ?");
+            parametros.add(filtro.getFechaFin());
+        }
+        if (filtro.getNumeroCuenta() != null) {
+            codigoSQL.append(" AND c.numero_cuenta = ?");
+            parametros.add(filtro.getNumeroCuenta());
+        }
+        if (filtro.getMontoMinimo() != null) {
+            codigoSQL.append(" AND o.monto >= ?");
+            parametros.add(filtro.getMontoMinimo());
+        }
+        if (filtro.getMontoMaximo() != null) {
+            codigoSQL.append(" AND o.monto <= ?");
+            parametros.add(filtro.getMontoMaximo());
+        }
+        if (filtro.getCursor() != null) {
+            Object[] posicion = decodificarCursor(filtro.getCursor());
+            codigoSQL.append(" AND (o.fecha_hora < ? OR (o.fecha_hora = ? AND o.id_transaccion < ?))");
+            parametros.add(posicion[0]);
+            parametros.add(posicion[0]);
+            parametros.add(posicion[1]);
+        }
+        codigoSQL.append(" ORDER BY o.fecha_hora DESC, o.id_transaccion DESC LIMIT ?");
+        int tamanioPagina = filtro.getTamanioPagina();
+        parametros.add(tamanioPagina + 1);
+
+        try (Connection conexion = ConexionBD.crearConexionLectura();
+                PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                comandoSQL.setObject(i + 1, parametros.get(i));
             }
-
-            conexion.close();
-            return listaOperaciones;
+            List<Operacion> operaciones;
+            try (ResultSet resultados = comandoSQL.executeQuery()) {
+                operaciones = Mapeadores.OPERACION.mapearTodas(resultados, tamanioPagina + 1);
+            }
+            if (operaciones.size() <= tamanioPagina) {
+                return new PaginaOperacionesDTO(operaciones, null);
+            }
+            operaciones.remove(tamanioPagina);
+            Operacion ultima = operaciones.get(tamanioPagina - 1);
+            return new PaginaOperacionesDTO(operaciones, codificarCursor(ultima));
         } catch (SQLException ex) {
             LOGGER.severe(ex.getMessage());
             throw new PersistenciaException("Error al buscar las operaciones", null);
         }
     }
 
-    /**
-     * <p>
-     * Obtiene las operaciones de un cliente dentro de un rango de fechas.
-     * </p>
-     *
-     * <p>
-     * Aplica el filtro con <code>BETWEEN ? AND ?</code> sobre la columna <code>o.fecha_hora</code>.
-     * </p>
-     *
-     * @param idCliente identificador del cliente.
-     * @param fechaInicio fecha/hora inicial del rango (inclusive).
-     * @param fechaFin fecha/hora final del rango (inclusive).
-     * @return lista de {@link Operacion} dentro del rango; si no hay, retorna lista vacía.
-     * @throws PersistenciaException si ocurre un error al consultar la base de datos.
-     */
-    @Override
-    public List<Operacion> operacionesPorFecha(Integer idCliente, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException {
-        List<Operacion> listaOperaciones = new LinkedList<>();
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
-                                SELECT o.id_transaccion, o.tipo_operacion, o.fecha_hora, o.monto, c.numero_cuenta
-                                FROM Operaciones o
-                                INNER JOIN Cuentas c ON o.id_cuenta = c.id_cuenta
-                                WHERE c.id_cliente = ? AND o.fecha_hora BETWEEN ? AND ?;
-                                """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
-            comandoSQL.setInt(1, idCliente);
-            comandoSQL.setObject(2, fechaInicio);
-            comandoSQL.setObject(3, fechaFin);
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                int idOperacion = resultados.getInt("id_transaccion");
-                String tipo = resultados.getString("tipo_operacion");
-                TipoOperacion tipoOperacion = TipoOperacion.valueOf(tipo);
-                LocalDateTime fechaHoraOperacion = resultados.getTimestamp("fecha_hora").toLocalDateTime();
-                double monto = resultados.getDouble("monto");
-                String numeroCuenta = resultados.getString("numero_cuenta");
-
-                Operacion operacion = new Operacion(
-                        idOperacion,
-                        fechaHoraOperacion,
-                        tipoOperacion,
-                        monto,
-                        numeroCuenta
-                );
-
-                listaOperaciones.add(operacion);
-            }
-
-            conexion.close();
-            return listaOperaciones;
-        } catch (SQLException ex) {
-            LOGGER.severe(ex.getMessage());
-            throw new PersistenciaException("Error al buscar las operaciones", null);
-        }
+    private static String codificarCursor(Operacion ultima) {
+        String posicion = ultima.getFechaHoraOperacion() + SEPARADOR_CURSOR + ultima.getIdOperacion();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicion.getBytes(StandardCharsets.UTF_8));
     }
 
-    /**
-     * <p>
-     * Obtiene las operaciones de un cliente filtradas por tipo y por un rango de fechas.
-     * </p>
-     *
-     * <p>
-     * Aplica dos filtros:
-     * </p>
-     * <ul>
-     *   <li><code>o.tipo_operacion = ?</code></li>
-     *   <li><code>o.fecha_hora BETWEEN ? AND ?</code></li>
-     * </ul>
-     *
-     * @param idCliente identificador del cliente.
-     * @param filtroTipo tipo de operación a consultar.
-     * @param fechaInicio fecha/hora inicial del rango (inclusive).
-     * @param fechaFin fecha/hora final del rango (inclusive).
-     * @return lista de {@link Operacion} que cumplan ambos filtros; si no hay, retorna lista vacía.
-     * @throws PersistenciaException si ocurre un error al consultar la base de datos.
-     */
-    @Override
-    public List<Operacion> operacionesPorFechaTipo(Integer idCliente, TipoOperacion filtroTipo, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException {
-        List<Operacion> listaOperaciones = new LinkedList<>();
+    private static Object[] decodificarCursor(String cursor) throws PersistenciaException {
         try {
-            Connection conexion = ConexionBD.crearConexion();
-            String codigoSQL = """
-                                SELECT o.id_transaccion, o.tipo_operacion, o.fecha_hora, o.monto, c.numero_cuenta
-                                FROM Operaciones o
-                                INNER JOIN Cuentas c ON o.id_cuenta = c.id_cuenta
-                                WHERE c.id_cliente = ?
-                                AND o.tipo_operacion = ?
-                                AND o.fecha_hora BETWEEN ? AND ?;
-                                """;
-            PreparedStatement comandoSQL = conexion.prepareStatement(codigoSQL);
-            comandoSQL.setInt(1, idCliente);
-            comandoSQL.setString(2, filtroTipo.name());
-            comandoSQL.setObject(3, fechaInicio);
-            comandoSQL.setObject(4, fechaFin);
-            ResultSet resultados = comandoSQL.executeQuery();
-
-            while (resultados.next()) {
-                int idOperacion = resultados.getInt("id_transaccion");
-                String tipo = resultados.getString("tipo_operacion");
-                TipoOperacion tipoOperacion = TipoOperacion.valueOf(tipo);
-                LocalDateTime fechaHoraOperacion = resultados.getTimestamp("fecha_hora").toLocalDateTime();
-                double monto = resultados.getDouble("monto");
-                String numeroCuenta = resultados.getString("numero_cuenta");
-
-                Operacion operacion = new Operacion(
-                        idOperacion,
-                        fechaHoraOperacion,
-                        tipoOperacion,
-                        monto,
-                        numeroCuenta
-                );
-
-                listaOperaciones.add(operacion);
-            }
-
-            conexion.close();
-            return listaOperaciones;
-        } catch (SQLException ex) {
-            LOGGER.severe(ex.getMessage());
-            throw new PersistenciaException("Error al buscar las operaciones", null);
+            String posicion = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicion.indexOf(SEPARADOR_CURSOR);
+            LocalDateTime fechaHora = LocalDateTime.parse(posicion.substring(0, separador));
+            Integer idTransaccion = Integer.valueOf(posicion.substring(separador + 1));
+            return new Object[]{fechaHora, idTransaccion};
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new PersistenciaException("El cursor de paginación no es válido", ex);
         }
     }
-
-}
\ No newline at end of file
+}
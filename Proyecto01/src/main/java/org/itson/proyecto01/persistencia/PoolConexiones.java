@@ -0,0 +1,472 @@
+package org.itson.proyecto01.persistencia;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Pool acotado de conexiones JDBC. Reutiliza conexiones físicas hacia MySQL
+ * para evitar el costo del handshake (TCP, TLS y autenticación) en cada
+ * llamada de los DAOs.
+ * </p>
+ *
+ * <p>
+ * Características:
+ * </p>
+ * <ul>
+ *   <li>Tamaño mínimo y máximo de conexiones físicas.</li>
+ *   <li>Desalojo de conexiones inactivas por encima del mínimo.</li>
+ *   <li>Tiempo máximo de espera al pedir una conexión prestada.</li>
+ *   <li>Validación de la conexión antes de entregarla.</li>
+ *   <li>Detección de fugas: registra la pila y la hora de cada préstamo. Un
+ *       préstamo retenido más allá del umbral de fuga sólo se reporta en el
+ *       log; la conexión se reclama hasta rebasar un límite mucho mayor, para
+ *       no cortar trabajo legítimo que tarda. Los préstamos prolongados
+ *       ({@link #prestarProlongada()}) nunca se reclaman.</li>
+ *   <li>Cache LRU de sentencias preparadas por conexión física ({@link CacheSentencias}).</li>
+ *   <li>Estadísticas: activas, libres, en espera, fugas, cache de sentencias e
+ *       histograma de latencia de préstamo.</li>
+ * </ul>
+ *
+ * <p>
+ * Las conexiones se entregan envueltas en un proxy: al invocar
+ * <code>close()</code> la conexión regresa al pool en lugar de cerrarse.
+ * </p>
+ *
+ * @author joset
+ */
+public class PoolConexiones {
+
+    private static final Logger LOGGER = Logger.getLogger(PoolConexiones.class.getName());
+
+    /**
+     * Límites superiores (en milisegundos) de cada cubeta del histograma de
+     * latencia de préstamo. La última cubeta acumula todo lo que los rebase.
+     */
+    public static final long[] LIMITES_LATENCIA_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private static final int SEGUNDOS_VALIDACION = 2;
+
+    private final String url;
+    private final String usuario;
+    private final String contrasenia;
+    private final int minimo;
+    private final int maximo;
+    private final long msMaximoInactiva;
+    private final long msEsperaPrestamo;
+    private final long msUmbralFuga;
+    private final long msLimiteReclamo;
+    private final int sentenciasPorConexion;
+
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+    private final Semaphore permisos;
+    private final AtomicInteger totales = new AtomicInteger();
+    private final AtomicInteger activas = new AtomicInteger();
+    private final AtomicInteger enEspera = new AtomicInteger();
+    private final AtomicLong fugas = new AtomicLong();
+    private final AtomicLong aciertosSentencias = new AtomicLong();
+    private final AtomicLong fallosSentencias = new AtomicLong();
+    private final AtomicLong desalojosSentencias = new AtomicLong();
+    private final Set<Prestamo> prestamos = ConcurrentHashMap.newKeySet();
+    private final AtomicLongArray histogramaLatencia = new AtomicLongArray(LIMITES_LATENCIA_MS.length + 1);
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    /**
+     * <p>
+     * Crea el pool, abre las conexiones mínimas y programa la tarea de
+     * mantenimiento (desalojo de inactivas y reposición del mínimo).
+     * </p>
+     *
+     * @param url cadena de conexión JDBC.
+     * @param usuario usuario de la base de datos.
+     * @param contrasenia contraseña del usuario.
+     * @param minimo número mínimo de conexiones físicas a mantener.
+     * @param maximo número máximo de conexiones físicas simultáneas.
+     * @param msMaximoInactiva tiempo en milisegundos tras el cual una conexión libre
+     *                         por encima del mínimo se cierra.
+     * @param msEsperaPrestamo tiempo máximo en milisegundos que se espera por una conexión.
+     * @param msUmbralFuga tiempo en milisegundos tras el cual una conexión prestada y no
+     *                     devuelta se reporta como posible fuga.
+     * @param msLimiteReclamo tiempo en milisegundos tras el cual una conexión prestada y no
+     *                        devuelta se reclama; debe ser mayor o igual a <code>msUmbralFuga</code>.
+     * @param sentenciasPorConexion capacidad del cache de sentencias preparadas de
+     *                              cada conexión física.
+     */
+    public PoolConexiones(String url, String usuario, String contrasenia,
+            int minimo, int maximo, long msMaximoInactiva, long msEsperaPrestamo, long msUmbralFuga,
+            long msLimiteReclamo, int sentenciasPorConexion) {
+        if (minimo < 0 || maximo <= 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaños de pool inválidos: minimo=" + minimo + ", maximo=" + maximo);
+        }
+        if (msLimiteReclamo < msUmbralFuga) {
+            throw new IllegalArgumentException("El límite de reclamo no puede ser menor al umbral de fuga");
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasenia = contrasenia;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.msMaximoInactiva = msMaximoInactiva;
+        this.msEsperaPrestamo = msEsperaPrestamo;
+        this.msUmbralFuga = msUmbralFuga;
+        this.msLimiteReclamo = msLimiteReclamo;
+        this.sentenciasPorConexion = sentenciasPorConexion;
+        this.permisos = new Semaphore(maximo, true);
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-conexiones-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1000, Math.min(msMaximoInactiva, msUmbralFuga) / 2);
+        mantenimiento.scheduleWithFixedDelay(this::mantener, 0, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Pide prestada una conexión del pool. Si no hay conexiones libres y no se ha
+     * alcanzado el máximo, abre una nueva; si se alcanzó el máximo, espera hasta
+     * <code>msEsperaPrestamo</code>.
+     * </p>
+     *
+     * @return conexión lista para usarse; al cerrarla regresa al pool.
+     * @throws SQLException si se agota el tiempo de espera o no se puede abrir la conexión.
+     */
+    public Connection prestar() throws SQLException {
+        return prestar(false);
+    }
+
+    /**
+     * <p>
+     * Pide prestada una conexión para un trabajo largo legítimo (migraciones de
+     * esquema, recorridos completos de una tabla). Se obtiene igual que con
+     * {@link #prestar()}, pero el mantenimiento no la reporta como fuga ni la
+     * reclama, sin importar cuánto tarde.
+     * </p>
+     *
+     * @return conexión lista para usarse; al cerrarla regresa al pool.
+     * @throws SQLException si se agota el tiempo de espera o no se puede abrir la conexión.
+     */
+    public Connection prestarProlongada() throws SQLException {
+        return prestar(true);
+    }
+
+    private Connection prestar(boolean prolongado) throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado.");
+        }
+        long inicio = System.nanoTime();
+        enEspera.incrementAndGet();
+        boolean obtenido;
+        try {
+            obtenido = permisos.tryAcquire(msEsperaPrestamo, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Se interrumpió la espera de una conexión.", ex);
+        } finally {
+            enEspera.decrementAndGet();
+        }
+        if (!obtenido) {
+            throw new SQLException("Tiempo de espera agotado (" + msEsperaPrestamo + " ms) al pedir una conexión del pool.");
+        }
+
+        try {
+            ConexionFisica fisica = tomarValida();
+            activas.incrementAndGet();
+            registrarLatencia(System.nanoTime() - inicio);
+            Prestamo prestamo = new Prestamo(fisica, prolongado);
+            prestamos.add(prestamo);
+            return prestamo.envolver();
+        } catch (SQLException | RuntimeException ex) {
+            permisos.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Obtiene una conexión física libre que pase la validación o abre una nueva.
+     */
+    private ConexionFisica tomarValida() throws SQLException {
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            if (fisica.esValida()) {
+                return fisica;
+            }
+            LOGGER.fine("Conexión inválida descartada al prestar.");
+            descartar(fisica);
+        }
+        return abrir();
+    }
+
+    private ConexionFisica abrir() throws SQLException {
+        Connection conexion = DriverManager.getConnection(url, usuario, contrasenia);
+        totales.incrementAndGet();
+        return new ConexionFisica(conexion);
+    }
+
+    /**
+     * Regresa al pool la conexión física de un préstamo que ya se cerró.
+     */
+    private void devolver(ConexionFisica fisica) {
+        activas.decrementAndGet();
+        try {
+            if (cerrado || fisica.conexion.isClosed()) {
+                descartar(fisica);
+                return;
+            }
+            fisica.sentencias.liberarTodas();
+            fisica.restablecer();
+            fisica.ultimoUso = System.currentTimeMillis();
+            libres.offerFirst(fisica);
+        } catch (SQLException ex) {
+            LOGGER.warning("No se pudo restablecer la conexión, se descarta: " + ex.getMessage());
+            descartar(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        totales.decrementAndGet();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException ex) {
+            LOGGER.fine("Error al cerrar conexión descartada: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Tarea periódica: reporta las posibles fugas, reclama los préstamos que
+     * rebasan el límite de reclamo, cierra las conexiones libres que rebasan el
+     * tiempo de inactividad (respetando el mínimo) y repone el mínimo de
+     * conexiones.
+     */
+    private void mantener() {
+        if (cerrado) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        for (Prestamo prestamo : prestamos) {
+            if (prestamo.prolongado) {
+                continue;
+            }
+            long retenida = ahora - prestamo.inicio;
+            if (retenida > msLimiteReclamo) {
+                prestamo.reclamar(retenida);
+            } else if (retenida > msUmbralFuga) {
+                prestamo.reportar(retenida);
+            }
+        }
+        for (ConexionFisica fisica : libres) {
+            if (totales.get() <= minimo) {
+                break;
+            }
+            if (ahora - fisica.ultimoUso > msMaximoInactiva && libres.remove(fisica)) {
+                descartar(fisica);
+            }
+        }
+        while (totales.get() < minimo) {
+            try {
+                ConexionFisica nueva = abrir();
+                libres.offerLast(nueva);
+            } catch (SQLException ex) {
+                LOGGER.warning("No se pudo abrir la conexión mínima del pool: " + ex.getMessage());
+                break;
+            }
+        }
+    }
+
+    private void registrarLatencia(long nanos) {
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int cubeta = 0;
+        while (cubeta < LIMITES_LATENCIA_MS.length && ms >= LIMITES_LATENCIA_MS[cubeta]) {
+            cubeta++;
+        }
+        histogramaLatencia.incrementAndGet(cubeta);
+    }
+
+    /**
+     * <p>
+     * Obtiene una fotografía de las estadísticas actuales del pool.
+     * </p>
+     *
+     * @return {@link EstadisticasPool} con conexiones activas, libres, en espera e histograma.
+     */
+    public EstadisticasPool obtenerEstadisticas() {
+        long[] histograma = new long[histogramaLatencia.length()];
+        for (int i = 0; i < histograma.length; i++) {
+            histograma[i] = histogramaLatencia.get(i);
+        }
+        return new EstadisticasPool(activas.get(), libres.size(), enEspera.get(),
+                totales.get(), maximo, fugas.get(), aciertosSentencias.get(), fallosSentencias.get(),
+                desalojosSentencias.get(), histograma);
+    }
+
+    /**
+     * Cierra todas las conexiones libres y detiene el mantenimiento. Las
+     * conexiones prestadas se cierran al ser devueltas.
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+
+    /**
+     * Conexión física administrada por el pool.
+     */
+    private final class ConexionFisica {
+
+        private final Connection conexion;
+        private final CacheSentencias sentencias;
+        private volatile long ultimoUso = System.currentTimeMillis();
+
+        private ConexionFisica(Connection conexion) {
+            this.conexion = conexion;
+            this.sentencias = new CacheSentencias(conexion, sentenciasPorConexion,
+                    aciertosSentencias, fallosSentencias, desalojosSentencias);
+        }
+
+        private boolean esValida() {
+            try {
+                return conexion.isValid(SEGUNDOS_VALIDACION);
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * Deja la conexión en su estado por defecto antes de regresarla al pool.
+         */
+        private void restablecer() throws SQLException {
+            if (!conexion.getAutoCommit()) {
+                conexion.rollback();
+                conexion.setAutoCommit(true);
+            }
+            if (conexion.isReadOnly()) {
+                conexion.setReadOnly(false);
+            }
+            conexion.clearWarnings();
+        }
+    }
+
+    /**
+     * Manejador de un préstamo: redirige las llamadas a la conexión física,
+     * intercepta <code>close()</code> para devolverla al pool una sola vez y
+     * resuelve <code>prepareStatement</code> desde el cache de la conexión.
+     * Guarda la pila y la hora del préstamo para diagnosticar fugas.
+     */
+    private final class Prestamo implements InvocationHandler {
+
+        private final ConexionFisica fisica;
+        private final boolean prolongado;
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private final AtomicBoolean reportada = new AtomicBoolean();
+        private final long inicio = System.currentTimeMillis();
+        private final Throwable pilaPrestamo = new Throwable("Conexión prestada aquí");
+
+        private Prestamo(ConexionFisica fisica, boolean prolongado) {
+            this.fisica = fisica;
+            this.prolongado = prolongado;
+        }
+
+        /**
+         * Crea el proxy que se entrega al DAO.
+         */
+        private Connection envolver() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    this);
+        }
+
+        /**
+         * Reporta una sola vez, con la pila del préstamo, una conexión retenida
+         * más allá del umbral de fuga. La conexión sigue siendo del préstamo.
+         */
+        private void reportar(long retenida) {
+            if (reportada.compareAndSet(false, true)) {
+                fugas.incrementAndGet();
+                LOGGER.log(Level.WARNING, "Posible fuga: conexión retenida " + retenida + " ms.", pilaPrestamo);
+            }
+        }
+
+        /**
+         * Reclama una conexión retenida más allá del límite de reclamo: registra
+         * la fuga con la pila del préstamo, descarta la conexión física y libera
+         * su lugar.
+         */
+        private void reclamar(long retenida) {
+            if (cerrada.compareAndSet(false, true)) {
+                prestamos.remove(this);
+                if (reportada.compareAndSet(false, true)) {
+                    fugas.incrementAndGet();
+                }
+                LOGGER.log(Level.SEVERE, "Fuga de conexión reclamada tras " + retenida + " ms.", pilaPrestamo);
+                activas.decrementAndGet();
+                descartar(fisica);
+                permisos.release();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (cerrada.compareAndSet(false, true)) {
+                        prestamos.remove(this);
+                        devolver(fisica);
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada.get() || fisica.conexion.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Prestamo[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+            if (cerrada.get()) {
+                throw new SQLException("La conexión ya fue devuelta al pool.");
+            }
+            if ("prepareStatement".equals(metodo.getName())) {
+                if (args.length == 1) {
+                    return fisica.sentencias.obtener((String) args[0], CacheSentencias.SIN_LLAVES);
+                }
+                if (args.length == 2 && metodo.getParameterTypes()[1] == int.class) {
+                    return fisica.sentencias.obtener((String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return metodo.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.entidades.Retiro;
 
 /**
@@ -68,8 +67,9 @@ public class RetiroConCuentaDAO implements IRetiroConCuentaDAO {
      * </ul>
      *
      * <p>
-     * Nota: el <code>id_cuenta</code> se obtiene consultando la cuenta origen a partir de
-     * <code>retiro.getNumeroCuentaOrigen()</code>.
+     * Nota: el <code>id_cuenta</code> se obtiene con
+     * {@link ICuentasDAO#obtenerIdCuenta(String)} a partir de
+     * <code>retiro.getNumeroCuentaOrigen()</code>, normalmente sin consultar.
      * </p>
      *
      * @param retiro objeto {@link Retiro} con la información necesaria para registrar el retiro
@@ -78,45 +78,47 @@ public class RetiroConCuentaDAO implements IRetiroConCuentaDAO {
      */
     @Override
     public void realizarRetiro(Retiro retiro) throws PersistenciaException {
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String sqlOperacion = """
+        String sqlOperacion = """
                     insert into operaciones 
                     (tipo_operacion, fecha_hora, monto, id_cuenta)
                     VALUES (?,?,?,?)
                     """;
 
-            PreparedStatement psOperacion = conexion.prepareStatement(sqlOperacion, PreparedStatement.RETURN_GENERATED_KEYS);
-
-            psOperacion.setString(1, retiro.getTipoOperacion());
-            psOperacion.setTimestamp(2, Timestamp.valueOf(retiro.getFechaHora()));
-            psOperacion.setDouble(3, retiro.getMonto());
+        String sqlRetiro = """
+                    insert into retirossincuenta
+                    (id_transaccion, folio, contrasena, fecha_expiracion, estado)
+                    VALUES (?,?,?,?,?)
+                    """;
 
-            Cuenta cuenta = cuentasDAO.obtenerCuentaporNumeroCuenta(retiro.getNumeroCuentaOrigen());
-            psOperacion.setInt(4, cuenta.getId());
+        // Se resuelve antes de pedir la conexión para no retener dos conexiones a la vez
+        int idCuenta = cuentasDAO.obtenerIdCuenta(retiro.getNumeroCuentaOrigen());
 
-            psOperacion.executeUpdate();
+        try (Connection conexion = ConexionBD.crearConexion()) {
+            int idTransaccion;
 
-            ResultSet rs = psOperacion.getGeneratedKeys();
-            rs.next();
+            try (PreparedStatement psOperacion = conexion.prepareStatement(sqlOperacion, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                psOperacion.setString(1, retiro.getTipoOperacion());
+                psOperacion.setTimestamp(2, Timestamp.valueOf(retiro.getFechaHora()));
+                psOperacion.setDouble(3, retiro.getMonto());
+                psOperacion.setInt(4, idCuenta);
 
-            int idTransaccion = rs.getInt(1);
+                psOperacion.executeUpdate();
 
-            String sqlRetiro = """
-                    insert into retirossincuenta
-                    (id_transaccion, folio, contrasena, fecha_expiracion, estado)
-                    VALUES (?,?,?,?,?)
-                    """;
+                try (ResultSet rs = psOperacion.getGeneratedKeys()) {
+                    rs.next();
+                    idTransaccion = rs.getInt(1);
+                }
+            }
 
-            PreparedStatement psRetiro = conexion.prepareStatement(sqlRetiro);
-            psRetiro.setInt(1, idTransaccion);
-            psRetiro.setString(2, retiro.getFolio());
-            psRetiro.setString(3, retiro.getContrasena());
-            psRetiro.setTimestamp(4, Timestamp.valueOf(retiro.getFechaExpiracion()));
-            psRetiro.setString(5, retiro.getEstado());
-            psRetiro.executeUpdate();
-            conexion.close();
+            try (PreparedStatement psRetiro = conexion.prepareStatement(sqlRetiro)) {
+                psRetiro.setInt(1, idTransaccion);
+                psRetiro.setString(2, retiro.getFolio());
+                psRetiro.setString(3, retiro.getContrasena());
+                psRetiro.setTimestamp(4, Timestamp.valueOf(retiro.getFechaExpiracion()));
+                psRetiro.setString(5, retiro.getEstado());
+                psRetiro.executeUpdate();
+            }
+            ConexionBD.marcarEscritura();
 
         } catch (SQLException e) {
             throw new PersistenciaException(" :Error al realizar retiro sin cuenta.", e);
@@ -145,10 +147,7 @@ public class RetiroConCuentaDAO implements IRetiroConCuentaDAO {
     @Override
     public Retiro buscarPorFolioYContrasena(String folio, String contrasena) throws PersistenciaException {
 
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            String sql = """
+        String sql = """
                 SELECT r.folio, r.estado, r.fecha_expiracion,
                        o.monto, c.numero_cuenta
                 FROM retirossincuenta r
@@ -157,25 +156,15 @@ public class RetiroConCuentaDAO implements IRetiroConCuentaDAO {
                 WHERE r.folio = ? AND r.contrasena = ?
             """;
 
-            PreparedStatement ps = conexion.prepareStatement(sql);
+        try (Connection conexion = ConexionBD.crearConexion();
+                PreparedStatement ps = conexion.prepareStatement(sql)) {
             ps.setString(1, folio);
             ps.setString(2, contrasena);
 
-            ResultSet rs = ps.executeQuery();
-
-            if (rs.next()) {
-                Retiro retiro = new Retiro();
-                retiro.setFolio(rs.getString("folio"));
-                retiro.setEstado(rs.getString("estado"));
-                retiro.setFechaExpiracion(rs.getTimestamp("fecha_expiracion").toLocalDateTime());
-                retiro.setMonto(rs.getDouble("monto"));
-                retiro.setNumeroCuentaOrigen(rs.getString("numero_cuenta"));
-                return retiro;
+            try (ResultSet rs = ps.executeQuery()) {
+                return Mapeadores.RETIRO.mapearUna(rs);
             }
 
-            conexion.close();
-            return null;
-
         } catch (SQLException ex) {
             throw new PersistenciaException(" :Error al buscar retiro", ex);
         }
@@ -198,19 +187,20 @@ public class RetiroConCuentaDAO implements IRetiroConCuentaDAO {
      */
     @Override
     public void cobrarRetiro(Retiro retiro) throws PersistenciaException {
-        try {
-            Connection conexion = ConexionBD.crearConexion();
-
-            CallableStatement cs = conexion.prepareCall(
-                "{ CALL CobrarRetiroSinCuenta(?) }"
-            );
+        try (Connection conexion = ConexionBD.crearConexion();
+                CallableStatement cs = conexion.prepareCall(
+                        "{ CALL CobrarRetiroSinCuenta(?) }"
+                )) {
             cs.setString(1, retiro.getFolio());
 
             cs.execute();
-            conexion.close();
+            ConexionBD.marcarEscritura();
 
         } catch (SQLException ex) {
             throw new PersistenciaException(" :Error al cobrar retiro", ex);
         }
+        if (retiro.getNumeroCuentaOrigen() != null) {
+            cuentasDAO.invalidarCuenta(retiro.getNumeroCuentaOrigen());
+        }
     }
 }
\ No newline at end of file
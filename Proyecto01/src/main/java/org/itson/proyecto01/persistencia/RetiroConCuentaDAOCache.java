@@ -0,0 +1,110 @@
+package org.itson.proyecto01.persistencia;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.itson.proyecto01.cache.CacheTinyLfu;
+import org.itson.proyecto01.entidades.Retiro;
+
+/**
+ * <p>
+ * Decorador de {@link IRetiroConCuentaDAO} que recuerda por poco tiempo los
+ * pares folio/contraseña que no existen (cache negativo).
+ * </p>
+ *
+ * <p>
+ * Comportamiento:
+ * </p>
+ * <ul>
+ *   <li>Si un par ya se buscó sin éxito, se responde <code>null</code> sin
+ *       consultar la base de datos hasta que la entrada venza.</li>
+ *   <li>Los retiros encontrados no se guardan: su estado cambia al cobrarse o
+ *       expirar y debe leerse siempre de la base.</li>
+ *   <li>{@link #realizarRetiro(Retiro)} descarta las entradas negativas de su
+ *       folio, por si alguien lo tecleó antes de que existiera.</li>
+ *   <li>La contraseña no se guarda en la llave: se usa el folio más un HMAC
+ *       SHA-256 de la contraseña con una clave aleatoria de esta instancia.
+ *       Un hash sin clave no bastaría, porque una contraseña de pocos dígitos
+ *       se obtiene probándolas todas.</li>
+ * </ul>
+ *
+ * @author joset
+ */
+public class RetiroConCuentaDAOCache implements IRetiroConCuentaDAO {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final IRetiroConCuentaDAO delegado;
+    private final CacheTinyLfu<String, String> paresInexistentes;
+    private final SecretKeySpec clave;
+
+    /**
+     * Construye el decorador.
+     *
+     * @param delegado DAO que realmente consulta la base de datos.
+     * @param paresInexistentes cache negativo; la llave es el folio más el HMAC
+     * de la contraseña y el valor, el folio.
+     */
+    public RetiroConCuentaDAOCache(IRetiroConCuentaDAO delegado, CacheTinyLfu<String, String> paresInexistentes) {
+        this.delegado = delegado;
+        this.paresInexistentes = paresInexistentes;
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.clave = new SecretKeySpec(bytes, ALGORITMO);
+    }
+
+    @Override
+    public void realizarRetiro(Retiro retiro) throws PersistenciaException {
+        try {
+            delegado.realizarRetiro(retiro);
+        } finally {
+            String folio = retiro.getFolio();
+            paresInexistentes.invalidarSi(folio::equals);
+        }
+    }
+
+    /**
+     * <p>
+     * Busca el retiro, salvo que el par ya se haya buscado sin éxito hace poco.
+     * </p>
+     *
+     * @param folio folio del retiro.
+     * @param contrasena contraseña asociada al retiro.
+     * @return el {@link Retiro} encontrado; <code>null</code> si no existe.
+     * @throws PersistenciaException si la consulta falla.
+     */
+    @Override
+    public Retiro buscarPorFolioYContrasena(String folio, String contrasena) throws PersistenciaException {
+        String llave = folio + '\u0000' + resumir(contrasena);
+        if (paresInexistentes.obtener(llave) != null) {
+            return null;
+        }
+        Retiro retiro = delegado.buscarPorFolioYContrasena(folio, contrasena);
+        if (retiro == null) {
+            paresInexistentes.poner(llave, folio);
+        }
+        return retiro;
+    }
+
+    @Override
+    public void cobrarRetiro(Retiro retiro) throws PersistenciaException {
+        delegado.cobrarRetiro(retiro);
+    }
+
+    /**
+     * HMAC de la contraseña con la clave de esta instancia, en hexadecimal.
+     */
+    private String resumir(String contrasena) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(clave);
+            byte[] hash = mac.doFinal(String.valueOf(contrasena).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ALGORITMO + " no está disponible", ex);
+        }
+    }
+}
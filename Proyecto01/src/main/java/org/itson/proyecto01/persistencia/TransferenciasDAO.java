@@ -1,15 +1,31 @@
 
 package org.itson.proyecto01.persistencia;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Logger;
-import org.itson.proyecto01.control.SesionControl;
 import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
+import org.itson.proyecto01.dtos.PartidaTransferenciaDTO;
+import org.itson.proyecto01.dtos.ResultadoTransferenciaDTO;
+import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.entidades.Transferencia;
+import org.itson.proyecto01.enums.EstadoCuenta;
 
 /**
  * <p>
@@ -17,18 +33,31 @@ import org.itson.proyecto01.entidades.Transferencia;
  * </p>
  *
  * <p>
- * Esta clase se encarga de:
+ * Toda la transferencia se aplica en una sola transacción y es el único camino
+ * que modifica los saldos (el trigger <code>trg_transferencia</code> se elimina
+ * en la migración V2):
  * </p>
  * <ul>
- *   <li>Actualizar saldos en la cuenta origen (resta).</li>
- *   <li>Actualizar saldos en la cuenta destino (suma).</li>
- *   <li>Registrar la operación en la tabla <code>OPERACIONES</code>.</li>
- *   <li>Registrar el detalle de la transferencia en la tabla <code>TRANSFERENCIAS</code>.</li>
+ *   <li>Bloquea las dos filas de <code>cuentas</code> con <code>SELECT ... FOR UPDATE</code>,
+ *       siempre en orden ascendente de <code>id_cuenta</code> para que dos
+ *       transferencias cruzadas no se bloqueen mutuamente.</li>
+ *   <li>Valida, ya con el bloqueo, que ambas cuentas estén activas y que el origen
+ *       tenga fondos.</li>
+ *   <li>Resta el monto al origen y lo suma al destino.</li>
+ *   <li>Registra la operación en <code>OPERACIONES</code> y el detalle en <code>TRANSFERENCIAS</code>.</li>
  * </ul>
  *
  * <p>
- * Además, utiliza un {@link ICuentasDAO} para construir el objeto {@link Transferencia}
- * final con las cuentas origen y destino completas.
+ * Si MySQL aborta la transacción por interbloqueo (1213) o por tiempo de espera
+ * de bloqueo (1205) se reintenta hasta {@link #MAXIMO_INTENTOS} veces con
+ * espera exponencial acotada.
+ * </p>
+ *
+ * <p>
+ * Las transferencias masivas (por ejemplo, nómina) resuelven todos los destinos
+ * con consultas <code>IN</code>, cargan la cuenta origen una sola vez por lote e
+ * insertan operaciones y transferencias con <i>batch</i> de JDBC, en
+ * transacciones de {@link #TAMANIO_LOTE} partidas.
  * </p>
  *
  * @author Carmen Andrea Lara Osuna
@@ -37,9 +66,17 @@ public class TransferenciasDAO implements ITransferenciasDAO {
 
     private static final Logger LOGGER = Logger.getLogger(TransferenciasDAO.class.getName());
 
+    private static final int MAXIMO_INTENTOS = 4;
+    private static final long MS_ESPERA_BASE = 25;
+    private static final long MS_ESPERA_MAXIMA = 400;
+    private static final int ERROR_INTERBLOQUEO = 1213;
+    private static final int ERROR_ESPERA_BLOQUEO = 1205;
+    private static final int TAMANIO_LOTE = 500;
+    private static final int TAMANIO_LISTA_IN = 1000;
+
     /**
-     * DAO de cuentas utilizado para consultar información de cuentas (origen y destino)
-     * al crear el objeto {@link Transferencia}.
+     * DAO de cuentas al que se avisa de los saldos modificados para que
+     * descarte sus copias en cache.
      */
     private ICuentasDAO cuentasDAO;
 
@@ -49,7 +86,7 @@ public class TransferenciasDAO implements ITransferenciasDAO {
      * de dependencia.
      * </p>
      *
-     * @param cuentasDAO implementación de {@link ICuentasDAO} para consultar cuentas por número.
+     * @param cuentasDAO implementación de {@link ICuentasDAO} a notificar tras cada movimiento.
      */
     public TransferenciasDAO(ICuentasDAO cuentasDAO) {
         this.cuentasDAO = cuentasDAO;
@@ -58,120 +95,465 @@ public class TransferenciasDAO implements ITransferenciasDAO {
 
     /**
      * <p>
-     * Realiza una transferencia entre dos cuentas y registra el movimiento en la base de datos.
+     * Realiza una transferencia entre dos cuentas en una sola transacción,
+     * reintentando si la base de datos la aborta por interbloqueo.
      * </p>
      *
+     * @param idCuentaOrigen identificador de la cuenta origen.
+     * @param nuevaTransferencia DTO con los datos de la transferencia (cuenta origen, destino, monto, fecha y tipo).
+     * @param idCuentaDestino identificador de la cuenta destino.
+     * @return objeto {@link Transferencia} con los saldos ya actualizados.
+     * @throws PersistenciaException si alguna cuenta no está activa, si no hay
+     *                               fondos suficientes o si falla la transacción.
+     */
+    @Override
+    public Transferencia realizarTransferencia(Integer idCuentaOrigen,NuevaTransferenciaDTO nuevaTransferencia,Integer idCuentaDestino) throws PersistenciaException {
+        for (int intento = 1; ; intento++) {
+            try {
+                Transferencia transferencia = aplicarTransferencia(idCuentaOrigen, nuevaTransferencia, idCuentaDestino);
+                LOGGER.fine("Se realizó la transferencia con éxito.");
+                return transferencia;
+            } catch (SQLException ex) {
+                if (!esReintentable(ex) || intento >= MAXIMO_INTENTOS) {
+                    LOGGER.severe(ex.getMessage());
+                    throw new PersistenciaException("No se pudo realizar la transferencia.", ex);
+                }
+                LOGGER.warning("Transferencia abortada por bloqueo (intento " + intento + "): " + ex.getMessage());
+                esperar(intento);
+            }
+        }
+    }
+
+    private Transferencia aplicarTransferencia(Integer idCuentaOrigen, NuevaTransferenciaDTO nuevaTransferencia,
+            Integer idCuentaDestino) throws SQLException, PersistenciaException {
+        String codigoSQLBloqueo = """
+                               SELECT id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente
+                               FROM cuentas
+                               WHERE id_cuenta = ?
+                               FOR UPDATE
+                               """;
+
+        String codigoSQLSaldo = """
+                               UPDATE cuentas
+                                    SET saldo = saldo + ?
+                               WHERE id_cuenta = ?
+                               """;
+
+        String codigoSQLOperacion = """
+                               INSERT INTO OPERACIONES (tipo_operacion, fecha_hora, monto, id_cuenta)
+                               VALUES (?,?,?,?);
+                               """;
+
+        String codigoSQLTransferencia = """
+                               INSERT INTO TRANSFERENCIAS (id_transaccion,id_cuenta_destino)
+                               VALUES (?,?);
+                               """;
+
+        BigDecimal monto = BigDecimal.valueOf(nuevaTransferencia.getMonto());
+
+        try (Connection conexion = ConexionBD.crearConexion()) {
+            conexion.setAutoCommit(false);
+            try {
+                // Bloqueo en orden de id para evitar interbloqueos entre transferencias cruzadas
+                Cuenta cuentaOrigen;
+                Cuenta cuentaDestino;
+                try (PreparedStatement comandoBloqueo = conexion.prepareStatement(codigoSQLBloqueo)) {
+                    if (idCuentaOrigen < idCuentaDestino) {
+                        cuentaOrigen = bloquearCuenta(comandoBloqueo, idCuentaOrigen);
+                        cuentaDestino = bloquearCuenta(comandoBloqueo, idCuentaDestino);
+                    } else {
+                        cuentaDestino = bloquearCuenta(comandoBloqueo, idCuentaDestino);
+                        cuentaOrigen = bloquearCuenta(comandoBloqueo, idCuentaOrigen);
+                    }
+                }
+
+                if (cuentaOrigen.getEstado() != EstadoCuenta.ACTIVA) {
+                    throw new PersistenciaException("La cuenta origen no está activa.", null);
+                }
+                if (cuentaDestino.getEstado() != EstadoCuenta.ACTIVA) {
+                    throw new PersistenciaException("Imposible transferir a una cuenta cancelada.", null);
+                }
+                if (BigDecimal.valueOf(cuentaOrigen.getSaldo()).compareTo(monto) < 0) {
+                    throw new PersistenciaException("Fondos insuficientes.", null);
+                }
+
+                try (PreparedStatement comandoSaldo = conexion.prepareStatement(codigoSQLSaldo)) {
+                    comandoSaldo.setBigDecimal(1, monto.negate());
+                    comandoSaldo.setInt(2, idCuentaOrigen);
+                    comandoSaldo.addBatch();
+                    comandoSaldo.setBigDecimal(1, monto);
+                    comandoSaldo.setInt(2, idCuentaDestino);
+                    comandoSaldo.addBatch();
+                    comandoSaldo.executeBatch();
+                }
+
+                int idTransaccion;
+                try (PreparedStatement comandoOperacion = conexion.prepareStatement(codigoSQLOperacion, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                    comandoOperacion.setString(1, nuevaTransferencia.getTipoOperacion().name());
+                    comandoOperacion.setTimestamp(2, Timestamp.valueOf(nuevaTransferencia.getFechaHoraOperacion()));
+                    comandoOperacion.setBigDecimal(3, monto);
+                    comandoOperacion.setInt(4, idCuentaOrigen);
+                    comandoOperacion.executeUpdate();
+                    try (ResultSet rs = comandoOperacion.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("No se generó el id de la operación.");
+                        }
+                        idTransaccion = rs.getInt(1);
+                    }
+                }
+
+                try (PreparedStatement comandoTransferencia = conexion.prepareStatement(codigoSQLTransferencia)) {
+                    comandoTransferencia.setInt(1, idTransaccion);
+                    comandoTransferencia.setInt(2, idCuentaDestino);
+                    comandoTransferencia.executeUpdate();
+                }
+
+                conexion.commit();
+                ConexionBD.marcarEscritura();
+                cuentasDAO.invalidarCuenta(cuentaOrigen.getNumeroCuenta());
+                cuentasDAO.invalidarCuenta(cuentaDestino.getNumeroCuenta());
+
+                cuentaOrigen.setSaldo(BigDecimal.valueOf(cuentaOrigen.getSaldo()).subtract(monto).doubleValue());
+                cuentaDestino.setSaldo(BigDecimal.valueOf(cuentaDestino.getSaldo()).add(monto).doubleValue());
+                return new Transferencia(
+                        idTransaccion,
+                        cuentaOrigen,
+                        cuentaDestino,
+                        nuevaTransferencia.getMonto(),
+                        nuevaTransferencia.getFechaHoraOperacion(),
+                        nuevaTransferencia.getTipoOperacion()
+                );
+            } catch (SQLException | PersistenciaException | RuntimeException ex) {
+                revertir(conexion, ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
      * <p>
-     * Flujo general del método:
+     * Aplica muchas transferencias desde una misma cuenta origen.
      * </p>
-     * <ul>
-     *   <li>Resta el monto al saldo de la cuenta origen.</li>
-     *   <li>Suma el monto al saldo de la cuenta destino.</li>
-     *   <li>Registra una operación en <code>OPERACIONES</code> y obtiene el <code>id_transaccion</code>.</li>
-     *   <li>Registra la transferencia en <code>TRANSFERENCIAS</code> asociándola al <code>id_transaccion</code>.</li>
-     *   <li>Crea y retorna un objeto {@link Transferencia} con la información resultante.</li>
-     * </ul>
      *
      * <p>
-     * Nota: En el código actual existen valores <b>hardcodeados</b>:
-     * </p>
-     * <ul>
-     *   <li><code>id_cuenta</code> en operaciones se asigna como <code>2</code>.</li>
-     *   <li><code>id_cuenta_destino</code> en transferencias se asigna como <code>4</code>.</li>
-     * </ul>
-     * <p>
-     * (Se documenta como nota para claridad del comportamiento actual.)
+     * Las partidas se procesan en lotes de {@link #TAMANIO_LOTE}; cada lote es una
+     * transacción que bloquea, en orden de <code>id_cuenta</code>, la cuenta
+     * origen y las cuentas destino del lote, rechaza las partidas que no pueden
+     * aplicarse (destino inexistente o cancelado, fondos insuficientes), carga al
+     * origen el total en un solo <code>UPDATE</code> y registra las operaciones
+     * con <i>batch</i>. Un lote que falla se revierte completo y sus partidas, así
+     * como las de los lotes siguientes, se reportan como rechazadas.
      * </p>
      *
-     * @param nuevaTransferencia DTO con los datos de la transferencia (cuenta origen, destino, monto, fecha y tipo).
-     * @return objeto {@link Transferencia} creado a partir de los datos registrados.
-     * @throws PersistenciaException si ocurre un error al actualizar saldos o registrar la operación/transferencia.
+     * @param cuentaOrigen número de la cuenta que paga.
+     * @param fechaHoraOperacion fecha y hora a registrar en todas las operaciones.
+     * @param partidas destinos y montos, en el orden en que deben aplicarse.
+     * @return un resultado por partida, en el mismo orden.
+     * @throws PersistenciaException si la cuenta origen no existe o si no se pudieron
+     *                               resolver las cuentas destino.
      */
     @Override
-    public Transferencia realizarTransferencia(Integer idCuentaOrigen,NuevaTransferenciaDTO nuevaTransferencia,Integer idCuentaDestino) throws PersistenciaException {
+    public List<ResultadoTransferenciaDTO> realizarTransferenciasMasivas(String cuentaOrigen,
+            LocalDateTime fechaHoraOperacion, List<PartidaTransferenciaDTO> partidas) throws PersistenciaException {
+        LinkedHashSet<String> numeros = new LinkedHashSet<>();
+        numeros.add(cuentaOrigen);
+        for (PartidaTransferenciaDTO partida : partidas) {
+            numeros.add(partida.getCuentaDestino());
+        }
 
+        Map<String, Integer> idsPorNumero;
         try {
+            idsPorNumero = resolverIdsCuentas(numeros);
+        } catch (SQLException ex) {
+            LOGGER.severe(ex.getMessage());
+            throw new PersistenciaException("No se pudieron consultar las cuentas destino.", ex);
+        }
+        Integer idOrigen = idsPorNumero.get(cuentaOrigen);
+        if (idOrigen == null) {
+            throw new PersistenciaException("La cuenta origen no existe.", null);
+        }
 
-            //sql para restar el saldo de la cuenta origen
-            String codigoSQLRestaOrigen = """
-                               UPDATE cuentas 
-                                    SET saldo = saldo - ? 
-                               WHERE numero_cuenta = ?
-                               """;
+        ResultadoTransferenciaDTO[] resultados = new ResultadoTransferenciaDTO[partidas.size()];
+        for (int inicio = 0; inicio < partidas.size(); inicio += TAMANIO_LOTE) {
+            int fin = Math.min(partidas.size(), inicio + TAMANIO_LOTE);
+            try {
+                aplicarLoteConReintentos(idOrigen, fechaHoraOperacion, partidas, inicio, fin, idsPorNumero, resultados);
+            } catch (SQLException | PersistenciaException ex) {
+                LOGGER.severe("Falló el lote de transferencias " + inicio + "-" + fin + ": " + ex.getMessage());
+                for (int i = inicio; i < partidas.size(); i++) {
+                    resultados[i] = ResultadoTransferenciaDTO.rechazada(partidas.get(i),
+                            i < fin ? "No se pudo aplicar el lote." : "No se procesó por un error en un lote anterior.");
+                }
+                break;
+            }
+        }
+        return Arrays.asList(resultados);
+    }
 
-            //sql para sumar al saldo de la cuenta destino
-            String codigoSQLSumaDestino = """
-                                UPDATE cuentas 
-                                    SET saldo = saldo + ? 
-                                WHERE numero_cuenta = ?
-                                """;
+    private void aplicarLoteConReintentos(Integer idOrigen, LocalDateTime fechaHoraOperacion,
+            List<PartidaTransferenciaDTO> partidas, int inicio, int fin, Map<String, Integer> idsPorNumero,
+            ResultadoTransferenciaDTO[] resultados) throws SQLException, PersistenciaException {
+        for (int intento = 1; ; intento++) {
+            try {
+                aplicarLote(idOrigen, fechaHoraOperacion, partidas, inicio, fin, idsPorNumero, resultados);
+                return;
+            } catch (SQLException ex) {
+                if (!esReintentable(ex) || intento >= MAXIMO_INTENTOS) {
+                    throw ex;
+                }
+                LOGGER.warning("Lote abortado por bloqueo (intento " + intento + "): " + ex.getMessage());
+                esperar(intento);
+            }
+        }
+    }
 
-            //sql para registrar operacion
-            String codigoSQLOperacion = """
-                               INSERT INTO OPERACIONES (tipo_operacion, fecha_hora, monto, id_cuenta) 
-                               VALUES (?,?,?,?);
+    private void aplicarLote(Integer idOrigen, LocalDateTime fechaHoraOperacion, List<PartidaTransferenciaDTO> partidas,
+            int inicio, int fin, Map<String, Integer> idsPorNumero, ResultadoTransferenciaDTO[] resultados)
+            throws SQLException, PersistenciaException {
+        String codigoSQLSaldo = """
+                               UPDATE cuentas
+                                    SET saldo = saldo + ?
+                               WHERE id_cuenta = ?
                                """;
 
-            //sql para registrar trasferencia
-            String codigoSQLTransferencia = """
-                               INSERT INTO TRANSFERENCIAS (id_transaccion,id_cuenta_destino) 
-                               VALUES (?,?);
+        String codigoSQLOperacion = """
+                               INSERT INTO OPERACIONES (tipo_operacion, fecha_hora, monto, id_cuenta)
+                               VALUES (?,?,?,?)
                                """;
 
-            //conexión
-            Connection conexion = ConexionBD.crearConexion();
+        String codigoSQLTransferencia = """
+                               INSERT INTO TRANSFERENCIAS (id_transaccion,id_cuenta_destino)
+                               VALUES (?,?)
+                               """;
 
-            //suma y resta de saldos
-            PreparedStatement comandoRestaSaldo = conexion.prepareStatement(codigoSQLRestaOrigen);
-            comandoRestaSaldo.setDouble(1, nuevaTransferencia.getMonto());
-            comandoRestaSaldo.setString(2, nuevaTransferencia.getCuentaOrigen());
-            comandoRestaSaldo.executeUpdate();
+        TreeSet<Integer> idsBloqueo = new TreeSet<>();
+        idsBloqueo.add(idOrigen);
+        for (int i = inicio; i < fin; i++) {
+            Integer idDestino = idsPorNumero.get(partidas.get(i).getCuentaDestino());
+            if (idDestino != null) {
+                idsBloqueo.add(idDestino);
+            }
+        }
 
-            PreparedStatement comandoSumaSaldo = conexion.prepareStatement(codigoSQLSumaDestino);
-            comandoSumaSaldo.setDouble(1, nuevaTransferencia.getMonto());
-            comandoSumaSaldo.setString(2, nuevaTransferencia.getCuentaDestino());
-            comandoSumaSaldo.executeUpdate();
+        ResultadoTransferenciaDTO[] lote = new ResultadoTransferenciaDTO[fin - inicio];
+        try (Connection conexion = ConexionBD.crearConexion()) {
+            conexion.setAutoCommit(false);
+            try {
+                Map<Integer, Cuenta> bloqueadas = bloquearCuentas(conexion, idsBloqueo);
+                Cuenta origen = bloqueadas.get(idOrigen);
+                if (origen == null) {
+                    throw new PersistenciaException("La cuenta origen no existe.", null);
+                }
+                BigDecimal disponible = BigDecimal.valueOf(origen.getSaldo());
+                BigDecimal total = BigDecimal.ZERO;
+                Map<Integer, BigDecimal> abonos = new LinkedHashMap<>();
+                List<Integer> aplicadas = new ArrayList<>(fin - inicio);
 
-            //registro de operacion y transferencia
-            PreparedStatement comandoOperacion = conexion.prepareStatement(codigoSQLOperacion, PreparedStatement.RETURN_GENERATED_KEYS);
+                for (int i = inicio; i < fin; i++) {
+                    PartidaTransferenciaDTO partida = partidas.get(i);
+                    Integer idDestino = idsPorNumero.get(partida.getCuentaDestino());
+                    Cuenta destino = idDestino == null ? null : bloqueadas.get(idDestino);
+                    BigDecimal monto = BigDecimal.valueOf(partida.getMonto());
+                    String rechazo = null;
+                    if (origen.getEstado() != EstadoCuenta.ACTIVA) {
+                        rechazo = "La cuenta origen no está activa.";
+                    } else if (destino == null) {
+                        rechazo = "La cuenta destino no existe.";
+                    } else if (idDestino.equals(idOrigen)) {
+                        rechazo = "La cuenta origen y destino no pueden ser iguales.";
+                    } else if (destino.getEstado() != EstadoCuenta.ACTIVA) {
+                        rechazo = "Imposible transferir a una cuenta cancelada.";
+                    } else if (disponible.subtract(total).compareTo(monto) < 0) {
+                        rechazo = "Fondos insuficientes.";
+                    }
+                    if (rechazo != null) {
+                        lote[i - inicio] = ResultadoTransferenciaDTO.rechazada(partida, rechazo);
+                    } else {
+                        total = total.add(monto);
+                        abonos.merge(idDestino, monto, BigDecimal::add);
+                        aplicadas.add(i);
+                    }
+                }
 
-            comandoOperacion.setString(1, nuevaTransferencia.getTipoOperacion().name());
-            comandoOperacion.setTimestamp(2, Timestamp.valueOf(nuevaTransferencia.getFechaHoraOperacion()));
-            comandoOperacion.setDouble(3, nuevaTransferencia.getMonto());
-            comandoOperacion.setInt(4, idCuentaOrigen ); //CLIENTE HARCODEADO 
+                if (!aplicadas.isEmpty()) {
+                    try (PreparedStatement comandoSaldo = conexion.prepareStatement(codigoSQLSaldo)) {
+                        comandoSaldo.setBigDecimal(1, total.negate());
+                        comandoSaldo.setInt(2, idOrigen);
+                        comandoSaldo.addBatch();
+                        for (Map.Entry<Integer, BigDecimal> abono : abonos.entrySet()) {
+                            comandoSaldo.setBigDecimal(1, abono.getValue());
+                            comandoSaldo.setInt(2, abono.getKey());
+                            comandoSaldo.addBatch();
+                        }
+                        comandoSaldo.executeBatch();
+                    }
 
-            comandoOperacion.executeUpdate();
-            ResultSet rs = comandoOperacion.getGeneratedKeys();
-            rs.next();
-            int idTransaccion = rs.getInt(1);
+                    int[] idsTransaccion = new int[aplicadas.size()];
+                    Timestamp fechaHora = Timestamp.valueOf(fechaHoraOperacion);
+                    try (PreparedStatement comandoOperacion = conexion.prepareStatement(codigoSQLOperacion, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                        for (Integer i : aplicadas) {
+                            comandoOperacion.setString(1, "TRANSFERENCIA");
+                            comandoOperacion.setTimestamp(2, fechaHora);
+                            comandoOperacion.setBigDecimal(3, BigDecimal.valueOf(partidas.get(i).getMonto()));
+                            comandoOperacion.setInt(4, idOrigen);
+                            comandoOperacion.addBatch();
+                        }
+                        comandoOperacion.executeBatch();
+                        try (ResultSet rs = comandoOperacion.getGeneratedKeys()) {
+                            int k = 0;
+                            while (rs.next() && k < idsTransaccion.length) {
+                                idsTransaccion[k++] = rs.getInt(1);
+                            }
+                            if (k != idsTransaccion.length) {
+                                throw new SQLException("No se generaron los ids de todas las operaciones.");
+                            }
+                        }
+                    }
 
-            PreparedStatement comandoTransferencia = conexion.prepareStatement(codigoSQLTransferencia);
-            comandoTransferencia.setInt(1, idTransaccion);
-            comandoTransferencia.setInt(2, idCuentaDestino);
+                    try (PreparedStatement comandoTransferencia = conexion.prepareStatement(codigoSQLTransferencia)) {
+                        for (int k = 0; k < idsTransaccion.length; k++) {
+                            comandoTransferencia.setInt(1, idsTransaccion[k]);
+                            comandoTransferencia.setInt(2, idsPorNumero.get(partidas.get(aplicadas.get(k)).getCuentaDestino()));
+                            comandoTransferencia.addBatch();
+                        }
+                        comandoTransferencia.executeBatch();
+                    }
 
-            comandoTransferencia.executeUpdate(); //CLIENTE HARCODEADO 
+                    for (int k = 0; k < idsTransaccion.length; k++) {
+                        int i = aplicadas.get(k);
+                        lote[i - inicio] = ResultadoTransferenciaDTO.exitosa(partidas.get(i), idsTransaccion[k]);
+                    }
+                }
 
-            LOGGER.fine("Se realizó la transferencia con éxito.");
+                conexion.commit();
+                ConexionBD.marcarEscritura();
+                if (!aplicadas.isEmpty()) {
+                    cuentasDAO.invalidarCuenta(origen.getNumeroCuenta());
+                    for (Integer idDestino : abonos.keySet()) {
+                        cuentasDAO.invalidarCuenta(bloqueadas.get(idDestino).getNumeroCuenta());
+                    }
+                }
+            } catch (SQLException | PersistenciaException | RuntimeException ex) {
+                revertir(conexion, ex);
+                throw ex;
+            }
+        }
+        System.arraycopy(lote, 0, resultados, inicio, lote.length);
+    }
 
-            //Creacion del objeto transferencia
-            Transferencia transferencia = new Transferencia(
-                    idTransaccion,
-                    cuentasDAO.obtenerCuentaporNumeroCuenta(nuevaTransferencia.getCuentaOrigen()),
-                    cuentasDAO.obtenerCuentaporNumeroCuenta(nuevaTransferencia.getCuentaDestino()),
-                    nuevaTransferencia.getMonto(),
-                    nuevaTransferencia.getFechaHoraOperacion(),
-                    nuevaTransferencia.getTipoOperacion()
-            );
+    /**
+     * Revierte la transacción sin perder el error que la hizo fallar: si el
+     * <code>rollback</code> también falla, su excepción se agrega como
+     * suprimida a la original, que conserva el código de error (1213 o 1205)
+     * del que depende el reintento.
+     */
+    private static void revertir(Connection conexion, Exception causa) {
+        try {
+            conexion.rollback();
+        } catch (SQLException ex) {
+            LOGGER.warning("No se pudo revertir la transacción: " + ex.getMessage());
+            causa.addSuppressed(ex);
+        }
+    }
 
-            conexion.close();
+    /**
+     * Bloquea las cuentas indicadas en orden ascendente de id (el conjunto ya
+     * viene ordenado) y las regresa indexadas por id.
+     */
+    private Map<Integer, Cuenta> bloquearCuentas(Connection conexion, Collection<Integer> ids) throws SQLException {
+        String codigoSQL = "SELECT id_cuenta, numero_cuenta, fecha_apertura, saldo, estado, id_cliente FROM cuentas"
+                + " WHERE id_cuenta IN (" + marcadores(ids.size()) + ") ORDER BY id_cuenta FOR UPDATE";
+        Map<Integer, Cuenta> cuentas = new HashMap<>(ids.size() * 2);
+        try (PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
+            int indice = 1;
+            for (Integer id : ids) {
+                comando.setInt(indice++, id);
+            }
+            try (ResultSet resultados = comando.executeQuery()) {
+                for (Cuenta cuenta : Mapeadores.CUENTA.mapearTodas(resultados, ids.size())) {
+                    cuentas.put(cuenta.getId(), cuenta);
+                }
+            }
+        }
+        return cuentas;
+    }
 
-            return transferencia;
+    /**
+     * Obtiene el id de cada número de cuenta existente. Primero lo busca en el
+     * índice en memoria del DAO de cuentas; los que falten se consultan con
+     * <code>IN</code> de hasta {@link #TAMANIO_LISTA_IN} elementos y se
+     * registran en el índice.
+     */
+    private Map<String, Integer> resolverIdsCuentas(Collection<String> numeros) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>(numeros.size() * 2);
+        List<String> pendientes = new ArrayList<>(numeros.size());
+        for (String numero : numeros) {
+            int idConocido = cuentasDAO.buscarIdCuentaConocido(numero);
+            if (idConocido != IndiceCuentas.SIN_ID) {
+                ids.put(numero, idConocido);
+            } else {
+                pendientes.add(numero);
+            }
+        }
+        if (pendientes.isEmpty()) {
+            return ids;
+        }
+        try (Connection conexion = ConexionBD.crearConexion()) {
+            for (int inicio = 0; inicio < pendientes.size(); inicio += TAMANIO_LISTA_IN) {
+                List<String> bloque = pendientes.subList(inicio, Math.min(pendientes.size(), inicio + TAMANIO_LISTA_IN));
+                String codigoSQL = "SELECT id_cuenta, numero_cuenta FROM cuentas WHERE numero_cuenta IN ("
+                        + marcadores(bloque.size()) + ")";
+                try (PreparedStatement comando = conexion.prepareStatement(codigoSQL)) {
+                    for (int i = 0; i < bloque.size(); i++) {
+                        comando.setString(i + 1, bloque.get(i));
+                    }
+                    try (ResultSet resultados = comando.executeQuery()) {
+                        while (resultados.next()) {
+                            String numero = resultados.getString(2);
+                            int idCuenta = resultados.getInt(1);
+                            ids.put(numero, idCuenta);
+                            cuentasDAO.recordarIdCuenta(numero, idCuenta);
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
 
-        } catch (SQLException ex) {
-            LOGGER.severe(ex.getMessage());
-            throw new PersistenciaException("No se pudo realizar la transferencia.", ex);
+    private static String marcadores(int cantidad) {
+        return String.join(",", Collections.nCopies(cantidad, "?"));
+    }
+
+    private Cuenta bloquearCuenta(PreparedStatement comandoBloqueo, Integer idCuenta) throws SQLException, PersistenciaException {
+        comandoBloqueo.setInt(1, idCuenta);
+        try (ResultSet resultado = comandoBloqueo.executeQuery()) {
+            Cuenta cuenta = Mapeadores.CUENTA.mapearUna(resultado);
+            if (cuenta == null) {
+                throw new PersistenciaException("La cuenta no existe o el número es incorrecto.", null);
+            }
+            return cuenta;
         }
+    }
+
+    private static boolean esReintentable(SQLException ex) {
+        return ex.getErrorCode() == ERROR_INTERBLOQUEO
+                || ex.getErrorCode() == ERROR_ESPERA_BLOQUEO
+                || "40001".equals(ex.getSQLState());
+    }
 
+    /**
+     * Espera exponencial con variación aleatoria para que los reintentos de
+     * transacciones en conflicto no vuelvan a coincidir.
+     */
+    private static void esperar(int intento) throws PersistenciaException {
+        long tope = Math.min(MS_ESPERA_MAXIMA, MS_ESPERA_BASE << (intento - 1));
+        try {
+            Thread.sleep(tope / 2 + ThreadLocalRandom.current().nextLong(tope / 2 + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PersistenciaException("Se interrumpió la transferencia.", ex);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -5,12 +5,13 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.time.LocalDateTime;
 import javax.swing.JOptionPane;
+import org.itson.proyecto01.control.EjecutorUI;
+import org.itson.proyecto01.control.IndicadorCarga;
 import org.itson.proyecto01.control.SesionControl;
 import org.itson.proyecto01.control.TransferenciaControl;
 import org.itson.proyecto01.dtos.NuevaTransferenciaDTO;
 import org.itson.proyecto01.enums.TipoOperacion;
 import org.itson.proyecto01.negocio.ITransferenciasBO;
-import org.itson.proyecto01.negocio.NegocioException;
 
 /**
  *
@@ -314,10 +315,10 @@ public class ConfirmarTransferenciaForm extends javax.swing.JFrame {
     }//GEN-LAST:event_txtMontoActionPerformed
 
     private void btnConfirmarTransferenciaActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnConfirmarTransferenciaActionPerformed
-        try{
-            fechaHoraOperacion = LocalDateTime.now();
-            NuevaTransferenciaDTO nuevaTransferencia = new NuevaTransferenciaDTO(fechaHoraOperacion, TipoOperacion.TRANSFERENCIA, cuentaSeleccionada, numeroDestino, monto);
-            this.transferenciasBO.realizarTransferencia(nuevaTransferencia);
+        fechaHoraOperacion = LocalDateTime.now();
+        NuevaTransferenciaDTO nuevaTransferencia = new NuevaTransferenciaDTO(fechaHoraOperacion, TipoOperacion.TRANSFERENCIA, cuentaSeleccionada, numeroDestino, monto);
+        // La transferencia corre en segundo plano; el boton queda deshabilitado mientras tanto
+        EjecutorUI.ejecutar(() -> this.transferenciasBO.realizarTransferencia(nuevaTransferencia), realizada -> {
             JOptionPane.showMessageDialog(this, "Transferencia Realizada ", "informacion: ", JOptionPane.INFORMATION_MESSAGE);
             
             TransferenciaExitosaForm transferenciaExitosaForm = new TransferenciaExitosaForm(fechaHoraOperacion, cuentaSeleccionada, numeroDestino, monto,nombreCuentaDestino);
@@ -325,7 +326,7 @@ public class ConfirmarTransferenciaForm extends javax.swing.JFrame {
             transferenciaExitosaForm.setVisible(true);
 
             this.dispose(); // cerrar ventana actual
-        }catch(NegocioException ex){
+        }, ex -> {
             JOptionPane.showMessageDialog(
                 this,
                 ex.getMessage(),
@@ -338,7 +339,7 @@ public class ConfirmarTransferenciaForm extends javax.swing.JFrame {
             trans.setVisible(true);
 
             this.dispose();
-        }
+        }, IndicadorCarga.enVentana(this, btnConfirmarTransferencia));
     }//GEN-LAST:event_btnConfirmarTransferenciaActionPerformed
 
 
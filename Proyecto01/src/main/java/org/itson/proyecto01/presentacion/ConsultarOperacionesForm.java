@@ -10,7 +10,9 @@ import javax.swing.BorderFactory;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.table.TableModel;
 /**
  *
  * @author Jesus Omar
@@ -239,6 +241,10 @@ public class ConsultarOperacionesForm extends javax.swing.JFrame {
     public JTable getTablaOperaciones() {
         return tablaOperaciones;
     }
+
+    public JScrollPane getScrollOperaciones() {
+        return jScrollPane1;
+    }
     
     public void setModelTipoOperacion(DefaultComboBoxModel<String> modelo){
         this.TipoOperacionComboBox.setModel(modelo);
@@ -247,6 +253,13 @@ public class ConsultarOperacionesForm extends javax.swing.JFrame {
     public void setModelRangoFechas(DefaultComboBoxModel<String> modeloFechas){
         this.rangoFechasComboBox.setModel(modeloFechas);
     }
+
+    public void setModelOperaciones(TableModel modelo){
+        this.tablaOperaciones.setModel(modelo);
+        this.tablaOperaciones.getColumnModel().getColumn(0).setResizable(false);
+        this.tablaOperaciones.getColumnModel().getColumn(1).setResizable(false);
+        this.tablaOperaciones.getColumnModel().getColumn(3).setResizable(false);
+    }
     
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JComboBox<String> TipoOperacionComboBox;
@@ -11,7 +11,6 @@ import javax.swing.JButton;
 import javax.swing.JOptionPane;
 import org.itson.proyecto01.control.ControlException;
 import org.itson.proyecto01.control.LoginControl;
-import org.itson.proyecto01.negocio.NegocioException;
 
 /**
  *
@@ -190,7 +189,7 @@ public class LoginForm extends javax.swing.JFrame {
             String password = new String(contraseniaUsuario);
             
             loginControl.iniciarSesion(nombreCompleto, password);
-        }catch(ControlException | NegocioException ex){
+        }catch(ControlException ex){
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Error al iniciar sesión", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnIngresarActionPerformed
@@ -198,6 +197,10 @@ public class LoginForm extends javax.swing.JFrame {
     private void btnRetiroSinCuentaActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnRetiroSinCuentaActionPerformed
         // TODO add your handling code here:
     }//GEN-LAST:event_btnRetiroSinCuentaActionPerformed
+    public JButton getBtnIngresar() {
+        return btnIngresar;
+    }
+
     public JButton getBtnRetiroSinCuenta() {
         return btnRetiroSinCuenta;
     }
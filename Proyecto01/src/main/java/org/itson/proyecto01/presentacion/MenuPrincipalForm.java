@@ -6,7 +6,6 @@ package org.itson.proyecto01.presentacion;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
-import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Image;
 import java.awt.Toolkit;
@@ -14,11 +13,14 @@ import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import java.util.List;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import org.itson.proyecto01.control.MenuControl;
 import org.itson.proyecto01.control.SesionControl;
+import org.itson.proyecto01.entidades.Cuenta;
 import org.itson.proyecto01.enums.EstadoCuenta;
 
 /**
@@ -27,7 +29,8 @@ import org.itson.proyecto01.enums.EstadoCuenta;
  */
 public class MenuPrincipalForm extends javax.swing.JFrame {
 
-    private final JPanel contenedorCuentas;
+    private final ModeloListaCuentas modeloCuentas;
+    private final JList<Cuenta> listaCuentas;
     private final JScrollPane scrollCuentas;
     private final Integer idCliente = SesionControl.getSesion().getCliente().getId();
     /**
@@ -38,13 +41,16 @@ public class MenuPrincipalForm extends javax.swing.JFrame {
         Image icon = Toolkit.getDefaultToolkit().getImage(getClass().getResource("/logoBanco.jpg"));
         setIconImage(icon);
 
-        // Panel que contendrá las cuentas
-        contenedorCuentas = new JPanel();
-        contenedorCuentas.setLayout(new BoxLayout(contenedorCuentas, BoxLayout.Y_AXIS));
-        contenedorCuentas.setBackground(new Color(245, 247, 250));
+        // Lista que contendrá las cuentas; sólo se dibujan las filas visibles
+        modeloCuentas = new ModeloListaCuentas();
+        listaCuentas = new JList<>(modeloCuentas);
+        listaCuentas.setCellRenderer(new RenderizadorCuenta());
+        listaCuentas.setPrototypeCellValue(new Cuenta(0, "000000000000000000", null, 0.0, EstadoCuenta.ACTIVA, 0));
+        listaCuentas.setFocusable(false);
+        listaCuentas.setBackground(new Color(245, 247, 250));
 
         // Scroll de las cuentas
-        scrollCuentas = new JScrollPane(contenedorCuentas);
+        scrollCuentas = new JScrollPane(listaCuentas);
         scrollCuentas.setBorder(null);
         scrollCuentas.getVerticalScrollBar().setUnitIncrement(16);
 
@@ -260,84 +266,23 @@ public class MenuPrincipalForm extends javax.swing.JFrame {
         pack();
     }// </editor-fold>//GEN-END:initComponents
 
-        public JPanel crearPanelCuenta(String numeroCuenta, EstadoCuenta estado, double saldo) {
-
-            JPanel panCuenta = new JPanel(new BorderLayout());
-            panCuenta.setBackground(new Color(45, 102, 237));
-            panCuenta.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(Color.WHITE, 6, true),
-                    BorderFactory.createEmptyBorder(12, 15, 12, 15)
-            ));
-            panCuenta.setMaximumSize(new Dimension(Integer.MAX_VALUE, 120));
-
-            // Parte Superiro del panel
-            JPanel panelTop = new JPanel(new BorderLayout());
-            panelTop.setOpaque(false);
-
-            JLabel lblTituloCuenta = new JLabel("CUENTA EN PESOS");
-            lblTituloCuenta.setFont(new Font("Segoe UI", Font.BOLD, 22));
-            lblTituloCuenta.setForeground(Color.WHITE);
-
-            JLabel lblEstadoCuenta = new JLabel("Estado: " + estado);
-            lblEstadoCuenta.setFont(new Font("Segoe UI", Font.BOLD, 12));
-            lblEstadoCuenta.setForeground(Color.WHITE);
-
-            panelTop.add(lblTituloCuenta, BorderLayout.WEST);
-            panelTop.add(lblEstadoCuenta, BorderLayout.EAST);
-
-            //Parte central del panel
-            JPanel panelCentro = new JPanel(new BorderLayout());
-            panelCentro.setOpaque(false);
-
-            // parte Izq
-            JPanel panelIzq = new JPanel();
-            panelIzq.setOpaque(false);
-            panelIzq.setLayout(new BoxLayout(panelIzq, BoxLayout.Y_AXIS));
-
-            JLabel lblNumero = new JLabel("Número de cuenta");
-            lblNumero.setFont(new Font("Segoe UI", Font.BOLD, 12));
-            lblNumero.setForeground(new Color(220, 220, 220));
-
-            JLabel lblNumeroCuenta = new JLabel(numeroCuenta);
-            lblNumeroCuenta.setFont(new Font("Segoe UI", Font.BOLD, 16));
-            lblNumeroCuenta.setForeground(Color.WHITE);
-
-            panelIzq.add(lblNumero);
-            panelIzq.add(lblNumeroCuenta);
-
-            // parte Derecha
-            JPanel panelDer = new JPanel();
-            panelDer.setOpaque(false);
-            panelDer.setLayout(new BoxLayout(panelDer, BoxLayout.Y_AXIS));
-
-            JLabel lblSaldoDisponible = new JLabel(String.format("$%,.2f", saldo));
-            lblSaldoDisponible.setFont(new Font("Segoe UI", Font.BOLD, 20));
-            lblSaldoDisponible.setForeground(Color.WHITE);
-            lblSaldoDisponible.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-
-            JLabel lblSaldo = new JLabel("Saldo Disponible");
-            lblSaldo.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-            lblSaldo.setForeground(new Color(220, 220, 220));
-            lblSaldo.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-
-            panelDer.add(lblSaldoDisponible);
-            panelDer.add(lblSaldo);
-
-            panelCentro.add(panelIzq, BorderLayout.WEST);
-            panelCentro.add(panelDer, BorderLayout.EAST);
-
-            //juntar las partes
-            panCuenta.add(panelTop, BorderLayout.NORTH);
-            panCuenta.add(panelCentro, BorderLayout.CENTER);
-
-            return panCuenta;
+        /**
+         * Muestra las cuentas del cliente con una sola actualización de la lista.
+         *
+         * @param cuentas cuentas a mostrar.
+         */
+        public void mostrarCuentas(List<Cuenta> cuentas) {
+            modeloCuentas.reemplazarTodas(cuentas);
         }
 
-        public void agregarPanelCuenta(String numeroCuenta, EstadoCuenta estado, double saldo) {
-            JPanel panCuenta = crearPanelCuenta(numeroCuenta, estado, saldo);
-            contenedorCuentas.add(panCuenta);
-            contenedorCuentas.revalidate();
-            contenedorCuentas.repaint();
+        /**
+         * Cambia el saldo mostrado de una cuenta y repinta sólo su fila.
+         *
+         * @param numeroCuenta número de la cuenta.
+         * @param saldo saldo nuevo.
+         */
+        public void actualizarSaldoCuenta(String numeroCuenta, double saldo) {
+            modeloCuentas.actualizarSaldo(numeroCuenta, saldo);
         }
 
         private void utileriasBoton(JButton btn) {
@@ -0,0 +1,115 @@
+package org.itson.proyecto01.presentacion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.swing.AbstractListModel;
+import org.itson.proyecto01.entidades.Cuenta;
+
+/**
+ * <p>
+ * Modelo de la lista de cuentas del menú principal.
+ * </p>
+ *
+ * <p>
+ * Cambios que avisa a la lista:
+ * </p>
+ * <ul>
+ *   <li>{@link #reemplazarTodas(List)} carga todas las cuentas con un solo
+ *       evento. Si son las mismas cuentas en el mismo orden (una recarga),
+ *       sólo avisa las filas cuyo saldo o estado cambió.</li>
+ *   <li>{@link #actualizarSaldo(String, double)} cambia el saldo de una cuenta
+ *       y repinta sólo su fila; la cuenta se ubica por número sin recorrer la
+ *       lista.</li>
+ * </ul>
+ *
+ * <p>
+ * Se usa solo desde el EDT.
+ * </p>
+ *
+ * @author joset
+ */
+public class ModeloListaCuentas extends AbstractListModel<Cuenta> {
+
+    private final List<Cuenta> cuentas = new ArrayList<>();
+    private final Map<String, Integer> posiciones = new HashMap<>();
+
+    @Override
+    public int getSize() {
+        return cuentas.size();
+    }
+
+    @Override
+    public Cuenta getElementAt(int indice) {
+        return cuentas.get(indice);
+    }
+
+    /**
+     * Reemplaza las cuentas de la lista.
+     *
+     * @param nuevas cuentas a mostrar, en orden.
+     */
+    public void reemplazarTodas(List<Cuenta> nuevas) {
+        if (mismasCuentas(nuevas)) {
+            for (int i = 0; i < nuevas.size(); i++) {
+                Cuenta anterior = cuentas.get(i);
+                Cuenta nueva = nuevas.get(i);
+                cuentas.set(i, nueva);
+                if (!Objects.equals(anterior.getSaldo(), nueva.getSaldo())
+                        || anterior.getEstado() != nueva.getEstado()) {
+                    fireContentsChanged(this, i, i);
+                }
+            }
+            return;
+        }
+
+        int anteriores = cuentas.size();
+        cuentas.clear();
+        posiciones.clear();
+        if (anteriores > 0) {
+            fireIntervalRemoved(this, 0, anteriores - 1);
+        }
+        cuentas.addAll(nuevas);
+        for (int i = 0; i < cuentas.size(); i++) {
+            posiciones.put(cuentas.get(i).getNumeroCuenta(), i);
+        }
+        if (!cuentas.isEmpty()) {
+            fireIntervalAdded(this, 0, cuentas.size() - 1);
+        }
+    }
+
+    /**
+     * Cambia el saldo mostrado de una cuenta.
+     *
+     * @param numeroCuenta número de la cuenta.
+     * @param saldo saldo nuevo.
+     */
+    public void actualizarSaldo(String numeroCuenta, double saldo) {
+        Integer indice = posiciones.get(numeroCuenta);
+        if (indice == null) {
+            return;
+        }
+        Cuenta cuenta = cuentas.get(indice);
+        if (cuenta.getSaldo() != null && cuenta.getSaldo() == saldo) {
+            return;
+        }
+        // Copia: la cuenta recibida puede ser la misma instancia que guarda el caché
+        cuentas.set(indice, new Cuenta(cuenta.getId(), cuenta.getNumeroCuenta(), cuenta.getFechaApertura(),
+                saldo, cuenta.getEstado(), cuenta.getIdCliente()));
+        fireContentsChanged(this, indice, indice);
+    }
+
+    private boolean mismasCuentas(List<Cuenta> nuevas) {
+        if (cuentas.isEmpty() || nuevas.size() != cuentas.size()) {
+            return false;
+        }
+        for (int i = 0; i < nuevas.size(); i++) {
+            if (!Objects.equals(posiciones.get(nuevas.get(i).getNumeroCuenta()), i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
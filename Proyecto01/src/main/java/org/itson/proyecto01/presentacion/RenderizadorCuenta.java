@@ -0,0 +1,112 @@
+package org.itson.proyecto01.presentacion;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import org.itson.proyecto01.entidades.Cuenta;
+
+/**
+ * <p>
+ * Dibuja cada cuenta de la lista del menú principal con el mismo diseño de
+ * tarjeta (título, estado, número y saldo).
+ * </p>
+ *
+ * <p>
+ * Es un solo panel que se reutiliza: la lista sólo le cambia los textos y lo
+ * pinta en la posición de cada fila visible, en lugar de tener un panel con
+ * sus etiquetas por cada cuenta.
+ * </p>
+ *
+ * @author joset
+ */
+public class RenderizadorCuenta extends JPanel implements ListCellRenderer<Cuenta> {
+
+    private final JLabel lblEstadoCuenta = new JLabel();
+    private final JLabel lblNumeroCuenta = new JLabel();
+    private final JLabel lblSaldoDisponible = new JLabel();
+
+    /**
+     * Arma el panel de la tarjeta.
+     */
+    public RenderizadorCuenta() {
+        super(new BorderLayout());
+        setBackground(new Color(45, 102, 237));
+        setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(Color.WHITE, 6, true),
+                BorderFactory.createEmptyBorder(12, 15, 12, 15)
+        ));
+
+        // Parte superior del panel
+        JPanel panelTop = new JPanel(new BorderLayout());
+        panelTop.setOpaque(false);
+
+        JLabel lblTituloCuenta = new JLabel("CUENTA EN PESOS");
+        lblTituloCuenta.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        lblTituloCuenta.setForeground(Color.WHITE);
+
+        lblEstadoCuenta.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        lblEstadoCuenta.setForeground(Color.WHITE);
+
+        panelTop.add(lblTituloCuenta, BorderLayout.WEST);
+        panelTop.add(lblEstadoCuenta, BorderLayout.EAST);
+
+        // Parte central del panel
+        JPanel panelCentro = new JPanel(new BorderLayout());
+        panelCentro.setOpaque(false);
+
+        // parte Izq
+        JPanel panelIzq = new JPanel();
+        panelIzq.setOpaque(false);
+        panelIzq.setLayout(new BoxLayout(panelIzq, BoxLayout.Y_AXIS));
+
+        JLabel lblNumero = new JLabel("Número de cuenta");
+        lblNumero.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        lblNumero.setForeground(new Color(220, 220, 220));
+
+        lblNumeroCuenta.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        lblNumeroCuenta.setForeground(Color.WHITE);
+
+        panelIzq.add(lblNumero);
+        panelIzq.add(lblNumeroCuenta);
+
+        // parte Derecha
+        JPanel panelDer = new JPanel();
+        panelDer.setOpaque(false);
+        panelDer.setLayout(new BoxLayout(panelDer, BoxLayout.Y_AXIS));
+
+        lblSaldoDisponible.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        lblSaldoDisponible.setForeground(Color.WHITE);
+        lblSaldoDisponible.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
+
+        JLabel lblSaldo = new JLabel("Saldo Disponible");
+        lblSaldo.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        lblSaldo.setForeground(new Color(220, 220, 220));
+        lblSaldo.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
+
+        panelDer.add(lblSaldoDisponible);
+        panelDer.add(lblSaldo);
+
+        panelCentro.add(panelIzq, BorderLayout.WEST);
+        panelCentro.add(panelDer, BorderLayout.EAST);
+
+        //juntar las partes
+        add(panelTop, BorderLayout.NORTH);
+        add(panelCentro, BorderLayout.CENTER);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Cuenta> lista, Cuenta cuenta, int indice,
+            boolean seleccionada, boolean conFoco) {
+        lblEstadoCuenta.setText("Estado: " + cuenta.getEstado());
+        lblNumeroCuenta.setText(cuenta.getNumeroCuenta());
+        lblSaldoDisponible.setText(String.format("$%,.2f", cuenta.getSaldo()));
+        return this;
+    }
+}
@@ -0,0 +1,10 @@
+-- Evento que expira los retiros sin cuenta no cobrados. Script repetible: se
+-- vuelve a ejecutar cada vez que cambia su contenido. Requiere que el
+-- programador de eventos del servidor esté activo (event_scheduler = ON).
+
+DROP EVENT IF EXISTS ev_expirar_retiros_sin_cuenta;
+
+CREATE EVENT ev_expirar_retiros_sin_cuenta
+    ON SCHEDULE EVERY 4 MINUTE
+    ON COMPLETION NOT PRESERVE ENABLE
+    DO CALL ExpirarRetirosSinCuenta();
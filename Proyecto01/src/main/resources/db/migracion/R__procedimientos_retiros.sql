@@ -0,0 +1,48 @@
+-- Procedimientos de retiros sin cuenta. Script repetible: se vuelve a
+-- ejecutar cada vez que cambia su contenido.
+
+DROP PROCEDURE IF EXISTS CobrarRetiroSinCuenta;
+DROP PROCEDURE IF EXISTS ExpirarRetirosSinCuenta;
+
+DELIMITER $$
+
+CREATE PROCEDURE CobrarRetiroSinCuenta(
+    IN p_folio VARCHAR(20)
+)
+BEGIN
+    DECLARE v_monto DECIMAL(15,2);
+    DECLARE v_idCuenta INT;
+
+    START TRANSACTION;
+
+    -- Obtener monto y cuenta origen
+    SELECT o.monto, o.id_cuenta
+    INTO v_monto, v_idCuenta
+    FROM RetirosSinCuenta r
+    JOIN Operaciones o ON r.id_transaccion = o.id_transaccion
+    WHERE r.folio = p_folio
+      AND r.estado = 'PENDIENTE'
+    FOR UPDATE;
+
+    -- Descontar saldo
+    UPDATE Cuentas
+    SET saldo = saldo - v_monto
+    WHERE id_cuenta = v_idCuenta;
+
+    -- Marcar retiro como cobrado
+    UPDATE RetirosSinCuenta
+    SET estado = 'COBRADO'
+    WHERE folio = p_folio;
+
+    COMMIT;
+END$$
+
+CREATE PROCEDURE ExpirarRetirosSinCuenta()
+BEGIN
+    UPDATE RetirosSinCuenta
+    SET estado = 'NO_COBRADO'
+    WHERE estado = 'PENDIENTE'
+      AND fecha_expiracion <= NOW();
+END$$
+
+DELIMITER ;
@@ -0,0 +1,32 @@
+-- =====================================================================
+-- V1: índices compuestos para las rutas de acceso de la aplicación.
+-- Se aplica sobre el esquema creado con BancoDBScriptBienHecho.sql.
+-- =====================================================================
+
+-- Historial de operaciones (OperacionesDAO.consultarOperaciones):
+-- Cuentas se filtra por id_cliente y se une a Operaciones por id_cuenta.
+-- El índice de cuentas cubre id_cliente, estado y numero_cuenta (id_cuenta
+-- viaja como llave primaria), así que también sirve a obtenerCuentasActivas.
+CREATE INDEX idx_cuentas_cliente_estado
+    ON Cuentas (id_cliente, estado, numero_cuenta);
+
+-- Sin filtro de tipo: rango y orden por (fecha_hora, id_transaccion) dentro
+-- de cada cuenta; tipo_operacion y monto se leen del índice sin ir a la tabla.
+CREATE INDEX idx_operaciones_cuenta_fecha
+    ON Operaciones (id_cuenta, fecha_hora, tipo_operacion, monto);
+
+-- Con filtro de tipo: igualdad en (id_cuenta, tipo_operacion) y rango/orden
+-- por fecha_hora.
+CREATE INDEX idx_operaciones_cuenta_tipo_fecha
+    ON Operaciones (id_cuenta, tipo_operacion, fecha_hora, monto);
+
+-- Los índices de una sola columna quedan cubiertos por los nuevos, que también
+-- respaldan las llaves foráneas.
+DROP INDEX id_cliente ON Cuentas;
+DROP INDEX id_cuenta ON Operaciones;
+
+-- Evento ev_expirar_retiros_sin_cuenta / ExpirarRetirosSinCuenta:
+-- WHERE estado = 'PENDIENTE' AND fecha_expiracion <= NOW().
+-- La búsqueda por (folio, contrasena) ya resuelve por la llave única de folio.
+CREATE INDEX idx_retiros_estado_expiracion
+    ON RetirosSinCuenta (estado, fecha_expiracion);
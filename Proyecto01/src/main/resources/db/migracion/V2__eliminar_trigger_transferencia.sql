@@ -0,0 +1,7 @@
+-- =====================================================================
+-- V2: elimina el trigger trg_transferencia.
+-- TransferenciasDAO ya aplica el cargo y el abono dentro de su transacción;
+-- el trigger los volvía a aplicar al insertar en Transferencias.
+-- =====================================================================
+
+DROP TRIGGER IF EXISTS trg_transferencia;
@@ -0,0 +1,15 @@
+-- =====================================================================
+-- V3: secuencia para asignar números de cuenta por bloques.
+-- AsignadorNumerosCuenta reserva rangos de esta fila y los reparte en
+-- memoria; el número final es el valor de 17 dígitos más un dígito
+-- verificador (Luhn), así que ya no se sondea Cuentas al dar de alta.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS Secuencias (
+    nombre VARCHAR(40) NOT NULL PRIMARY KEY,
+    siguiente BIGINT NOT NULL
+);
+
+-- 10^16: el primer valor de 17 dígitos, para que ningún número empiece con cero.
+INSERT IGNORE INTO Secuencias (nombre, siguiente)
+VALUES ('numero_cuenta', 10000000000000000);
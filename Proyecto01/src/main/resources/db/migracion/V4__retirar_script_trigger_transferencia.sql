@@ -0,0 +1,9 @@
+-- =====================================================================
+-- V4: retira el script repetible R__trigger_transferencia.sql.
+-- V2 ya eliminó el trigger, pero las bases migradas mientras existió ese
+-- script conservan su fila en el historial aunque el archivo ya no
+-- exista; se elimina aquí de forma explícita.
+-- =====================================================================
+
+DELETE FROM historial_migraciones
+WHERE script = 'R__trigger_transferencia.sql';
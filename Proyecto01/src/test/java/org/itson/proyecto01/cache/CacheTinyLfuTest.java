@@ -0,0 +1,174 @@
+package org.itson.proyecto01.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link CacheTinyLfu}.
+ *
+ * @author joset
+ */
+class CacheTinyLfuTest {
+
+    @Test
+    void nuncaRebasaLaCapacidad() {
+        CacheTinyLfu<Integer, Integer> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        for (int i = 0; i < 10_000; i++) {
+            cache.poner(i, i);
+        }
+        EstadisticasCache estadisticas = cache.estadisticas();
+        assertTrue(estadisticas.getTamanio() <= 100, "tamaño " + estadisticas.getTamanio());
+        assertEquals(10_000 - estadisticas.getTamanio(), estadisticas.getDesalojos() + estadisticas.getRechazos());
+    }
+
+    @Test
+    void unRecorridoNoDesalojaLasLlavesFrecuentes() {
+        CacheTinyLfu<String, Integer> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        for (int vuelta = 0; vuelta < 5; vuelta++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.obtener("frecuente-" + i) == null) {
+                    cache.poner("frecuente-" + i, i);
+                }
+            }
+        }
+        // Llaves que se piden una sola vez, como al hojear el historial, mientras
+        // las frecuentes se siguen pidiendo
+        for (int i = 0; i < 5_000; i++) {
+            cache.poner("unica-" + i, i);
+            cache.obtener("frecuente-" + (i % 50));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), cache.obtener("frecuente-" + i), "frecuente-" + i);
+        }
+        assertTrue(cache.estadisticas().getRechazos() > 0);
+    }
+
+    @Test
+    void desalojaCuandoElCandidatoEsMasFrecuente() {
+        CacheTinyLfu<String, Integer> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        for (int i = 0; i < 100; i++) {
+            cache.poner("vieja-" + i, i);
+        }
+        // La llave nueva se pide varias veces antes de entrar
+        for (int i = 0; i < 5; i++) {
+            cache.obtener("nueva");
+        }
+        cache.poner("nueva", 1);
+        cache.poner("empuja", 2);
+        assertEquals(Integer.valueOf(1), cache.obtener("nueva"));
+        assertTrue(cache.estadisticas().getDesalojos() > 0);
+    }
+
+    @Test
+    void tasaDeAciertosConLlavesFrecuentesYUnicas() {
+        // 70% de las consultas a 50 llaves frecuentes y 30% a llaves que no se repiten
+        CacheTinyLfu<String, Integer> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        Random aleatorio = new Random(7);
+        int consultas = 100_000;
+        int aciertos = 0;
+        int unicas = 0;
+        for (int i = 0; i < consultas; i++) {
+            String llave = aleatorio.nextInt(100) < 70 ? "frecuente-" + aleatorio.nextInt(50) : "unica-" + unicas++;
+            if (cache.obtener(llave) != null) {
+                aciertos++;
+            } else {
+                cache.poner(llave, i);
+            }
+        }
+        double tasa = (double) aciertos / consultas;
+        // El óptimo es 0.70: sólo las llaves frecuentes pueden acertar
+        assertTrue(tasa > 0.69, "tasa de aciertos " + tasa);
+    }
+
+    @Test
+    void cargaUnicaParaConsultasConcurrentes() throws Exception {
+        CacheTinyLfu<String, String> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        int hilos = 8;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(ejecutor.submit(() -> cache.obtener("llave", llave -> {
+                    cargas.incrementAndGet();
+                    liberar.await();
+                    return "valor";
+                })));
+            }
+            // Da tiempo a que todos los hilos lleguen a la carga
+            Thread.sleep(200);
+            liberar.countDown();
+            for (Future<String> resultado : resultados) {
+                assertEquals("valor", resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        assertEquals(1, cargas.get());
+        assertEquals("valor", cache.obtener("llave"));
+    }
+
+    @Test
+    void invalidarDescartaLaCargaEnCurso() throws Exception {
+        CacheTinyLfu<String, String> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        CountDownLatch cargando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> vieja = ejecutor.submit(() -> cache.obtener("llave", llave -> {
+                cargando.countDown();
+                liberar.await();
+                return "viejo";
+            }));
+            assertTrue(cargando.await(5, TimeUnit.SECONDS));
+            cache.invalidar("llave");
+            liberar.countDown();
+
+            // Quien pidió la carga recibe su valor, pero no se guarda
+            assertEquals("viejo", vieja.get(5, TimeUnit.SECONDS));
+            assertNull(cache.obtener("llave"));
+            assertEquals("nuevo", cache.obtener("llave", llave -> "nuevo"));
+            assertEquals("nuevo", cache.obtener("llave"));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lasCargasFallidasNoSeGuardan() {
+        CacheTinyLfu<String, String> cache = new CacheTinyLfu<>("prueba", 100, 0);
+        try {
+            cache.obtener("llave", llave -> {
+                throw new IllegalStateException("falla");
+            });
+        } catch (IllegalStateException esperado) {
+            // se propaga a quien pidió la carga
+        }
+        assertNull(cache.obtener("llave"));
+        assertNull(cache.obtener("otra", llave -> null));
+        assertNull(cache.obtener("otra"));
+    }
+
+    @Test
+    void lasEntradasVencen() throws Exception {
+        CacheTinyLfu<String, String> cache = new CacheTinyLfu<>("prueba", 100, 50);
+        cache.poner("llave", "valor");
+        assertEquals("valor", cache.obtener("llave"));
+        Thread.sleep(80);
+        assertNull(cache.obtener("llave"));
+        assertEquals(1, cache.estadisticas().getExpirados());
+    }
+}
@@ -0,0 +1,128 @@
+package org.itson.proyecto01.negocio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link GeneradorFolios}. No requieren base de datos.
+ *
+ * @author joset
+ */
+class GeneradorFoliosTest {
+
+    private static final long EPOCA = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+
+    @Test
+    void foliosUnicosEntreHilos() throws Exception {
+        GeneradorFolios generador = new GeneradorFolios(42);
+        int hilos = 8;
+        int porHilo = 20_000;
+        Set<String> folios = ConcurrentHashMap.newKeySet();
+        CountDownLatch salida = new CountDownLatch(1);
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int j = 0; j < porHilo; j++) {
+                        String folio = generador.siguiente();
+                        assertEquals(18, folio.length());
+                        folios.add(folio);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertEquals(hilos * porHilo, folios.size());
+    }
+
+    @Test
+    void agotarLaSecuenciaNoAdelantaElReloj() throws Exception {
+        GeneradorFolios generador = new GeneradorFolios(1);
+        String anterior = "";
+        for (int i = 0; i < 120_000; i++) {
+            String folio = generador.siguiente();
+            long segundoFolio = Long.parseLong(folio.substring(0, 10));
+            long segundoReloj = System.currentTimeMillis() / 1000 - EPOCA;
+            assertTrue(segundoFolio <= segundoReloj, "Folio con segundo adelantado: " + folio);
+            assertTrue(folio.compareTo(anterior) > 0, "Folio no creciente: " + folio);
+            anterior = folio;
+        }
+    }
+
+    @Test
+    void reinicioEnElMismoSegundoNoRepiteFolios() throws Exception {
+        GeneradorFolios primero = new GeneradorFolios(7);
+        Set<String> emitidos = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            emitidos.add(primero.siguiente());
+        }
+
+        GeneradorFolios reiniciado = new GeneradorFolios(7);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(emitidos.add(reiniciado.siguiente()));
+        }
+    }
+
+    @Test
+    void nodosDistintosNoComparten() throws Exception {
+        GeneradorFolios nodoA = new GeneradorFolios(1);
+        GeneradorFolios nodoB = new GeneradorFolios(2);
+        Set<String> folios = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(folios.add(nodoA.siguiente()));
+            assertTrue(folios.add(nodoB.siguiente()));
+        }
+    }
+
+    @Test
+    void variasInstanciasRequierenNodo() throws Exception {
+        String nodo = System.getProperty("bancodb.nodo");
+        String instancias = System.getProperty("bancodb.instancias");
+        try {
+            System.clearProperty("bancodb.nodo");
+            System.setProperty("bancodb.instancias", "2");
+            assertThrows(NegocioException.class, GeneradorFolios::verificarConfiguracion);
+            assertThrows(IllegalStateException.class, GeneradorFolios::desdeConfiguracion);
+
+            System.setProperty("bancodb.nodo", "3");
+            GeneradorFolios.verificarConfiguracion();
+
+            System.setProperty("bancodb.nodo", "1000");
+            assertThrows(NegocioException.class, GeneradorFolios::verificarConfiguracion);
+        } finally {
+            restaurar("bancodb.nodo", nodo);
+            restaurar("bancodb.instancias", instancias);
+        }
+    }
+
+    private static void restaurar(String propiedad, String valor) {
+        if (valor == null) {
+            System.clearProperty(propiedad);
+        } else {
+            System.setProperty(propiedad, valor);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.itson.proyecto01.negocio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link LimitadorIntentos}.
+ *
+ * @author joset
+ */
+class LimitadorIntentosTest {
+
+    @Test
+    void bloqueaAlLlegarAlMaximo() {
+        LimitadorIntentos limitador = new LimitadorIntentos(3, 60_000, 60_000, 100);
+        limitador.registrarFallo("folio");
+        limitador.registrarFallo("folio");
+        assertEquals(0, limitador.msRestantesBloqueo("folio"));
+        limitador.registrarFallo("folio");
+        long restantes = limitador.msRestantesBloqueo("folio");
+        assertTrue(restantes > 59_000 && restantes <= 60_000, "restantes " + restantes);
+        assertEquals(0, limitador.msRestantesBloqueo("otro"));
+    }
+
+    @Test
+    void losFallosVencenConLaVentana() throws Exception {
+        LimitadorIntentos limitador = new LimitadorIntentos(3, 100, 60_000, 100);
+        limitador.registrarFallo("folio");
+        limitador.registrarFallo("folio");
+        Thread.sleep(150);
+        // La ventana venció: el contador empieza de nuevo y no se bloquea
+        limitador.registrarFallo("folio");
+        limitador.registrarFallo("folio");
+        assertEquals(0, limitador.msRestantesBloqueo("folio"));
+        limitador.registrarFallo("folio");
+        assertTrue(limitador.msRestantesBloqueo("folio") > 0);
+    }
+
+    @Test
+    void elBloqueoTermina() throws Exception {
+        LimitadorIntentos limitador = new LimitadorIntentos(1, 60_000, 100, 100);
+        limitador.registrarFallo("folio");
+        assertTrue(limitador.msRestantesBloqueo("folio") > 0);
+        Thread.sleep(150);
+        assertEquals(0, limitador.msRestantesBloqueo("folio"));
+    }
+
+    @Test
+    void elExitoBorraLosFallos() {
+        LimitadorIntentos limitador = new LimitadorIntentos(2, 60_000, 60_000, 100);
+        limitador.registrarFallo("cliente");
+        limitador.registrarExito("cliente");
+        limitador.registrarFallo("cliente");
+        assertEquals(0, limitador.msRestantesBloqueo("cliente"));
+    }
+
+    @Test
+    void recuerdaComoMaximoLaCapacidad() {
+        LimitadorIntentos limitador = new LimitadorIntentos(1, 60_000, 60_000, 2);
+        limitador.registrarFallo("a");
+        limitador.registrarFallo("b");
+        limitador.registrarFallo("c");
+        // "a" es la llave usada hace más tiempo y se descarta
+        assertEquals(0, limitador.msRestantesBloqueo("a"));
+        assertTrue(limitador.msRestantesBloqueo("c") > 0);
+    }
+}
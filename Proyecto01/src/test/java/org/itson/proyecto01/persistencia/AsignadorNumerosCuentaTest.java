@@ -0,0 +1,125 @@
+package org.itson.proyecto01.persistencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link AsignadorNumerosCuenta} con bloques simulados, sin base de
+ * datos.
+ *
+ * @author joset
+ */
+class AsignadorNumerosCuentaTest {
+
+    private static final long PRIMER_VALOR = 10_000_000_000_000_000L;
+
+    @Test
+    void numerosUnicosEntreHilos() throws Exception {
+        AtomicLong siguienteBloque = new AtomicLong(PRIMER_VALOR);
+        AtomicInteger reservas = new AtomicInteger();
+        AsignadorNumerosCuenta asignador = new AsignadorNumerosCuenta(50, tamanio -> {
+            reservas.incrementAndGet();
+            long inicio = siguienteBloque.getAndAdd(tamanio);
+            return new AsignadorNumerosCuenta.Bloque(inicio, inicio + tamanio, Set.of());
+        });
+
+        int hilos = 8;
+        int porHilo = 5_000;
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int j = 0; j < porHilo; j++) {
+                        String numero = asignador.siguiente();
+                        assertEquals(18, numero.length());
+                        assertTrue(luhnValido(numero), numero);
+                        numeros.add(numero);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertEquals(hilos * porHilo, numeros.size());
+        // Cada bloque se reserva una sola vez aunque varios hilos lo agoten a la par
+        assertEquals(hilos * porHilo / 50, reservas.get());
+    }
+
+    @Test
+    void saltaLosNumerosOcupados() throws Exception {
+        Set<String> ocupados = new HashSet<>();
+        for (long valor = PRIMER_VALOR; valor < PRIMER_VALOR + 10; valor += 2) {
+            ocupados.add(valor + Integer.toString(digitoLuhn(Long.toString(valor))));
+        }
+        AtomicLong siguienteBloque = new AtomicLong(PRIMER_VALOR);
+        AsignadorNumerosCuenta asignador = new AsignadorNumerosCuenta(10, tamanio -> {
+            long inicio = siguienteBloque.getAndAdd(tamanio);
+            return new AsignadorNumerosCuenta.Bloque(inicio, inicio + tamanio,
+                    inicio == PRIMER_VALOR ? ocupados : Set.of());
+        });
+
+        Set<String> asignados = new HashSet<>();
+        for (int i = 0; i < 15; i++) {
+            String numero = asignador.siguiente();
+            assertFalse(ocupados.contains(numero), numero);
+            assertTrue(asignados.add(numero), numero);
+        }
+        // 5 libres del primer bloque y 10 del segundo
+        assertEquals(PRIMER_VALOR + 20, siguienteBloque.get());
+    }
+
+    @Test
+    void digitoVerificadorConocido() throws Exception {
+        AsignadorNumerosCuenta asignador = new AsignadorNumerosCuenta(1,
+                tamanio -> new AsignadorNumerosCuenta.Bloque(7992739871L, 7992739872L, Set.of()));
+        // Ejemplo clásico de Luhn: 7992739871 lleva el dígito 3
+        assertEquals("79927398713", asignador.siguiente());
+    }
+
+    private static boolean luhnValido(String numero) {
+        int suma = 0;
+        boolean duplicar = false;
+        for (int i = numero.length() - 1; i >= 0; i--) {
+            int digito = numero.charAt(i) - '0';
+            if (duplicar) {
+                digito = digito * 2 > 9 ? digito * 2 - 9 : digito * 2;
+            }
+            suma += digito;
+            duplicar = !duplicar;
+        }
+        return suma % 10 == 0;
+    }
+
+    private static int digitoLuhn(String cuerpo) {
+        for (int digito = 0; digito < 10; digito++) {
+            if (luhnValido(cuerpo + digito)) {
+                return digito;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
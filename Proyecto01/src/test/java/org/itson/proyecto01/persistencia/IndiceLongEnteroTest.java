@@ -0,0 +1,116 @@
+package org.itson.proyecto01.persistencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link IndiceLongEnteroMemoria} y {@link IndiceLongEnteroMapeado}.
+ *
+ * @author joset
+ */
+class IndiceLongEnteroTest {
+
+    private static final long PRIMERA_CUENTA = 100_000_000_000_000_000L;
+
+    @Test
+    void memoriaCreceSinPerderLlaves() {
+        IndiceLongEnteroMemoria indice = new IndiceLongEnteroMemoria(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(indice.poner(PRIMERA_CUENTA + i, i));
+        }
+        assertEquals(10_000, indice.tamanio());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, indice.obtener(PRIMERA_CUENTA + i));
+        }
+        assertEquals(IndiceLongEntero.SIN_VALOR, indice.obtener(PRIMERA_CUENTA + 10_000));
+    }
+
+    @Test
+    void reemplazarNoCuentaComoLlaveNueva() {
+        for (IndiceLongEntero indice : List.of(new IndiceLongEnteroMemoria(16), new IndiceLongEnteroMapeado(16))) {
+            assertTrue(indice.poner(PRIMERA_CUENTA, 1));
+            assertTrue(indice.poner(PRIMERA_CUENTA, 2));
+            assertEquals(1, indice.tamanio());
+            assertEquals(2, indice.obtener(PRIMERA_CUENTA));
+        }
+    }
+
+    @Test
+    void colisionesSeResuelvenConSondeo() {
+        for (IndiceLongEntero indice : List.of(new IndiceLongEnteroMemoria(16), new IndiceLongEnteroMapeado(16))) {
+            // Llaves que caen en la misma casilla inicial de una tabla de 32
+            List<Long> colisiones = llavesEnLaMismaCasilla(31, 6);
+            for (int i = 0; i < colisiones.size(); i++) {
+                assertTrue(indice.poner(colisiones.get(i), i));
+            }
+            for (int i = 0; i < colisiones.size(); i++) {
+                assertEquals(i, indice.obtener(colisiones.get(i)));
+            }
+            // Una llave ausente con la misma casilla recorre la cadena y no la encuentra
+            long ausente = llavesEnLaMismaCasilla(31, 7).get(6);
+            assertEquals(IndiceLongEntero.SIN_VALOR, indice.obtener(ausente));
+        }
+    }
+
+    @Test
+    void mapeadoLlenoRechazaLlavesNuevas() {
+        IndiceLongEnteroMapeado indice = new IndiceLongEnteroMapeado(10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(indice.poner(PRIMERA_CUENTA + i, i));
+        }
+        assertFalse(indice.poner(PRIMERA_CUENTA + 10, 10));
+        assertEquals(IndiceLongEntero.SIN_VALOR, indice.obtener(PRIMERA_CUENTA + 10));
+        // Las llaves que ya estaban se pueden seguir actualizando
+        assertTrue(indice.poner(PRIMERA_CUENTA, 99));
+        assertEquals(99, indice.obtener(PRIMERA_CUENTA));
+        assertEquals(10, indice.tamanio());
+    }
+
+    @Test
+    void mapeadoReabreSuArchivo() throws Exception {
+        Path archivo = Files.createTempFile("indice-prueba", ".bin");
+        Files.delete(archivo);
+        try {
+            IndiceLongEnteroMapeado original = new IndiceLongEnteroMapeado(archivo, 100);
+            for (int i = 0; i < 50; i++) {
+                original.poner(PRIMERA_CUENTA + i, i);
+            }
+
+            IndiceLongEnteroMapeado reabierto = new IndiceLongEnteroMapeado(archivo, 100);
+            assertEquals(50, reabierto.tamanio());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, reabierto.obtener(PRIMERA_CUENTA + i));
+            }
+            assertThrows(IllegalArgumentException.class, () -> new IndiceLongEnteroMapeado(archivo, 1_000));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    void rechazaLlavesNoPositivas() {
+        for (IndiceLongEntero indice : List.of(new IndiceLongEnteroMemoria(16), new IndiceLongEnteroMapeado(16))) {
+            assertThrows(IllegalArgumentException.class, () -> indice.poner(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> indice.poner(-5, 1));
+        }
+    }
+
+    private static List<Long> llavesEnLaMismaCasilla(int mascara, int cuantas) {
+        List<Long> llaves = new ArrayList<>();
+        int casilla = IndiceLongEntero.posicion(PRIMERA_CUENTA, mascara);
+        for (long llave = PRIMERA_CUENTA; llaves.size() < cuantas; llave++) {
+            if (IndiceLongEntero.posicion(llave, mascara) == casilla) {
+                llaves.add(llave);
+            }
+        }
+        return llaves;
+    }
+}